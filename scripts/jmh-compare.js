@@ -0,0 +1,85 @@
+/**
+ * JMH 基準值比較腳本
+ *
+ * 先執行基準測試產生 target/jmh-result.json：
+ *   mvn -P benchmark test-compile exec:exec
+ *
+ * 在修改前的程式碼上記錄本機基準值（存於 .jmh/jmh-baseline.json，不提交）：
+ *   node scripts/jmh-compare.js --update
+ *
+ * 修改後重新執行基準測試，再與基準值比較（任一項目變慢超過門檻即以非零結束）：
+ *   node scripts/jmh-compare.js
+ *   node scripts/jmh-compare.js --threshold 0.2
+ *   node scripts/jmh-compare.js --baseline path/to/other-result.json
+ *
+ * 注意：基準值只在同一台機器上比較才有意義，所以不提交到版本庫
+ */
+const fs = require('fs');
+const path = require('path');
+
+const ROOT = path.join(__dirname, '..');
+const RESULT_FILE = path.join(ROOT, 'target', 'jmh-result.json');
+const args = process.argv.slice(2);
+const update = args.includes('--update');
+const thresholdIndex = args.indexOf('--threshold');
+const threshold = thresholdIndex >= 0 ? parseFloat(args[thresholdIndex + 1]) : 0.15;
+const baselineIndex = args.indexOf('--baseline');
+const BASELINE_FILE = baselineIndex >= 0
+    ? path.resolve(args[baselineIndex + 1])
+    : path.join(ROOT, '.jmh', 'jmh-baseline.json');
+
+function load(file) {
+    return JSON.parse(fs.readFileSync(file, 'utf8'));
+}
+
+function toScores(results) {
+    const scores = {};
+    for (const r of results) {
+        scores[r.benchmark] = {
+            score: r.primaryMetric.score,
+            error: r.primaryMetric.scoreError,
+            unit: r.primaryMetric.scoreUnit,
+        };
+    }
+    return scores;
+}
+
+if (!fs.existsSync(RESULT_FILE)) {
+    console.error(`找不到 ${path.relative(ROOT, RESULT_FILE)}，請先執行 mvn -P benchmark test-compile exec:exec`);
+    process.exit(2);
+}
+
+if (update) {
+    fs.mkdirSync(path.dirname(BASELINE_FILE), { recursive: true });
+    fs.copyFileSync(RESULT_FILE, BASELINE_FILE);
+    console.log(`已更新基準值：${path.relative(ROOT, BASELINE_FILE)}`);
+    process.exit(0);
+}
+
+if (!fs.existsSync(BASELINE_FILE)) {
+    console.error('尚未記錄基準值，請在修改前的程式碼上執行 node scripts/jmh-compare.js --update');
+    process.exit(2);
+}
+
+const baseline = toScores(load(BASELINE_FILE));
+const current = toScores(load(RESULT_FILE));
+
+let regressions = 0;
+for (const [name, now] of Object.entries(current)) {
+    const base = baseline[name];
+    const shortName = name.replace('com.booking.platform.benchmark.', '');
+    if (!base) {
+        console.log(`NEW        ${shortName}: ${now.score.toFixed(3)} ${now.unit}`);
+        continue;
+    }
+    // AverageTime 模式：分數越大越慢
+    const change = (now.score - base.score) / base.score;
+    const status = change > threshold ? 'REGRESSION' : 'OK';
+    if (status === 'REGRESSION') regressions++;
+    console.log(`${status.padEnd(10)} ${shortName}: ${base.score.toFixed(3)} -> ${now.score.toFixed(3)} ${now.unit} (${(change * 100).toFixed(1)}%)`);
+}
+
+if (regressions > 0) {
+    console.error(`\n${regressions} 個項目變慢超過 ${(threshold * 100).toFixed(0)}%`);
+    process.exit(1);
+}
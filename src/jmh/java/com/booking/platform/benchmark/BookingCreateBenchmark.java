@@ -0,0 +1,127 @@
+package com.booking.platform.benchmark;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.tenant.TenantContext;
+import com.booking.platform.dto.request.CreateBookingRequest;
+import com.booking.platform.mapper.BookingMapper;
+import com.booking.platform.repository.CustomerRepository;
+import com.booking.platform.repository.TenantFeatureRepository;
+import com.booking.platform.service.BookingService;
+import com.booking.platform.service.PointLedgerService;
+import com.booking.platform.service.notification.BookingEventOutbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 建立預約基準測試
+ *
+ * <p>涵蓋三種衝突檢查路徑：指定員工、自動分配員工、服務容量模式。
+ * 時段已滿時會拋出 BusinessException，同樣計入成本
+ *
+ * <p>TenantContext 為 ThreadLocal，因此狀態範圍為 Thread，於工作執行緒上設定
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingCreateBenchmark {
+
+    private BookingService bookingService;
+
+    private CreateBookingRequest staffRequest;
+    private CreateBookingRequest autoAssignRequest;
+    private CreateBookingRequest capacityRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TenantFixture fixture = new TenantFixture();
+
+        bookingService = new BookingService(
+                fixture.bookingRepository,
+                fixture.serviceItemRepository,
+                fixture.staffRepository,
+                fixture.staffScheduleRepository,
+                fixture.staffLeaveRepository,
+                mock(CustomerRepository.class),
+                fixture.tenantRepository,
+                mock(TenantFeatureRepository.class),
+                new BookingMapper(),
+                mock(BookingEventOutbox.class),
+                mock(PointLedgerService.class)
+        );
+
+        LocalTime startTime = LocalTime.of(15, 0);
+
+        staffRequest = CreateBookingRequest.builder()
+                .serviceItemId(fixture.staffService().getId())
+                .staffId(fixture.staff.get(1).getId())
+                .bookingDate(fixture.busyWorkingDate())
+                .startTime(startTime)
+                .source("LINE")
+                .build();
+
+        autoAssignRequest = CreateBookingRequest.builder()
+                .serviceItemId(fixture.staffService().getId())
+                .bookingDate(fixture.busyWorkingDate())
+                .startTime(startTime)
+                .source("LINE")
+                .build();
+
+        capacityRequest = CreateBookingRequest.builder()
+                .serviceItemId(fixture.capacityService().getId())
+                .bookingDate(fixture.busyWorkingDate())
+                .startTime(startTime)
+                .source("LINE")
+                .build();
+
+        TenantContext.setTenantId(fixture.tenantId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    public Object createWithStaff() {
+        return create(staffRequest);
+    }
+
+    @Benchmark
+    public Object createAutoAssignStaff() {
+        return create(autoAssignRequest);
+    }
+
+    @Benchmark
+    public Object createCapacityMode() {
+        return create(capacityRequest);
+    }
+
+    private Object create(CreateBookingRequest request) {
+        try {
+            return bookingService.create(request);
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+}
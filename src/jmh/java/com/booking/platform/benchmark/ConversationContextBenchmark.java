@@ -0,0 +1,130 @@
+package com.booking.platform.benchmark;
+
+import com.booking.platform.common.config.RedisConfig;
+import com.booking.platform.dto.line.ConversationContext;
+import com.booking.platform.enums.line.ConversationState;
+import com.booking.platform.service.line.ConversationContextCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 對話上下文序列化基準測試
+ *
+ * <p>每則 LINE 訊息都會讀寫一次 ConversationContext：
+ * <ul>
+ *   <li>serialize / deserialize - RedisConfig 的通用 JSON 序列化器（升級前的格式）</li>
+ *   <li>compactSerialize / compactDeserialize - {@link ConversationContextCodec} 精簡編碼</li>
+ * </ul>
+ *
+ * <p>每個上下文編碼後的位元組數以輔助計數 bytes 列在 serialize / compactSerialize 的結果中
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversationContextBenchmark {
+
+    private RedisSerializer<Object> serializer;
+    private ConversationContext context;
+    private byte[] serialized;
+    private ConversationContextCodec codec;
+    private byte[] compact;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        RedisTemplate<String, Object> template =
+                new RedisConfig().redisTemplate(mock(RedisConnectionFactory.class));
+        serializer = (RedisSerializer<Object>) template.getValueSerializer();
+
+        // 預約確認前的典型狀態：大部分欄位都已填入
+        context = ConversationContext.builder()
+                .tenantId("bench-tenant")
+                .lineUserId("U4af4980629a1b2c3d4e5f60718293a4b")
+                .customerId("0f8fad5b-d9cb-469f-a165-70867728950e")
+                .state(ConversationState.CONFIRMING_BOOKING)
+                .stateChangedAt(LocalDateTime.now())
+                .selectedCategoryId("category-1")
+                .selectedCategoryName("美髮")
+                .selectedServiceId("service-0")
+                .selectedServiceName("剪髮＋洗髮")
+                .selectedServiceDuration(60)
+                .selectedServicePrice(800)
+                .selectedServiceRequiresStaff(true)
+                .selectedStaffId("staff-1")
+                .selectedStaffName("員工1")
+                .selectedDate(LocalDate.now().plusDays(3))
+                .selectedTime(LocalTime.of(15, 0))
+                .customerNote("想要修短一點")
+                .previousState(ConversationState.SELECTING_TIME)
+                .build();
+        serialized = serializer.serialize(context);
+
+        codec = new ConversationContextCodec(serializer, true);
+        compact = codec.serialize(context);
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedSize size) {
+        size.bytes = serialized.length;
+        return serializer.serialize(context);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public byte[] compactSerialize(EncodedSize size) {
+        size.bytes = compact.length;
+        return codec.serialize(context);
+    }
+
+    @Benchmark
+    public Object compactDeserialize() {
+        return codec.deserialize(compact);
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 輔助計數（JMH 結果中的次要指標）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        /**
+         * 每個上下文編碼後的位元組數
+         */
+        public long bytes;
+    }
+}
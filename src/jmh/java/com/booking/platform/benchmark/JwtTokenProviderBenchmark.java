@@ -0,0 +1,66 @@
+package com.booking.platform.benchmark;
+
+import com.booking.platform.common.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 解析基準測試
+ *
+ * <p>每個後台 API 請求都會經過 JwtAuthenticationFilter 驗證並解析 Token
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret",
+                "benchmark-jwt-secret-key-must-be-at-least-256-bits-long-for-hs256");
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 86400000L);
+        jwtTokenProvider.init();
+
+        accessToken = jwtTokenProvider.generateAccessToken(
+                "user-1", "bench-shop", "TENANT", "bench-tenant");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public String getTenantId() {
+        return jwtTokenProvider.getTenantId(accessToken);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken(
+                "user-1", "bench-shop", "TENANT", "bench-tenant");
+    }
+}
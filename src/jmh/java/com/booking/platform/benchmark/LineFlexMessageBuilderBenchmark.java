@@ -0,0 +1,133 @@
+package com.booking.platform.benchmark;
+
+import com.booking.platform.entity.booking.Booking;
+import com.booking.platform.repository.ServiceCategoryRepository;
+import com.booking.platform.repository.line.TenantLineConfigRepository;
+import com.booking.platform.service.line.LineFlexMessageBuilder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * LINE Flex 選單建構基準測試
+ *
+ * <p>日期、時段、員工選單是預約流程中最常被呼叫、也最耗 CPU 的建構方法
+ *
+ * <p>*Bytes 變體包含序列化成送出內容的成本，與實際回覆 LINE 的路徑一致
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineFlexMessageBuilderBenchmark {
+
+    private TenantFixture fixture;
+    private ObjectMapper objectMapper;
+    private LineFlexMessageBuilder builder;
+
+    private String tenantId;
+    private String serviceId;
+    private String capacityServiceId;
+    private String staffId;
+    private LocalDate date;
+    private int duration;
+    private List<Booking> customerBookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new TenantFixture();
+        objectMapper = new ObjectMapper();
+
+        builder = new LineFlexMessageBuilder(
+                objectMapper,
+                fixture.tenantRepository,
+                mock(TenantLineConfigRepository.class),
+                mock(ServiceCategoryRepository.class),
+                fixture.serviceItemRepository,
+                fixture.staffRepository,
+                fixture.staffScheduleRepository,
+                fixture.staffLeaveRepository,
+                fixture.bookingRepository
+        );
+        ReflectionTestUtils.setField(builder, "appBaseUrl", "https://bench.example.com");
+        ReflectionTestUtils.setField(builder, "configCheckSeconds", 60L);
+
+        tenantId = fixture.tenantId;
+        serviceId = fixture.staffService().getId();
+        capacityServiceId = fixture.capacityService().getId();
+        staffId = fixture.staff.get(1).getId();
+        date = fixture.busyWorkingDate();
+        duration = fixture.staffService().getDuration();
+
+        // 一般顧客同時持有的有效預約數
+        customerBookings = fixture.bookings.subList(0, 5);
+    }
+
+    @Benchmark
+    public JsonNode buildDateMenu() {
+        return builder.buildDateMenu(tenantId, duration, serviceId);
+    }
+
+    @Benchmark
+    public JsonNode buildTimeMenu() {
+        return builder.buildTimeMenu(tenantId, staffId, date, duration, serviceId);
+    }
+
+    @Benchmark
+    public byte[] buildTimeMenuBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(builder.buildTimeMenu(tenantId, staffId, date, duration, serviceId));
+    }
+
+    @Benchmark
+    public JsonNode buildTimeMenuAnyStaff() {
+        return builder.buildTimeMenu(tenantId, null, date, duration, serviceId);
+    }
+
+    @Benchmark
+    public JsonNode buildTimeMenuCapacity() {
+        return builder.buildTimeMenu(tenantId, null, date, duration, capacityServiceId);
+    }
+
+    @Benchmark
+    public JsonNode buildBookingList() {
+        return builder.buildBookingList(customerBookings, tenantId);
+    }
+
+    @Benchmark
+    public byte[] buildBookingListBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(builder.buildBookingList(customerBookings, tenantId));
+    }
+
+    @Benchmark
+    public byte[] buildBookingListWithCancelBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(builder.buildBookingListWithCancel(customerBookings, tenantId));
+    }
+
+    @Benchmark
+    public JsonNode buildStaffMenuByDate() {
+        return builder.buildStaffMenuByDate(tenantId, serviceId, date, duration);
+    }
+}
@@ -0,0 +1,71 @@
+package com.booking.platform.benchmark;
+
+import com.booking.platform.common.line.LineSignatureValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LINE Webhook 簽名驗證基準測試
+ *
+ * <p>Body 為一般文字訊息事件的大小
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineSignatureValidatorBenchmark {
+
+    private static final String CHANNEL_SECRET = "8c570fa6dd201bb328f1c1eac23a96d8";
+
+    private static final String BODY = """
+            {"destination":"U0123456789abcdef0123456789abcdef","events":[{"type":"message",\
+            "message":{"type":"text","id":"468789577898262530","quoteToken":"q3Plxr4AgKd",\
+            "text":"預約"},"webhookEventId":"01H810YECXQQZ37VAXPF6H9E6T",\
+            "deliveryContext":{"isRedelivery":false},"timestamp":1692251666727,\
+            "source":{"type":"user","userId":"U4af4980629a1b2c3d4e5f60718293a4b"},\
+            "replyToken":"38ef843bde154d9b91c21320ffd17a0f","mode":"active"}]}""";
+
+    private LineSignatureValidator validator;
+    private String signature;
+    private byte[] bodyBytes;
+    private Mac mac;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        validator = new LineSignatureValidator();
+        signature = validator.calculateSignature(BODY, CHANNEL_SECRET);
+        bodyBytes = BODY.getBytes(StandardCharsets.UTF_8);
+        mac = validator.createMac(CHANNEL_SECRET);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return validator.validate(BODY, signature, CHANNEL_SECRET);
+    }
+
+    /**
+     * Webhook 實際路徑：原始 bytes + 快取的 Mac
+     */
+    @Benchmark
+    public boolean validateRawBytesCachedMac() {
+        return validator.validate(bodyBytes, signature, mac);
+    }
+}
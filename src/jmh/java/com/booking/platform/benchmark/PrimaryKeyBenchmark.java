@@ -0,0 +1,160 @@
+package com.booking.platform.benchmark;
+
+import com.booking.platform.common.entity.IdGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 主鍵格式基準測試
+ *
+ * <p>比較隨機 UUID（v4）與時間排序 UUID（v7）作為 varchar 主鍵時的寫入、查詢與索引大小。
+ * 資料表仿照 bookings：主鍵加上 (tenant_id, id) 次要索引，以 H2 代替 PostgreSQL；
+ * 預載後的 DISK_SPACE_USED（資料表含索引的空間）以輔助計數 tableBytes 列在結果中
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimaryKeyBenchmark {
+
+    private static final int PRELOAD_ROWS = 100_000;
+    private static final int BATCH_ROWS = 500;
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    public String idType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement lookup;
+    private List<String> existingIds;
+    private long preloadedBytes;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:pk_" + idType + ";DB_CLOSE_DELAY=0", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE bench_bookings (
+                        id VARCHAR(36) PRIMARY KEY,
+                        tenant_id VARCHAR(36) NOT NULL,
+                        created_at TIMESTAMP NOT NULL
+                    )""");
+            statement.execute("CREATE INDEX idx_bench_tenant ON bench_bookings (tenant_id, id)");
+        }
+        insert = connection.prepareStatement(
+                "INSERT INTO bench_bookings (id, tenant_id, created_at) VALUES (?, ?, ?)");
+        lookup = connection.prepareStatement("SELECT created_at FROM bench_bookings WHERE id = ?");
+
+        existingIds = new ArrayList<>(PRELOAD_ROWS);
+        for (int i = 0; i < PRELOAD_ROWS; i += BATCH_ROWS) {
+            existingIds.addAll(insertRows());
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("CALL DISK_SPACE_USED('BENCH_BOOKINGS')")) {
+            preloadedBytes = rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * 批次寫入（每次 500 筆，與排程批次寫入相同的模式）
+     */
+    @Benchmark
+    public List<String> insertBatch(TableSize size) throws SQLException {
+        size.tableBytes = preloadedBytes;
+        return insertRows();
+    }
+
+    /**
+     * 依主鍵查詢（隨機挑選既有資料）
+     */
+    @Benchmark
+    public boolean lookupById(TableSize size) throws SQLException {
+        size.tableBytes = preloadedBytes;
+        lookup.setString(1, existingIds.get(ThreadLocalRandom.current().nextInt(existingIds.size())));
+        try (ResultSet rs = lookup.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * 只產生主鍵（不含資料庫）
+     */
+    @Benchmark
+    public String generate() {
+        return newId();
+    }
+
+    private List<String> insertRows() throws SQLException {
+        List<String> ids = new ArrayList<>(BATCH_ROWS);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_ROWS; i++) {
+            String id = newId();
+            insert.setString(1, id);
+            insert.setString(2, "tenant-" + (i % 20));
+            insert.setTimestamp(3, now);
+            insert.addBatch();
+            ids.add(id);
+        }
+        insert.executeBatch();
+        connection.commit();
+        return ids;
+    }
+
+    private String newId() {
+        return "RANDOM_V4".equals(idType) ? UUID.randomUUID().toString() : IdGenerator.newId();
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 輔助計數（JMH 結果中的次要指標）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TableSize {
+
+        /**
+         * 預載後資料表含索引空間（bytes）
+         */
+        public long tableBytes;
+    }
+}
@@ -0,0 +1,325 @@
+package com.booking.platform.benchmark;
+
+import com.booking.platform.entity.booking.Booking;
+import com.booking.platform.entity.catalog.ServiceItem;
+import com.booking.platform.entity.staff.Staff;
+import com.booking.platform.entity.staff.StaffLeave;
+import com.booking.platform.entity.staff.StaffSchedule;
+import com.booking.platform.entity.tenant.Tenant;
+import com.booking.platform.enums.BookingStatus;
+import com.booking.platform.enums.StaffStatus;
+import com.booking.platform.repository.BookingRepository;
+import com.booking.platform.repository.ServiceItemRepository;
+import com.booking.platform.repository.StaffLeaveRepository;
+import com.booking.platform.repository.StaffRepository;
+import com.booking.platform.repository.StaffScheduleRepository;
+import com.booking.platform.repository.TenantRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 基準測試用的租戶資料
+ *
+ * <p>模擬中型店家規模：8 位員工、20 個服務、每週排班、前後 60 天的預約，
+ * Repository 以 Mockito 模擬並從記憶體資料回答，量測的是程式本身的 CPU 成本
+ *
+ * <p>亂數種子固定，每次執行產生相同資料，結果才能和基準值比較
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public class TenantFixture {
+
+    // ========================================
+    // 規模設定
+    // ========================================
+
+    public static final int STAFF_COUNT = 8;
+    public static final int SERVICE_COUNT = 20;
+    public static final int BOOKING_DAYS = 60;
+    public static final int BOOKINGS_PER_STAFF_PER_DAY = 6;
+
+    private static final long SEED = 20240101L;
+
+    // ========================================
+    // 資料
+    // ========================================
+
+    public final String tenantId = "bench-tenant";
+    public final LocalDate today = LocalDate.now();
+
+    public final Tenant tenant;
+    public final List<Staff> staff = new ArrayList<>();
+    public final List<ServiceItem> services = new ArrayList<>();
+    public final List<StaffSchedule> schedules = new ArrayList<>();
+    public final List<StaffLeave> leaves = new ArrayList<>();
+    public final List<Booking> bookings = new ArrayList<>();
+
+    // ========================================
+    // 模擬 Repository
+    // ========================================
+
+    public final TenantRepository tenantRepository = mock(TenantRepository.class);
+    public final ServiceItemRepository serviceItemRepository = mock(ServiceItemRepository.class);
+    public final StaffRepository staffRepository = mock(StaffRepository.class);
+    public final StaffScheduleRepository staffScheduleRepository = mock(StaffScheduleRepository.class);
+    public final StaffLeaveRepository staffLeaveRepository = mock(StaffLeaveRepository.class);
+    public final BookingRepository bookingRepository = mock(BookingRepository.class);
+
+    private final Map<String, StaffSchedule> scheduleIndex = new HashMap<>();
+    private final Map<String, List<Booking>> bookingsByDate = new HashMap<>();
+
+    public TenantFixture() {
+        Random random = new Random(SEED);
+
+        tenant = Tenant.builder()
+                .code("bench")
+                .name("基準測試店家")
+                .bookingBufferMinutes(10)
+                .build();
+        tenant.setId(tenantId);
+
+        seedStaff();
+        seedServices(random);
+        seedSchedules();
+        seedLeaves();
+        seedBookings(random);
+        stubRepositories();
+    }
+
+    // ========================================
+    // 資料建立
+    // ========================================
+
+    private void seedStaff() {
+        for (int i = 0; i < STAFF_COUNT; i++) {
+            Staff s = Staff.builder()
+                    .name("員工" + i)
+                    .status(StaffStatus.ACTIVE)
+                    .maxConcurrentBookings(i % 4 == 0 ? 2 : 1)
+                    .sortOrder(i)
+                    .build();
+            s.setId("staff-" + i);
+            s.setTenantId(tenantId);
+            staff.add(s);
+        }
+    }
+
+    private void seedServices(Random random) {
+        for (int i = 0; i < SERVICE_COUNT; i++) {
+            // 最後幾個服務為容量模式（不需指定員工）
+            boolean requiresStaff = i < SERVICE_COUNT - 3;
+            ServiceItem service = ServiceItem.builder()
+                    .name("服務" + i)
+                    .price(BigDecimal.valueOf(500 + random.nextInt(20) * 100L))
+                    .duration(30 + (i % 4) * 30)
+                    .requiresStaff(requiresStaff)
+                    .maxCapacity(requiresStaff ? 1 : 6)
+                    .sortOrder(i)
+                    .build();
+            service.setId("service-" + i);
+            service.setTenantId(tenantId);
+            services.add(service);
+        }
+    }
+
+    private void seedSchedules() {
+        for (Staff s : staff) {
+            int dayOff = Math.abs(s.getId().hashCode()) % 7;
+            for (int day = 0; day < 7; day++) {
+                StaffSchedule schedule = StaffSchedule.builder()
+                        .staffId(s.getId())
+                        .dayOfWeek(day)
+                        .isWorkingDay(day != dayOff)
+                        .startTime(LocalTime.of(10, 0))
+                        .endTime(LocalTime.of(20, 0))
+                        .breakStartTime(LocalTime.of(13, 0))
+                        .breakEndTime(LocalTime.of(14, 0))
+                        .build();
+                schedule.setId(s.getId() + "-" + day);
+                schedule.setTenantId(tenantId);
+                schedules.add(schedule);
+                scheduleIndex.put(s.getId() + ":" + day, schedule);
+            }
+        }
+    }
+
+    private void seedLeaves() {
+        // 每位員工兩週後各有一天全天假、一個半天假
+        for (int i = 0; i < staff.size(); i++) {
+            Staff s = staff.get(i);
+
+            StaffLeave fullDay = StaffLeave.builder()
+                    .staffId(s.getId())
+                    .leaveDate(today.plusDays(14 + i))
+                    .isFullDay(true)
+                    .build();
+            fullDay.setId(s.getId() + "-leave-full");
+            fullDay.setTenantId(tenantId);
+            leaves.add(fullDay);
+
+            StaffLeave halfDay = StaffLeave.builder()
+                    .staffId(s.getId())
+                    .leaveDate(today.plusDays(3 + i))
+                    .isFullDay(false)
+                    .startTime("14:00")
+                    .endTime("18:00")
+                    .build();
+            halfDay.setId(s.getId() + "-leave-half");
+            halfDay.setTenantId(tenantId);
+            leaves.add(halfDay);
+        }
+    }
+
+    private void seedBookings(Random random) {
+        int sequence = 0;
+        for (int offset = -BOOKING_DAYS / 2; offset < BOOKING_DAYS / 2; offset++) {
+            LocalDate date = today.plusDays(offset);
+            for (Staff s : staff) {
+                for (int n = 0; n < BOOKINGS_PER_STAFF_PER_DAY; n++) {
+                    ServiceItem service = services.get(random.nextInt(SERVICE_COUNT));
+                    LocalTime start = LocalTime.of(10, 0).plusMinutes(30L * random.nextInt(18));
+                    Booking booking = Booking.builder()
+                            .bookingDate(date)
+                            .startTime(start)
+                            .endTime(start.plusMinutes(service.getDuration()))
+                            .staffId(s.getId())
+                            .staffName(s.getName())
+                            .serviceId(service.getId())
+                            .serviceName(service.getName())
+                            .price(service.getPrice())
+                            .duration(service.getDuration())
+                            .status(random.nextInt(10) < 8 ? BookingStatus.CONFIRMED : BookingStatus.PENDING)
+                            .customerName("顧客" + (sequence % 300))
+                            .build();
+                    booking.setId("booking-" + sequence++);
+                    booking.setTenantId(tenantId);
+                    bookings.add(booking);
+                    bookingsByDate.computeIfAbsent(date.toString(), k -> new ArrayList<>()).add(booking);
+                }
+            }
+        }
+    }
+
+    // ========================================
+    // Repository 模擬
+    // ========================================
+
+    private void stubRepositories() {
+        when(tenantRepository.findByIdAndDeletedAtIsNull(tenantId)).thenReturn(Optional.of(tenant));
+
+        for (ServiceItem service : services) {
+            when(serviceItemRepository.findByIdAndTenantIdAndDeletedAtIsNull(service.getId(), tenantId))
+                    .thenReturn(Optional.of(service));
+        }
+
+        for (Staff s : staff) {
+            when(staffRepository.findByIdAndTenantIdAndDeletedAtIsNull(s.getId(), tenantId))
+                    .thenReturn(Optional.of(s));
+        }
+        when(staffRepository.findByTenantIdAndStatusAndDeletedAtIsNull(tenantId, StaffStatus.ACTIVE))
+                .thenReturn(staff);
+
+        when(staffScheduleRepository.findByStaffIdAndDayOfWeek(anyString(), eq(tenantId), anyInt()))
+                .thenAnswer(inv -> Optional.ofNullable(
+                        scheduleIndex.get(inv.getArgument(0) + ":" + inv.getArgument(2))));
+
+        when(staffLeaveRepository.findByStaffIdAndDateRange(anyString(), any(), any()))
+                .thenAnswer(inv -> leavesInRange(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)));
+        when(staffLeaveRepository.isStaffOnLeave(anyString(), any()))
+                .thenAnswer(inv -> findLeave(inv.getArgument(0), inv.getArgument(1))
+                        .map(StaffLeave::getIsFullDay).orElse(false));
+        when(staffLeaveRepository.findLeaveDetail(anyString(), any()))
+                .thenAnswer(inv -> findLeave(inv.getArgument(0), inv.getArgument(1)));
+
+        when(bookingRepository.findConfirmedBookingsInDateRange(eq(tenantId), any(), any()))
+                .thenAnswer(inv -> confirmedInRange(inv.getArgument(1), inv.getArgument(2)));
+        when(bookingRepository.countConflictingBookings(eq(tenantId), anyString(), any(), any(), any()))
+                .thenAnswer(inv -> countConflicts(inv.getArgument(1), null,
+                        inv.getArgument(2), inv.getArgument(3), inv.getArgument(4)));
+        when(bookingRepository.countConflictingBookingsByService(eq(tenantId), anyString(), any(), any(), any()))
+                .thenAnswer(inv -> countConflicts(null, inv.getArgument(1),
+                        inv.getArgument(2), inv.getArgument(3), inv.getArgument(4)));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private List<StaffLeave> leavesInRange(String staffId, LocalDate start, LocalDate end) {
+        List<StaffLeave> result = new ArrayList<>();
+        for (StaffLeave leave : leaves) {
+            if (leave.getStaffId().equals(staffId)
+                    && !leave.getLeaveDate().isBefore(start) && !leave.getLeaveDate().isAfter(end)) {
+                result.add(leave);
+            }
+        }
+        return result;
+    }
+
+    private Optional<StaffLeave> findLeave(String staffId, LocalDate date) {
+        for (StaffLeave leave : leaves) {
+            if (leave.getStaffId().equals(staffId) && leave.getLeaveDate().equals(date)) {
+                return Optional.of(leave);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private List<Booking> confirmedInRange(LocalDate start, LocalDate end) {
+        List<Booking> result = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            for (Booking booking : bookingsByDate.getOrDefault(date.toString(), List.of())) {
+                if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                    result.add(booking);
+                }
+            }
+        }
+        return result;
+    }
+
+    private long countConflicts(String staffId, String serviceId, LocalDate date,
+                                LocalTime startTime, LocalTime endTime) {
+        long count = 0;
+        for (Booking booking : bookingsByDate.getOrDefault(date.toString(), List.of())) {
+            if (staffId != null && !staffId.equals(booking.getStaffId())) continue;
+            if (serviceId != null && !serviceId.equals(booking.getServiceId())) continue;
+            if (booking.getStatus() != BookingStatus.CONFIRMED && booking.getStatus() != BookingStatus.PENDING) continue;
+            if (booking.getStartTime().isBefore(endTime) && booking.getEndTime().isAfter(startTime)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ========================================
+    // 便利方法
+    // ========================================
+
+    public ServiceItem staffService() {
+        return services.get(0);
+    }
+
+    public ServiceItem capacityService() {
+        return services.get(SERVICE_COUNT - 1);
+    }
+
+    /**
+     * 已有大量預約、且沒有員工請假的未來日期
+     */
+    public LocalDate busyWorkingDate() {
+        return today.plusDays(25);
+    }
+}
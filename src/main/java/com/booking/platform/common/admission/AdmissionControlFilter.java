@@ -0,0 +1,129 @@
+package com.booking.platform.common.admission;
+
+import com.booking.platform.common.exception.ErrorCode;
+import com.booking.platform.common.response.ApiResponse;
+import com.booking.platform.common.security.ClientIpResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 准入控制過濾器
+ *
+ * <p>在 Spring Security 過濾器鏈（order -100）與 TenantFilter 之前依路由與租戶限流，
+ * 超過時直接回 429 與 Retry-After，不進入後續處理：
+ * <ul>
+ *   <li>POST /api/line/webhook/{tenantCode} - 依租戶代碼（LINE 收到 429 會稍後重送）</li>
+ *   <li>/booking/** - 依來源 IP（{@link ClientIpResolver}，只採用受信任代理加入的位址）</li>
+ *   <li>/api/public/{...}/{tenantId}/** - 依租戶 ID</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    // ========================================
+    // 常數
+    // ========================================
+
+    private static final String LINE_WEBHOOK_PATH = "/api/line/webhook/";
+    private static final String PUBLIC_BOOKING_PATH = "/booking/";
+    private static final String PUBLIC_API_PATH = "/api/public/";
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final TenantRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    // ========================================
+    // 過濾邏輯
+    // ========================================
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(LINE_WEBHOOK_PATH)
+                && !path.startsWith(PUBLIC_BOOKING_PATH)
+                && !path.startsWith(PUBLIC_API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String path = request.getRequestURI();
+
+        AdmissionRoute route = null;
+        String key = null;
+
+        if (path.startsWith(LINE_WEBHOOK_PATH)) {
+            if ("POST".equals(request.getMethod())) {
+                route = AdmissionRoute.LINE_WEBHOOK;
+                key = segment(path, LINE_WEBHOOK_PATH, 0);
+            }
+        } else if (path.startsWith(PUBLIC_BOOKING_PATH)) {
+            route = AdmissionRoute.PUBLIC_BOOKING;
+            key = ClientIpResolver.resolve(request);
+        } else {
+            route = AdmissionRoute.PUBLIC_API;
+            key = segment(path, PUBLIC_API_PATH, 1);
+        }
+
+        if (route == null || key == null || rateLimiter.tryAcquire(route, key)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("請求超過限流，路由：{}，鍵：{}", route.getKey(), key);
+        writeTooManyRequests(response, rateLimiter.retryAfterSeconds(route));
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 取出前綴之後的第 index 段路徑
+     */
+    private String segment(String path, String prefix, int index) {
+        String[] parts = path.substring(prefix.length()).split("/");
+        if (parts.length <= index || parts[index].isEmpty()) {
+            return null;
+        }
+        return parts[index];
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(
+                ErrorCode.SYS_TOO_MANY_REQUESTS.getCode(),
+                ErrorCode.SYS_TOO_MANY_REQUESTS.getDefaultMessage()
+        ));
+    }
+}
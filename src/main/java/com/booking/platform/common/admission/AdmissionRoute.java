@@ -0,0 +1,49 @@
+package com.booking.platform.common.admission;
+
+/**
+ * 限流路由
+ *
+ * <p>每個路由各自一組令牌桶，依租戶或來源 IP 分桶（見 {@link AdmissionControlFilter}）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public enum AdmissionRoute {
+
+    /**
+     * LINE Webhook（依租戶代碼）
+     */
+    LINE_WEBHOOK("line-webhook", true),
+
+    /**
+     * 公開預約頁面，如取消預約（依來源 IP）
+     */
+    PUBLIC_BOOKING("public-booking", false),
+
+    /**
+     * 公開 API，如 Flex 卡片圖片（依租戶 ID）
+     */
+    PUBLIC_API("public-api", true);
+
+    private final String key;
+    private final boolean tenantKeyed;
+
+    AdmissionRoute(String key, boolean tenantKeyed) {
+        this.key = key;
+        this.tenantKeyed = tenantKeyed;
+    }
+
+    /**
+     * 設定與指標使用的名稱
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 是否依租戶分桶（指標才標記租戶，依 IP 分桶的路由不標記，避免標籤數量無上限）
+     */
+    public boolean isTenantKeyed() {
+        return tenantKeyed;
+    }
+}
@@ -0,0 +1,155 @@
+package com.booking.platform.common.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 依租戶的併發上限
+ *
+ * <p>共用的執行緒池與對外連線不讓單一租戶佔滿：
+ * <ul>
+ *   <li>{@link Pool#LINE_WEBHOOK} - taskExecutor 上的 Webhook 處理（未使用佇列時），超過上限不排入，由呼叫端回 429</li>
+ *   <li>{@link Pool#LINE_API} - 呼叫 LINE API 的併發數，超過上限等待 wait-ms，逾時拋出 {@link TenantThrottledException}</li>
+ * </ul>
+ *
+ * <p>輸出指標：admission.bulkhead.rejected（pool、tenant）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class TenantBulkhead {
+
+    /**
+     * 併發上限分組
+     */
+    public enum Pool {
+        LINE_WEBHOOK,
+        LINE_API
+    }
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final Executor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int webhookMaxPerTenant;
+    private final int lineApiMaxPerTenant;
+
+    @Value("${app.admission.bulkhead.line-api.wait-ms:5000}")
+    private long lineApiWaitMs;
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public TenantBulkhead(@Qualifier("taskExecutor") Executor taskExecutor,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.admission.bulkhead.line-webhook.max-per-tenant:10}") int webhookMaxPerTenant,
+                          @Value("${app.admission.bulkhead.line-api.max-per-tenant:8}") int lineApiMaxPerTenant) {
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.webhookMaxPerTenant = webhookMaxPerTenant;
+        this.lineApiMaxPerTenant = lineApiMaxPerTenant;
+    }
+
+    // ========================================
+    // 公開方法
+    // ========================================
+
+    /**
+     * 在 taskExecutor 執行租戶的工作（不等待）
+     *
+     * @param pool     分組
+     * @param tenantId 租戶 ID
+     * @param task     工作
+     * @return 是否已排入（租戶達上限或執行緒池已滿時為 false）
+     */
+    public boolean tryRun(Pool pool, String tenantId, Runnable task) {
+        Semaphore semaphore = semaphore(pool, tenantId);
+        if (!semaphore.tryAcquire()) {
+            reject(pool, tenantId);
+            return false;
+        }
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    semaphore.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            semaphore.release();
+            reject(pool, tenantId);
+            log.warn("執行緒池已滿，租戶：{}，分組：{}", tenantId, pool);
+            return false;
+        }
+    }
+
+    /**
+     * 在目前執行緒執行租戶的工作，達上限時等待
+     *
+     * @param pool     分組
+     * @param tenantId 租戶 ID
+     * @param task     工作
+     * @return 工作結果
+     * @throws TenantThrottledException 等待逾時
+     */
+    public <T> T call(Pool pool, String tenantId, Supplier<T> task) {
+        Semaphore semaphore = semaphore(pool, tenantId);
+        try {
+            if (!semaphore.tryAcquire(lineApiWaitMs, TimeUnit.MILLISECONDS)) {
+                reject(pool, tenantId);
+                throw new TenantThrottledException("租戶併發數已達上限：" + pool);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TenantThrottledException("等待併發名額時被中斷：" + pool);
+        }
+
+        try {
+            return task.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private Semaphore semaphore(Pool pool, String tenantId) {
+        return permits.computeIfAbsent(pool + ":" + tenantId, key -> new Semaphore(maxPerTenant(pool)));
+    }
+
+    private int maxPerTenant(Pool pool) {
+        return switch (pool) {
+            case LINE_WEBHOOK -> webhookMaxPerTenant;
+            case LINE_API -> lineApiMaxPerTenant;
+        };
+    }
+
+    private void reject(Pool pool, String tenantId) {
+        Counter.builder("admission.bulkhead.rejected")
+                .description("超過租戶併發上限被拒絕的工作數")
+                .tag("pool", pool.name().toLowerCase().replace('_', '-'))
+                .tag("tenant", tenantId)
+                .register(meterRegistry)
+                .increment();
+    }
+}
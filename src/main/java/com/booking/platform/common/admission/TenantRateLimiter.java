@@ -0,0 +1,297 @@
+package com.booking.platform.common.admission;
+
+import com.booking.platform.repository.TenantRepository;
+import com.booking.platform.service.line.LineWebhookRouteCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 依租戶、路由的令牌桶限流
+ *
+ * <p>每個（路由、租戶或 IP）一個本機令牌桶，判斷不需要網路往返；
+ * 開啟 redis-sync 時，各實例每 interval-ms 將放行數量以管線 INCRBY 累加到 Redis 的時間窗計數，
+ * 全部實例合計超過「每秒上限 × 窗口秒數 + 突發量」的鍵，在本窗口剩餘時間內各實例都拒絕。
+ * 同步延遲最多一個 interval，Redis 無法連線時只用本機限流
+ *
+ * <p>閒置超過 10 分鐘的令牌桶定期移除；令牌桶數達 max-buckets 時移除最久未使用的 10%，
+ * 大量偽造來源的請求不會讓記憶體無限制成長
+ *
+ * <p>輸出指標：admission.rejected（route、tenant、scope: local / global）；
+ * tenant 標籤只記錄存在的租戶代碼或 ID，路徑中不存在的值一律記為 unknown，避免任意 URL 產生無上限的時間序列
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class TenantRateLimiter {
+
+    private static final String REDIS_PREFIX = "admission:";
+    private static final long IDLE_EVICT_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final String UNKNOWN_TENANT = "unknown";
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TenantRepository tenantRepository;
+    private final LineWebhookRouteCache webhookRouteCache;
+
+    @Value("${app.admission.redis-sync.enabled:false}")
+    private boolean redisSyncEnabled;
+
+    @Value("${app.admission.redis-sync.window-seconds:10}")
+    private int windowSeconds;
+
+    @Value("${app.admission.max-buckets:100000}")
+    private int maxBuckets;
+
+    /**
+     * 各路由的上限
+     */
+    private final Map<AdmissionRoute, Limit> limits = new EnumMap<>(AdmissionRoute.class);
+
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Object overflowLock = new Object();
+
+    /**
+     * 全域超量的鍵與解除時間（epoch 毫秒）
+     */
+    private final Map<BucketKey, Long> globalThrottledUntil = new ConcurrentHashMap<>();
+
+    /**
+     * 被拒絕過的鍵對應的 tenant 標籤（每個鍵只查詢一次租戶）
+     */
+    private final Map<BucketKey, String> tenantTags = new ConcurrentHashMap<>();
+
+    public TenantRateLimiter(RedisConnectionFactory connectionFactory,
+                             MeterRegistry meterRegistry,
+                             TenantRepository tenantRepository,
+                             LineWebhookRouteCache webhookRouteCache,
+                             @Value("${app.admission.line-webhook.per-second:50}") double webhookPerSecond,
+                             @Value("${app.admission.line-webhook.burst:200}") int webhookBurst,
+                             @Value("${app.admission.public-booking.per-second:2}") double bookingPerSecond,
+                             @Value("${app.admission.public-booking.burst:20}") int bookingBurst,
+                             @Value("${app.admission.public-api.per-second:50}") double publicApiPerSecond,
+                             @Value("${app.admission.public-api.burst:200}") int publicApiBurst) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.meterRegistry = meterRegistry;
+        this.tenantRepository = tenantRepository;
+        this.webhookRouteCache = webhookRouteCache;
+        limits.put(AdmissionRoute.LINE_WEBHOOK, new Limit(webhookPerSecond, webhookBurst));
+        limits.put(AdmissionRoute.PUBLIC_BOOKING, new Limit(bookingPerSecond, bookingBurst));
+        limits.put(AdmissionRoute.PUBLIC_API, new Limit(publicApiPerSecond, publicApiBurst));
+    }
+
+    // ========================================
+    // 限流判斷
+    // ========================================
+
+    /**
+     * 取得一個令牌
+     *
+     * @param route 路由
+     * @param key   租戶代碼、租戶 ID 或來源 IP
+     * @return 是否放行
+     */
+    public boolean tryAcquire(AdmissionRoute route, String key) {
+        Limit limit = limits.get(route);
+        if (limit.perSecond() <= 0) {
+            return true;
+        }
+
+        BucketKey bucketKey = new BucketKey(route, key);
+
+        Long throttledUntil = globalThrottledUntil.get(bucketKey);
+        if (throttledUntil != null) {
+            if (throttledUntil > System.currentTimeMillis()) {
+                reject(bucketKey, "global");
+                return false;
+            }
+            globalThrottledUntil.remove(bucketKey, throttledUntil);
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictOverflow();
+            }
+            bucket = buckets.computeIfAbsent(bucketKey,
+                    k -> new TokenBucket(limit.perSecond(), limit.burst(), now));
+        }
+        if (bucket.tryAcquire(now)) {
+            return true;
+        }
+
+        reject(bucketKey, "local");
+        return false;
+    }
+
+    /**
+     * 建議的重試秒數（Retry-After）
+     */
+    public long retryAfterSeconds(AdmissionRoute route) {
+        Limit limit = limits.get(route);
+        return limit.perSecond() > 0 ? Math.max(1, (long) Math.ceil(1 / limit.perSecond())) : 1;
+    }
+
+    // ========================================
+    // 跨實例同步
+    // ========================================
+
+    /**
+     * 將本機放行數量累加到 Redis，並標記全域超量的鍵
+     */
+    @Scheduled(fixedDelayString = "${app.admission.redis-sync.interval-ms:1000}")
+    public void syncWithRedis() {
+        if (!redisSyncEnabled) {
+            return;
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        long window = nowMillis / 1000 / windowSeconds;
+        long windowEnd = (window + 1) * windowSeconds * 1000;
+
+        List<BucketKey> keys = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        buckets.forEach((key, bucket) -> {
+            long admitted = bucket.drainAdmitted();
+            if (admitted > 0) {
+                keys.add(key);
+                counts.add(admitted);
+            }
+        });
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (int i = 0; i < keys.size(); i++) {
+                    String redisKey = REDIS_PREFIX + keys.get(i).route().getKey() + ":" + keys.get(i).key() + ":" + window;
+                    redis.incrBy(redisKey, counts.get(i));
+                    redis.expire(redisKey, windowSeconds * 2L);
+                }
+                return null;
+            });
+
+            for (int i = 0; i < keys.size(); i++) {
+                long total = ((Number) results.get(i * 2)).longValue();
+                Limit limit = limits.get(keys.get(i).route());
+                if (total > limit.perSecond() * windowSeconds + limit.burst()) {
+                    globalThrottledUntil.put(keys.get(i), windowEnd);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("限流計數同步到 Redis 失敗，僅使用本機限流：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 移除閒置的令牌桶、已解除的全域超量標記與不再使用的 tenant 標籤
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> now - entry.getValue().lastUsedNanos() > IDLE_EVICT_NANOS);
+        long nowMillis = System.currentTimeMillis();
+        globalThrottledUntil.entrySet().removeIf(entry -> entry.getValue() <= nowMillis);
+        tenantTags.keySet().removeIf(key -> !buckets.containsKey(key) && !globalThrottledUntil.containsKey(key));
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 令牌桶數達上限時移除最久未使用的 10%，排序成本分攤到之後新增的令牌桶
+     */
+    private void evictOverflow() {
+        synchronized (overflowLock) {
+            int excess = buckets.size() - maxBuckets * 9 / 10;
+            if (buckets.size() < maxBuckets || excess <= 0) {
+                return;
+            }
+
+            List<BucketKey> oldest = buckets.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            oldest.forEach(buckets::remove);
+
+            log.warn("限流令牌桶達上限 {}，移除最久未使用的 {} 個", maxBuckets, oldest.size());
+        }
+    }
+
+    private void reject(BucketKey key, String scope) {
+        Counter.builder("admission.rejected")
+                .description("超過限流被拒絕的請求數")
+                .tag("route", key.route().getKey())
+                .tag("tenant", tenantTag(key))
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 指標的 tenant 標籤
+     *
+     * <p>依 IP 分桶的路由不標記；依租戶分桶的路由只有鍵對應到存在的租戶時才標記，其餘記為 unknown
+     */
+    private String tenantTag(BucketKey key) {
+        if (!key.route().isTenantKeyed()) {
+            return "-";
+        }
+
+        String tag = tenantTags.get(key);
+        if (tag == null) {
+            tag = isKnownTenant(key) ? key.key() : UNKNOWN_TENANT;
+            tenantTags.put(key, tag);
+        }
+        return tag;
+    }
+
+    private boolean isKnownTenant(BucketKey key) {
+        try {
+            return switch (key.route()) {
+                case LINE_WEBHOOK -> webhookRouteCache.resolve(key.key()).isPresent();
+                case PUBLIC_API -> tenantRepository.existsByIdAndDeletedAtIsNull(key.key());
+                default -> false;
+            };
+        } catch (Exception e) {
+            log.warn("查詢限流鍵對應的租戶失敗，路由：{}，錯誤：{}", key.route().getKey(), e.getMessage());
+            return false;
+        }
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    private record Limit(double perSecond, int burst) {
+    }
+
+    private record BucketKey(AdmissionRoute route, String key) {
+    }
+}
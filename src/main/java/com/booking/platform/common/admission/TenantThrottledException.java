@@ -0,0 +1,16 @@
+package com.booking.platform.common.admission;
+
+/**
+ * 租戶超過併發上限
+ *
+ * <p>刻意不是 BusinessException：呼叫端（如預約通知外寄匣）視為暫時性錯誤，稍後重試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public class TenantThrottledException extends RuntimeException {
+
+    public TenantThrottledException(String message) {
+        super(message);
+    }
+}
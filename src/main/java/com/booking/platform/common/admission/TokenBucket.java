@@ -0,0 +1,59 @@
+package com.booking.platform.common.admission;
+
+/**
+ * 令牌桶
+ *
+ * <p>以每秒 perSecond 的速度補充，最多累積 burst 個；時間由呼叫端傳入（System.nanoTime），方便測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long admittedSinceSync;
+    private volatile long lastUsedNanos;
+
+    TokenBucket(double perSecond, int burst, long nowNanos) {
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = perSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+        this.lastUsedNanos = nowNanos;
+    }
+
+    /**
+     * 取得一個令牌
+     *
+     * @return 是否取得
+     */
+    synchronized boolean tryAcquire(long nowNanos) {
+        lastUsedNanos = nowNanos;
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = nowNanos;
+
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        admittedSinceSync++;
+        return true;
+    }
+
+    /**
+     * 取出上次同步後放行的數量並歸零
+     */
+    synchronized long drainAdmitted() {
+        long admitted = admittedSinceSync;
+        admittedSinceSync = 0;
+        return admitted;
+    }
+
+    long lastUsedNanos() {
+        return lastUsedNanos;
+    }
+}
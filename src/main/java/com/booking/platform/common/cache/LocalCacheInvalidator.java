@@ -0,0 +1,201 @@
+package com.booking.platform.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 本機快取失效協調
+ *
+ * <p>各服務的記憶體快取（AI 提示詞上下文、Webhook 路由等）以快取名稱註冊清除方法，
+ * 資料異動時呼叫 {@link #invalidate}：
+ * <ul>
+ *   <li>立即清除本機快取</li>
+ *   <li>在交易中時，交易提交後再清除一次，避免提交前被併發請求以舊資料重新載入</li>
+ *   <li>提交後（或不在交易中時立即）將快取名稱與鍵發佈到 Redis 頻道，其他實例收到後清除本機快取</li>
+ * </ul>
+ *
+ * <p>以 app.cache.local-broadcast.enabled 開啟跨實例通知；未開啟或 Redis 無法連線時，
+ * 其他實例以各快取的 TTL 為上限
+ *
+ * <p>輸出指標：cache.local.invalidation（direction: sent / received / failed）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class LocalCacheInvalidator implements MessageListener {
+
+    /**
+     * 實例識別，略過自己發出的通知
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache.local-broadcast.enabled:false}")
+    private boolean broadcastEnabled;
+
+    @Value("${app.cache.local-broadcast.channel:cache:local:invalidate}")
+    private String channel;
+
+    /**
+     * 各快取的清除方法（key：快取名稱）
+     */
+    private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+
+    private RedisMessageListenerContainer container;
+
+    @Autowired
+    public LocalCacheInvalidator(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        this(connectionFactory, new StringRedisTemplate(connectionFactory), meterRegistry);
+    }
+
+    LocalCacheInvalidator(RedisConnectionFactory connectionFactory,
+                          StringRedisTemplate redisTemplate,
+                          MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ========================================
+    // 生命週期
+    // ========================================
+
+    @PostConstruct
+    public void start() {
+        if (!broadcastEnabled) {
+            return;
+        }
+
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+
+        log.info("本機快取失效通知已啟用，頻道：{}", channel);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    // ========================================
+    // 公開方法
+    // ========================================
+
+    /**
+     * 註冊快取的清除方法
+     *
+     * @param cacheName 快取名稱（各實例相同）
+     * @param evictor   依鍵清除本機快取
+     */
+    public void register(String cacheName, Consumer<String> evictor) {
+        evictors.put(cacheName, evictor);
+    }
+
+    /**
+     * 清除本機快取，交易提交後再清除一次並通知其他實例
+     *
+     * @param cacheName 快取名稱
+     * @param key       快取鍵
+     */
+    public void invalidate(String cacheName, String key) {
+        evictLocal(cacheName, key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(cacheName, key);
+                    publish(cacheName, key);
+                }
+            });
+        } else {
+            publish(cacheName, key);
+        }
+    }
+
+    // ========================================
+    // 接收
+    // ========================================
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        evictLocal(parts[1], parts[2]);
+        count("received");
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void evictLocal(String cacheName, String key) {
+        Consumer<String> evictor = evictors.get(cacheName);
+        if (evictor == null) {
+            return;
+        }
+        try {
+            evictor.accept(key);
+        } catch (Exception e) {
+            log.warn("清除本機快取失敗，快取：{}，鍵：{}，錯誤：{}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private void publish(String cacheName, String key) {
+        if (!broadcastEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, instanceId + "|" + cacheName + "|" + key);
+            count("sent");
+        } catch (Exception e) {
+            log.warn("本機快取失效通知發送失敗，快取：{}，錯誤：{}", cacheName, e.getMessage());
+            count("failed");
+        }
+    }
+
+    private void count(String direction) {
+        Counter.builder("cache.local.invalidation")
+                .description("本機快取跨實例失效通知")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -73,6 +73,27 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * LINE 慢工作執行緒池
+     *
+     * <p>用於 AI 回覆、可預約時段計算等可能超過 Reply Token 期限的工作，
+     * 與 Webhook 處理執行緒分開，逾時後工作在這裡繼續完成並改用 Push 送出
+     */
+    @Bean("lineSlowWorkExecutor")
+    public Executor lineSlowWorkExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(20);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("line-slow-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * 排程任務執行緒池
      *
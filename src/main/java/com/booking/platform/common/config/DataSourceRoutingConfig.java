@@ -0,0 +1,175 @@
+package com.booking.platform.common.config;
+
+import com.booking.platform.common.datasource.DataSourceRoute;
+import com.booking.platform.common.datasource.ReplicaLagTracker;
+import com.booking.platform.common.datasource.RoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 讀寫分離與連線池配置
+ *
+ * <p>以 app.datasource.routing.enabled=true 啟用，取代 Spring Boot 預設的單一連線池：
+ * <ul>
+ *   <li>primary - 主庫互動池（沿用 spring.datasource.hikari 設定）</li>
+ *   <li>background - 主庫背景池（排程、非同步任務）</li>
+ *   <li>replica - 副本互動池（唯讀交易）</li>
+ *   <li>reporting - 副本報表池（統計、匯出、儀表板）</li>
+ * </ul>
+ *
+ * <p>未設定副本連線時，副本池連到主庫，仍保留各負載的連線池隔離
+ *
+ * @author Developer
+ * @since 1.0.0
+ * @see RoutingDataSource
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    // ========================================
+    // 連線池
+    // ========================================
+
+    /**
+     * 主庫互動池
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 主庫背景池
+     */
+    @Bean
+    public HikariDataSource backgroundDataSource(
+            DataSourceProperties properties,
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Value("${app.datasource.pools.background-size:3}") int size) {
+        return pool("background", properties, primary, properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword(), size, false);
+    }
+
+    /**
+     * 副本互動池
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Value("${app.datasource.replica.url:}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.pools.replica-size:10}") int size) {
+        return replicaPool("replica", properties, primary, url, username, password, size);
+    }
+
+    /**
+     * 副本報表池
+     */
+    @Bean
+    public HikariDataSource reportingDataSource(
+            DataSourceProperties properties,
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Value("${app.datasource.replica.url:}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.pools.reporting-size:3}") int size) {
+        return replicaPool("reporting", properties, primary, url, username, password, size);
+    }
+
+    // ========================================
+    // 路由
+    // ========================================
+
+    @Bean
+    public ReplicaLagTracker replicaLagTracker(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag-ms:3000}") long maxLagMs,
+            @Value("${app.datasource.replica.read-your-writes-window-ms:10000}") long readYourWritesWindowMs,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagTracker(new JdbcTemplate(replicaDataSource), lagQuery,
+                maxLagMs, readYourWritesWindowMs, meterRegistry);
+    }
+
+    /**
+     * 應用程式使用的資料來源（JPA、JdbcTemplate）
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("backgroundDataSource") DataSource background,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Qualifier("reportingDataSource") DataSource reporting,
+            ReplicaLagTracker replicaLagTracker,
+            MeterRegistry meterRegistry) {
+        RoutingDataSource routing = new RoutingDataSource(replicaLagTracker, meterRegistry);
+        routing.setTargetDataSources(Map.of(
+                DataSourceRoute.PRIMARY, primary,
+                DataSourceRoute.BACKGROUND, background,
+                DataSourceRoute.REPLICA, replica,
+                DataSourceRoute.REPORTING, reporting
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private HikariDataSource replicaPool(String name, DataSourceProperties properties, HikariDataSource primary,
+                                         String url, String username, String password, int size) {
+        if (url == null || url.isBlank()) {
+            return pool(name, properties, primary, properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword(), size, true);
+        }
+        return pool(name, properties, primary, url,
+                username.isBlank() ? properties.determineUsername() : username,
+                password.isBlank() ? properties.determinePassword() : password,
+                size, true);
+    }
+
+    /**
+     * 建立連線池，沿用主庫池的驅動參數（如 reWriteBatchedInserts）
+     */
+    private HikariDataSource pool(String name, DataSourceProperties properties, HikariDataSource primary,
+                                  String url, String username, String password, int size, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setDataSourceProperties(primary.getDataSourceProperties());
+        config.setPoolName(name);
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(Math.min(size, 2));
+        config.setConnectionTimeout(20000);
+        config.setIdleTimeout(300000);
+        config.setReadOnly(readOnly);
+        return new HikariDataSource(config);
+    }
+}
@@ -46,4 +46,46 @@ public class GroqConfig {
      * 是否啟用 AI 助手（預設關閉，需設定 GROQ_ENABLED=true 才會啟用）
      */
     private boolean enabled = false;
+
+    /**
+     * 提示詞上下文與常見問題快取設定
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * AI 快取設定
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * 店家資訊、服務項目快取時間（秒），店家或服務異動時會主動清除
+         */
+        private long contextTtlSeconds = 600;
+
+        /**
+         * 顧客摘要快取時間（秒）
+         */
+        private long customerTtlSeconds = 300;
+
+        /**
+         * 顧客摘要快取上限（筆）
+         */
+        private int customerMaxEntries = 10000;
+
+        /**
+         * 常見問題回覆快取時間（秒）
+         */
+        private long faqTtlSeconds = 3600;
+
+        /**
+         * 每個租戶保留的常見問題回覆數
+         */
+        private int faqMaxEntriesPerTenant = 200;
+
+        /**
+         * 近似問題判定門檻（字元二元組 Jaccard 相似度）
+         */
+        private double faqSimilarity = 0.8;
+    }
 }
@@ -0,0 +1,41 @@
+package com.booking.platform.common.config;
+
+import com.booking.platform.common.datasource.TransactionWrites;
+import com.booking.platform.common.metrics.SqlStatementMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 效能指標配置
+ *
+ * <p>透過 Actuator Prometheus 端點輸出：
+ * <ul>
+ *   <li>spring.data.repository.invocations - 每個 Repository 方法的耗時（Spring Boot 自動配置）</li>
+ *   <li>hikaricp.connections.* - 連線池使用狀況（Spring Boot 自動配置）</li>
+ *   <li>sql.statements.* - 每次請求 / LINE 事件的 SQL 數量（{@link SqlStatementMetrics}）</li>
+ *   <li>outbound.http.requests - 對外 API 呼叫耗時</li>
+ *   <li>hibernate.second.level.cache.requests - 二級快取各區域命中 / 未命中（hibernate.generate_statistics，Spring Boot 自動配置）</li>
+ *   <li>hibernate.cache.query.requests - 查詢快取命中 / 未命中</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 註冊 Hibernate StatementInspector，計算每條送出的 SQL，並標記交易是否有異動（讀己之寫判斷）
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(SqlStatementMetrics sqlStatementMetrics) {
+        StatementInspector inspector = sql -> {
+            TransactionWrites.markIfWrite(sql);
+            return sqlStatementMetrics.inspect(sql);
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -1,5 +1,6 @@
 package com.booking.platform.common.config;
 
+import com.booking.platform.common.metrics.OutboundHttpMetricsInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
@@ -29,14 +30,17 @@ public class RestTemplateConfig {
     /**
      * 建立 RestTemplate Bean
      *
+     * @param metricsInterceptor 對外呼叫計時攔截器
      * @return RestTemplate
      */
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(OutboundHttpMetricsInterceptor metricsInterceptor) {
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setConnectTimeout(CONNECT_TIMEOUT);
         factory.setReadTimeout(READ_TIMEOUT);
 
-        return new RestTemplate(factory);
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(metricsInterceptor);
+        return restTemplate;
     }
 }
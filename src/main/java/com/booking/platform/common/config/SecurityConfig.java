@@ -3,8 +3,11 @@ package com.booking.platform.common.config;
 import com.booking.platform.common.security.JwtAuthenticationFilter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,11 +16,15 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -51,8 +58,9 @@ public class SecurityConfig {
      * 不需要認證的路徑
      */
     private static final String[] PUBLIC_PATHS = {
-            // 健康檢查
-            "/actuator/**",
+            // 健康檢查（其他 Actuator 端點需要認證，見 securityFilterChain）
+            "/actuator/health",
+            "/actuator/health/**",
             "/health",
 
             // LINE Webhook（使用簽名驗證）
@@ -123,6 +131,12 @@ public class SecurityConfig {
             // "/api/points/**", "/api/feature-store/**"
     };
 
+    /**
+     * Prometheus 抓取憑證（空白時只有 ADMIN 可讀取）
+     */
+    @Value("${app.metrics.scrape-token:}")
+    private String metricsScrapeToken;
+
     // ========================================
     // Bean 配置
     // ========================================
@@ -231,6 +245,12 @@ public class SecurityConfig {
                         // 開發階段暫時開放
                         .requestMatchers(DEV_OPEN_PATHS).permitAll()
 
+                        // Prometheus 抓取：抓取憑證或 ADMIN 角色
+                        .requestMatchers("/actuator/prometheus").access(metricsScrapeAccess())
+
+                        // 其他 Actuator 端點（含各租戶業務指標）只限 ADMIN
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // 超級管理後台 API 需要 ADMIN 角色
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
@@ -246,4 +266,24 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * Prometheus 端點授權：Authorization: Bearer 抓取憑證相符，或已登入的 ADMIN
+     */
+    private AuthorizationManager<RequestAuthorizationContext> metricsScrapeAccess() {
+        return (authentication, context) -> {
+            String header = context.getRequest().getHeader("Authorization");
+            boolean tokenMatches = StringUtils.hasText(metricsScrapeToken) && header != null
+                    && MessageDigest.isEqual(
+                            header.getBytes(StandardCharsets.UTF_8),
+                            ("Bearer " + metricsScrapeToken).getBytes(StandardCharsets.UTF_8));
+            boolean admin = authentication.get().getAuthorities().stream()
+                    .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+            return new AuthorizationDecision(tokenMatches || admin);
+        };
+    }
 }
@@ -0,0 +1,30 @@
+package com.booking.platform.common.datasource;
+
+/**
+ * 資料來源路由目標（每個目標是一個獨立的連線池）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public enum DataSourceRoute {
+
+    /**
+     * 主庫：互動請求的寫入與需要最新資料的讀取
+     */
+    PRIMARY,
+
+    /**
+     * 主庫背景池：排程與非同步任務
+     */
+    BACKGROUND,
+
+    /**
+     * 讀取副本：互動請求的唯讀交易
+     */
+    REPLICA,
+
+    /**
+     * 讀取副本報表池：統計、匯出等大量讀取
+     */
+    REPORTING
+}
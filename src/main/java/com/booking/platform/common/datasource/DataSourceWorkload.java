@@ -0,0 +1,26 @@
+package com.booking.platform.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 標記類別或方法的資料庫工作負載
+ *
+ * <p>未標記時預設為互動負載；{@code @Scheduled} 與 {@code @Async} 方法自動視為背景負載
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DataSourceWorkload {
+
+    /**
+     * 工作負載類型
+     */
+    Workload value();
+}
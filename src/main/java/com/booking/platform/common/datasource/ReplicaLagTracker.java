@@ -0,0 +1,138 @@
+package com.booking.platform.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 讀取副本延遲追蹤
+ *
+ * <p>決定互動唯讀交易能否讀副本：
+ * <ul>
+ *   <li>副本延遲：定期查詢副本重播延遲，無法連線或超過上限時改讀主庫</li>
+ *   <li>讀己之寫：租戶剛寫入主庫（例如建立預約後立即查詢詳情）的一段時間內改讀主庫，
+ *       避免讀到副本上尚未重播的舊資料</li>
+ * </ul>
+ *
+ * <p>寫入記錄只在本機：讀己之寫只保證同一實例，寫入後立即打到其他實例的讀取仍可能讀到延遲內的副本
+ * （上限為 max-lag-ms）。需要跨實例保證的讀取應改用寫入交易或不設 readOnly
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Slf4j
+public class ReplicaLagTracker {
+
+    /**
+     * 沒有租戶的寫入（例如系統流程）共用的鍵
+     */
+    static final String NO_TENANT = "-";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final long readYourWritesWindowMs;
+
+    /**
+     * 最近一次查詢到的延遲（毫秒），-1 表示副本無法使用
+     */
+    private volatile long lagMs = -1;
+
+    /**
+     * 租戶最近一次寫入主庫的時間
+     */
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    /**
+     * @param replicaJdbcTemplate    副本連線
+     * @param lagQuery               延遲查詢（回傳毫秒），空白表示不檢查延遲
+     * @param maxLagMs               可讀副本的延遲上限
+     * @param readYourWritesWindowMs 寫入後改讀主庫的時間
+     * @param meterRegistry          指標
+     */
+    public ReplicaLagTracker(JdbcTemplate replicaJdbcTemplate, String lagQuery, long maxLagMs,
+                             long readYourWritesWindowMs, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+        this.readYourWritesWindowMs = readYourWritesWindowMs;
+
+        Gauge.builder("db.replica.lag", this, tracker -> tracker.lagMs)
+                .description("讀取副本延遲（毫秒），-1 表示無法使用")
+                .register(meterRegistry);
+    }
+
+    // ========================================
+    // 路由判斷
+    // ========================================
+
+    /**
+     * 副本是否可連線
+     */
+    public boolean isReplicaAvailable() {
+        return lagMs >= 0;
+    }
+
+    /**
+     * 租戶的互動讀取能否讀副本
+     *
+     * @param tenantKey 租戶 ID（無租戶時為 {@link #NO_TENANT}）
+     */
+    public boolean isReplicaFresh(String tenantKey) {
+        if (lagMs < 0 || lagMs > maxLagMs) {
+            return false;
+        }
+        Long writtenAt = lastWriteAt.get(tenantKey);
+        return writtenAt == null || System.currentTimeMillis() - writtenAt > readYourWritesWindowMs;
+    }
+
+    /**
+     * 記錄租戶寫入主庫
+     *
+     * @param tenantKey 租戶 ID（無租戶時為 {@link #NO_TENANT}）
+     */
+    public void recordWrite(String tenantKey) {
+        lastWriteAt.put(tenantKey, System.currentTimeMillis());
+    }
+
+    // ========================================
+    // 延遲檢查
+    // ========================================
+
+    /**
+     * 定期查詢副本延遲，並清除超過讀己之寫時間的寫入記錄
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void refresh() {
+        long previous = lagMs;
+        try {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                replicaJdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                lagMs = 0;
+            } else {
+                Number lag = replicaJdbcTemplate.queryForObject(lagQuery, Number.class);
+                lagMs = lag != null ? Math.max(lag.longValue(), 0) : 0;
+            }
+        } catch (Exception e) {
+            lagMs = -1;
+            if (previous >= 0) {
+                log.warn("讀取副本無法使用，唯讀交易改讀主庫：{}", e.getMessage());
+            }
+            return;
+        }
+
+        if (previous <= maxLagMs && lagMs > maxLagMs) {
+            log.warn("讀取副本延遲 {}ms 超過上限 {}ms，互動讀取改讀主庫", lagMs, maxLagMs);
+        } else if ((previous < 0 || previous > maxLagMs) && lagMs <= maxLagMs) {
+            log.info("讀取副本恢復，延遲 {}ms", lagMs);
+        }
+
+        long expiredBefore = System.currentTimeMillis() - readYourWritesWindowMs;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < expiredBefore);
+    }
+}
@@ -0,0 +1,102 @@
+package com.booking.platform.common.datasource;
+
+import com.booking.platform.common.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 讀寫分離路由資料來源
+ *
+ * <p>依交易屬性與工作負載選擇連線池：
+ * <ul>
+ *   <li>寫入交易：主庫（背景負載使用主庫背景池）；交易提交且確實送出異動語句時（見 {@link TransactionWrites}）
+ *       記錄租戶寫入供讀己之寫判斷</li>
+ *   <li>報表負載的讀取：副本報表池（副本無法使用時改用主庫背景池，不佔互動池）</li>
+ *   <li>互動負載的 {@code @Transactional(readOnly = true)}：副本，延遲過高或租戶剛寫入時改讀主庫</li>
+ *   <li>其他（無交易的查詢）：主庫</li>
+ * </ul>
+ *
+ * <p>必須包在 {@code LazyConnectionDataSourceProxy} 內使用：交易開始時唯讀旗標尚未設定，
+ * 延後到第一條 SQL 才取得實際連線，路由判斷才看得到交易屬性
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagTracker lagTracker;
+    private final MeterRegistry meterRegistry;
+
+    public RoutingDataSource(ReplicaLagTracker lagTracker, MeterRegistry meterRegistry) {
+        this.lagTracker = lagTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        boolean write = transactional && !readOnly;
+        String tenantKey = tenantKey();
+
+        DataSourceRoute route = route(WorkloadContext.current(), write, readOnly,
+                lagTracker.isReplicaAvailable(), lagTracker.isReplicaFresh(tenantKey));
+        if (write) {
+            recordWriteAfterCommit(tenantKey);
+        }
+
+        Counter.builder("db.routing.connections")
+                .tag("route", route.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        return route;
+    }
+
+    /**
+     * 路由規則
+     *
+     * @param workload         工作負載
+     * @param write            是否為寫入交易
+     * @param readOnly         是否為唯讀交易
+     * @param replicaAvailable 副本是否可連線
+     * @param replicaFresh     副本對此租戶是否夠新（延遲未超過上限且租戶未剛寫入）
+     * @return 路由目標
+     */
+    static DataSourceRoute route(Workload workload, boolean write, boolean readOnly,
+                                 boolean replicaAvailable, boolean replicaFresh) {
+        if (write) {
+            return workload == Workload.BACKGROUND ? DataSourceRoute.BACKGROUND : DataSourceRoute.PRIMARY;
+        }
+        return switch (workload) {
+            case REPORTING -> replicaAvailable ? DataSourceRoute.REPORTING : DataSourceRoute.BACKGROUND;
+            case BACKGROUND -> DataSourceRoute.BACKGROUND;
+            case INTERACTIVE -> readOnly && replicaFresh ? DataSourceRoute.REPLICA : DataSourceRoute.PRIMARY;
+        };
+    }
+
+    /**
+     * 交易提交後，有送出異動語句才記錄租戶寫入
+     */
+    private void recordWriteAfterCommit(String tenantKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lagTracker.recordWrite(tenantKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (TransactionWrites.currentTransactionWrote()) {
+                    lagTracker.recordWrite(tenantKey);
+                }
+            }
+        });
+    }
+
+    private static String tenantKey() {
+        String tenantId = TenantContext.getTenantId();
+        return tenantId != null ? tenantId : ReplicaLagTracker.NO_TENANT;
+    }
+}
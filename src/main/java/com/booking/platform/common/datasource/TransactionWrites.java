@@ -0,0 +1,72 @@
+package com.booking.platform.common.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 交易寫入標記
+ *
+ * <p>Hibernate 送出 INSERT / UPDATE / DELETE / MERGE 時（由 StatementInspector 呼叫 {@link #markIfWrite}）
+ * 在目前交易登記標記，提交時由 {@link RoutingDataSource} 判斷交易是否真的有異動；
+ * 標記隨交易的同步清單存在，REQUIRES_NEW 的內層交易各自獨立
+ *
+ * <p>只涵蓋經 Hibernate 送出的 SQL（JdbcTemplate 只用於啟動流程）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public final class TransactionWrites {
+
+    private TransactionWrites() {
+    }
+
+    /**
+     * SQL 為異動語句時標記目前交易
+     *
+     * @param sql Hibernate 送出的 SQL
+     */
+    public static void markIfWrite(String sql) {
+        if (sql == null || !TransactionSynchronizationManager.isSynchronizationActive() || !isWrite(sql)) {
+            return;
+        }
+        if (!currentTransactionWrote()) {
+            TransactionSynchronizationManager.registerSynchronization(new Marker());
+        }
+    }
+
+    /**
+     * 目前交易是否已送出異動語句
+     */
+    public static boolean currentTransactionWrote() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Marker) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    static boolean isWrite(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        return sql.regionMatches(true, start, "insert", 0, 6)
+                || sql.regionMatches(true, start, "update", 0, 6)
+                || sql.regionMatches(true, start, "delete", 0, 6)
+                || sql.regionMatches(true, start, "merge", 0, 5);
+    }
+
+    /**
+     * 標記本身，不需要任何回呼
+     */
+    private static final class Marker implements TransactionSynchronization {
+    }
+}
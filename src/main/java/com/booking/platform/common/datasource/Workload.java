@@ -0,0 +1,27 @@
+package com.booking.platform.common.datasource;
+
+/**
+ * 資料庫工作負載類型
+ *
+ * <p>不同負載使用各自的連線池，報表與背景工作不會佔滿互動請求（建立預約、LINE 選單）的連線
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public enum Workload {
+
+    /**
+     * 互動請求：後台 API、LINE 事件
+     */
+    INTERACTIVE,
+
+    /**
+     * 報表：統計彙總、匯出、儀表板
+     */
+    REPORTING,
+
+    /**
+     * 背景工作：排程、非同步任務
+     */
+    BACKGROUND
+}
@@ -0,0 +1,50 @@
+package com.booking.platform.common.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 依註解設定資料庫工作負載
+ *
+ * <p>優先順序：方法上的 {@link DataSourceWorkload} → 類別上的 {@link DataSourceWorkload}
+ * → {@code @Scheduled} / {@code @Async}（背景負載）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class WorkloadAspect {
+
+    @Around("@annotation(com.booking.platform.common.datasource.DataSourceWorkload)"
+            + " || @within(com.booking.platform.common.datasource.DataSourceWorkload)"
+            + " || @annotation(org.springframework.scheduling.annotation.Scheduled)"
+            + " || @annotation(org.springframework.scheduling.annotation.Async)")
+    public Object applyWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload previous = WorkloadContext.enter(resolve(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private Workload resolve(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+
+        DataSourceWorkload annotation = AnnotatedElementUtils.findMergedAnnotation(method, DataSourceWorkload.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(
+                    joinPoint.getTarget().getClass(), DataSourceWorkload.class);
+        }
+        return annotation != null ? annotation.value() : Workload.BACKGROUND;
+    }
+}
@@ -0,0 +1,50 @@
+package com.booking.platform.common.datasource;
+
+/**
+ * 目前執行緒的資料庫工作負載
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * 取得目前工作負載
+     *
+     * @return 工作負載，未設定時為互動負載
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.INTERACTIVE;
+    }
+
+    /**
+     * 設定工作負載
+     *
+     * @param workload 工作負載
+     * @return 先前的工作負載（可為 null），結束時以 {@link #restore} 還原
+     */
+    public static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    /**
+     * 還原先前的工作負載
+     *
+     * @param previous {@link #enter} 的回傳值
+     */
+    public static void restore(Workload previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -9,14 +9,13 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * 基礎 Entity
  *
  * <p>所有業務 Entity 都要繼承此類別，自動擁有：
  * <ul>
- *   <li>id - UUID 主鍵</li>
+ *   <li>id - UUID 主鍵（時間排序的 UUIDv7，見 {@link IdGenerator}）</li>
  *   <li>tenantId - 多租戶識別</li>
  *   <li>createdAt, createdBy - 建立資訊</li>
  *   <li>updatedAt, updatedBy - 更新資訊</li>
@@ -36,7 +35,10 @@ public abstract class BaseEntity {
     // ========================================
 
     /**
-     * 主鍵（UUID）
+     * 主鍵（UUIDv7 字串）
+     *
+     * <p>欄位仍為 varchar(36)：改為原生 uuid 必須同時轉換所有 tenant_id 與外鍵欄位，
+     * 並讓字串參數能比較 uuid 欄位（stringtype=unspecified），ddl-auto: update 也無法變更欄位型別
      */
     @Id
     @Column(name = "id", length = 36, nullable = false, updatable = false)
@@ -100,7 +102,7 @@ public abstract class BaseEntity {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = IdGenerator.newId();
         }
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -40,6 +40,7 @@ public enum ErrorCode {
     SYS_METHOD_NOT_ALLOWED("SYS_005", "方法不允許"),
     SYS_MEDIA_TYPE_NOT_SUPPORTED("SYS_006", "不支援的媒體類型"),
     SYS_TOO_MANY_REQUESTS("SYS_007", "請求過於頻繁"),
+    SYS_CONCURRENT_MODIFICATION("SYS_008", "資料已被其他操作更新，請重新整理後再試"),
 
     // ========================================
     // 認證授權錯誤（AUTH_xxx）
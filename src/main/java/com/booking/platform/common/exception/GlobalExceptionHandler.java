@@ -1,9 +1,11 @@
 package com.booking.platform.common.exception;
 
+import com.booking.platform.common.admission.TenantThrottledException;
 import com.booking.platform.common.response.ApiResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
@@ -234,6 +236,32 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * 處理樂觀鎖衝突（如後台編輯票券時，票券剛被領取而更新了發放數量）
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<Void> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("樂觀鎖衝突：{}", ex.getMessage());
+        return ApiResponse.error(
+                ErrorCode.SYS_CONCURRENT_MODIFICATION.getCode(),
+                ErrorCode.SYS_CONCURRENT_MODIFICATION.getDefaultMessage()
+        );
+    }
+
+    /**
+     * 處理租戶超過併發上限例外
+     */
+    @ExceptionHandler(TenantThrottledException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ApiResponse<Void> handleTenantThrottledException(TenantThrottledException ex) {
+        log.warn("租戶併發數已達上限：{}", ex.getMessage());
+        return ApiResponse.error(
+                ErrorCode.SYS_TOO_MANY_REQUESTS.getCode(),
+                ErrorCode.SYS_TOO_MANY_REQUESTS.getDefaultMessage()
+        );
+    }
+
     // ========================================
     // 未預期例外
     // ========================================
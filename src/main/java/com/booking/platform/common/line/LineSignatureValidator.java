@@ -7,6 +7,7 @@ import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
@@ -51,46 +52,68 @@ public class LineSignatureValidator {
         }
 
         try {
-            // ========================================
-            // 1. 計算 HMAC-SHA256 簽名
-            // ========================================
+            return validate(body.getBytes(StandardCharsets.UTF_8), signature, createMac(channelSecret));
+        } catch (Exception e) {
+            log.error("簽名驗證發生錯誤", e);
+            return false;
+        }
+    }
 
-            String calculatedSignature = calculateSignature(body, channelSecret);
+    /**
+     * 驗證簽名（原始 bytes）
+     *
+     * <p>直接對請求的原始 bytes 計算簽名，不經過字串轉換；
+     * 簽名標頭 Base64 解碼後以常數時間比較
+     *
+     * @param body      請求 body（原始 bytes）
+     * @param signature X-Line-Signature 標頭值
+     * @param mac       已用 Channel Secret 初始化的 Mac（呼叫端保證同執行緒使用）
+     * @return true 表示驗證通過
+     */
+    public boolean validate(byte[] body, String signature, Mac mac) {
+        if (body == null || signature == null || mac == null) {
+            log.warn("簽名驗證失敗：參數不完整");
+            return false;
+        }
 
-            // ========================================
-            // 2. 比較簽名
-            // ========================================
+        // ========================================
+        // 1. 解碼簽名標頭
+        // ========================================
 
-            boolean isValid = constantTimeEquals(signature, calculatedSignature);
+        byte[] expected;
+        try {
+            expected = Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            log.warn("簽名驗證失敗：簽名格式錯誤");
+            return false;
+        }
 
-            if (!isValid) {
-                log.warn("簽名驗證失敗：簽名不符");
-            }
+        // ========================================
+        // 2. 計算 HMAC-SHA256 並比較
+        // ========================================
 
-            return isValid;
+        // doFinal 會重設 Mac 狀態，同一個實例可重複使用
+        byte[] calculated = mac.doFinal(body);
+        boolean isValid = MessageDigest.isEqual(expected, calculated);
 
-        } catch (Exception e) {
-            log.error("簽名驗證發生錯誤", e);
-            return false;
+        if (!isValid) {
+            log.warn("簽名驗證失敗：簽名不符");
         }
+
+        return isValid;
     }
 
     /**
-     * 計算簽名
+     * 建立以 Channel Secret 初始化的 Mac
+     *
+     * <p>Mac 非執行緒安全，呼叫端需自行確保每個執行緒使用各自的實例
      *
-     * @param body          請求 body
      * @param channelSecret Channel Secret
-     * @return Base64 編碼的簽名
+     * @return HMAC-SHA256 Mac
      * @throws NoSuchAlgorithmException 演算法不存在
      * @throws InvalidKeyException      無效金鑰
      */
-    public String calculateSignature(String body, String channelSecret)
-            throws NoSuchAlgorithmException, InvalidKeyException {
-
-        // ========================================
-        // 1. 建立 HMAC-SHA256 實例
-        // ========================================
-
+    public Mac createMac(String channelSecret) throws NoSuchAlgorithmException, InvalidKeyException {
         SecretKeySpec secretKey = new SecretKeySpec(
                 channelSecret.getBytes(StandardCharsets.UTF_8),
                 ALGORITHM
@@ -98,44 +121,22 @@ public class LineSignatureValidator {
 
         Mac mac = Mac.getInstance(ALGORITHM);
         mac.init(secretKey);
-
-        // ========================================
-        // 2. 計算簽名
-        // ========================================
-
-        byte[] signatureBytes = mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
-
-        // ========================================
-        // 3. Base64 編碼
-        // ========================================
-
-        return Base64.getEncoder().encodeToString(signatureBytes);
+        return mac;
     }
 
     /**
-     * 常數時間比較（防止時序攻擊）
+     * 計算簽名
      *
-     * @param a 字串 a
-     * @param b 字串 b
-     * @return true 表示相等
+     * @param body          請求 body
+     * @param channelSecret Channel Secret
+     * @return Base64 編碼的簽名
+     * @throws NoSuchAlgorithmException 演算法不存在
+     * @throws InvalidKeyException      無效金鑰
      */
-    private boolean constantTimeEquals(String a, String b) {
-        if (a == null || b == null) {
-            return false;
-        }
-
-        byte[] aBytes = a.getBytes(StandardCharsets.UTF_8);
-        byte[] bBytes = b.getBytes(StandardCharsets.UTF_8);
-
-        if (aBytes.length != bBytes.length) {
-            return false;
-        }
-
-        int result = 0;
-        for (int i = 0; i < aBytes.length; i++) {
-            result |= aBytes[i] ^ bBytes[i];
-        }
+    public String calculateSignature(String body, String channelSecret)
+            throws NoSuchAlgorithmException, InvalidKeyException {
 
-        return result == 0;
+        byte[] signatureBytes = createMac(channelSecret).doFinal(body.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(signatureBytes);
     }
 }
@@ -0,0 +1,81 @@
+package com.booking.platform.common.metrics;
+
+/**
+ * 指標作用域
+ *
+ * <p>以 ThreadLocal 記錄目前這次 HTTP 請求或 LINE 事件執行了幾條 SQL，
+ * 並提供租戶 ID 給沒有 {@code TenantContext} 的非同步流程（如 Webhook 事件）作為指標標籤
+ *
+ * <p>作用域可巢狀，內層結束時 SQL 數量會累加回外層
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public final class MetricsScope {
+
+    private static final ThreadLocal<MetricsScope> CURRENT = new ThreadLocal<>();
+
+    private final MetricsScope parent;
+
+    private final String tenantId;
+
+    private int statementCount;
+
+    private MetricsScope(MetricsScope parent, String tenantId) {
+        this.parent = parent;
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * 開啟新的作用域
+     *
+     * @param tenantId 租戶 ID（可為 null，沿用外層作用域的租戶）
+     * @return 作用域
+     */
+    static MetricsScope open(String tenantId) {
+        MetricsScope parent = CURRENT.get();
+        String effectiveTenantId = tenantId != null ? tenantId : (parent != null ? parent.tenantId : null);
+        MetricsScope scope = new MetricsScope(parent, effectiveTenantId);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * 關閉作用域並還原外層
+     *
+     * @return 此作用域內執行的 SQL 數量
+     */
+    int close() {
+        if (parent != null) {
+            parent.statementCount += statementCount;
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+        return statementCount;
+    }
+
+    String getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * 記錄一條 SQL（由 StatementInspector 呼叫）
+     */
+    static void recordStatement() {
+        MetricsScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statementCount++;
+        }
+    }
+
+    /**
+     * 取得目前作用域的租戶 ID
+     *
+     * @return 租戶 ID，沒有作用域時返回 null
+     */
+    public static String currentTenantId() {
+        MetricsScope scope = CURRENT.get();
+        return scope != null ? scope.tenantId : null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.booking.platform.common.metrics;
+
+import com.booking.platform.common.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 對外 HTTP 呼叫計時攔截器
+ *
+ * <p>記錄 outbound.http.requests 計時器，依外部 API（line、groq、mitake、ecpay、resend）、
+ * 租戶、HTTP 方法與狀態碼分類
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboundHttpMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution
+    ) throws IOException {
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            Timer.builder("outbound.http.requests")
+                    .description("對外 HTTP 呼叫耗時")
+                    .tag("api", resolveApi(request.getURI().getHost()))
+                    .tag("tenant", resolveTenant())
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String resolveApi(String host) {
+        if (host == null) {
+            return "unknown";
+        }
+        if (host.endsWith("line.me")) {
+            return "line";
+        }
+        if (host.contains("groq")) {
+            return "groq";
+        }
+        if (host.contains("mitake")) {
+            return "mitake";
+        }
+        if (host.contains("ecpay")) {
+            return "ecpay";
+        }
+        if (host.contains("resend")) {
+            return "resend";
+        }
+        return "other";
+    }
+
+    private String resolveTenant() {
+        String tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            tenantId = MetricsScope.currentTenantId();
+        }
+        return tenantId != null ? tenantId : "none";
+    }
+}
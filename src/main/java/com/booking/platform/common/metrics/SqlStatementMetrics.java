@@ -0,0 +1,121 @@
+package com.booking.platform.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * SQL 數量指標
+ *
+ * <p>作為 Hibernate {@link StatementInspector} 計算每條送出的 SQL，並依作用域（HTTP 路由、LINE 事件類型）
+ * 記錄每次執行的 SQL 數量分佈。單次超過門檻時記錄警告，用於找出 N+1 查詢
+ *
+ * <p>輸出指標：
+ * <ul>
+ *   <li>sql.statements - 全部 SQL 數量</li>
+ *   <li>sql.statements.per.scope - 每次請求 / 事件的 SQL 數量分佈（scope, name）</li>
+ *   <li>sql.statements.n_plus_one.warnings - 超過門檻次數（scope, name）</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementMetrics implements StatementInspector {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 單次請求 / 事件 SQL 數量警告門檻
+     */
+    @Value("${app.metrics.sql-warn-threshold:30}")
+    private int warnThreshold;
+
+    private Counter statementCounter;
+
+    // ========================================
+    // StatementInspector
+    // ========================================
+
+    @PostConstruct
+    void init() {
+        statementCounter = Counter.builder("sql.statements")
+                .description("Hibernate 送出的 SQL 數量")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statementCounter.increment();
+        MetricsScope.recordStatement();
+        return sql;
+    }
+
+    // ========================================
+    // 作用域
+    // ========================================
+
+    /**
+     * 開始計算
+     *
+     * @param tenantId 租戶 ID（可為 null）
+     * @return 作用域，必須交給 {@link #end} 結束
+     */
+    public MetricsScope begin(String tenantId) {
+        return MetricsScope.open(tenantId);
+    }
+
+    /**
+     * 結束計算並記錄
+     *
+     * @param scope     {@link #begin} 回傳的作用域
+     * @param scopeType 作用域類型（http、line_event）
+     * @param name      名稱（路由樣式、事件類型）
+     */
+    public void end(MetricsScope scope, String scopeType, String name) {
+        String tenantId = scope.getTenantId();
+        int count = scope.close();
+
+        DistributionSummary.builder("sql.statements.per.scope")
+                .description("每次請求或事件執行的 SQL 數量")
+                .tag("scope", scopeType)
+                .tag("name", name)
+                .register(meterRegistry)
+                .record(count);
+
+        if (count >= warnThreshold) {
+            Counter.builder("sql.statements.n_plus_one.warnings")
+                    .tag("scope", scopeType)
+                    .tag("name", name)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("疑似 N+1 查詢，{} {} 執行了 {} 條 SQL（租戶：{}）",
+                    scopeType, name, count, tenantId);
+        }
+    }
+
+    /**
+     * 在作用域內執行並記錄 SQL 數量
+     *
+     * @param scopeType 作用域類型
+     * @param name      名稱
+     * @param tenantId  租戶 ID
+     * @param action    要執行的動作
+     */
+    public void record(String scopeType, String name, String tenantId, Runnable action) {
+        MetricsScope scope = begin(tenantId);
+        try {
+            action.run();
+        } finally {
+            end(scope, scopeType, name);
+        }
+    }
+}
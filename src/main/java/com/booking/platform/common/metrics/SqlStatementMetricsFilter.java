@@ -0,0 +1,61 @@
+package com.booking.platform.common.metrics;
+
+import com.booking.platform.common.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 每個 HTTP 請求的 SQL 數量過濾器
+ *
+ * <p>以路由樣式（如 /api/bookings/{id}）為名稱記錄 SQL 數量，避免路徑參數造成指標爆量
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final String[] EXCLUDED_PREFIXES = {
+            "/actuator", "/css/", "/js/", "/images/", "/sounds/", "/favicon"
+    };
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String prefix : EXCLUDED_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        MetricsScope scope = sqlStatementMetrics.begin(TenantContext.getTenantId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String name = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+            sqlStatementMetrics.end(scope, "http", name);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.booking.platform.common.pagecache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 已渲染的頁面
+ *
+ * <p>渲染時一次產生原文與 gzip 版本，兩者的 ETag 不同（強 ETag 依表示法區分）
+ *
+ * @param body     原文（UTF-8）
+ * @param gzipBody gzip 壓縮後內容
+ * @param etag     原文 ETag
+ * @param gzipEtag gzip 版本 ETag
+ * @author Developer
+ * @since 1.0.0
+ */
+record CachedPage(byte[] body, byte[] gzipBody, String etag, String gzipEtag) {
+
+    /**
+     * 由渲染結果建立
+     */
+    static CachedPage of(String html) {
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        String hash = hash(body);
+        return new CachedPage(body, gzip(body), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
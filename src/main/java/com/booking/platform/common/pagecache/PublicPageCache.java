@@ -0,0 +1,272 @@
+package com.booking.platform.common.pagecache;
+
+import com.booking.platform.common.config.TrackingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.LocaleResolver;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 公開頁面整頁快取
+ *
+ * <p>首頁、功能、價格、行業頁與法律頁只在部署時變更，渲染結果依（模板、語系）快取在記憶體，
+ * 同時保存原文與 gzip 版本，匿名請求不再執行模板也不再逐次壓縮：
+ * <ul>
+ *   <li>應用程式就緒後在背景預先渲染所有支援語系；未預先渲染的頁面在第一次請求時渲染</li>
+ *   <li>語系依 {@link LocaleResolver}（lang Cookie 與 ?lang= 參數）解析，歸到支援的語系之一</li>
+ *   <li>強 ETag，If-None-Match 相符時回 304；回應標記 Vary: Accept-Encoding, Cookie</li>
+ * </ul>
+ *
+ * <p>開發時（模板會即時修改）以 app.page-cache.enabled=false 關閉，每次重新渲染
+ *
+ * <p>輸出指標：page.cache.requests（result: hit / render / not_modified）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PublicPageCache {
+
+    // ========================================
+    // 常數
+    // ========================================
+
+    /**
+     * 預先渲染的模板
+     */
+    private static final List<String> TEMPLATES = List.of(
+            "public/index", "public/faq", "public/features", "public/pricing",
+            "public/industry/beauty", "public/industry/hair-salon", "public/industry/spa",
+            "public/industry/fitness", "public/industry/restaurant", "public/industry/clinic",
+            "public/industry/tutoring", "public/industry/photography", "public/industry/pet-care",
+            "public/terms", "public/privacy"
+    );
+
+    /**
+     * 支援的語系（與 messages_*.properties 對應）
+     */
+    private static final List<Locale> LOCALES = List.of(Locale.TAIWAN, Locale.SIMPLIFIED_CHINESE, Locale.ENGLISH);
+
+    private static final String VARY = HttpHeaders.ACCEPT_ENCODING + ", " + HttpHeaders.COOKIE;
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final ITemplateEngine templateEngine;
+    private final LocaleResolver localeResolver;
+    private final TrackingConfig trackingConfig;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.page-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.page-cache.prerender:true}")
+    private boolean prerender;
+
+    private final Map<PageKey, CachedPage> pages = new ConcurrentHashMap<>();
+
+    // ========================================
+    // 公開方法
+    // ========================================
+
+    /**
+     * 回應公開頁面
+     *
+     * @param template 模板名稱
+     * @param request  請求（解析語系、Accept-Encoding、If-None-Match）
+     * @return 頁面內容或 304
+     */
+    public ResponseEntity<byte[]> serve(String template, HttpServletRequest request) {
+        PageKey key = new PageKey(template, supportedLocale(localeResolver.resolveLocale(request)));
+
+        CachedPage page = enabled ? pages.get(key) : null;
+        String result = "hit";
+        if (page == null) {
+            page = render(key);
+            if (enabled) {
+                pages.putIfAbsent(key, page);
+            }
+            result = "render";
+        }
+
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? page.gzipEtag() : page.etag();
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), page)) {
+            record("not_modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .header(HttpHeaders.VARY, VARY)
+                    .build();
+        }
+
+        record(result);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .header(HttpHeaders.VARY, VARY);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? page.gzipBody() : page.body());
+    }
+
+    /**
+     * 清除單一語系的快取
+     *
+     * @param locale 語系
+     */
+    public void invalidate(Locale locale) {
+        Locale target = supportedLocale(locale);
+        pages.keySet().removeIf(key -> key.locale().equals(target));
+        log.info("已清除公開頁面快取，語系：{}", target.toLanguageTag());
+    }
+
+    /**
+     * 清除所有語系的快取
+     */
+    public void invalidateAll() {
+        pages.clear();
+        log.info("已清除所有公開頁面快取");
+    }
+
+    // ========================================
+    // 預先渲染
+    // ========================================
+
+    /**
+     * 應用程式就緒後在背景渲染所有頁面與語系
+     */
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void prerenderAfterReady() {
+        if (!enabled || !prerender) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int rendered = 0;
+        for (String template : TEMPLATES) {
+            for (Locale locale : LOCALES) {
+                PageKey key = new PageKey(template, locale);
+                try {
+                    pages.putIfAbsent(key, render(key));
+                    rendered++;
+                } catch (Exception e) {
+                    log.warn("預先渲染公開頁面失敗，模板：{}，語系：{}，錯誤：{}",
+                            template, locale.toLanguageTag(), e.getMessage());
+                }
+            }
+        }
+        log.info("公開頁面預先渲染完成，共 {} 頁，耗時 {} ms", rendered, System.currentTimeMillis() - start);
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private CachedPage render(PageKey key) {
+        Context context = new Context(key.locale());
+        context.setVariable("gaMeasurementId", trackingConfig.getGaMeasurementId());
+        context.setVariable("fbPixelId", trackingConfig.getFbPixelId());
+        return CachedPage.of(templateEngine.process(key.template(), context));
+    }
+
+    /**
+     * 歸到支援的語系，避免任意 Cookie 值讓快取無限增長
+     */
+    static Locale supportedLocale(Locale locale) {
+        if (locale == null) {
+            return Locale.TAIWAN;
+        }
+        if (Locale.ENGLISH.getLanguage().equals(locale.getLanguage())) {
+            return Locale.ENGLISH;
+        }
+        if (Locale.SIMPLIFIED_CHINESE.equals(locale) || "Hans".equals(locale.getScript())) {
+            return Locale.SIMPLIFIED_CHINESE;
+        }
+        return Locale.TAIWAN;
+    }
+
+    /**
+     * 是否接受 gzip（q=0 視為不接受）
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(tokens[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match 是否與任一版本相符（弱比較）
+     */
+    private boolean matches(String ifNoneMatch, CachedPage page) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || value.equals(page.etag()) || value.equals(page.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void record(String result) {
+        Counter.builder("page.cache.requests")
+                .description("公開頁面請求數")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    private record PageKey(String template, Locale locale) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.booking.platform.common.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 二級快取跨實例失效通知
+ *
+ * <p>二級快取在各實例的記憶體中，實體異動只會更新本機快取；
+ * 交易提交後將異動的實體名稱與 ID 發佈到 Redis 頻道，其他實例收到後：
+ * <ul>
+ *   <li>清除該實體的快取資料</li>
+ *   <li>清除查詢快取（新增或刪除會改變清單查詢的結果）</li>
+ * </ul>
+ *
+ * <p>只處理有設定二級快取的實體；批量 UPDATE 不經過實體事件，其他實例以區域 TTL 為上限（見 ehcache.xml）。
+ * 繞過 Hibernate 的 JDBC 寫入（例如啟動補資料）由呼叫端清除本機快取後以 {@link #publishRegionEviction}
+ * 通知其他實例清除整個實體區域。Redis 無法連線時只記錄警告，同樣以 TTL 為上限
+ *
+ * <p>輸出指標：hibernate.l2.broadcast（direction: sent / received / failed）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.l2-broadcast.enabled", havingValue = "true")
+@Slf4j
+public class SecondLevelCacheBroadcaster implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener, MessageListener {
+
+    /**
+     * 通知中代表整個實體區域的 ID
+     */
+    private static final String ALL_IDS = "*";
+
+    /**
+     * 實例識別，略過自己發出的通知
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache.l2-broadcast.channel:hibernate:l2:invalidate}")
+    private String channel;
+
+    private RedisMessageListenerContainer container;
+
+    @Autowired
+    public SecondLevelCacheBroadcaster(EntityManagerFactory entityManagerFactory,
+                                       RedisConnectionFactory connectionFactory,
+                                       MeterRegistry meterRegistry) {
+        this(entityManagerFactory.unwrap(SessionFactoryImplementor.class), connectionFactory,
+                new StringRedisTemplate(connectionFactory), meterRegistry);
+    }
+
+    SecondLevelCacheBroadcaster(SessionFactoryImplementor sessionFactory,
+                                RedisConnectionFactory connectionFactory,
+                                StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry) {
+        this.sessionFactory = sessionFactory;
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ========================================
+    // 生命週期
+    // ========================================
+
+    @PostConstruct
+    public void start() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+
+        log.info("二級快取失效通知已啟用，頻道：{}", channel);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    // ========================================
+    // 發送（交易提交後）
+    // ========================================
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    /**
+     * 通知其他實例清除整個實體區域與查詢快取
+     *
+     * <p>用於繞過 Hibernate 的 JDBC 寫入，本機快取由呼叫端清除
+     *
+     * @param entityClass 實體類別
+     */
+    public void publishRegionEviction(Class<?> entityClass) {
+        send(entityClass.getName(), ALL_IDS);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    // ========================================
+    // 接收
+    // ========================================
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        try {
+            Cache cache = sessionFactory.getCache();
+            if (ALL_IDS.equals(parts[2])) {
+                cache.evictEntityData(parts[1]);
+            } else {
+                cache.evictEntityData(parts[1], parts[2]);
+            }
+            cache.evictQueryRegions();
+            count("received");
+            log.debug("已清除二級快取，實體：{}，ID：{}", parts[1], parts[2]);
+        } catch (Exception e) {
+            log.warn("清除二級快取失敗，實體：{}，錯誤：{}", parts[1], e.getMessage());
+        }
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void publish(EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        send(persister.getEntityName(), String.valueOf(id));
+    }
+
+    private void send(String entityName, String id) {
+        try {
+            redisTemplate.convertAndSend(channel, instanceId + "|" + entityName + "|" + id);
+            count("sent");
+        } catch (Exception e) {
+            log.warn("二級快取失效通知發送失敗，實體：{}，錯誤：{}", entityName, e.getMessage());
+            count("failed");
+        }
+    }
+
+    private void count(String direction) {
+        Counter.builder("hibernate.l2.broadcast")
+                .description("二級快取跨實例失效通知")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,215 @@
+package com.booking.platform.common.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 日誌類實體的延遲批次寫入
+ *
+ * <p>庫存異動記錄等只新增不修改、且呼叫端不需要回傳已儲存實體的資料不必在業務交易內逐筆 INSERT：
+ * 先放入記憶體佇列，累積到批次大小或每隔固定時間，以一個交易批次寫入
+ * （搭配 hibernate.jdbc.batch_size 與 reWriteBatchedInserts，一批只有一條 INSERT）
+ *
+ * <p>在交易內呼叫時，交易提交後才放入佇列，交易回滾則不寫入
+ *
+ * <p>佇列在記憶體中，程序異常終止時可能遺失最後一個批次，只適用於可容忍遺失的記錄；
+ * 與餘額一起提交的資料（如點數交易）不可使用
+ *
+ * <p>輸出指標：
+ * <ul>
+ *   <li>write_behind.pending - 佇列中尚未寫入的筆數</li>
+ *   <li>write_behind.flushed - 已寫入筆數（entity, outcome）</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class WriteBehindBuffer {
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Executor flushExecutor;
+
+    /**
+     * 每批寫入筆數
+     */
+    @Value("${app.write-behind.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * 佇列上限，超過時由呼叫端同步寫入（背壓）
+     */
+    @Value("${app.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public WriteBehindBuffer(EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Qualifier("taskExecutor") Executor flushExecutor) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.flushExecutor = flushExecutor;
+
+        Gauge.builder("write_behind.pending", pending, AtomicInteger::get)
+                .description("延遲寫入佇列中尚未寫入的筆數")
+                .register(meterRegistry);
+    }
+
+    // ========================================
+    // 寫入
+    // ========================================
+
+    /**
+     * 加入延遲寫入（新實體，不可是已儲存的實體）
+     *
+     * @param entity 實體
+     */
+    public void append(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entity);
+                }
+            });
+        } else {
+            enqueue(entity);
+        }
+    }
+
+    private void enqueue(Object entity) {
+        queue.add(entity);
+        int size = pending.incrementAndGet();
+
+        if (size >= maxPending) {
+            // 寫入跟不上時由呼叫端分擔，避免佇列無限成長
+            flush();
+        } else if (size >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * 定時寫入佇列中的資料
+     */
+    @Scheduled(fixedDelayString = "${app.write-behind.flush-interval-ms:1000}")
+    public void flushPeriodically() {
+        if (pending.get() > 0) {
+            flush();
+        }
+    }
+
+    /**
+     * 關閉前寫入剩餘資料
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int remaining = flush();
+        if (remaining > 0) {
+            log.info("關閉前寫入延遲佇列 {} 筆", remaining);
+        }
+    }
+
+    /**
+     * 分批寫入佇列中所有資料
+     *
+     * @return 寫入筆數
+     */
+    public synchronized int flush() {
+        int total = 0;
+        List<Object> batch;
+        while (!(batch = drain()).isEmpty()) {
+            total += write(batch);
+        }
+        return total;
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private List<Object> drain() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        Object entity;
+        while (batch.size() < batchSize && (entity = queue.poll()) != null) {
+            batch.add(entity);
+        }
+        pending.addAndGet(-batch.size());
+        return batch;
+    }
+
+    /**
+     * 一個交易寫入一批；整批失敗時逐筆重試，只丟棄有問題的那幾筆
+     */
+    private int write(List<Object> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(entityManager::persist));
+            countFlushed(batch, "success");
+            return batch.size();
+        } catch (Exception e) {
+            log.warn("延遲寫入批次失敗，改為逐筆寫入，筆數：{}，錯誤：{}", batch.size(), e.getMessage());
+        }
+
+        int written = 0;
+        for (Object entity : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> entityManager.persist(entity));
+                countFlushed(List.of(entity), "success");
+                written++;
+            } catch (Exception e) {
+                log.error("延遲寫入失敗，已丟棄，類型：{}，錯誤：{}",
+                        entity.getClass().getSimpleName(), e.getMessage());
+                countFlushed(List.of(entity), "dropped");
+            }
+        }
+        return written;
+    }
+
+    private void countFlushed(List<Object> entities, String outcome) {
+        entities.stream()
+                .collect(Collectors.groupingBy(e -> e.getClass().getSimpleName(),
+                        Collectors.counting()))
+                .forEach((entity, count) -> Counter.builder("write_behind.flushed")
+                        .tag("entity", entity)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .increment(count));
+    }
+}
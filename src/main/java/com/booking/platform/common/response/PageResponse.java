@@ -1,5 +1,6 @@
 package com.booking.platform.common.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,10 +23,14 @@ import java.util.List;
  *     "totalElements": 100,
  *     "totalPages": 5,
  *     "first": true,
- *     "last": false
+ *     "last": false,
+ *     "nextCursor": "..."
  * }
  * }</pre>
  *
+ * <p>未計算總筆數時（游標分頁或 withTotal=false），totalElements 與 totalPages 為 -1，
+ * 以 last / nextCursor 判斷是否有下一頁
+ *
  * @param <T> 資料類型
  * @author Developer
  * @since 1.0.0
@@ -75,6 +80,12 @@ public class PageResponse<T> {
      */
     private boolean last;
 
+    /**
+     * 下一頁游標（沒有下一頁時不輸出）
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     // ========================================
     // 工廠方法
     // ========================================
@@ -97,6 +108,34 @@ public class PageResponse<T> {
                 .build();
     }
 
+    /**
+     * 建立分頁回應
+     *
+     * @param content       資料內容
+     * @param page          頁碼
+     * @param size          每頁筆數
+     * @param totalElements 總筆數，-1 表示未計算
+     * @param first         是否為第一頁
+     * @param hasNext       是否還有下一頁
+     * @param nextCursor    下一頁游標
+     * @return PageResponse 實例
+     */
+    public static <T> PageResponse<T> of(List<T> content, int page, int size,
+                                         long totalElements, boolean first, boolean hasNext,
+                                         String nextCursor) {
+        int totalPages = totalElements < 0 ? -1 : (int) ((totalElements + size - 1) / size);
+        return PageResponse.<T>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .first(first)
+                .last(!hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     /**
      * 建立空的分頁回應
      *
@@ -0,0 +1,31 @@
+package com.booking.platform.common.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 客戶端 IP
+ *
+ * <p>X-Forwarded-For 等標頭由客戶端自行填寫，不能直接採用：
+ * 經代理時由 server.forward-headers-strategy（Tomcat RemoteIpValve）只信任內網代理，
+ * 從 X-Forwarded-For 最右邊往左略過受信任的代理，取第一個不受信任的位址寫回 {@code getRemoteAddr()}
+ *
+ * <p>登入限制、公開預約限流等依 IP 判斷的地方一律使用這裡，不自行解析標頭
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {
+    }
+
+    /**
+     * 取得客戶端 IP
+     *
+     * @param request HTTP 請求
+     * @return IP 地址
+     */
+    public static String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
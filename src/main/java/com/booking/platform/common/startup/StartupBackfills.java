@@ -0,0 +1,231 @@
+package com.booking.platform.common.startup;
+
+import com.booking.platform.common.persistence.SecondLevelCacheBroadcaster;
+import com.booking.platform.entity.catalog.ServiceItem;
+import com.booking.platform.entity.staff.Staff;
+import com.booking.platform.enums.FeatureCode;
+import com.booking.platform.enums.FeatureStatus;
+import com.booking.platform.enums.ServiceStatus;
+import com.booking.platform.enums.StaffStatus;
+import com.booking.platform.enums.TenantStatus;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * 啟動後背景補資料
+ *
+ * <p>應用程式就緒後才在背景執行，不阻塞啟動；每項補資料都是一條涵蓋所有租戶的 INSERT ... SELECT，
+ * 以 NOT EXISTS 跳過已有資料的租戶，不論租戶數量多少都只有一次資料庫往返：
+ * <ul>
+ *   <li>為啟用中的租戶補訂閱免費功能</li>
+ *   <li>為沒有上架服務的租戶建立預設服務</li>
+ *   <li>為沒有員工的租戶建立預設員工</li>
+ * </ul>
+ *
+ * <p>JDBC 寫入不經過 Hibernate，不會更新查詢快取的時間戳記；新增服務或員工後清除對應的二級快取區域與查詢快取
+ * （含 catalog.queries），並通知其他實例
+ *
+ * <p>SQL 使用 PostgreSQL 語法（gen_random_uuid、ON CONFLICT），
+ * 測試環境以 app.startup.backfill-enabled=false 關閉
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupBackfills {
+
+    // ========================================
+    // 預設資料
+    // ========================================
+
+    /**
+     * 預設服務：名稱、說明、價格、時長、緩衝時間、排序
+     */
+    private static final List<Object[]> DEFAULT_SERVICES = List.of(
+            new Object[]{"剪髮", "專業剪髮服務，包含洗髮及造型", new BigDecimal("500"), 60, 10, 1},
+            new Object[]{"染髮", "時尚染髮服務，使用高品質染劑", new BigDecimal("1500"), 120, 15, 2},
+            new Object[]{"護髮", "深層護髮療程，修護受損髮質", new BigDecimal("800"), 45, 5, 3},
+            new Object[]{"洗髮", "舒適洗髮服務，含頭皮按摩", new BigDecimal("200"), 30, 5, 4}
+    );
+
+    /**
+     * 預設員工：名稱、顯示名稱、簡介、排序
+     */
+    private static final List<Object[]> DEFAULT_STAFFS = List.of(
+            new Object[]{"Michael", "Michael 老師", "資深設計師，擅長日韓風格", 1},
+            new Object[]{"Amy", "Amy 老師", "專業染燙師，色彩搭配專家", 2},
+            new Object[]{"Kevin", "Kevin 老師", "男士造型專家", 3}
+    );
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StartupPhaseRecorder phaseRecorder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<SecondLevelCacheBroadcaster> cacheBroadcaster;
+
+    @Value("${app.startup.backfill-enabled:true}")
+    private boolean enabled;
+
+    // ========================================
+    // 執行
+    // ========================================
+
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void runAfterReady() {
+        if (!enabled) {
+            return;
+        }
+        phaseRecorder.background("tenant-free-features", () -> backfill("租戶免費功能", this::insertFreeFeatures));
+        phaseRecorder.background("default-services",
+                () -> backfill("預設服務", this::insertDefaultServices, ServiceItem.class));
+        phaseRecorder.background("default-staffs",
+                () -> backfill("預設員工", this::insertDefaultStaffs, Staff.class));
+    }
+
+    private void backfill(String name, IntSupplier task, Class<?>... cachedEntities) {
+        try {
+            int inserted = task.getAsInt();
+            if (inserted > 0) {
+                log.info("補資料：{} 新增 {} 筆", name, inserted);
+                evictCache(cachedEntities);
+            }
+        } catch (Exception e) {
+            log.error("補資料失敗：{}，{}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 清除本機的實體區域與查詢快取，並通知其他實例
+     */
+    private void evictCache(Class<?>... entityClasses) {
+        if (entityClasses.length == 0) {
+            return;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Class<?> entityClass : entityClasses) {
+            cache.evictEntityData(entityClass);
+            cacheBroadcaster.ifAvailable(broadcaster -> broadcaster.publishRegionEviction(entityClass));
+        }
+        cache.evictQueryRegions();
+    }
+
+    // ========================================
+    // 補資料 SQL
+    // ========================================
+
+    /**
+     * 為所有啟用中的租戶補訂閱免費功能
+     */
+    int insertFreeFeatures() {
+        List<FeatureCode> freeCodes = Arrays.stream(FeatureCode.values())
+                .filter(FeatureCode::isFree)
+                .toList();
+        if (freeCodes.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(List.of(FeatureStatus.ENABLED.name(), now, now, now));
+        freeCodes.forEach(code -> args.add(code.name()));
+        args.add(TenantStatus.ACTIVE.name());
+
+        String sql = """
+                INSERT INTO tenant_features (id, tenant_id, feature_code, status, enabled_at, created_at, updated_at)
+                SELECT gen_random_uuid()::text, t.id, f.code, ?, ?, ?, ?
+                FROM tenants t
+                CROSS JOIN (VALUES %s) AS f(code)
+                WHERE t.status = ? AND t.deleted_at IS NULL
+                  AND NOT EXISTS (
+                      SELECT 1 FROM tenant_features tf
+                      WHERE tf.tenant_id = t.id AND tf.feature_code = f.code AND tf.deleted_at IS NULL
+                  )
+                ON CONFLICT DO NOTHING
+                """.formatted(rows(freeCodes.size(), 1));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * 為沒有上架服務的租戶建立預設服務
+     */
+    int insertDefaultServices() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(List.of(ServiceStatus.ACTIVE.name(), now, now));
+        DEFAULT_SERVICES.forEach(row -> args.addAll(Arrays.asList(row)));
+        args.add(TenantStatus.ACTIVE.name());
+        args.add(ServiceStatus.ACTIVE.name());
+
+        String sql = """
+                INSERT INTO service_items (id, tenant_id, name, description, price, duration, buffer_time,
+                                           status, is_visible, requires_staff, max_capacity, sort_order,
+                                           created_at, updated_at)
+                SELECT gen_random_uuid()::text, t.id, s.name, s.description, s.price, s.duration, s.buffer_time,
+                       ?, TRUE, TRUE, 1, s.sort_order, ?, ?
+                FROM tenants t
+                CROSS JOIN (VALUES %s) AS s(name, description, price, duration, buffer_time, sort_order)
+                WHERE t.status = ? AND t.deleted_at IS NULL
+                  AND NOT EXISTS (
+                      SELECT 1 FROM service_items si
+                      WHERE si.tenant_id = t.id AND si.status = ? AND si.deleted_at IS NULL
+                  )
+                """.formatted(rows(DEFAULT_SERVICES.size(), 6));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * 為沒有員工的租戶建立預設員工
+     */
+    int insertDefaultStaffs() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(List.of(StaffStatus.ACTIVE.name(), now, now));
+        DEFAULT_STAFFS.forEach(row -> args.addAll(Arrays.asList(row)));
+        args.add(TenantStatus.ACTIVE.name());
+
+        String sql = """
+                INSERT INTO staffs (id, tenant_id, name, display_name, bio, status, is_bookable, is_visible,
+                                    max_concurrent_bookings, sort_order, created_at, updated_at)
+                SELECT gen_random_uuid()::text, t.id, s.name, s.display_name, s.bio,
+                       ?, TRUE, TRUE, 1, s.sort_order, ?, ?
+                FROM tenants t
+                CROSS JOIN (VALUES %s) AS s(name, display_name, bio, sort_order)
+                WHERE t.status = ? AND t.deleted_at IS NULL
+                  AND NOT EXISTS (
+                      SELECT 1 FROM staffs st
+                      WHERE st.tenant_id = t.id AND st.deleted_at IS NULL
+                  )
+                """.formatted(rows(DEFAULT_STAFFS.size(), 4));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * VALUES 佔位符，例如 rows(2, 3) 為 {@code (?, ?, ?), (?, ?, ?)}
+     */
+    static String rows(int rowCount, int columnCount) {
+        String row = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rowCount, row));
+    }
+}
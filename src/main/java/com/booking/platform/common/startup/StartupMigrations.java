@@ -0,0 +1,81 @@
+package com.booking.platform.common.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 一次性資料遷移
+ *
+ * <p>已套用的遷移記錄在 startup_migrations 表（版本、說明、套用時間、耗時），
+ * 重新部署時只需一次查詢即可跳過，不再每次啟動都對大表執行修復 SQL
+ *
+ * <p>遷移內容必須冪等：多個實例同時啟動時可能重複執行，只有先寫入記錄者生效
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupMigrations {
+
+    private static final String TABLE_DDL = """
+            CREATE TABLE IF NOT EXISTS startup_migrations (
+                version VARCHAR(50) PRIMARY KEY,
+                description VARCHAR(200),
+                applied_at TIMESTAMP NOT NULL,
+                duration_ms BIGINT NOT NULL
+            )""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 已套用的版本（首次呼叫時載入）
+     */
+    private Set<String> applied;
+
+    /**
+     * 執行尚未套用的遷移
+     *
+     * @param version     版本（例如 V1），套用後不可更改
+     * @param description 說明
+     * @param migration   遷移內容
+     */
+    public synchronized void apply(String version, String description, Runnable migration) {
+        if (loadApplied().contains(version)) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        migration.run();
+        long elapsed = System.currentTimeMillis() - start;
+
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO startup_migrations (version, description, applied_at, duration_ms) VALUES (?, ?, ?, ?)",
+                    version, description, Timestamp.valueOf(LocalDateTime.now()), elapsed
+            );
+        } catch (Exception e) {
+            // 其他實例已寫入同一版本
+            log.debug("遷移 {} 記錄已存在：{}", version, e.getMessage());
+        }
+        applied.add(version);
+        log.info("已套用遷移 {}（{}），耗時 {}ms", version, description, elapsed);
+    }
+
+    private Set<String> loadApplied() {
+        if (applied == null) {
+            jdbcTemplate.execute(TABLE_DDL);
+            applied = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT version FROM startup_migrations", String.class));
+        }
+        return applied;
+    }
+}
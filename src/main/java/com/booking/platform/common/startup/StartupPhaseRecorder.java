@@ -0,0 +1,119 @@
+package com.booking.platform.common.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 啟動階段計時
+ *
+ * <p>記錄 app.startup.phase 計時器，依階段（phase）與執行方式（mode：blocking 阻塞就緒、
+ * background 就緒後背景執行）分類，並在應用程式就緒時輸出各階段耗時摘要
+ *
+ * <p>Spring 內建的 context（Context 重新整理，含 Hibernate Schema 檢查）與 ready（至就緒總耗時）
+ * 也一併記錄為階段
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupPhaseRecorder {
+
+    public static final String MODE_BLOCKING = "blocking";
+    public static final String MODE_BACKGROUND = "background";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 阻塞階段耗時（毫秒），就緒時輸出摘要
+     */
+    private final Map<String, Long> blockingPhases = new ConcurrentHashMap<>();
+
+    // ========================================
+    // 計時
+    // ========================================
+
+    /**
+     * 執行並記錄一個阻塞就緒的階段
+     *
+     * @param phase 階段名稱
+     * @param task  工作
+     */
+    public void blocking(String phase, Runnable task) {
+        long elapsed = time(task);
+        blockingPhases.put(phase, elapsed);
+        record(phase, MODE_BLOCKING, elapsed);
+    }
+
+    /**
+     * 執行並記錄一個背景階段
+     *
+     * @param phase 階段名稱
+     * @param task  工作
+     */
+    public void background(String phase, Runnable task) {
+        long elapsed = time(task);
+        record(phase, MODE_BACKGROUND, elapsed);
+        log.info("背景啟動工作 {} 完成，耗時 {}ms", phase, elapsed);
+    }
+
+    // ========================================
+    // 事件
+    // ========================================
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        if (timeTaken != null) {
+            record("context", MODE_BLOCKING, timeTaken.toMillis());
+        }
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        long readyMs = timeTaken != null ? timeTaken.toMillis() : -1;
+        if (readyMs >= 0) {
+            record("ready", MODE_BLOCKING, readyMs);
+        }
+
+        StringBuilder summary = new StringBuilder();
+        blockingPhases.forEach((phase, elapsed) ->
+                summary.append(' ').append(phase).append('=').append(elapsed).append("ms"));
+        log.info("應用程式就緒，耗時 {}ms，阻塞階段：{}", readyMs,
+                summary.isEmpty() ? " 無" : summary.toString());
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 工作自行處理例外（啟動工作失敗只記錄日誌，不中斷啟動）
+     */
+    private long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void record(String phase, String mode, long elapsedMs) {
+        Timer.builder("app.startup.phase")
+                .tag("phase", phase)
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(elapsedMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -4,14 +4,14 @@ import com.booking.platform.common.response.ApiResponse;
 import com.booking.platform.common.response.PageResponse;
 import com.booking.platform.dto.request.CreateBookingRequest;
 import com.booking.platform.dto.request.UpdateBookingRequest;
+import com.booking.platform.dto.response.BookingCalendarFeedResponse;
 import com.booking.platform.dto.response.BookingResponse;
 import com.booking.platform.enums.BookingStatus;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
@@ -39,6 +39,12 @@ public class BookingController {
     // 查詢 API
     // ========================================
 
+    /**
+     * 取得預約列表
+     *
+     * <p>帶 cursor 時改用游標分頁（第一頁傳空字串，之後帶回應的 nextCursor）；
+     * withTotal=false 可略過總筆數計算
+     */
     @GetMapping
     public ApiResponse<PageResponse<BookingResponse>> getList(
             @RequestParam(defaultValue = "0") int page,
@@ -49,18 +55,18 @@ public class BookingController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String staffId,
             @RequestParam(required = false) String customerId,
-            @RequestParam(required = false) String sort
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal
     ) {
-        size = Math.min(size, 100);
-        Pageable pageable = PageRequest.of(page, size);
-
         // 向後相容：若傳入 date 則視為單日查詢
         if (date != null && startDate == null && endDate == null) {
             startDate = date;
             endDate = date;
         }
 
-        return ApiResponse.ok(bookingService.getList(status, startDate, endDate, staffId, customerId, pageable));
+        return ApiResponse.ok(bookingService.getList(
+                status, startDate, endDate, staffId, customerId, ListRequest.of(page, size, cursor, withTotal)));
     }
 
     @GetMapping("/{id}")
@@ -87,6 +93,20 @@ public class BookingController {
         return ApiResponse.ok(bookingService.getCalendarData(start, end));
     }
 
+    /**
+     * 取得行事曆資料（精簡欄位）
+     *
+     * <p>帶上一次回應的 version 作為 since 時只回傳之後的異動，搭配 SSE 預約事件使用
+     */
+    @GetMapping("/calendar/feed")
+    public ApiResponse<BookingCalendarFeedResponse> getCalendarFeed(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Long since
+    ) {
+        return ApiResponse.ok(bookingService.getCalendarFeed(start, end, since));
+    }
+
     // ========================================
     // 寫入 API
     // ========================================
@@ -2,8 +2,10 @@ package com.booking.platform.controller;
 
 import com.booking.platform.common.response.ApiResponse;
 import com.booking.platform.common.response.PageResponse;
+import com.booking.platform.dto.request.BulkIssueCouponRequest;
 import com.booking.platform.dto.request.CreateCouponRequest;
 import com.booking.platform.dto.request.IssueCouponRequest;
+import com.booking.platform.dto.response.BulkIssueCouponResponse;
 import com.booking.platform.dto.response.CouponInstanceResponse;
 import com.booking.platform.dto.response.CouponResponse;
 import com.booking.platform.enums.CouponInstanceStatus;
@@ -150,6 +152,18 @@ public class CouponController {
         return ApiResponse.ok("票券發放成功", result);
     }
 
+    /**
+     * 批次發放票券給多位顧客
+     */
+    @PostMapping("/{id}/issue/bulk")
+    public ApiResponse<BulkIssueCouponResponse> bulkIssue(
+            @PathVariable String id,
+            @Valid @RequestBody BulkIssueCouponRequest request
+    ) {
+        BulkIssueCouponResponse result = couponService.bulkIssue(id, request);
+        return ApiResponse.ok("票券批次發放完成", result);
+    }
+
     // ========================================
     // 票券核銷 API
     // ========================================
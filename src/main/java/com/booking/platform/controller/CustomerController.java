@@ -5,6 +5,7 @@ import com.booking.platform.common.response.PageResponse;
 import com.booking.platform.dto.request.CreateCustomerRequest;
 import com.booking.platform.dto.response.CustomerResponse;
 import com.booking.platform.enums.CustomerStatus;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -35,14 +36,20 @@ public class CustomerController {
 
     /**
      * 取得顧客列表（分頁）
+     *
+     * <p>帶 cursor 時改用游標分頁；withTotal=false 可略過總筆數計算
      */
     @GetMapping
     public ApiResponse<PageResponse<CustomerResponse>> getList(
             @RequestParam(required = false) CustomerStatus status,
             @RequestParam(required = false) String keyword,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal
     ) {
-        PageResponse<CustomerResponse> result = customerService.getList(status, keyword, pageable);
+        PageResponse<CustomerResponse> result = customerService.getList(
+                status, keyword, ListRequest.of(page, size, cursor, withTotal));
         return ApiResponse.ok(result);
     }
 
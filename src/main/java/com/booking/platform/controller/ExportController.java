@@ -1,5 +1,7 @@
 package com.booking.platform.controller;
 
+import com.booking.platform.common.datasource.DataSourceWorkload;
+import com.booking.platform.common.datasource.Workload;
 import com.booking.platform.common.exception.BusinessException;
 import com.booking.platform.common.exception.ResourceNotFoundException;
 import com.booking.platform.common.exception.ErrorCode;
@@ -39,6 +41,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/export")
 @RequiredArgsConstructor
+@DataSourceWorkload(Workload.REPORTING)
 @Validated
 @Slf4j
 public class ExportController {
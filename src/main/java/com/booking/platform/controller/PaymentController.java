@@ -6,13 +6,12 @@ import com.booking.platform.dto.request.CreatePaymentRequest;
 import com.booking.platform.dto.response.EcpayCheckoutResponse;
 import com.booking.platform.dto.response.PaymentResponse;
 import com.booking.platform.enums.PaymentStatus;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.payment.EcpayService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -70,19 +69,23 @@ public class PaymentController {
     /**
      * 查詢支付記錄列表
      *
-     * @param status 狀態篩選
-     * @param page   頁碼
-     * @param size   每頁筆數
+     * @param status    狀態篩選
+     * @param page      頁碼
+     * @param size      每頁筆數
+     * @param cursor    游標（游標分頁時使用）
+     * @param withTotal 是否計算總筆數
      * @return 支付記錄列表
      */
     @GetMapping
     public ApiResponse<PageResponse<PaymentResponse>> getList(
             @RequestParam(required = false) PaymentStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal) {
 
-        Pageable pageable = PageRequest.of(page, size);
-        PageResponse<PaymentResponse> response = ecpayService.getList(status, pageable);
+        PageResponse<PaymentResponse> response = ecpayService.getList(
+                status, ListRequest.of(page, size, cursor, withTotal));
         return ApiResponse.ok(response);
     }
 
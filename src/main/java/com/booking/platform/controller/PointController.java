@@ -7,6 +7,7 @@ import com.booking.platform.dto.response.PointBalanceResponse;
 import com.booking.platform.dto.response.PointTopUpResponse;
 import com.booking.platform.dto.response.TenantPointTransactionResponse;
 import com.booking.platform.enums.TopUpStatus;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.PointService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -88,14 +89,13 @@ public class PointController {
     public ApiResponse<PageResponse<PointTopUpResponse>> getTopUpList(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) TopUpStatus status
+            @RequestParam(required = false) TopUpStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal
     ) {
         log.info("收到查詢儲值記錄請求");
 
-        size = Math.min(size, 100);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-
-        return ApiResponse.ok(pointService.getTopUpList(status, pageable));
+        return ApiResponse.ok(pointService.getTopUpList(status, ListRequest.of(page, size, cursor, withTotal)));
     }
 
     // ========================================
@@ -4,11 +4,10 @@ import com.booking.platform.common.response.ApiResponse;
 import com.booking.platform.common.response.PageResponse;
 import com.booking.platform.dto.response.ProductOrderResponse;
 import com.booking.platform.enums.ProductOrderStatus;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.ProductOrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,11 +33,11 @@ public class ProductOrderController {
     public ApiResponse<PageResponse<ProductOrderResponse>> getList(
             @RequestParam(required = false) ProductOrderStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal
     ) {
-        size = Math.min(size, 100);
-        Pageable pageable = PageRequest.of(page, size);
-        return ApiResponse.ok(orderService.getList(status, pageable));
+        return ApiResponse.ok(orderService.getList(status, ListRequest.of(page, size, cursor, withTotal)));
     }
 
     /**
@@ -1,13 +1,17 @@
 package com.booking.platform.controller.admin;
 
+import com.booking.platform.common.pagecache.PublicPageCache;
 import com.booking.platform.common.response.ApiResponse;
 import com.booking.platform.dto.response.AdminDashboardResponse;
 import com.booking.platform.service.AdminDashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -30,6 +34,7 @@ public class AdminDashboardController {
     // ========================================
 
     private final AdminDashboardService adminDashboardService;
+    private final PublicPageCache publicPageCache;
 
     // ========================================
     // API
@@ -45,4 +50,21 @@ public class AdminDashboardController {
         log.info("收到取得超級管理儀表板請求");
         return ApiResponse.ok(adminDashboardService.getDashboard());
     }
+
+    /**
+     * 清除公開頁面快取（修改文案或追蹤設定後使用，下次請求重新渲染）
+     *
+     * @param locale 語系（與 ?lang= 相同格式，如 en、zh_CN），未指定時清除所有語系
+     * @return 成功回應
+     */
+    @DeleteMapping("/page-cache")
+    public ApiResponse<Void> invalidatePageCache(@RequestParam(required = false) String locale) {
+        log.info("收到清除公開頁面快取請求，語系：{}", locale);
+        if (locale == null || locale.isBlank()) {
+            publicPageCache.invalidateAll();
+        } else {
+            publicPageCache.invalidate(StringUtils.parseLocale(locale));
+        }
+        return ApiResponse.ok();
+    }
 }
@@ -6,12 +6,10 @@ import com.booking.platform.dto.request.AdjustPointsRequest;
 import com.booking.platform.dto.request.ReviewTopUpRequest;
 import com.booking.platform.dto.response.PointTopUpResponse;
 import com.booking.platform.enums.TopUpStatus;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.PointTopUpService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -53,9 +51,13 @@ public class AdminPointController {
     public ApiResponse<PageResponse<PointTopUpResponse>> getAllTopUps(
             @RequestParam(required = false) TopUpStatus status,
             @RequestParam(required = false) String tenantId,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal
     ) {
-        PageResponse<PointTopUpResponse> result = pointTopUpService.getAllTopUps(status, tenantId, pageable);
+        PageResponse<PointTopUpResponse> result = pointTopUpService.getAllTopUps(
+                status, tenantId, ListRequest.of(page, size, cursor, withTotal));
         return ApiResponse.ok(result);
     }
 
@@ -9,6 +9,7 @@ import com.booking.platform.dto.response.TenantDetailResponse;
 import com.booking.platform.dto.response.TenantListItemResponse;
 import com.booking.platform.dto.response.TenantResponse;
 import com.booking.platform.enums.TenantStatus;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.PointTopUpService;
 import com.booking.platform.service.TenantService;
 import jakarta.validation.Valid;
@@ -257,8 +258,6 @@ public class AdminTenantController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
-        size = Math.min(size, 100);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ApiResponse.ok(pointTopUpService.getAllTopUps(null, id, pageable));
+        return ApiResponse.ok(pointTopUpService.getAllTopUps(null, id, ListRequest.ofPage(page, size)));
     }
 }
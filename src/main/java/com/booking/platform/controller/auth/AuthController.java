@@ -1,6 +1,7 @@
 package com.booking.platform.controller.auth;
 
 import com.booking.platform.common.response.ApiResponse;
+import com.booking.platform.common.security.ClientIpResolver;
 import com.booking.platform.common.security.JwtTokenProvider;
 import com.booking.platform.dto.request.ChangePasswordRequest;
 import com.booking.platform.dto.request.ForgotPasswordRequest;
@@ -60,7 +61,7 @@ public class AuthController {
     ) {
         log.info("收到超級管理員登入請求，帳號：{}", request.getUsername());
 
-        String ip = getClientIp(httpRequest);
+        String ip = ClientIpResolver.resolve(httpRequest);
         LoginResponse response = authService.adminLogin(request, ip);
 
         return ApiResponse.ok("登入成功", response);
@@ -84,7 +85,7 @@ public class AuthController {
     ) {
         log.info("收到店家登入請求，帳號：{}", request.getUsername());
 
-        String ip = getClientIp(httpRequest);
+        String ip = ClientIpResolver.resolve(httpRequest);
         LoginResponse response = authService.tenantLogin(request, ip);
 
         return ApiResponse.ok("登入成功", response);
@@ -110,7 +111,7 @@ public class AuthController {
     ) {
         log.info("收到統一登入請求，帳號：{}", request.getUsername());
 
-        String ip = getClientIp(httpRequest);
+        String ip = ClientIpResolver.resolve(httpRequest);
 
         // 嘗試超級管理員登入
         try {
@@ -269,34 +270,4 @@ public class AuthController {
         }
         return null;
     }
-
-    /**
-     * 取得客戶端 IP
-     *
-     * @param request HTTP 請求
-     * @return IP 地址
-     */
-    private String getClientIp(HttpServletRequest request) {
-        // 依序檢查各種 Header
-        String[] headers = {
-                "X-Forwarded-For",
-                "X-Real-IP",
-                "Proxy-Client-IP",
-                "WL-Proxy-Client-IP"
-        };
-
-        for (String header : headers) {
-            String ip = request.getHeader(header);
-            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-                // X-Forwarded-For 可能包含多個 IP，取第一個
-                int index = ip.indexOf(',');
-                if (index > 0) {
-                    ip = ip.substring(0, index).trim();
-                }
-                return ip;
-            }
-        }
-
-        return request.getRemoteAddr();
-    }
 }
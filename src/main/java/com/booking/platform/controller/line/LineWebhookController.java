@@ -1,15 +1,22 @@
 package com.booking.platform.controller.line;
 
+import com.booking.platform.common.admission.TenantBulkhead;
+import com.booking.platform.common.exception.ErrorCode;
 import com.booking.platform.common.line.LineSignatureValidator;
 import com.booking.platform.common.response.ApiResponse;
+import com.booking.platform.dto.line.LineWebhookRoute;
 import com.booking.platform.entity.line.TenantLineConfig;
 import com.booking.platform.enums.line.LineConfigStatus;
-import com.booking.platform.service.common.EncryptionService;
 import com.booking.platform.service.line.LineConfigService;
+import com.booking.platform.service.line.LineCredentialService;
+import com.booking.platform.service.line.LineWebhookQueue;
+import com.booking.platform.service.line.LineWebhookRouteCache;
 import com.booking.platform.service.line.LineWebhookService;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,6 +26,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -49,8 +59,11 @@ public class LineWebhookController {
 
     private final LineConfigService lineConfigService;
     private final LineWebhookService webhookService;
+    private final LineWebhookQueue webhookQueue;
+    private final LineWebhookRouteCache routeCache;
     private final LineSignatureValidator signatureValidator;
-    private final EncryptionService encryptionService;
+    private final LineCredentialService credentialService;
+    private final TenantBulkhead tenantBulkhead;
 
     // ========================================
     // Webhook 端點
@@ -92,36 +105,36 @@ public class LineWebhookController {
      *
      * @param tenantCode 租戶代碼
      * @param signature  X-Line-Signature 標頭
-     * @param body       請求 body（JSON 格式）
+     * @param body       請求 body（原始 bytes，簽名驗證直接使用，不經字串轉換）
      * @return 回應
      */
     @PostMapping("/{tenantCode}")
     public ResponseEntity<ApiResponse<Void>> handleWebhook(
             @PathVariable String tenantCode,
             @RequestHeader(value = "X-Line-Signature", required = false) String signature,
-            @RequestBody String body
+            @RequestBody byte[] body
     ) {
         log.debug("收到 LINE Webhook，租戶代碼：{}", tenantCode);
 
         // ========================================
-        // 1. 查詢租戶設定
+        // 1. 查詢路由（快取，未知代碼也會短暫快取）
         // ========================================
 
-        Optional<TenantLineConfig> configOpt = lineConfigService.getConfigByTenantCode(tenantCode);
+        Optional<LineWebhookRoute> routeOpt = routeCache.resolve(tenantCode);
 
-        if (configOpt.isEmpty()) {
+        if (routeOpt.isEmpty()) {
             log.warn("找不到租戶 LINE 設定，租戶代碼：{}", tenantCode);
             return ResponseEntity.ok(ApiResponse.ok());
         }
 
-        TenantLineConfig config = configOpt.get();
-        String tenantId = config.getTenantId();
+        LineWebhookRoute route = routeOpt.get();
+        String tenantId = route.tenantId();
 
         // ========================================
         // 2. 檢查設定狀態
         // ========================================
 
-        if (config.getStatus() == LineConfigStatus.INACTIVE) {
+        if (route.status() == LineConfigStatus.INACTIVE) {
             log.debug("LINE Bot 已停用，租戶：{}", tenantId);
             return ResponseEntity.ok(ApiResponse.ok());
         }
@@ -130,45 +143,80 @@ public class LineWebhookController {
         // 3. 驗證簽名
         // ========================================
 
-        if (signature == null || config.getChannelSecretEncrypted() == null) {
+        if (signature == null || route.channelSecretEncrypted() == null) {
             log.warn("缺少簽名或 Channel Secret，租戶：{}", tenantId);
             return ResponseEntity.ok(ApiResponse.ok());
         }
 
-        // 解密 Channel Secret
-        String channelSecret;
-        try {
-            channelSecret = encryptionService.decrypt(config.getChannelSecretEncrypted());
-        } catch (Exception e) {
-            log.error("Channel Secret 解密失敗，租戶：{}", tenantId, e);
-            return ResponseEntity.ok(ApiResponse.ok());
-        }
+        if (!isValidSignature(route, body, signature)) {
+            // 路由可能已過時（Channel Secret 剛在其他實例更換），重新載入後再驗證一次
+            Optional<LineWebhookRoute> refreshed = routeCache.refresh(tenantCode);
+            boolean secretChanged = refreshed.isPresent()
+                    && !Objects.equals(refreshed.get().channelSecretEncrypted(), route.channelSecretEncrypted());
 
-        // 驗證簽名
-        boolean isValid = signatureValidator.validate(body, signature, channelSecret);
-        if (!isValid) {
-            log.warn("簽名驗證失敗，租戶：{}，可能是偽造請求", tenantId);
-            return ResponseEntity.ok(ApiResponse.ok());
+            if (!secretChanged || !isValidSignature(refreshed.get(), body, signature)) {
+                log.warn("簽名驗證失敗，租戶：{}，可能是偽造請求", tenantId);
+                return ResponseEntity.ok(ApiResponse.ok());
+            }
+            route = refreshed.get();
         }
 
         log.debug("簽名驗證通過，租戶：{}", tenantId);
 
-        // 標記 Webhook 已驗證
-        if (!config.getWebhookVerified()) {
+        // 標記 Webhook 已驗證（只有第一次，之後路由快取中已是已驗證）
+        if (!route.isVerified()) {
             lineConfigService.markWebhookVerified(tenantId);
         }
 
         // ========================================
-        // 4. 處理事件（非同步）
+        // 4. 寫入事件佇列（未啟用或寫入失敗時改為程序內非同步處理）
         // ========================================
 
         try {
-            webhookService.processWebhook(tenantId, body);
+            if (!webhookQueue.enqueue(tenantId, body)) {
+                String payload = new String(body, StandardCharsets.UTF_8);
+                boolean accepted = tenantBulkhead.tryRun(TenantBulkhead.Pool.LINE_WEBHOOK, tenantId,
+                        () -> webhookService.processWebhook(tenantId, payload));
+
+                if (!accepted) {
+                    // 租戶處理中的 Webhook 已達上限，回 429 讓 LINE 稍後重送
+                    log.warn("Webhook 處理已達租戶併發上限，延後處理，租戶：{}", tenantId);
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body(ApiResponse.error(
+                                    ErrorCode.SYS_TOO_MANY_REQUESTS.getCode(),
+                                    ErrorCode.SYS_TOO_MANY_REQUESTS.getDefaultMessage()
+                            ));
+                }
+            }
         } catch (Exception e) {
             log.error("Webhook 處理失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage());
         }
 
-        // LINE 要求必須回傳 200 OK
+        // LINE 要求必須回傳 200 OK（只有過載時回 429 讓 LINE 重送）
         return ResponseEntity.ok(ApiResponse.ok());
     }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 以路由中的 Channel Secret 驗證簽名（解密結果有快取）
+     */
+    private boolean isValidSignature(LineWebhookRoute route, byte[] body, String signature) {
+        if (route.channelSecretEncrypted() == null) {
+            return false;
+        }
+
+        Mac mac;
+        try {
+            mac = credentialService.getSignatureMac(route.tenantId(), route.channelSecretEncrypted());
+        } catch (Exception e) {
+            log.error("Channel Secret 解密失敗，租戶：{}", route.tenantId(), e);
+            return false;
+        }
+
+        return signatureValidator.validate(body, signature, mac);
+    }
 }
@@ -1,5 +1,9 @@
 package com.booking.platform.controller.page;
 
+import com.booking.platform.common.pagecache.PublicPageCache;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
@@ -8,17 +12,21 @@ import org.springframework.web.bind.annotation.GetMapping;
  *
  * 處理不需要登入的公開頁面路由
  * 包含首頁（Landing Page）、FAQ、功能介紹等 SEO 相關頁面
+ * 頁面只在部署時變更，由 {@link PublicPageCache} 回應快取的渲染結果
  */
 @Controller
+@RequiredArgsConstructor
 public class PublicPageController {
 
+    private final PublicPageCache pageCache;
+
     /**
      * 首頁 - Landing Page
      * SEO 優化的介紹頁面，用於搜尋引擎索引
      */
     @GetMapping("/")
-    public String index() {
-        return "public/index";
+    public ResponseEntity<byte[]> index(HttpServletRequest request) {
+        return pageCache.serve("public/index", request);
     }
 
     /**
@@ -26,8 +34,8 @@ public class PublicPageController {
      * SEO 優化，包含結構化資料
      */
     @GetMapping("/faq")
-    public String faq() {
-        return "public/faq";
+    public ResponseEntity<byte[]> faq(HttpServletRequest request) {
+        return pageCache.serve("public/faq", request);
     }
 
     /**
@@ -35,8 +43,8 @@ public class PublicPageController {
      * SEO 優化，詳細介紹平台功能
      */
     @GetMapping("/features")
-    public String features() {
-        return "public/features";
+    public ResponseEntity<byte[]> features(HttpServletRequest request) {
+        return pageCache.serve("public/features", request);
     }
 
     /**
@@ -44,8 +52,8 @@ public class PublicPageController {
      * SEO 優化，展示價格與方案
      */
     @GetMapping("/pricing")
-    public String pricing() {
-        return "public/pricing";
+    public ResponseEntity<byte[]> pricing(HttpServletRequest request) {
+        return pageCache.serve("public/pricing", request);
     }
 
     // ========================================
@@ -56,72 +64,72 @@ public class PublicPageController {
      * 美容預約系統
      */
     @GetMapping("/beauty")
-    public String beauty() {
-        return "public/industry/beauty";
+    public ResponseEntity<byte[]> beauty(HttpServletRequest request) {
+        return pageCache.serve("public/industry/beauty", request);
     }
 
     /**
      * 美髮預約系統
      */
     @GetMapping("/hair-salon")
-    public String hairSalon() {
-        return "public/industry/hair-salon";
+    public ResponseEntity<byte[]> hairSalon(HttpServletRequest request) {
+        return pageCache.serve("public/industry/hair-salon", request);
     }
 
     /**
      * SPA 按摩預約系統
      */
     @GetMapping("/spa")
-    public String spa() {
-        return "public/industry/spa";
+    public ResponseEntity<byte[]> spa(HttpServletRequest request) {
+        return pageCache.serve("public/industry/spa", request);
     }
 
     /**
      * 健身教練預約系統
      */
     @GetMapping("/fitness")
-    public String fitness() {
-        return "public/industry/fitness";
+    public ResponseEntity<byte[]> fitness(HttpServletRequest request) {
+        return pageCache.serve("public/industry/fitness", request);
     }
 
     /**
      * 餐廳訂位系統
      */
     @GetMapping("/restaurant")
-    public String restaurant() {
-        return "public/industry/restaurant";
+    public ResponseEntity<byte[]> restaurant(HttpServletRequest request) {
+        return pageCache.serve("public/industry/restaurant", request);
     }
 
     /**
      * 診所預約系統
      */
     @GetMapping("/clinic")
-    public String clinic() {
-        return "public/industry/clinic";
+    public ResponseEntity<byte[]> clinic(HttpServletRequest request) {
+        return pageCache.serve("public/industry/clinic", request);
     }
 
     /**
      * 補習家教預約系統
      */
     @GetMapping("/tutoring")
-    public String tutoring() {
-        return "public/industry/tutoring";
+    public ResponseEntity<byte[]> tutoring(HttpServletRequest request) {
+        return pageCache.serve("public/industry/tutoring", request);
     }
 
     /**
      * 攝影工作室預約系統
      */
     @GetMapping("/photography")
-    public String photography() {
-        return "public/industry/photography";
+    public ResponseEntity<byte[]> photography(HttpServletRequest request) {
+        return pageCache.serve("public/industry/photography", request);
     }
 
     /**
      * 寵物美容預約系統
      */
     @GetMapping("/pet-care")
-    public String petCare() {
-        return "public/industry/pet-care";
+    public ResponseEntity<byte[]> petCare(HttpServletRequest request) {
+        return pageCache.serve("public/industry/pet-care", request);
     }
 
     // ========================================
@@ -132,15 +140,15 @@ public class PublicPageController {
      * 服務條款頁面
      */
     @GetMapping("/terms")
-    public String terms() {
-        return "public/terms";
+    public ResponseEntity<byte[]> terms(HttpServletRequest request) {
+        return pageCache.serve("public/terms", request);
     }
 
     /**
      * 隱私權政策頁面
      */
     @GetMapping("/privacy")
-    public String privacy() {
-        return "public/privacy";
+    public ResponseEntity<byte[]> privacy(HttpServletRequest request) {
+        return pageCache.serve("public/privacy", request);
     }
 }
@@ -9,6 +9,7 @@ import com.booking.platform.enums.FeatureCode;
 import com.booking.platform.repository.line.TenantLineConfigRepository;
 import com.booking.platform.service.FeatureService;
 import com.booking.platform.service.line.LineConfigService;
+import com.booking.platform.service.line.LineFlexMessageBuilder;
 import com.booking.platform.service.line.LineRichMenuService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -55,6 +56,7 @@ public class LineConfigController {
     private final LineRichMenuService richMenuService;
     private final TenantLineConfigRepository lineConfigRepository;
     private final FeatureService featureService;
+    private final LineFlexMessageBuilder flexMessageBuilder;
 
     // ========================================
     // 查詢 API
@@ -506,6 +508,7 @@ public class LineConfigController {
                 com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
                 config.setFlexMenuConfig(mapper.writeValueAsString(configMap));
                 lineConfigRepository.save(config);
+                flexMessageBuilder.invalidateTemplates(tenantId);
             } catch (Exception e) {
                 log.error("儲存 flexMenuConfig 失敗，租戶：{}", tenantId, e);
             }
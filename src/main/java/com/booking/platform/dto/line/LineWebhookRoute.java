@@ -0,0 +1,31 @@
+package com.booking.platform.dto.line;
+
+import com.booking.platform.enums.line.LineConfigStatus;
+
+/**
+ * Webhook 路由資訊
+ *
+ * <p>租戶代碼對應到 Webhook 驗證所需的最少欄位，由 JPQL 建構式查詢直接產生，
+ * 不載入含大量 TEXT 欄位的完整 LINE 設定
+ *
+ * @param tenantId               租戶 ID
+ * @param status                 LINE 設定狀態
+ * @param channelSecretEncrypted Channel Secret 密文（解密結果由 LineCredentialService 快取）
+ * @param webhookVerified        Webhook 是否已驗證
+ * @author Developer
+ * @since 1.0.0
+ */
+public record LineWebhookRoute(
+        String tenantId,
+        LineConfigStatus status,
+        String channelSecretEncrypted,
+        Boolean webhookVerified
+) {
+
+    /**
+     * Webhook 是否已驗證
+     */
+    public boolean isVerified() {
+        return Boolean.TRUE.equals(webhookVerified);
+    }
+}
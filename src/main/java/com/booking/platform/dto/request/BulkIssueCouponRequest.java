@@ -0,0 +1,30 @@
+package com.booking.platform.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批次發放票券請求
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIssueCouponRequest {
+
+    @NotEmpty(message = "顧客 ID 列表不能為空")
+    @Size(max = 5000, message = "單次最多發放 5000 位顧客")
+    private List<String> customerIds;
+
+    @Size(max = 200, message = "發放說明長度不能超過 200 字")
+    private String sourceDescription;
+}
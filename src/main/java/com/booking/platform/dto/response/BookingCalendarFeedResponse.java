@@ -0,0 +1,44 @@
+package com.booking.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 行事曆資料回應
+ *
+ * <p>完整回應（full = true）包含區間內所有預約；增量回應只包含 since 之後異動的預約，
+ * 前端以 id 覆蓋既有事件，並移除 removedIds 中的事件
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCalendarFeedResponse {
+
+    /**
+     * 是否為完整回應（false 表示增量）
+     */
+    private boolean full;
+
+    /**
+     * 同步版本，下次查詢時帶入 since
+     */
+    private long version;
+
+    /**
+     * 預約項目（完整回應為全部，增量回應為新增或異動）
+     */
+    private List<BookingCalendarItem> items;
+
+    /**
+     * 需從行事曆移除的預約 ID（已刪除或移出查詢區間）
+     */
+    private List<String> removedIds;
+}
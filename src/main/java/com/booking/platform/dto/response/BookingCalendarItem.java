@@ -0,0 +1,43 @@
+package com.booking.platform.dto.response;
+
+import com.booking.platform.enums.BookingStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 行事曆預約項目
+ *
+ * <p>只包含行事曆顯示用的欄位，由 JPQL 建構式查詢直接產生，不載入完整的預約實體
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCalendarItem {
+
+    private String id;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate bookingDate;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    private BookingStatus status;
+
+    private String customerName;
+    private String serviceName;
+
+    private String staffId;
+    private String staffName;
+}
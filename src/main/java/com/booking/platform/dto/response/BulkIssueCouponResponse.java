@@ -0,0 +1,44 @@
+package com.booking.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批次發放票券回應
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIssueCouponResponse {
+
+    /**
+     * 票券 ID
+     */
+    private String couponId;
+
+    /**
+     * 請求發放人數（去重後）
+     */
+    private Integer requestedCount;
+
+    /**
+     * 實際發放張數
+     */
+    private Integer issuedCount;
+
+    /**
+     * 已達領取上限而略過的人數
+     */
+    private Integer skippedByLimitCount;
+
+    /**
+     * 因剩餘數量不足而未發放的人數
+     */
+    private Integer skippedBySoldOutCount;
+}
@@ -0,0 +1,67 @@
+package com.booking.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 租戶客群統計回應
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SegmentStatisticsResponse {
+
+    /**
+     * 租戶 ID
+     */
+    private String tenantId;
+
+    /**
+     * 顧客總數
+     */
+    private long customerCount;
+
+    /**
+     * 員工總數
+     */
+    private long staffCount;
+
+    /**
+     * LINE 用戶總數
+     */
+    private long lineUserCount;
+
+    /**
+     * 追蹤中 LINE 用戶數
+     */
+    private long followerCount;
+
+    /**
+     * 各會員等級顧客數（key：會員等級 ID）
+     */
+    private Map<String, Long> customersByLevel;
+
+    /**
+     * 各會員等級追蹤中用戶數（key：會員等級 ID）
+     */
+    private Map<String, Long> followersByLevel;
+
+    /**
+     * 各標籤追蹤中用戶數（key：標籤）
+     */
+    private Map<String, Long> followersByTag;
+
+    /**
+     * 統計時間
+     */
+    private LocalDateTime computedAt;
+}
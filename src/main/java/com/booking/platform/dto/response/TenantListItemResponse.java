@@ -31,4 +31,23 @@ public class TenantListItemResponse {
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
+
+    /**
+     * 員工數（查詢後批次填入）
+     */
+    private Long staffCount;
+
+    /**
+     * 顧客數（查詢後批次填入）
+     */
+    private Long customerCount;
+
+    /**
+     * 投影查詢建構子（統計欄位另行填入）
+     */
+    public TenantListItemResponse(String id, String code, String name, TenantStatus status,
+                                  String phone, String email, BigDecimal pointBalance,
+                                  Boolean isTestAccount, LocalDateTime createdAt) {
+        this(id, code, name, status, phone, email, pointBalance, isTestAccount, createdAt, null, null);
+    }
 }
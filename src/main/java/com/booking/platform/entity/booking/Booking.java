@@ -31,6 +31,7 @@ import java.time.LocalTime;
  *   <li>idx_bookings_tenant_status - 按狀態查詢</li>
  *   <li>idx_bookings_tenant_customer - 按顧客查詢</li>
  *   <li>idx_bookings_tenant_staff - 按員工查詢</li>
+ *   <li>idx_bookings_tenant_updated - 行事曆增量同步</li>
  * </ul>
  *
  * @author Developer
@@ -44,7 +45,8 @@ import java.time.LocalTime;
                 @Index(name = "idx_bookings_tenant_status", columnList = "tenant_id, status, booking_date"),
                 @Index(name = "idx_bookings_tenant_customer", columnList = "tenant_id, customer_id"),
                 @Index(name = "idx_bookings_tenant_staff", columnList = "tenant_id, staff_id, booking_date"),
-                @Index(name = "idx_bookings_tenant_deleted", columnList = "tenant_id, deleted_at")
+                @Index(name = "idx_bookings_tenant_deleted", columnList = "tenant_id, deleted_at"),
+                @Index(name = "idx_bookings_tenant_updated", columnList = "tenant_id, updated_at")
         }
 )
 @Getter
@@ -0,0 +1,168 @@
+package com.booking.platform.entity.booking;
+
+import com.booking.platform.common.entity.BaseEntity;
+import com.booking.platform.enums.BookingEventType;
+import com.booking.platform.enums.OutboxChannel;
+import com.booking.platform.enums.OutboxStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 預約事件外寄匣
+ *
+ * <p>資料表：booking_outbox_events
+ *
+ * <p>預約異動時在同一交易寫入，交易提交後由轉送器發送 LINE、簡訊、SSE 通知；
+ * 交易回滾時事件一併消失，不會發出錯誤的通知
+ *
+ * <p>索引設計：
+ * <ul>
+ *   <li>idx_booking_outbox_due - 轉送器撈取到期事件</li>
+ *   <li>idx_booking_outbox_tenant - 按租戶查詢</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Entity
+@Table(
+        name = "booking_outbox_events",
+        indexes = {
+                @Index(name = "idx_booking_outbox_due", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_booking_outbox_tenant", columnList = "tenant_id, created_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingOutboxEvent extends BaseEntity {
+
+    // ========================================
+    // 事件內容
+    // ========================================
+
+    /**
+     * 預約 ID
+     */
+    @Column(name = "booking_id", length = 36, nullable = false)
+    private String bookingId;
+
+    /**
+     * 事件類型
+     */
+    @Column(name = "event_type", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private BookingEventType eventType;
+
+    /**
+     * 附加訊息（取消原因、變更描述等）
+     */
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    // ========================================
+    // 發送狀態
+    // ========================================
+
+    /**
+     * 狀態
+     */
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    /**
+     * 已完成的管道（逗號分隔），重試時跳過，避免重複通知
+     */
+    @Column(name = "channels_done", length = 50)
+    private String channelsDone;
+
+    /**
+     * 已嘗試次數
+     */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * 下次可處理時間（處理中時為租約到期時間）
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 最後一次錯誤
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * 完成時間
+     */
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // ========================================
+    // 業務方法
+    // ========================================
+
+    /**
+     * 管道是否已完成
+     */
+    public boolean isChannelDone(OutboxChannel channel) {
+        return channelsDone != null
+                && Arrays.asList(channelsDone.split(",")).contains(channel.name());
+    }
+
+    /**
+     * 標記管道已完成
+     */
+    public void markChannelDone(OutboxChannel channel) {
+        if (isChannelDone(channel)) {
+            return;
+        }
+        channelsDone = channelsDone == null || channelsDone.isEmpty()
+                ? channel.name()
+                : channelsDone + "," + channel.name();
+    }
+
+    /**
+     * 標記完成
+     */
+    public void markDone() {
+        this.status = OutboxStatus.DONE;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 記錄失敗，重試次數用完時標記為失敗，否則排定下次重試
+     *
+     * @param error       錯誤訊息
+     * @param maxAttempts 最大嘗試次數
+     * @param retryAt     下次重試時間
+     */
+    public void markFailedAttempt(String error, int maxAttempts, LocalDateTime retryAt) {
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+            this.processedAt = LocalDateTime.now();
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.booking.platform.entity.catalog;
 
 import com.booking.platform.common.entity.BaseEntity;
 import com.booking.platform.enums.ServiceStatus;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -13,6 +14,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -25,6 +28,8 @@ import java.math.BigDecimal;
  * @since 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.service-item")
 @Table(
         name = "service_items",
         indexes = {
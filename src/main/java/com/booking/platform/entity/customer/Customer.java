@@ -30,6 +30,7 @@ import java.time.LocalDateTime;
  *   <li>idx_customers_tenant_line - LINE ID 查詢</li>
  *   <li>idx_customers_tenant_phone - 手機號碼查詢</li>
  *   <li>idx_customers_tenant_status - 狀態查詢</li>
+ *   <li>idx_customers_tenant_last_visit - 列表排序（最後來店）與游標分頁</li>
  * </ul>
  *
  * @author Developer
@@ -42,7 +43,8 @@ import java.time.LocalDateTime;
                 @Index(name = "idx_customers_tenant_line", columnList = "tenant_id, line_user_id"),
                 @Index(name = "idx_customers_tenant_phone", columnList = "tenant_id, phone"),
                 @Index(name = "idx_customers_tenant_status", columnList = "tenant_id, status"),
-                @Index(name = "idx_customers_tenant_deleted", columnList = "tenant_id, deleted_at")
+                @Index(name = "idx_customers_tenant_deleted", columnList = "tenant_id, deleted_at"),
+                @Index(name = "idx_customers_tenant_last_visit", columnList = "tenant_id, last_visit_at, created_at")
         }
 )
 @Getter
@@ -166,8 +168,11 @@ public class Customer extends BaseEntity {
 
     /**
      * 會員點數餘額
+     *
+     * <p>由點數帳本以原子 UPDATE 維護（見 PointLedgerService），實體儲存時不寫入此欄位，
+     * 避免讀取後才儲存的顧客資料覆蓋期間入帳的點數
      */
-    @Column(name = "point_balance")
+    @Column(name = "point_balance", updatable = false)
     @Builder.Default
     private Integer pointBalance = 0;
 
@@ -260,24 +265,6 @@ public class Customer extends BaseEntity {
         this.noShowCount++;
     }
 
-    /**
-     * 增加點數
-     */
-    public void addPoints(int points) {
-        this.pointBalance += points;
-    }
-
-    /**
-     * 扣除點數
-     */
-    public boolean deductPoints(int points) {
-        if (this.pointBalance < points) {
-            return false;
-        }
-        this.pointBalance -= points;
-        return true;
-    }
-
     /**
      * 檢查是否今天生日
      */
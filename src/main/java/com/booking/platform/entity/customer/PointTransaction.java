@@ -5,6 +5,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,6 +19,9 @@ import java.time.LocalDateTime;
  *
  * <p>資料表：point_transactions
  *
+ * <p>只新增不修改：顧客餘額等於未刪除紀錄的點數加總，更正以 ADJUST 紀錄沖銷。
+ * 冪等鍵（租戶內唯一）避免同一筆入帳重複執行（如預約完成重試、排程重跑）
+ *
  * @author Developer
  * @since 1.0.0
  */
@@ -27,6 +31,10 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_point_transactions_tenant_customer", columnList = "tenant_id, customer_id, created_at"),
                 @Index(name = "idx_point_transactions_tenant_deleted", columnList = "tenant_id, deleted_at")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_point_transactions_tenant_idempotency",
+                        columnNames = {"tenant_id", "idempotency_key"})
         }
 )
 @Getter
@@ -77,4 +85,10 @@ public class PointTransaction extends BaseEntity {
      */
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
+
+    /**
+     * 冪等鍵（如 booking:{預約 ID}，未提供時不檢查重複）
+     */
+    @Column(name = "idempotency_key", length = 100, updatable = false)
+    private String idempotencyKey;
 }
@@ -10,6 +10,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -32,10 +33,14 @@ import java.time.LocalDateTime;
  *   <li>idx_lu_tenant_followed - 租戶 + 追蹤狀態查詢</li>
  * </ul>
  *
+ * <p>互動次數、預約次數由批量 UPDATE 累加，更新時只寫入有變更的欄位（@DynamicUpdate），
+ * 整筆儲存不會蓋掉期間累加的計數
+ *
  * @author Developer
  * @since 1.0.0
  */
 @Entity
+@DynamicUpdate
 @Table(
         name = "line_users",
         indexes = {
@@ -23,6 +23,7 @@ import java.time.LocalDateTime;
                 @Index(name = "idx_coupon_instances_customer", columnList = "tenant_id, customer_id, status, deleted_at"),
                 @Index(name = "idx_coupon_instances_coupon", columnList = "tenant_id, coupon_id, deleted_at"),
                 @Index(name = "idx_coupon_instances_code", columnList = "tenant_id, code", unique = true),
+                @Index(name = "idx_coupon_instances_claim", columnList = "tenant_id, coupon_id, customer_id, claim_seq", unique = true),
                 @Index(name = "idx_coupon_instances_expires", columnList = "expires_at, status")
         }
 )
@@ -51,6 +52,13 @@ public class CouponInstance extends BaseEntity {
     @Column(name = "code", nullable = false, length = 20)
     private String code;
 
+    /**
+     * 領取序號（該顧客第幾次領取此票券，配合唯一索引確保限領數量在併發下不會超發；
+     * 不限領取數量時為 null）
+     */
+    @Column(name = "claim_seq")
+    private Integer claimSeq;
+
     /**
      * 票券狀態
      */
@@ -22,7 +22,8 @@ import java.math.BigDecimal;
                 @Index(name = "idx_product_orders_tenant", columnList = "tenant_id, deleted_at"),
                 @Index(name = "idx_product_orders_customer", columnList = "customer_id, created_at"),
                 @Index(name = "idx_product_orders_status", columnList = "tenant_id, status, created_at"),
-                @Index(name = "idx_product_orders_order_no", columnList = "order_no", unique = true)
+                @Index(name = "idx_product_orders_order_no", columnList = "order_no", unique = true),
+                @Index(name = "idx_product_orders_tenant_created", columnList = "tenant_id, created_at")
         }
 )
 @Getter
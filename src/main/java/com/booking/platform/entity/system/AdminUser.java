@@ -1,5 +1,6 @@
 package com.booking.platform.entity.system;
 
+import com.booking.platform.common.entity.IdGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -14,7 +15,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * 超級管理員帳號
@@ -149,7 +149,7 @@ public class AdminUser {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = IdGenerator.newId();
         }
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
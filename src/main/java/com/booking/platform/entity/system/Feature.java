@@ -1,14 +1,16 @@
 package com.booking.platform.entity.system;
 
+import com.booking.platform.common.entity.IdGenerator;
 import com.booking.platform.enums.FeatureCode;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * 功能定義 Entity
@@ -19,6 +21,8 @@ import java.util.UUID;
  * @since 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.feature")
 @Table(
         name = "features",
         indexes = {
@@ -113,7 +117,7 @@ public class Feature {
     @PrePersist
     public void prePersist() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = IdGenerator.newId();
         }
         if (this.isActive == null) {
             this.isActive = true;
@@ -1,5 +1,6 @@
 package com.booking.platform.entity.system;
 
+import com.booking.platform.common.entity.IdGenerator;
 import com.booking.platform.enums.PaymentStatus;
 import com.booking.platform.enums.PaymentType;
 import jakarta.persistence.Column;
@@ -19,7 +20,6 @@ import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * 支付記錄
@@ -39,7 +39,8 @@ import java.util.UUID;
                 @Index(name = "idx_payments_merchant_trade_no", columnList = "merchant_trade_no", unique = true),
                 @Index(name = "idx_payments_ecpay_trade_no", columnList = "ecpay_trade_no"),
                 @Index(name = "idx_payments_status", columnList = "status"),
-                @Index(name = "idx_payments_created", columnList = "created_at")
+                @Index(name = "idx_payments_created", columnList = "created_at"),
+                @Index(name = "idx_payments_tenant_created", columnList = "tenant_id, created_at")
         }
 )
 @Getter
@@ -204,7 +205,7 @@ public class Payment {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = IdGenerator.newId();
         }
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_point_topups_tenant", columnList = "tenant_id, deleted_at"),
                 @Index(name = "idx_point_topups_status", columnList = "status, deleted_at"),
-                @Index(name = "idx_point_topups_created", columnList = "created_at")
+                @Index(name = "idx_point_topups_created", columnList = "created_at"),
+                @Index(name = "idx_point_topups_tenant_created", columnList = "tenant_id, created_at")
         }
 )
 @Getter
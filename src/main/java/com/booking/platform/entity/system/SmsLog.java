@@ -1,5 +1,6 @@
 package com.booking.platform.entity.system;
 
+import com.booking.platform.common.entity.IdGenerator;
 import com.booking.platform.enums.SmsStatus;
 import com.booking.platform.enums.SmsType;
 import jakarta.persistence.Column;
@@ -17,7 +18,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * SMS 發送記錄
@@ -159,7 +159,7 @@ public class SmsLog {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = IdGenerator.newId();
         }
         this.createdAt = LocalDateTime.now();
     }
@@ -0,0 +1,50 @@
+package com.booking.platform.enums;
+
+/**
+ * 預約事件類型（通知外寄匣）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public enum BookingEventType {
+
+    /**
+     * 新預約
+     */
+    CREATED("新預約"),
+
+    /**
+     * 預約內容變更
+     */
+    UPDATED("預約變更"),
+
+    /**
+     * 預約確認
+     */
+    CONFIRMED("預約確認"),
+
+    /**
+     * 服務完成
+     */
+    COMPLETED("服務完成"),
+
+    /**
+     * 預約取消
+     */
+    CANCELLED("預約取消"),
+
+    /**
+     * 爽約
+     */
+    NO_SHOW("爽約");
+
+    private final String description;
+
+    BookingEventType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
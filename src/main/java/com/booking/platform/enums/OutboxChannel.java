@@ -0,0 +1,35 @@
+package com.booking.platform.enums;
+
+/**
+ * 外寄匣通知管道
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public enum OutboxChannel {
+
+    /**
+     * 後台即時通知
+     */
+    SSE("後台即時通知"),
+
+    /**
+     * LINE 推播
+     */
+    LINE("LINE 推播"),
+
+    /**
+     * 簡訊
+     */
+    SMS("簡訊");
+
+    private final String description;
+
+    OutboxChannel(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,35 @@
+package com.booking.platform.enums;
+
+/**
+ * 外寄匣事件狀態
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public enum OutboxStatus {
+
+    /**
+     * 待發送（含等待重試）
+     */
+    PENDING("待發送"),
+
+    /**
+     * 已完成
+     */
+    DONE("已完成"),
+
+    /**
+     * 重試次數用完
+     */
+    FAILED("發送失敗");
+
+    private final String description;
+
+    OutboxStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,68 @@
+package com.booking.platform.repository;
+
+import com.booking.platform.entity.booking.BookingOutboxEvent;
+import com.booking.platform.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 預約事件外寄匣 Repository
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Repository
+public interface BookingOutboxEventRepository extends JpaRepository<BookingOutboxEvent, String> {
+
+    // ========================================
+    // 轉送
+    // ========================================
+
+    /**
+     * 鎖定到期的事件（FOR UPDATE SKIP LOCKED）
+     *
+     * <p>lock.timeout = -2 為 Hibernate 的 SKIP LOCKED，多個實例同時撈取時各自拿到不同的事件
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM BookingOutboxEvent e
+            WHERE e.status = :status
+            AND e.nextAttemptAt <= :now
+            ORDER BY e.nextAttemptAt ASC
+            """)
+    List<BookingOutboxEvent> findDueForUpdate(
+            @Param("status") OutboxStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    // ========================================
+    // 清理
+    // ========================================
+
+    /**
+     * 刪除指定時間前已完成的事件
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM BookingOutboxEvent e
+            WHERE e.status = :status
+            AND e.processedAt < :before
+            """)
+    int deleteProcessedBefore(
+            @Param("status") OutboxStatus status,
+            @Param("before") LocalDateTime before
+    );
+}
@@ -1,7 +1,13 @@
 package com.booking.platform.repository;
 
+import com.booking.platform.dto.response.BookingCalendarItem;
 import com.booking.platform.entity.booking.Booking;
 import com.booking.platform.enums.BookingStatus;
+import com.booking.platform.repository.support.ListQuery;
+import com.booking.platform.repository.support.ListQuery.SortKey;
+import com.booking.platform.repository.support.ListQueryExecutor;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.repository.support.ListResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,9 +17,11 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 預約 Repository
@@ -22,7 +30,7 @@ import java.util.Optional;
  * @since 1.0.0
  */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, String> {
+public interface BookingRepository extends JpaRepository<Booking, String>, ListQueryExecutor {
 
     // ========================================
     // 基本查詢
@@ -34,37 +42,32 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     // 列表查詢
     // ========================================
 
-    @Query(value = """
-            SELECT * FROM bookings b
-            WHERE b.tenant_id = :tenantId
-            AND b.deleted_at IS NULL
-            AND (CAST(:status AS VARCHAR) IS NULL OR b.status = CAST(:status AS VARCHAR))
-            AND (CAST(:startDate AS DATE) IS NULL OR b.booking_date >= CAST(:startDate AS DATE))
-            AND (CAST(:endDate AS DATE) IS NULL OR b.booking_date <= CAST(:endDate AS DATE))
-            AND (CAST(:staffId AS VARCHAR) IS NULL OR b.staff_id = CAST(:staffId AS VARCHAR))
-            AND (CAST(:customerId AS VARCHAR) IS NULL OR b.customer_id = CAST(:customerId AS VARCHAR))
-            ORDER BY b.booking_date DESC, b.start_time ASC
-            """,
-            countQuery = """
-            SELECT COUNT(*) FROM bookings b
-            WHERE b.tenant_id = :tenantId
-            AND b.deleted_at IS NULL
-            AND (CAST(:status AS VARCHAR) IS NULL OR b.status = CAST(:status AS VARCHAR))
-            AND (CAST(:startDate AS DATE) IS NULL OR b.booking_date >= CAST(:startDate AS DATE))
-            AND (CAST(:endDate AS DATE) IS NULL OR b.booking_date <= CAST(:endDate AS DATE))
-            AND (CAST(:staffId AS VARCHAR) IS NULL OR b.staff_id = CAST(:staffId AS VARCHAR))
-            AND (CAST(:customerId AS VARCHAR) IS NULL OR b.customer_id = CAST(:customerId AS VARCHAR))
-            """,
-            nativeQuery = true)
-    Page<Booking> findByTenantIdAndFilters(
-            @Param("tenantId") String tenantId,
-            @Param("status") String status,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("staffId") String staffId,
-            @Param("customerId") String customerId,
-            Pageable pageable
-    );
+    /**
+     * 預約列表
+     *
+     * <p>只帶入有值的篩選條件，排序：日期新到舊、時間早到晚
+     */
+    default ListResult<Booking> findList(
+            String tenantId,
+            BookingStatus status,
+            LocalDate startDate,
+            LocalDate endDate,
+            String staffId,
+            String customerId,
+            ListRequest request
+    ) {
+        return fetchList(ListQuery.from(Booking.class, "b")
+                .where("b.tenantId = :tenantId", "tenantId", tenantId)
+                .where("b.deletedAt IS NULL")
+                .and("b.status = :status", "status", status)
+                .and("b.bookingDate >= :startDate", "startDate", startDate)
+                .and("b.bookingDate <= :endDate", "endDate", endDate)
+                .and("b.staffId = :staffId", "staffId", staffId)
+                .and("b.customerId = :customerId", "customerId", customerId)
+                .orderBy(SortKey.desc("b.bookingDate", Booking::getBookingDate, LocalDate::parse))
+                .orderBy(SortKey.asc("b.startTime", Booking::getStartTime, LocalTime::parse))
+                .orderBy(SortKey.asc("b.id", Booking::getId, Function.identity())), request);
+    }
 
     /**
      * 查詢某天某員工的所有預約
@@ -379,6 +382,61 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
             @Param("endDate") LocalDate endDate
     );
 
+    /**
+     * 查詢日期區間內的行事曆項目（只取顯示欄位）
+     */
+    @Query("""
+            SELECT new com.booking.platform.dto.response.BookingCalendarItem(
+                b.id, b.bookingDate, b.startTime, b.endTime, b.status,
+                b.customerName, b.serviceName, b.staffId, b.staffName)
+            FROM Booking b
+            WHERE b.tenantId = :tenantId
+            AND b.deletedAt IS NULL
+            AND b.bookingDate BETWEEN :startDate AND :endDate
+            ORDER BY b.bookingDate ASC, b.startTime ASC
+            """)
+    List<BookingCalendarItem> findCalendarItems(
+            @Param("tenantId") String tenantId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 查詢指定時間後異動、且仍在日期區間內的行事曆項目
+     */
+    @Query("""
+            SELECT new com.booking.platform.dto.response.BookingCalendarItem(
+                b.id, b.bookingDate, b.startTime, b.endTime, b.status,
+                b.customerName, b.serviceName, b.staffId, b.staffName)
+            FROM Booking b
+            WHERE b.tenantId = :tenantId
+            AND b.updatedAt > :since
+            AND b.deletedAt IS NULL
+            AND b.bookingDate BETWEEN :startDate AND :endDate
+            """)
+    List<BookingCalendarItem> findCalendarItemsChangedSince(
+            @Param("tenantId") String tenantId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("since") LocalDateTime since
+    );
+
+    /**
+     * 查詢指定時間後被刪除或移出日期區間的預約 ID
+     */
+    @Query("""
+            SELECT b.id FROM Booking b
+            WHERE b.tenantId = :tenantId
+            AND b.updatedAt > :since
+            AND (b.deletedAt IS NOT NULL OR b.bookingDate < :startDate OR b.bookingDate > :endDate)
+            """)
+    List<String> findCalendarRemovedIdsSince(
+            @Param("tenantId") String tenantId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("since") LocalDateTime since
+    );
+
     // ========================================
     // 全平台統計（超級管理員用）
     // ========================================
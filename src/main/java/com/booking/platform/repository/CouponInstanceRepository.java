@@ -95,6 +95,78 @@ public interface CouponInstanceRepository extends JpaRepository<CouponInstance,
             @Param("customerId") String customerId
     );
 
+    /**
+     * 查詢顧客領取某票券的最大領取序號（含已刪除的票券，序號不可重複使用）
+     */
+    @Query("""
+            SELECT MAX(ci.claimSeq) FROM CouponInstance ci
+            WHERE ci.tenantId = :tenantId
+            AND ci.couponId = :couponId
+            AND ci.customerId = :customerId
+            """)
+    Integer findMaxClaimSeq(
+            @Param("tenantId") String tenantId,
+            @Param("couponId") String couponId,
+            @Param("customerId") String customerId
+    );
+
+    /**
+     * 批次查詢多位顧客領取某票券的最大領取序號（含已刪除的票券）
+     *
+     * @return [customerId, maxClaimSeq] 列表，沒有序號的顧客不會出現
+     */
+    @Query("""
+            SELECT ci.customerId, MAX(ci.claimSeq) FROM CouponInstance ci
+            WHERE ci.tenantId = :tenantId
+            AND ci.couponId = :couponId
+            AND ci.customerId IN :customerIds
+            AND ci.claimSeq IS NOT NULL
+            GROUP BY ci.customerId
+            """)
+    List<Object[]> findMaxClaimSeqGroupByCustomer(
+            @Param("tenantId") String tenantId,
+            @Param("couponId") String couponId,
+            @Param("customerIds") java.util.Collection<String> customerIds
+    );
+
+    /**
+     * 批次統計多位顧客領取某票券的數量
+     *
+     * @return [customerId, count] 列表，未領取的顧客不會出現
+     */
+    @Query("""
+            SELECT ci.customerId, COUNT(ci) FROM CouponInstance ci
+            WHERE ci.tenantId = :tenantId
+            AND ci.couponId = :couponId
+            AND ci.customerId IN :customerIds
+            AND ci.deletedAt IS NULL
+            GROUP BY ci.customerId
+            """)
+    List<Object[]> countByCouponGroupByCustomer(
+            @Param("tenantId") String tenantId,
+            @Param("couponId") String couponId,
+            @Param("customerIds") java.util.Collection<String> customerIds
+    );
+
+    /**
+     * 批次統計單一顧客領取多張票券的數量
+     *
+     * @return [couponId, count] 列表，未領取的票券不會出現
+     */
+    @Query("""
+            SELECT ci.couponId, COUNT(ci) FROM CouponInstance ci
+            WHERE ci.tenantId = :tenantId
+            AND ci.customerId = :customerId
+            AND ci.couponId IN :couponIds
+            AND ci.deletedAt IS NULL
+            GROUP BY ci.couponId
+            """)
+    List<Object[]> countByCustomerGroupByCoupon(
+            @Param("tenantId") String tenantId,
+            @Param("customerId") String customerId,
+            @Param("couponIds") java.util.Collection<String> couponIds
+    );
+
     /**
      * 查詢即將到期的票券（用於通知）
      */
@@ -6,6 +6,7 @@ import com.booking.platform.enums.CouponType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -39,6 +40,11 @@ public interface CouponRepository extends JpaRepository<Coupon, String> {
             Pageable pageable
     );
 
+    /**
+     * 批次查詢票券定義（含已刪除，供列表顯示名稱）
+     */
+    List<Coupon> findByTenantIdAndIdIn(String tenantId, java.util.Collection<String> ids);
+
     /**
      * 查詢可發放的票券
      */
@@ -72,4 +78,57 @@ public interface CouponRepository extends JpaRepository<Coupon, String> {
     boolean existsByTenantIdAndNameAndDeletedAtIsNull(String tenantId, String name);
 
     boolean existsByTenantIdAndNameAndIdNotAndDeletedAtIsNull(String tenantId, String name, String excludeId);
+
+    // ========================================
+    // 原子計數
+    // ========================================
+
+    /**
+     * 原子預留發放數量
+     *
+     * <p>以單一條件 UPDATE 扣除剩餘數量，不經過 Entity 的讀取-修改-寫入，
+     * 避免限量票券在搶領時因樂觀鎖衝突而大量重試；同時遞增版本號，
+     * 之前載入票券的後台編輯再儲存時會因樂觀鎖失敗，不會以舊的計數覆蓋
+     *
+     * @return 1 表示預留成功，0 表示票券不可發放或剩餘數量不足
+     */
+    @Modifying
+    @Query("""
+            UPDATE Coupon c
+            SET c.issuedQuantity = COALESCE(c.issuedQuantity, 0) + :quantity,
+                c.version = COALESCE(c.version, 0) + 1
+            WHERE c.id = :id
+            AND c.tenantId = :tenantId
+            AND c.deletedAt IS NULL
+            AND c.status = 'PUBLISHED'
+            AND (c.totalQuantity IS NULL OR COALESCE(c.issuedQuantity, 0) + :quantity <= c.totalQuantity)
+            """)
+    int reserveIssueQuantity(
+            @Param("id") String id,
+            @Param("tenantId") String tenantId,
+            @Param("quantity") int quantity
+    );
+
+    /**
+     * 原子遞增已使用數量（同樣遞增版本號）
+     */
+    @Modifying
+    @Query("""
+            UPDATE Coupon c
+            SET c.usedQuantity = COALESCE(c.usedQuantity, 0) + 1,
+                c.version = COALESCE(c.version, 0) + 1
+            WHERE c.id = :id
+            AND c.tenantId = :tenantId
+            """)
+    int incrementUsedQuantity(@Param("id") String id, @Param("tenantId") String tenantId);
+
+    /**
+     * 查詢目前剩餘可發放數量（null 表示不限）
+     */
+    @Query("""
+            SELECT c.totalQuantity - COALESCE(c.issuedQuantity, 0) FROM Coupon c
+            WHERE c.id = :id
+            AND c.tenantId = :tenantId
+            """)
+    Integer findRemainingQuantity(@Param("id") String id, @Param("tenantId") String tenantId);
 }
@@ -2,17 +2,23 @@ package com.booking.platform.repository;
 
 import com.booking.platform.entity.customer.Customer;
 import com.booking.platform.enums.CustomerStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.booking.platform.repository.support.ListQuery;
+import com.booking.platform.repository.support.ListQuery.SortKey;
+import com.booking.platform.repository.support.ListQueryExecutor;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.repository.support.ListResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 顧客 Repository
@@ -21,7 +27,7 @@ import java.util.Optional;
  * @since 1.0.0
  */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, String> {
+public interface CustomerRepository extends JpaRepository<Customer, String>, ListQueryExecutor {
 
     // ========================================
     // 基本查詢
@@ -37,25 +43,46 @@ public interface CustomerRepository extends JpaRepository<Customer, String> {
     // 列表查詢
     // ========================================
 
+    /**
+     * 顧客列表
+     *
+     * <p>只帶入有值的篩選條件，排序：最後來店新到舊（未來店排最後）、建立時間新到舊
+     */
+    default ListResult<Customer> findList(
+            String tenantId,
+            CustomerStatus status,
+            String keyword,
+            ListRequest request
+    ) {
+        return fetchList(ListQuery.from(Customer.class, "c")
+                .where("c.tenantId = :tenantId", "tenantId", tenantId)
+                .where("c.deletedAt IS NULL")
+                .and("c.status = :status", "status", status)
+                .and("(c.name LIKE :keyword OR c.phone LIKE :keyword OR c.lineDisplayName LIKE :keyword)",
+                        "keyword", ListQuery.contains(keyword))
+                .orderBy(SortKey.descNullsLast("c.lastVisitAt", Customer::getLastVisitAt, LocalDateTime::parse))
+                .orderBy(SortKey.desc("c.createdAt", Customer::getCreatedAt, LocalDateTime::parse))
+                .orderBy(SortKey.desc("c.id", Customer::getId, Function.identity())), request);
+    }
+
+    // ========================================
+    // 存在性檢查
+    // ========================================
+
+    /**
+     * 從給定 ID 中篩選出屬於該租戶且未刪除的顧客 ID
+     */
     @Query("""
-            SELECT c FROM Customer c
+            SELECT c.id FROM Customer c
             WHERE c.tenantId = :tenantId
+            AND c.id IN :ids
             AND c.deletedAt IS NULL
-            AND (:status IS NULL OR c.status = :status)
-            AND (:keyword IS NULL OR c.name LIKE %:keyword% OR c.phone LIKE %:keyword% OR c.lineDisplayName LIKE %:keyword%)
-            ORDER BY c.lastVisitAt DESC NULLS LAST
             """)
-    Page<Customer> findByTenantIdAndFilters(
+    List<String> findExistingIds(
             @Param("tenantId") String tenantId,
-            @Param("status") CustomerStatus status,
-            @Param("keyword") String keyword,
-            Pageable pageable
+            @Param("ids") java.util.Collection<String> ids
     );
 
-    // ========================================
-    // 存在性檢查
-    // ========================================
-
     boolean existsByTenantIdAndLineUserIdAndDeletedAtIsNull(String tenantId, String lineUserId);
 
     boolean existsByTenantIdAndPhoneAndDeletedAtIsNull(String tenantId, String phone);
@@ -88,6 +115,115 @@ public interface CustomerRepository extends JpaRepository<Customer, String> {
      */
     long countByTenantIdAndMembershipLevelIdAndDeletedAtIsNull(String tenantId, String membershipLevelId);
 
+    /**
+     * 依會員等級分組統計顧客數量
+     *
+     * @return [membershipLevelId, count] 列表
+     */
+    @Query("""
+            SELECT c.membershipLevelId, COUNT(c) FROM Customer c
+            WHERE c.tenantId = :tenantId
+            AND c.deletedAt IS NULL
+            AND c.membershipLevelId IS NOT NULL
+            GROUP BY c.membershipLevelId
+            """)
+    List<Object[]> countByTenantIdGroupByMembershipLevel(@Param("tenantId") String tenantId);
+
+    /**
+     * 依會員等級分組統計顧客數量（含未設定等級，加總即為顧客總數）
+     *
+     * @return [membershipLevelId, count] 列表
+     */
+    @Query("""
+            SELECT c.membershipLevelId, COUNT(c) FROM Customer c
+            WHERE c.tenantId = :tenantId
+            AND c.deletedAt IS NULL
+            GROUP BY c.membershipLevelId
+            """)
+    List<Object[]> countAllByTenantIdGroupByMembershipLevel(@Param("tenantId") String tenantId);
+
+    /**
+     * 多個租戶的顧客數量
+     *
+     * @return [tenantId, count] 列表
+     */
+    @Query("""
+            SELECT c.tenantId, COUNT(c) FROM Customer c
+            WHERE c.tenantId IN :tenantIds
+            AND c.deletedAt IS NULL
+            GROUP BY c.tenantId
+            """)
+    List<Object[]> countByTenantIdInGroupByTenant(@Param("tenantIds") Collection<String> tenantIds);
+
+    // ========================================
+    // 點數餘額（由 PointLedgerService 維護）
+    // ========================================
+
+    /**
+     * 原子調整點數餘額（扣除後不可為負）
+     *
+     * <p>不讀取實體、不檢查版本號，同一顧客的並發入帳由資料列鎖排隊，不會樂觀鎖衝突
+     *
+     * @return 更新筆數（0 表示顧客不存在或點數不足）
+     */
+    @Modifying
+    @Query("""
+            UPDATE Customer c
+            SET c.pointBalance = COALESCE(c.pointBalance, 0) + :delta
+            WHERE c.id = :id
+            AND c.tenantId = :tenantId
+            AND c.deletedAt IS NULL
+            AND COALESCE(c.pointBalance, 0) + :delta >= 0
+            """)
+    int adjustPointBalance(
+            @Param("id") String id,
+            @Param("tenantId") String tenantId,
+            @Param("delta") int delta
+    );
+
+    /**
+     * 批次增加多位顧客的點數餘額（活動贈點）
+     *
+     * @return 更新筆數
+     */
+    @Modifying
+    @Query("""
+            UPDATE Customer c
+            SET c.pointBalance = COALESCE(c.pointBalance, 0) + :points
+            WHERE c.tenantId = :tenantId
+            AND c.id IN :ids
+            AND c.deletedAt IS NULL
+            """)
+    int creditPointBalances(
+            @Param("tenantId") String tenantId,
+            @Param("ids") Collection<String> ids,
+            @Param("points") int points
+    );
+
+    /**
+     * 查詢點數餘額
+     */
+    @Query("""
+            SELECT COALESCE(c.pointBalance, 0) FROM Customer c
+            WHERE c.id = :id
+            AND c.tenantId = :tenantId
+            AND c.deletedAt IS NULL
+            """)
+    Optional<Integer> findPointBalance(@Param("id") String id, @Param("tenantId") String tenantId);
+
+    /**
+     * 查詢多位顧客的點數餘額
+     *
+     * @return [customerId, pointBalance] 列表
+     */
+    @Query("""
+            SELECT c.id, COALESCE(c.pointBalance, 0) FROM Customer c
+            WHERE c.tenantId = :tenantId
+            AND c.id IN :ids
+            AND c.deletedAt IS NULL
+            """)
+    List<Object[]> findPointBalances(@Param("tenantId") String tenantId, @Param("ids") Collection<String> ids);
+
     // ========================================
     // 統計查詢
     // ========================================
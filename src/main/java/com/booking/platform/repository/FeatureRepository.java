@@ -2,8 +2,11 @@ package com.booking.platform.repository;
 
 import com.booking.platform.entity.system.Feature;
 import com.booking.platform.enums.FeatureCode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +22,10 @@ import java.util.Optional;
 @Repository
 public interface FeatureRepository extends JpaRepository<Feature, String> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     Optional<Feature> findByCode(FeatureCode code);
 
     List<Feature> findByIsActiveTrueOrderBySortOrderAsc();
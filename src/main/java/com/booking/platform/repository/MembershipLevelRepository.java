@@ -1,8 +1,11 @@
 package com.booking.platform.repository;
 
 import com.booking.platform.entity.customer.MembershipLevel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +22,10 @@ import java.util.Optional;
 @Repository
 public interface MembershipLevelRepository extends JpaRepository<MembershipLevel, String> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     Optional<MembershipLevel> findByIdAndTenantIdAndDeletedAtIsNull(String id, String tenantId);
 
     @Query("""
@@ -36,6 +43,10 @@ public interface MembershipLevelRepository extends JpaRepository<MembershipLevel
     /**
      * 查詢預設等級
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     Optional<MembershipLevel> findByTenantIdAndIsDefaultTrueAndDeletedAtIsNull(String tenantId);
 
     /**
@@ -2,6 +2,11 @@ package com.booking.platform.repository;
 
 import com.booking.platform.entity.system.Payment;
 import com.booking.platform.enums.PaymentStatus;
+import com.booking.platform.repository.support.ListQuery;
+import com.booking.platform.repository.support.ListQuery.SortKey;
+import com.booking.platform.repository.support.ListQueryExecutor;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.repository.support.ListResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,6 +18,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 支付記錄 Repository
@@ -21,7 +27,7 @@ import java.util.Optional;
  * @since 1.0.0
  */
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, String> {
+public interface PaymentRepository extends JpaRepository<Payment, String>, ListQueryExecutor {
 
     // ========================================
     // 基本查詢
@@ -47,16 +53,16 @@ public interface PaymentRepository extends JpaRepository<Payment, String> {
     // ========================================
 
     /**
-     * 依租戶 ID 查詢（分頁）
+     * 支付記錄列表（狀態為選用篩選）
      */
-    Page<Payment> findByTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(
-            String tenantId, Pageable pageable);
-
-    /**
-     * 依租戶 ID 和狀態查詢
-     */
-    Page<Payment> findByTenantIdAndStatusAndDeletedAtIsNullOrderByCreatedAtDesc(
-            String tenantId, PaymentStatus status, Pageable pageable);
+    default ListResult<Payment> findList(String tenantId, PaymentStatus status, ListRequest request) {
+        return fetchList(ListQuery.from(Payment.class, "p")
+                .where("p.tenantId = :tenantId", "tenantId", tenantId)
+                .where("p.deletedAt IS NULL")
+                .and("p.status = :status", "status", status)
+                .orderBy(SortKey.desc("p.createdAt", Payment::getCreatedAt, LocalDateTime::parse))
+                .orderBy(SortKey.desc("p.id", Payment::getId, Function.identity())), request);
+    }
 
     /**
      * 依預約 ID 查詢
@@ -2,6 +2,11 @@ package com.booking.platform.repository;
 
 import com.booking.platform.entity.system.PointTopUp;
 import com.booking.platform.enums.TopUpStatus;
+import com.booking.platform.repository.support.ListQuery;
+import com.booking.platform.repository.support.ListQuery.SortKey;
+import com.booking.platform.repository.support.ListQueryExecutor;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.repository.support.ListResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,6 +18,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 點數儲值申請 Repository
@@ -21,43 +27,43 @@ import java.util.Optional;
  * @since 1.0.0
  */
 @Repository
-public interface PointTopUpRepository extends JpaRepository<PointTopUp, String> {
+public interface PointTopUpRepository extends JpaRepository<PointTopUp, String>, ListQueryExecutor {
 
     Optional<PointTopUp> findByIdAndDeletedAtIsNull(String id);
 
     Optional<PointTopUp> findByIdAndTenantIdAndDeletedAtIsNull(String id, String tenantId);
 
     /**
-     * 分頁查詢所有儲值申請（管理員用）
+     * 儲值申請列表（管理員用，租戶為選用篩選）
      */
-    @Query("""
-            SELECT p FROM PointTopUp p
-            WHERE p.deletedAt IS NULL
-            AND (:status IS NULL OR p.status = :status)
-            AND (:tenantId IS NULL OR p.tenantId = :tenantId)
-            ORDER BY p.createdAt DESC
-            """)
-    Page<PointTopUp> findAllWithFilters(
-            @Param("status") TopUpStatus status,
-            @Param("tenantId") String tenantId,
-            Pageable pageable
-    );
+    default ListResult<PointTopUp> findListForAdmin(
+            TopUpStatus status,
+            String tenantId,
+            ListRequest request
+    ) {
+        return fetchList(ListQuery.from(PointTopUp.class, "p")
+                .where("p.deletedAt IS NULL")
+                .and("p.status = :status", "status", status)
+                .and("p.tenantId = :tenantId", "tenantId", tenantId)
+                .orderBy(SortKey.desc("p.createdAt", PointTopUp::getCreatedAt, LocalDateTime::parse))
+                .orderBy(SortKey.desc("p.id", PointTopUp::getId, Function.identity())), request);
+    }
 
     /**
-     * 查詢店家的儲值申請
+     * 店家的儲值申請列表
      */
-    @Query("""
-            SELECT p FROM PointTopUp p
-            WHERE p.tenantId = :tenantId
-            AND p.deletedAt IS NULL
-            AND (:status IS NULL OR p.status = :status)
-            ORDER BY p.createdAt DESC
-            """)
-    Page<PointTopUp> findByTenantId(
-            @Param("tenantId") String tenantId,
-            @Param("status") TopUpStatus status,
-            Pageable pageable
-    );
+    default ListResult<PointTopUp> findListByTenant(
+            String tenantId,
+            TopUpStatus status,
+            ListRequest request
+    ) {
+        return fetchList(ListQuery.from(PointTopUp.class, "p")
+                .where("p.tenantId = :tenantId", "tenantId", tenantId)
+                .where("p.deletedAt IS NULL")
+                .and("p.status = :status", "status", status)
+                .orderBy(SortKey.desc("p.createdAt", PointTopUp::getCreatedAt, LocalDateTime::parse))
+                .orderBy(SortKey.desc("p.id", PointTopUp::getId, Function.identity())), request);
+    }
 
     /**
      * 查詢待審核的儲值申請
@@ -105,36 +111,6 @@ public interface PointTopUpRepository extends JpaRepository<PointTopUp, String>
             @Param("endTime") LocalDateTime endTime
     );
 
-    /**
-     * 查詢店家的儲值申請（不帶狀態篩選）
-     */
-    @Query("""
-            SELECT p FROM PointTopUp p
-            WHERE p.tenantId = :tenantId
-            AND p.deletedAt IS NULL
-            ORDER BY p.createdAt DESC
-            """)
-    Page<PointTopUp> findByTenantId(
-            @Param("tenantId") String tenantId,
-            Pageable pageable
-    );
-
-    /**
-     * 查詢店家的儲值申請（帶狀態篩選）
-     */
-    @Query("""
-            SELECT p FROM PointTopUp p
-            WHERE p.tenantId = :tenantId
-            AND p.status = :status
-            AND p.deletedAt IS NULL
-            ORDER BY p.createdAt DESC
-            """)
-    Page<PointTopUp> findByTenantIdAndStatus(
-            @Param("tenantId") String tenantId,
-            @Param("status") TopUpStatus status,
-            Pageable pageable
-    );
-
     /**
      * 統計店家待審核儲值金額
      */
@@ -8,6 +8,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 點數交易 Repository
  *
@@ -44,6 +48,48 @@ public interface PointTransactionRepository extends JpaRepository<PointTransacti
             @Param("customerId") String customerId
     );
 
+    // ========================================
+    // 冪等檢查
+    // ========================================
+
+    Optional<PointTransaction> findByTenantIdAndIdempotencyKey(String tenantId, String idempotencyKey);
+
+    /**
+     * 從給定冪等鍵中篩選出已入帳的鍵
+     */
+    @Query("""
+            SELECT p.idempotencyKey FROM PointTransaction p
+            WHERE p.tenantId = :tenantId
+            AND p.idempotencyKey IN :keys
+            """)
+    List<String> findExistingIdempotencyKeys(
+            @Param("tenantId") String tenantId,
+            @Param("keys") Collection<String> keys
+    );
+
+    // ========================================
+    // 對帳
+    // ========================================
+
+    /**
+     * 一次比對所有顧客的餘額與帳本加總
+     *
+     * @return [tenantId, customerId, pointBalance, ledgerSum] 列表（只含不一致者）
+     */
+    @Query(value = """
+            SELECT c.tenant_id, c.id, c.point_balance, COALESCE(p.total, 0)
+            FROM customers c
+            LEFT JOIN (
+                SELECT tenant_id, customer_id, SUM(points) AS total
+                FROM point_transactions
+                WHERE deleted_at IS NULL
+                GROUP BY tenant_id, customer_id
+            ) p ON p.tenant_id = c.tenant_id AND p.customer_id = c.id
+            WHERE c.deleted_at IS NULL
+            AND COALESCE(c.point_balance, 0) <> COALESCE(p.total, 0)
+            """, nativeQuery = true)
+    List<Object[]> findBalanceMismatches();
+
     /**
      * 查詢店家的點數交易記錄（投影查詢）
      */
@@ -2,8 +2,11 @@ package com.booking.platform.repository;
 
 import com.booking.platform.entity.product.ProductOrder;
 import com.booking.platform.enums.ProductOrderStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.booking.platform.repository.support.ListQuery;
+import com.booking.platform.repository.support.ListQuery.SortKey;
+import com.booking.platform.repository.support.ListQueryExecutor;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.repository.support.ListResult;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +15,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 商品訂單 Repository
@@ -20,13 +24,19 @@ import java.util.Optional;
  * @since 1.0.0
  */
 @Repository
-public interface ProductOrderRepository extends JpaRepository<ProductOrder, String> {
+public interface ProductOrderRepository extends JpaRepository<ProductOrder, String>, ListQueryExecutor {
 
     /**
-     * 依租戶 ID 查詢（分頁）
+     * 訂單列表（狀態為選用篩選）
      */
-    Page<ProductOrder> findByTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(
-            String tenantId, Pageable pageable);
+    default ListResult<ProductOrder> findList(String tenantId, ProductOrderStatus status, ListRequest request) {
+        return fetchList(ListQuery.from(ProductOrder.class, "o")
+                .where("o.tenantId = :tenantId", "tenantId", tenantId)
+                .where("o.deletedAt IS NULL")
+                .and("o.status = :status", "status", status)
+                .orderBy(SortKey.desc("o.createdAt", ProductOrder::getCreatedAt, LocalDateTime::parse))
+                .orderBy(SortKey.desc("o.id", ProductOrder::getId, Function.identity())), request);
+    }
 
     /**
      * 依 ID 和租戶 ID 查詢
@@ -50,12 +60,6 @@ public interface ProductOrderRepository extends JpaRepository<ProductOrder, Stri
     List<ProductOrder> findByTenantIdAndLineUserIdAndDeletedAtIsNullOrderByCreatedAtDesc(
             String tenantId, String lineUserId);
 
-    /**
-     * 依狀態查詢
-     */
-    Page<ProductOrder> findByTenantIdAndStatusAndDeletedAtIsNullOrderByCreatedAtDesc(
-            String tenantId, ProductOrderStatus status, Pageable pageable);
-
     /**
      * 依時間範圍查詢
      */
@@ -3,10 +3,13 @@ package com.booking.platform.repository;
 import com.booking.platform.entity.product.Product;
 import com.booking.platform.enums.ProductCategory;
 import com.booking.platform.enums.ProductStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -105,5 +108,9 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     /**
      * 依狀態查詢商品
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     List<Product> findByTenantIdAndStatusAndDeletedAtIsNull(String tenantId, ProductStatus status);
 }
@@ -1,8 +1,11 @@
 package com.booking.platform.repository;
 
 import com.booking.platform.entity.catalog.ServiceCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +21,10 @@ import java.util.Optional;
 @Repository
 public interface ServiceCategoryRepository extends JpaRepository<ServiceCategory, String> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     Optional<ServiceCategory> findByIdAndTenantIdAndDeletedAtIsNull(String id, String tenantId);
 
     @Query("""
@@ -27,6 +34,10 @@ public interface ServiceCategoryRepository extends JpaRepository<ServiceCategory
             AND (:activeOnly = false OR c.isActive = true)
             ORDER BY c.sortOrder ASC
             """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     List<ServiceCategory> findByTenantId(
             @Param("tenantId") String tenantId,
             @Param("activeOnly") boolean activeOnly
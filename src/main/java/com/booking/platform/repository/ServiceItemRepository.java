@@ -2,10 +2,13 @@ package com.booking.platform.repository;
 
 import com.booking.platform.entity.catalog.ServiceItem;
 import com.booking.platform.enums.ServiceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -25,6 +28,10 @@ public interface ServiceItemRepository extends JpaRepository<ServiceItem, String
     // 基本查詢
     // ========================================
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     Optional<ServiceItem> findByIdAndTenantIdAndDeletedAtIsNull(String id, String tenantId);
 
     // ========================================
@@ -94,6 +101,10 @@ public interface ServiceItemRepository extends JpaRepository<ServiceItem, String
             AND s.status = 'ACTIVE'
             AND s.isVisible = true
             """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     List<String> findDistinctBookableCategoryIds(@Param("tenantId") String tenantId);
 
     // ========================================
@@ -2,13 +2,17 @@ package com.booking.platform.repository;
 
 import com.booking.platform.entity.staff.Staff;
 import com.booking.platform.enums.StaffStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +29,10 @@ public interface StaffRepository extends JpaRepository<Staff, String> {
     // 基本查詢
     // ========================================
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     Optional<Staff> findByIdAndTenantIdAndDeletedAtIsNull(String id, String tenantId);
 
     // ========================================
@@ -58,11 +66,19 @@ public interface StaffRepository extends JpaRepository<Staff, String> {
             AND s.isVisible = true
             ORDER BY s.sortOrder ASC
             """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     List<Staff> findBookableStaffs(@Param("tenantId") String tenantId);
 
     /**
      * 根據狀態查詢員工（給 LINE Bot 用）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     List<Staff> findByTenantIdAndStatusAndDeletedAtIsNull(String tenantId, StaffStatus status);
 
     // ========================================
@@ -71,5 +87,18 @@ public interface StaffRepository extends JpaRepository<Staff, String> {
 
     long countByTenantIdAndDeletedAtIsNull(String tenantId);
 
+    /**
+     * 多個租戶的員工數量
+     *
+     * @return [tenantId, count] 列表
+     */
+    @Query("""
+            SELECT s.tenantId, COUNT(s) FROM Staff s
+            WHERE s.tenantId IN :tenantIds
+            AND s.deletedAt IS NULL
+            GROUP BY s.tenantId
+            """)
+    List<Object[]> countByTenantIdInGroupByTenant(@Param("tenantIds") Collection<String> tenantIds);
+
     long countByTenantIdAndStatusAndDeletedAtIsNull(String tenantId, StaffStatus status);
 }
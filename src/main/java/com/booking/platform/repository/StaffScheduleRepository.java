@@ -1,9 +1,12 @@
 package com.booking.platform.repository;
 
 import com.booking.platform.entity.staff.StaffSchedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -44,6 +47,10 @@ public interface StaffScheduleRepository extends JpaRepository<StaffSchedule, St
             AND s.dayOfWeek = :dayOfWeek
             AND s.deletedAt IS NULL
             """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalog.queries")
+    })
     Optional<StaffSchedule> findByStaffIdAndDayOfWeek(
             @Param("staffId") String staffId,
             @Param("tenantId") String tenantId,
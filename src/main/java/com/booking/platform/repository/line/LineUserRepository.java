@@ -4,6 +4,7 @@ import com.booking.platform.entity.line.LineUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -146,6 +147,24 @@ public interface LineUserRepository extends JpaRepository<LineUser, String> {
      */
     long countByTenantIdAndDeletedAtIsNull(String tenantId);
 
+    /**
+     * 依會員等級、標籤、追蹤狀態分組統計用戶數量
+     *
+     * <p>標籤為顧客的逗號分隔字串，由呼叫端拆分加總
+     *
+     * @param tenantId 租戶 ID
+     * @return [membershipLevelId, tags, isFollowed, count] 列表
+     */
+    @Query("""
+            SELECT c.membershipLevelId, c.tags, lu.isFollowed, COUNT(lu)
+            FROM LineUser lu
+            LEFT JOIN Customer c ON lu.customerId = c.id
+            WHERE lu.tenantId = :tenantId
+            AND lu.deletedAt IS NULL
+            GROUP BY c.membershipLevelId, c.tags, lu.isFollowed
+            """)
+    List<Object[]> countSegmentsByTenantId(@Param("tenantId") String tenantId);
+
     /**
      * 統計指定時間區間內的新追蹤用戶數量
      *
@@ -166,6 +185,64 @@ public interface LineUserRepository extends JpaRepository<LineUser, String> {
             @Param("endTime") LocalDateTime endTime
     );
 
+    // ========================================
+    // 計數更新
+    // ========================================
+
+    /**
+     * 批量累加互動次數
+     *
+     * <p>由 {@link com.booking.platform.service.line.LineUserInteractionTracker} 彙總後呼叫，
+     * 累加次數與最後互動時間相同的用戶合併為一條 UPDATE；最後互動時間只會往後移
+     *
+     * @param tenantId          租戶 ID
+     * @param lineUserIds       LINE User ID 列表
+     * @param count             累加次數
+     * @param lastInteractionAt 最後互動時間
+     * @return 更新筆數
+     */
+    @Modifying
+    @Query("""
+            UPDATE LineUser lu
+            SET lu.interactionCount = COALESCE(lu.interactionCount, 0) + :count,
+                lu.lastInteractionAt = CASE
+                    WHEN lu.lastInteractionAt IS NULL OR lu.lastInteractionAt < :lastInteractionAt
+                    THEN :lastInteractionAt
+                    ELSE lu.lastInteractionAt
+                END
+            WHERE lu.tenantId = :tenantId
+            AND lu.lineUserId IN :lineUserIds
+            AND lu.deletedAt IS NULL
+            """)
+    int addInteractions(
+            @Param("tenantId") String tenantId,
+            @Param("lineUserIds") List<String> lineUserIds,
+            @Param("count") int count,
+            @Param("lastInteractionAt") LocalDateTime lastInteractionAt
+    );
+
+    /**
+     * 批量累加預約次數
+     *
+     * @param tenantId    租戶 ID
+     * @param lineUserIds LINE User ID 列表
+     * @param count       累加次數
+     * @return 更新筆數
+     */
+    @Modifying
+    @Query("""
+            UPDATE LineUser lu
+            SET lu.bookingCount = COALESCE(lu.bookingCount, 0) + :count
+            WHERE lu.tenantId = :tenantId
+            AND lu.lineUserId IN :lineUserIds
+            AND lu.deletedAt IS NULL
+            """)
+    int addBookings(
+            @Param("tenantId") String tenantId,
+            @Param("lineUserIds") List<String> lineUserIds,
+            @Param("count") int count
+    );
+
     // ========================================
     // 批量查詢
     // ========================================
@@ -1,5 +1,6 @@
 package com.booking.platform.repository.line;
 
+import com.booking.platform.dto.line.LineWebhookRoute;
 import com.booking.platform.entity.line.TenantLineConfig;
 import com.booking.platform.enums.line.LineConfigStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -31,6 +32,22 @@ public interface TenantLineConfigRepository extends JpaRepository<TenantLineConf
      */
     Optional<TenantLineConfig> findByTenantId(String tenantId);
 
+    /**
+     * 依租戶代碼查詢 Webhook 路由資訊（只取驗證需要的欄位）
+     *
+     * @param tenantCode 租戶代碼
+     * @return 路由資訊
+     */
+    @Query("""
+            SELECT new com.booking.platform.dto.line.LineWebhookRoute(
+                c.tenantId, c.status, c.channelSecretEncrypted, c.webhookVerified)
+            FROM TenantLineConfig c, Tenant t
+            WHERE c.tenantId = t.id
+            AND t.code = :tenantCode
+            AND t.deletedAt IS NULL
+            """)
+    Optional<LineWebhookRoute> findWebhookRoute(@Param("tenantCode") String tenantCode);
+
     // ========================================
     // 狀態查詢
     // ========================================
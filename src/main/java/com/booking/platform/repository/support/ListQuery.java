@@ -0,0 +1,319 @@
+package com.booking.platform.repository.support;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 列表查詢建構器
+ *
+ * <p>取代 {@code (:x IS NULL OR col = :x)} 這類萬用條件：只有實際帶值的篩選條件才會出現在 JPQL 中，
+ * 資料庫能依條件選擇對應的索引
+ *
+ * <p>排序鍵同時作為游標分頁（Keyset）的比較鍵，最後一個排序鍵必須唯一（通常是 id）
+ *
+ * <p>範例：
+ * <pre>{@code
+ * ListQuery.from(Booking.class, "b")
+ *         .where("b.tenantId = :tenantId", "tenantId", tenantId)
+ *         .where("b.deletedAt IS NULL")
+ *         .and("b.status = :status", "status", status)
+ *         .orderBy(SortKey.desc("b.bookingDate", Booking::getBookingDate, LocalDate::parse))
+ *         .orderBy(SortKey.asc("b.id", Booking::getId, Function.identity()));
+ * }</pre>
+ *
+ * @param <T> 實體類型
+ * @author Developer
+ * @since 1.0.0
+ */
+public final class ListQuery<T> {
+
+    private static final String NULL_MARK = "~";
+    private static final String VALUE_MARK = "=";
+    private static final String SEPARATOR = "\n";
+
+    private final Class<T> entityClass;
+    private final String alias;
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+    private final List<SortKey<T>> sortKeys = new ArrayList<>();
+
+    private ListQuery(Class<T> entityClass, String alias) {
+        this.entityClass = entityClass;
+        this.alias = alias;
+    }
+
+    /**
+     * 建立查詢
+     *
+     * @param entityClass 實體類型
+     * @param alias       JPQL 別名
+     * @return 查詢建構器
+     */
+    public static <T> ListQuery<T> from(Class<T> entityClass, String alias) {
+        return new ListQuery<>(entityClass, alias);
+    }
+
+    // ========================================
+    // 條件
+    // ========================================
+
+    /**
+     * 固定條件
+     *
+     * @param condition JPQL 條件
+     * @return this
+     */
+    public ListQuery<T> where(String condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * 固定條件（帶參數）
+     *
+     * @param condition JPQL 條件
+     * @param name      參數名稱
+     * @param value     參數值
+     * @return this
+     */
+    public ListQuery<T> where(String condition, String name, Object value) {
+        conditions.add(condition);
+        parameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * 選用條件：值為 null 或空白字串時不加入
+     *
+     * @param condition JPQL 條件
+     * @param name      參數名稱
+     * @param value     參數值
+     * @return this
+     */
+    public ListQuery<T> and(String condition, String name, Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return this;
+        }
+        return where(condition, name, value);
+    }
+
+    /**
+     * 加入排序鍵（依加入順序排序）
+     *
+     * @param sortKey 排序鍵
+     * @return this
+     */
+    public ListQuery<T> orderBy(SortKey<T> sortKey) {
+        sortKeys.add(sortKey);
+        return this;
+    }
+
+    /**
+     * 模糊搜尋參數
+     *
+     * @param keyword 關鍵字
+     * @return {@code %keyword%}，關鍵字空白時回傳 null（不加入條件）
+     */
+    public static String contains(String keyword) {
+        return keyword == null || keyword.isBlank() ? null : "%" + keyword.trim() + "%";
+    }
+
+    // ========================================
+    // JPQL 產生
+    // ========================================
+
+    Class<T> entityClass() {
+        return entityClass;
+    }
+
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    /**
+     * 查詢 JPQL
+     *
+     * @param entityName 實體名稱
+     * @param after      游標位置的排序值，null 表示從頭開始
+     * @param params     參數（會加入游標參數）
+     */
+    String selectJpql(String entityName, List<Object> after, Map<String, Object> params) {
+        StringBuilder jpql = new StringBuilder("SELECT ").append(alias)
+                .append(" FROM ").append(entityName).append(' ').append(alias);
+
+        List<String> where = new ArrayList<>(conditions);
+        if (after != null) {
+            where.add(keysetCondition(after, params));
+        }
+        appendWhere(jpql, where);
+
+        if (!sortKeys.isEmpty()) {
+            jpql.append(" ORDER BY ");
+            for (int i = 0; i < sortKeys.size(); i++) {
+                SortKey<T> key = sortKeys.get(i);
+                if (i > 0) {
+                    jpql.append(", ");
+                }
+                jpql.append(key.path()).append(key.descending() ? " DESC" : " ASC");
+                if (key.nullable()) {
+                    jpql.append(" NULLS LAST");
+                }
+            }
+        }
+        return jpql.toString();
+    }
+
+    /**
+     * 總筆數 JPQL（不含游標條件）
+     *
+     * @param entityName 實體名稱
+     */
+    String countJpql(String entityName) {
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(").append(alias)
+                .append(") FROM ").append(entityName).append(' ').append(alias);
+        appendWhere(jpql, conditions);
+        return jpql.toString();
+    }
+
+    /**
+     * 游標條件：排在 after 之後的資料
+     *
+     * <p>排序鍵 k1..kn 展開為 {@code k1 後 OR (k1 = v1 AND k2 後) OR ...}，
+     * 可為 null 的排序鍵 null 排最後
+     */
+    private String keysetCondition(List<Object> after, Map<String, Object> params) {
+        List<String> branches = new ArrayList<>();
+        List<String> equals = new ArrayList<>();
+
+        for (int i = 0; i < sortKeys.size(); i++) {
+            SortKey<T> key = sortKeys.get(i);
+            Object value = after.get(i);
+            String param = "cursor" + i;
+            if (value != null) {
+                params.put(param, value);
+            }
+
+            String greater = key.afterCondition(param, value);
+            if (greater != null) {
+                List<String> branch = new ArrayList<>(equals);
+                branch.add(greater);
+                branches.add("(" + String.join(" AND ", branch) + ")");
+            }
+            equals.add(value == null ? key.path() + " IS NULL" : key.path() + " = :" + param);
+        }
+
+        return branches.isEmpty() ? "1 = 0" : "(" + String.join(" OR ", branches) + ")";
+    }
+
+    private static void appendWhere(StringBuilder jpql, List<String> where) {
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+    }
+
+    // ========================================
+    // 游標編碼
+    // ========================================
+
+    /**
+     * 以一筆資料的排序值產生游標
+     *
+     * @param last 本頁最後一筆
+     * @return 游標（Base64 URL）
+     */
+    String encodeCursor(T last) {
+        List<String> parts = new ArrayList<>(sortKeys.size());
+        for (SortKey<T> key : sortKeys) {
+            Object value = key.extractor().apply(last);
+            parts.add(value == null ? NULL_MARK : VALUE_MARK + value);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游標
+     *
+     * @param cursor 游標
+     * @return 排序值
+     */
+    List<Object> decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, -1);
+            if (parts.length != sortKeys.size()) {
+                throw new IllegalArgumentException("排序鍵數量不符");
+            }
+
+            List<Object> values = new ArrayList<>(parts.length);
+            for (int i = 0; i < parts.length; i++) {
+                if (NULL_MARK.equals(parts[i])) {
+                    values.add(null);
+                } else if (parts[i].startsWith(VALUE_MARK)) {
+                    values.add(sortKeys.get(i).parser().apply(parts[i].substring(VALUE_MARK.length())));
+                } else {
+                    throw new IllegalArgumentException("格式錯誤");
+                }
+            }
+            return values;
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.SYS_PARAM_ERROR, "分頁游標無效", e);
+        }
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 排序鍵
+     *
+     * @param path       JPQL 路徑
+     * @param descending 是否遞減
+     * @param nullable   是否可能為 null（null 排最後）
+     * @param extractor  從實體取出排序值
+     * @param parser     從游標字串還原排序值
+     * @param <T>        實體類型
+     */
+    public record SortKey<T>(
+            String path,
+            boolean descending,
+            boolean nullable,
+            Function<T, ?> extractor,
+            Function<String, ?> parser
+    ) {
+
+        public static <T> SortKey<T> asc(String path, Function<T, ?> extractor, Function<String, ?> parser) {
+            return new SortKey<>(path, false, false, extractor, parser);
+        }
+
+        public static <T> SortKey<T> desc(String path, Function<T, ?> extractor, Function<String, ?> parser) {
+            return new SortKey<>(path, true, false, extractor, parser);
+        }
+
+        public static <T> SortKey<T> descNullsLast(String path, Function<T, ?> extractor,
+                                                   Function<String, ?> parser) {
+            return new SortKey<>(path, true, true, extractor, parser);
+        }
+
+        /**
+         * 排在 value 之後的條件，沒有任何值排在後面時回傳 null
+         */
+        String afterCondition(String param, Object value) {
+            if (value == null) {
+                // null 排最後，之後沒有資料
+                return null;
+            }
+            String compare = path + (descending ? " < :" : " > :") + param;
+            return nullable ? "(" + compare + " OR " + path + " IS NULL)" : compare;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.booking.platform.repository.support;
+
+/**
+ * 列表查詢執行（Repository 片段）
+ *
+ * <p>Repository 介面繼承此介面即可執行 {@link ListQuery}，實作為 {@link ListQueryExecutorImpl}
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public interface ListQueryExecutor {
+
+    /**
+     * 執行列表查詢
+     *
+     * <p>多查一筆判斷是否有下一頁；只有需要時才執行 COUNT
+     *
+     * @param query   查詢
+     * @param request 分頁參數
+     * @param <T>     實體類型
+     * @return 查詢結果
+     */
+    <T> ListResult<T> fetchList(ListQuery<T> query, ListRequest request);
+}
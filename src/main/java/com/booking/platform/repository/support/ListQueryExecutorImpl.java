@@ -0,0 +1,71 @@
+package com.booking.platform.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 列表查詢執行實作
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+public class ListQueryExecutorImpl implements ListQueryExecutor {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public <T> ListResult<T> fetchList(ListQuery<T> query, ListRequest request) {
+        String entityName = entityManager.getMetamodel().entity(query.entityClass()).getName();
+        int size = request.size();
+
+        // 游標分頁：空字串為第一頁
+        boolean keyset = request.isKeyset();
+        List<Object> after = keyset && !request.cursor().isBlank()
+                ? query.decodeCursor(request.cursor())
+                : null;
+        int page = keyset ? 0 : request.page();
+
+        Map<String, Object> params = new LinkedHashMap<>(query.parameters());
+        TypedQuery<T> select = entityManager.createQuery(
+                query.selectJpql(entityName, after, params), query.entityClass());
+        params.forEach(select::setParameter);
+        if (page > 0) {
+            select.setFirstResult(page * size);
+        }
+        select.setMaxResults(size + 1);
+        List<T> rows = select.getResultList();
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = hasNext ? query.encodeCursor(content.get(content.size() - 1)) : null;
+
+        return new ListResult<>(content, page, size, keyset ? after == null : page == 0,
+                hasNext, nextCursor, countTotal(query, request, entityName, page, content.size(), hasNext));
+    }
+
+    /**
+     * 計算總筆數
+     *
+     * <p>頁碼分頁的最後一頁可直接由頁碼推算，不必 COUNT
+     */
+    private long countTotal(ListQuery<?> query, ListRequest request, String entityName,
+                            int page, int contentSize, boolean hasNext) {
+        if (!request.countTotal()) {
+            return -1;
+        }
+        if (!request.isKeyset() && !hasNext && (page == 0 || contentSize > 0)) {
+            return (long) page * request.size() + contentSize;
+        }
+
+        TypedQuery<Long> count = entityManager.createQuery(query.countJpql(entityName), Long.class);
+        query.parameters().forEach(count::setParameter);
+        return count.getSingleResult();
+    }
+}
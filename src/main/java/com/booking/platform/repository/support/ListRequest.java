@@ -0,0 +1,71 @@
+package com.booking.platform.repository.support;
+
+/**
+ * 列表分頁參數
+ *
+ * <p>支援兩種分頁方式：
+ * <ul>
+ *   <li>頁碼分頁（OFFSET）：未帶 cursor，相容既有前端</li>
+ *   <li>游標分頁（Keyset）：帶 cursor（第一頁傳空字串），依上一頁最後一筆的排序值往後查，
+ *       深分頁不必掃過前面的資料</li>
+ * </ul>
+ *
+ * <p>總筆數（COUNT）預設只在頁碼分頁時計算，可用 withTotal 明確開關
+ *
+ * @param page      頁碼（從 0 開始，游標分頁時忽略）
+ * @param size      每頁筆數
+ * @param cursor    游標，null 表示頁碼分頁
+ * @param withTotal 是否計算總筆數，null 表示依分頁方式決定
+ * @author Developer
+ * @since 1.0.0
+ */
+public record ListRequest(int page, int size, String cursor, Boolean withTotal) {
+
+    /**
+     * 每頁筆數上限
+     */
+    public static final int MAX_SIZE = 100;
+
+    public ListRequest {
+        page = Math.max(page, 0);
+        size = Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    /**
+     * 建立分頁參數
+     *
+     * @param page      頁碼
+     * @param size      每頁筆數
+     * @param cursor    游標
+     * @param withTotal 是否計算總筆數
+     * @return 分頁參數
+     */
+    public static ListRequest of(int page, int size, String cursor, Boolean withTotal) {
+        return new ListRequest(page, size, cursor, withTotal);
+    }
+
+    /**
+     * 頁碼分頁
+     *
+     * @param page 頁碼
+     * @param size 每頁筆數
+     * @return 分頁參數
+     */
+    public static ListRequest ofPage(int page, int size) {
+        return new ListRequest(page, size, null, null);
+    }
+
+    /**
+     * 是否為游標分頁
+     */
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+
+    /**
+     * 是否計算總筆數
+     */
+    public boolean countTotal() {
+        return withTotal != null ? withTotal : !isKeyset();
+    }
+}
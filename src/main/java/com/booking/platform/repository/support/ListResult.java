@@ -0,0 +1,43 @@
+package com.booking.platform.repository.support;
+
+import com.booking.platform.common.response.PageResponse;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 列表查詢結果
+ *
+ * @param content       資料內容
+ * @param page          頁碼（游標分頁時為 0）
+ * @param size          每頁筆數
+ * @param first         是否為第一頁
+ * @param hasNext       是否還有下一頁
+ * @param nextCursor    下一頁游標，沒有下一頁時為 null
+ * @param totalElements 總筆數，未計算時為 -1
+ * @param <T>           資料類型
+ * @author Developer
+ * @since 1.0.0
+ */
+public record ListResult<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean first,
+        boolean hasNext,
+        String nextCursor,
+        long totalElements
+) {
+
+    /**
+     * 轉換為 API 分頁回應
+     *
+     * @param mapper 資料轉換
+     * @param <R>    回應資料類型
+     * @return 分頁回應
+     */
+    public <R> PageResponse<R> toPageResponse(Function<? super T, R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return PageResponse.of(mapped, page, size, totalElements, first, hasNext, nextCursor);
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -94,6 +95,7 @@ public class BirthdayGreetingScheduler {
                             .filter(c -> Boolean.TRUE.equals(c.getIsAutoTrigger()))
                             .toList();
 
+                    List<Customer> greeted = new ArrayList<>(birthdayCustomers.size());
                     for (Customer customer : birthdayCustomers) {
                         try {
                             // 發送生日祝福
@@ -103,22 +105,22 @@ public class BirthdayGreetingScheduler {
                                     tenant.getBirthdayGreetingMessage()
                             );
 
-                            // 觸發活動獎勵（發票券、送點數）
-                            for (Campaign campaign : birthdayCampaigns) {
-                                try {
-                                    campaignPushService.triggerForCustomer(tenant.getId(), campaign, customer);
-                                } catch (Exception ce) {
-                                    log.warn("生日活動獎勵觸發失敗，活動：{}，顧客：{}，錯誤：{}",
-                                            campaign.getName(), customer.getId(), ce.getMessage());
-                                }
-                            }
-
+                            greeted.add(customer);
                             totalSent++;
                         } catch (Exception e) {
                             log.error("發送生日祝福失敗，顧客 ID：{}，錯誤：{}", customer.getId(), e.getMessage());
                             totalFailed++;
                         }
                     }
+
+                    // 觸發活動獎勵（發票券、批次送點數）
+                    for (Campaign campaign : birthdayCampaigns) {
+                        try {
+                            campaignPushService.triggerForCustomers(tenant.getId(), campaign, greeted);
+                        } catch (Exception ce) {
+                            log.warn("生日活動獎勵觸發失敗，活動：{}，錯誤：{}", campaign.getName(), ce.getMessage());
+                        }
+                    }
                 } catch (Exception e) {
                     log.error("處理店家 {} 的生日祝福失敗：{}", tenant.getName(), e.getMessage(), e);
                 }
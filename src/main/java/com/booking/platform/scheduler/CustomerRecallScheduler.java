@@ -19,6 +19,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -105,6 +106,7 @@ public class CustomerRecallScheduler {
                             .filter(c -> Boolean.TRUE.equals(c.getIsAutoTrigger()))
                             .toList();
 
+                    List<Customer> recalled = new ArrayList<>(customersToNotify.size());
                     for (Customer customer : customersToNotify) {
                         try {
                             // 發送喚回通知
@@ -114,19 +116,10 @@ public class CustomerRecallScheduler {
                                     tenant.getCustomerRecallMessage()
                             );
 
-                            // 觸發活動獎勵（發票券、送點數）
-                            for (Campaign campaign : recallCampaigns) {
-                                try {
-                                    campaignPushService.triggerForCustomer(tenant.getId(), campaign, customer);
-                                } catch (Exception ce) {
-                                    log.warn("喚回活動獎勵觸發失敗，活動：{}，顧客：{}，錯誤：{}",
-                                            campaign.getName(), customer.getId(), ce.getMessage());
-                                }
-                            }
-
                             // 更新最後喚回時間
                             customer.setLastRecallAt(LocalDateTime.now());
                             customerRepository.save(customer);
+                            recalled.add(customer);
 
                             totalSent++;
                         } catch (Exception e) {
@@ -134,6 +127,15 @@ public class CustomerRecallScheduler {
                             totalFailed++;
                         }
                     }
+
+                    // 觸發活動獎勵（發票券、批次送點數）
+                    for (Campaign campaign : recallCampaigns) {
+                        try {
+                            campaignPushService.triggerForCustomers(tenant.getId(), campaign, recalled);
+                        } catch (Exception ce) {
+                            log.warn("喚回活動獎勵觸發失敗，活動：{}，錯誤：{}", campaign.getName(), ce.getMessage());
+                        }
+                    }
                 } catch (Exception e) {
                     log.error("處理店家 {} 的顧客喚回失敗：{}", tenant.getName(), e.getMessage(), e);
                 }
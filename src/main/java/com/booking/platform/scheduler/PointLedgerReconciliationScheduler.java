@@ -0,0 +1,53 @@
+package com.booking.platform.scheduler;
+
+import com.booking.platform.service.PointLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 點數帳本對帳排程器
+ *
+ * <p>以一次集合查詢比對所有顧客的點數餘額與帳本加總，不一致時記錄警告與指標；
+ * 開啟 repair 時新增 ADJUST 紀錄補足差額（見 {@link PointLedgerService#reconcile}）
+ *
+ * <p>執行時間：每天凌晨 3:30
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PointLedgerReconciliationScheduler {
+
+    private final PointLedgerService pointLedgerService;
+
+    @Value("${scheduler.point-reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scheduler.point-reconcile.repair:false}")
+    private boolean repair;
+
+    /**
+     * 點數對帳任務
+     */
+    @Scheduled(cron = "${scheduler.point-reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            log.debug("點數對帳排程已停用");
+            return;
+        }
+
+        log.info("開始執行點數對帳任務");
+
+        try {
+            int mismatches = pointLedgerService.reconcile(repair);
+            log.info("點數對帳任務完成，不一致：{}，修正：{}", mismatches, repair);
+        } catch (Exception e) {
+            log.error("點數對帳任務執行失敗：{}", e.getMessage(), e);
+        }
+    }
+}
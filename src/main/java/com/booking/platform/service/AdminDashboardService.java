@@ -1,5 +1,7 @@
 package com.booking.platform.service;
 
+import com.booking.platform.common.datasource.DataSourceWorkload;
+import com.booking.platform.common.datasource.Workload;
 import com.booking.platform.dto.response.AdminDashboardResponse;
 import com.booking.platform.dto.response.PointTopUpResponse;
 import com.booking.platform.dto.response.TenantListItemResponse;
@@ -34,6 +36,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@DataSourceWorkload(Workload.REPORTING)
 @Transactional(readOnly = true)
 @Slf4j
 public class AdminDashboardService {
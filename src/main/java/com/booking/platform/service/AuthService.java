@@ -1,5 +1,6 @@
 package com.booking.platform.service;
 
+import com.booking.platform.common.entity.IdGenerator;
 import com.booking.platform.common.exception.BusinessException;
 import com.booking.platform.common.exception.ErrorCode;
 import com.booking.platform.common.security.JwtTokenProvider;
@@ -432,7 +433,7 @@ public class AuthService {
         // 4. 建立租戶
         // ========================================
 
-        String tenantId = UUID.randomUUID().toString();
+        String tenantId = IdGenerator.newId();
 
         Tenant tenant = Tenant.builder()
                 .code(request.getCode())
@@ -7,12 +7,14 @@ import com.booking.platform.common.response.PageResponse;
 import com.booking.platform.common.tenant.TenantContext;
 import com.booking.platform.dto.request.CreateBookingRequest;
 import com.booking.platform.dto.request.UpdateBookingRequest;
+import com.booking.platform.dto.response.BookingCalendarFeedResponse;
 import com.booking.platform.dto.response.BookingResponse;
 import com.booking.platform.entity.booking.Booking;
 import com.booking.platform.entity.catalog.ServiceItem;
 import com.booking.platform.entity.customer.Customer;
 import com.booking.platform.entity.staff.Staff;
 import com.booking.platform.entity.staff.StaffSchedule;
+import com.booking.platform.enums.BookingEventType;
 import com.booking.platform.enums.BookingStatus;
 import com.booking.platform.enums.StaffStatus;
 import com.booking.platform.entity.staff.StaffLeave;
@@ -26,21 +28,21 @@ import com.booking.platform.repository.StaffRepository;
 import com.booking.platform.repository.StaffScheduleRepository;
 import com.booking.platform.repository.TenantFeatureRepository;
 import com.booking.platform.repository.TenantRepository;
-import com.booking.platform.service.line.LineNotificationService;
-import com.booking.platform.service.notification.SseNotificationService;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.service.notification.BookingEventOutbox;
 import com.booking.platform.enums.FeatureCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -69,9 +71,18 @@ public class BookingService {
     private final TenantRepository tenantRepository;
     private final TenantFeatureRepository tenantFeatureRepository;
     private final BookingMapper bookingMapper;
-    private final LineNotificationService lineNotificationService;
-    private final SseNotificationService sseNotificationService;
-    private final CustomerService customerService;
+    private final BookingEventOutbox bookingEventOutbox;
+    private final PointLedgerService pointLedgerService;
+
+    /**
+     * 行事曆增量同步往前多看的時間（毫秒）
+     */
+    private static final long CALENDAR_SYNC_OVERLAP_MS = 5_000L;
+
+    /**
+     * 行事曆增量同步的最大間隔（毫秒），超過則回傳完整資料
+     */
+    private static final long CALENDAR_DELTA_MAX_AGE_MS = 6 * 60 * 60 * 1000L;
 
     // ========================================
     // 查詢方法
@@ -83,44 +94,18 @@ public class BookingService {
             LocalDate endDate,
             String staffId,
             String customerId,
-            Pageable pageable
+            ListRequest request
     ) {
         String tenantId = TenantContext.getTenantId();
 
         // 如果沒有租戶上下文，返回空結果
         if (tenantId == null) {
             log.warn("查詢預約列表時沒有租戶上下文");
-            return PageResponse.<BookingResponse>builder()
-                    .content(List.of())
-                    .page(0)
-                    .size(pageable.getPageSize())
-                    .totalElements(0)
-                    .totalPages(0)
-                    .first(true)
-                    .last(true)
-                    .build();
+            return PageResponse.empty(0, request.size());
         }
 
-        // 將 status 轉為字串供原生查詢使用
-        String statusStr = status != null ? status.name() : null;
-
-        Page<Booking> page = bookingRepository.findByTenantIdAndFilters(
-                tenantId, statusStr, startDate, endDate, staffId, customerId, pageable
-        );
-
-        List<BookingResponse> content = page.getContent().stream()
-                .map(bookingMapper::toResponse)
-                .collect(Collectors.toList());
-
-        return PageResponse.<BookingResponse>builder()
-                .content(content)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
-                .build();
+        return bookingRepository.findList(tenantId, status, startDate, endDate, staffId, customerId, request)
+                .toPageResponse(bookingMapper::toResponse);
     }
 
     public BookingResponse getDetail(String id) {
@@ -153,6 +138,42 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 行事曆資料（精簡欄位，支援增量同步）
+     *
+     * <p>since 為上一次回應的 version（epoch 毫秒）。增量查詢會往前多看
+     * {@link #CALENDAR_SYNC_OVERLAP_MS}，涵蓋查詢當下尚未提交的交易；重複的項目由前端以 id 覆蓋。
+     * since 太舊（超過 {@link #CALENDAR_DELTA_MAX_AGE_MS}）時改回傳完整資料
+     *
+     * @param startDate 開始日期
+     * @param endDate   結束日期
+     * @param since     上一次的同步版本，null 表示完整查詢
+     * @return 行事曆資料
+     */
+    public BookingCalendarFeedResponse getCalendarFeed(LocalDate startDate, LocalDate endDate, Long since) {
+        String tenantId = TenantContext.getTenantId();
+        long version = System.currentTimeMillis();
+
+        if (since == null || since <= 0 || version - since > CALENDAR_DELTA_MAX_AGE_MS) {
+            return BookingCalendarFeedResponse.builder()
+                    .full(true)
+                    .version(version)
+                    .items(bookingRepository.findCalendarItems(tenantId, startDate, endDate))
+                    .removedIds(List.of())
+                    .build();
+        }
+
+        LocalDateTime changedAfter = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(since - CALENDAR_SYNC_OVERLAP_MS), ZoneId.systemDefault());
+
+        return BookingCalendarFeedResponse.builder()
+                .full(false)
+                .version(version)
+                .items(bookingRepository.findCalendarItemsChangedSince(tenantId, startDate, endDate, changedAfter))
+                .removedIds(bookingRepository.findCalendarRemovedIdsSince(tenantId, startDate, endDate, changedAfter))
+                .build();
+    }
+
     // ========================================
     // 寫入方法
     // ========================================
@@ -393,12 +414,11 @@ public class BookingService {
         log.info("預約建立成功，ID：{}", entity.getId());
 
         // ========================================
-        // 8. 推送 SSE 通知到後台
+        // 8. 寫入預約事件（提交後推送 SSE 通知到後台）
         // ========================================
-        BookingResponse response = bookingMapper.toResponse(entity);
-        sseNotificationService.notifyNewBooking(tenantId, response);
+        bookingEventOutbox.publish(entity, BookingEventType.CREATED, null);
 
-        return response;
+        return bookingMapper.toResponse(entity);
     }
 
     /**
@@ -667,17 +687,13 @@ public class BookingService {
             changeDescription.append("店家備註：").append(entity.getStoreNoteToCustomer());
         }
 
-        if (changeDescription.length() > 0) {
-            lineNotificationService.sendBookingModificationNotification(entity, changeDescription.toString());
-        }
-
         // ========================================
-        // 12. 推送 SSE 通知到後台
+        // 12. 寫入預約事件（提交後推送 SSE 通知，有變更內容時發送 LINE 通知）
         // ========================================
-        BookingResponse response = bookingMapper.toResponse(entity);
-        sseNotificationService.notifyBookingUpdated(tenantId, response);
+        bookingEventOutbox.publish(entity, BookingEventType.UPDATED,
+                changeDescription.length() > 0 ? changeDescription.toString() : null);
 
-        return response;
+        return bookingMapper.toResponse(entity);
     }
 
     // ========================================
@@ -764,14 +780,10 @@ public class BookingService {
 
         log.info("預約確認成功，ID：{}", entity.getId());
 
-        // 發送 LINE 通知
-        lineNotificationService.sendBookingStatusNotification(entity, BookingStatus.CONFIRMED, null);
-
-        // 推送 SSE 通知到後台
-        BookingResponse response = bookingMapper.toResponse(entity);
-        sseNotificationService.notifyBookingStatusChanged(tenantId, response, "CONFIRMED");
+        // 寫入預約事件（提交後發送 LINE 通知、推送 SSE 通知到後台）
+        bookingEventOutbox.publish(entity, BookingEventType.CONFIRMED, null);
 
-        return response;
+        return bookingMapper.toResponse(entity);
     }
 
     @Transactional
@@ -847,10 +859,13 @@ public class BookingService {
 
                         if (earnedPoints > 0) {
                             try {
-                                customerService.addPoints(
+                                // 以預約 ID 為冪等鍵，重複完成或重試不會重複集點
+                                pointLedgerService.credit(
+                                        tenantId,
                                         entity.getCustomerId(),
                                         earnedPoints,
-                                        "預約完成自動集點 - " + entity.getServiceName()
+                                        "預約完成自動集點 - " + entity.getServiceName(),
+                                        "booking:" + entity.getId()
                                 );
                                 log.info("自動集點成功，顧客 ID：{}，點數：{}（比例：每 {} 元得 1 點，取整：{}）",
                                         entity.getCustomerId(), earnedPoints, pointEarnRate, pointRoundMode);
@@ -863,14 +878,10 @@ public class BookingService {
             }
         }
 
-        // 發送 LINE 通知
-        lineNotificationService.sendBookingStatusNotification(entity, BookingStatus.COMPLETED, "感謝您的光臨，期待下次再見！");
+        // 寫入預約事件（提交後發送 LINE 通知、推送 SSE 通知到後台）
+        bookingEventOutbox.publish(entity, BookingEventType.COMPLETED, "感謝您的光臨，期待下次再見！");
 
-        // 推送 SSE 通知到後台
-        BookingResponse response = bookingMapper.toResponse(entity);
-        sseNotificationService.notifyBookingStatusChanged(tenantId, response, "COMPLETED");
-
-        return response;
+        return bookingMapper.toResponse(entity);
     }
 
     @Transactional
@@ -896,15 +907,11 @@ public class BookingService {
 
         log.info("預約取消成功，ID：{}", entity.getId());
 
-        // 發送 LINE 通知
+        // 寫入預約事件（提交後發送 LINE 通知、推送 SSE 通知到後台）
         String message = reason != null ? "取消原因：" + reason : null;
-        lineNotificationService.sendBookingStatusNotification(entity, BookingStatus.CANCELLED, message);
+        bookingEventOutbox.publish(entity, BookingEventType.CANCELLED, message);
 
-        // 推送 SSE 通知到後台
-        BookingResponse response = bookingMapper.toResponse(entity);
-        sseNotificationService.notifyBookingCancelled(tenantId, response);
-
-        return response;
+        return bookingMapper.toResponse(entity);
     }
 
     @Transactional
@@ -944,14 +951,10 @@ public class BookingService {
             }
         }
 
-        // 發送 LINE 通知
-        lineNotificationService.sendBookingStatusNotification(entity, BookingStatus.NO_SHOW, null);
+        // 寫入預約事件（提交後發送 LINE 通知、推送 SSE 通知到後台）
+        bookingEventOutbox.publish(entity, BookingEventType.NO_SHOW, null);
 
-        // 推送 SSE 通知到後台
-        BookingResponse response = bookingMapper.toResponse(entity);
-        sseNotificationService.notifyBookingStatusChanged(tenantId, response, "NO_SHOW");
-
-        return response;
+        return bookingMapper.toResponse(entity);
     }
 
     // ========================================
@@ -1,6 +1,7 @@
 package com.booking.platform.service;
 
 import com.booking.platform.common.tenant.TenantContext;
+import com.booking.platform.dto.response.BulkIssueCouponResponse;
 import com.booking.platform.entity.customer.Customer;
 import com.booking.platform.entity.line.LineUser;
 import com.booking.platform.entity.marketing.Campaign;
@@ -14,6 +15,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,7 +37,7 @@ public class CampaignPushService {
     private final CouponService couponService;
     private final CustomerRepository customerRepository;
     private final CampaignRepository campaignRepository;
-    private final CustomerService customerService;
+    private final PointLedgerService pointLedgerService;
 
     /**
      * 發布活動時推播 LINE 訊息給所有追蹤者
@@ -57,21 +60,15 @@ public class CampaignPushService {
             log.debug("追蹤者數量：{}", followers.size());
 
             int successCount = 0;
+            List<String> couponCustomerIds = new ArrayList<>();
             for (LineUser user : followers) {
                 try {
                     // 推播訊息
                     lineMessageService.pushText(tenantId, user.getLineUserId(), freshCampaign.getPushMessage());
 
-                    // 如果有關聯票券，自動發給每位顧客
+                    // 如果有關聯票券，收集顧客稍後一次批次發放
                     if (freshCampaign.getCouponId() != null && user.getCustomerId() != null) {
-                        try {
-                            TenantContext.setTenantId(tenantId);
-                            couponService.issueToCustomer(freshCampaign.getCouponId(), user.getCustomerId());
-                        } catch (Exception e) {
-                            log.debug("自動發放票券失敗（可能已領取）：{}", e.getMessage());
-                        } finally {
-                            TenantContext.clear();
-                        }
+                        couponCustomerIds.add(user.getCustomerId());
                     }
                     successCount++;
                 } catch (Exception e) {
@@ -79,6 +76,15 @@ public class CampaignPushService {
                 }
             }
 
+            // 批次發放關聯票券（已領取或數量不足者由票券服務略過）
+            if (!couponCustomerIds.isEmpty()) {
+                BulkIssueCouponResponse issueResult = couponService.bulkIssue(
+                        tenantId, freshCampaign.getCouponId(), couponCustomerIds,
+                        freshCampaign.getId(), "活動：" + freshCampaign.getName());
+                log.info("活動票券批次發放，活動：{}，發放：{}/{}",
+                        freshCampaign.getName(), issueResult.getIssuedCount(), issueResult.getRequestedCount());
+            }
+
             // 更新參與人數
             freshCampaign.setParticipantCount(successCount);
             campaignRepository.save(freshCampaign);
@@ -91,41 +97,47 @@ public class CampaignPushService {
     }
 
     /**
-     * 針對單一顧客觸發活動獎勵（排程器用）
+     * 針對多位顧客觸發活動獎勵（排程器用）
      *
-     * <p>發放票券和贈送點數
+     * <p>逐一發放票券；點數以一次批次入帳贈送，冪等鍵含活動與日期，同一天重跑排程不會重複贈點
      */
-    public void triggerForCustomer(String tenantId, Campaign campaign, Customer customer) {
-        log.debug("觸發活動獎勵，活動：{}，顧客：{}", campaign.getName(), customer.getId());
+    public void triggerForCustomers(String tenantId, Campaign campaign, List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return;
+        }
+
+        log.debug("觸發活動獎勵，活動：{}，顧客數：{}", campaign.getName(), customers.size());
 
         // 發放票券
         if (campaign.getCouponId() != null) {
-            try {
-                TenantContext.setTenantId(tenantId);
-                couponService.issueToCustomer(campaign.getCouponId(), customer.getId());
-            } catch (Exception e) {
-                log.debug("活動票券發放失敗：{}", e.getMessage());
-            } finally {
-                TenantContext.clear();
+            for (Customer customer : customers) {
+                try {
+                    TenantContext.setTenantId(tenantId);
+                    couponService.issueToCustomer(campaign.getCouponId(), customer.getId());
+                } catch (Exception e) {
+                    log.debug("活動票券發放失敗：{}", e.getMessage());
+                } finally {
+                    TenantContext.clear();
+                }
             }
         }
 
-        // 贈送點數（透過 CustomerService 建立交易紀錄）
+        // 批次贈送點數（透過點數帳本建立交易紀錄）
         if (campaign.getBonusPoints() != null && campaign.getBonusPoints() > 0) {
             try {
-                TenantContext.setTenantId(tenantId);
-                customerService.addPoints(customer.getId(),
+                pointLedgerService.creditAll(tenantId,
+                        customers.stream().map(Customer::getId).toList(),
                         campaign.getBonusPoints(),
-                        "活動獎勵：" + campaign.getName());
+                        "活動獎勵：" + campaign.getName(),
+                        "campaign:" + campaign.getId() + ":" + LocalDate.now());
             } catch (Exception e) {
-                log.warn("活動點數贈送失敗，顧客：{}，錯誤：{}", customer.getId(), e.getMessage());
-            } finally {
-                TenantContext.clear();
+                log.warn("活動點數贈送失敗，活動：{}，錯誤：{}", campaign.getName(), e.getMessage());
             }
         }
 
-        // 遞增參與人數
-        campaign.incrementParticipant();
+        // 累加參與人數
+        campaign.setParticipantCount(
+                (campaign.getParticipantCount() != null ? campaign.getParticipantCount() : 0) + customers.size());
         campaignRepository.save(campaign);
     }
 }
@@ -23,6 +23,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -57,16 +60,19 @@ public class CampaignService {
                 tenantId, status, type, pageable
         );
 
+        // 一次批次載入本頁活動關聯的票券名稱
+        Set<String> couponIds = page.getContent().stream()
+                .map(Campaign::getCouponId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> couponNames = couponIds.isEmpty()
+                ? Map.of()
+                : couponRepository.findByTenantIdAndIdIn(tenantId, couponIds).stream()
+                        .filter(coupon -> !coupon.isDeleted())
+                        .collect(Collectors.toMap(Coupon::getId, Coupon::getName));
+
         List<CampaignResponse> content = page.getContent().stream()
-                .map(c -> {
-                    String couponName = null;
-                    if (c.getCouponId() != null) {
-                        couponName = couponRepository.findByIdAndTenantIdAndDeletedAtIsNull(c.getCouponId(), tenantId)
-                                .map(Coupon::getName)
-                                .orElse(null);
-                    }
-                    return campaignMapper.toResponse(c, couponName);
-                })
+                .map(c -> campaignMapper.toResponse(c, c.getCouponId() != null ? couponNames.get(c.getCouponId()) : null))
                 .collect(Collectors.toList());
 
         return PageResponse.<CampaignResponse>builder()
@@ -5,8 +5,10 @@ import com.booking.platform.common.exception.ErrorCode;
 import com.booking.platform.common.exception.ResourceNotFoundException;
 import com.booking.platform.common.response.PageResponse;
 import com.booking.platform.common.tenant.TenantContext;
+import com.booking.platform.dto.request.BulkIssueCouponRequest;
 import com.booking.platform.dto.request.CreateCouponRequest;
 import com.booking.platform.dto.request.IssueCouponRequest;
+import com.booking.platform.dto.response.BulkIssueCouponResponse;
 import com.booking.platform.dto.response.CouponInstanceResponse;
 import com.booking.platform.dto.response.CouponResponse;
 import com.booking.platform.entity.customer.Customer;
@@ -23,18 +25,28 @@ import com.booking.platform.repository.line.LineUserRepository;
 import com.booking.platform.entity.line.LineUser;
 import com.booking.platform.service.line.LineMessageService;
 import com.booking.platform.service.notification.SseNotificationService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -56,6 +68,7 @@ public class CouponService {
     private final LineUserRepository lineUserRepository;
     private final LineMessageService lineMessageService;
     private final SseNotificationService sseNotificationService;
+    private final EntityManager entityManager;
 
     // ========================================
     // 票券定義查詢
@@ -303,21 +316,8 @@ public class CouponService {
 
         log.info("發放票券，票券ID：{}，顧客ID：{}", couponId, request.getCustomerId());
 
-        // 取得票券定義
-        Coupon coupon = couponRepository.findByIdAndTenantIdAndDeletedAtIsNull(couponId, tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        ErrorCode.COUPON_NOT_FOUND, "找不到指定的票券"
-                ));
-
-        // 檢查是否可發放
-        if (!coupon.canIssue()) {
-            throw new BusinessException(ErrorCode.COUPON_CANNOT_ISSUE, "此票券無法發放");
-        }
-
-        // 檢查票券是否已過期
-        if (coupon.getValidEndAt() != null && coupon.getValidEndAt().isBefore(LocalDateTime.now())) {
-            throw new BusinessException(ErrorCode.COUPON_CANNOT_ISSUE, "此票券已過期，無法發放");
-        }
+        // 取得並檢查票券定義
+        Coupon coupon = getIssuableCoupon(couponId, tenantId);
 
         // 取得顧客
         Customer customer = customerRepository.findByIdAndTenantIdAndDeletedAtIsNull(request.getCustomerId(), tenantId)
@@ -325,47 +325,10 @@ public class CouponService {
                         ErrorCode.CUSTOMER_NOT_FOUND, "找不到指定的顧客"
                 ));
 
-        // 檢查每人限領數量
-        if (coupon.getLimitPerCustomer() != null) {
-            long issuedCount = couponInstanceRepository.countByCustomerAndCoupon(
-                    tenantId, couponId, request.getCustomerId()
-            );
-            if (issuedCount >= coupon.getLimitPerCustomer()) {
-                throw new BusinessException(ErrorCode.COUPON_LIMIT_EXCEEDED, "已達領取上限");
-            }
-        }
-
-        // 計算有效期（使用票券定義的 validStartAt/validEndAt）
-        LocalDateTime validFrom = LocalDateTime.now();
-        LocalDateTime expiresAt = coupon.getValidEndAt();
+        CouponInstance instance = claim(tenantId, coupon, request.getCustomerId(),
+                coupon.getLimitPerCustomer(), "manual", request.getSourceDescription());
 
-        if (coupon.getValidStartAt() != null && coupon.getValidStartAt().isAfter(LocalDateTime.now())) {
-            validFrom = coupon.getValidStartAt();
-        }
-
-        // 生成票券代碼
-        String code = generateCouponCode(tenantId);
-
-        // 建立票券實例
-        CouponInstance instance = CouponInstance.builder()
-                .couponId(couponId)
-                .customerId(request.getCustomerId())
-                .code(code)
-                .status(CouponInstanceStatus.UNUSED)
-                .source("manual")
-                .sourceDescription(request.getSourceDescription())
-                .validFrom(validFrom)
-                .expiresAt(expiresAt)
-                .build();
-        instance.setTenantId(tenantId);
-
-        instance = couponInstanceRepository.save(instance);
-
-        // 更新票券已發出數量
-        coupon.issue();
-        couponRepository.save(coupon);
-
-        log.info("票券發放成功，票券實例ID：{}，代碼：{}", instance.getId(), code);
+        log.info("票券發放成功，票券實例ID：{}，代碼：{}", instance.getId(), instance.getCode());
 
         return couponMapper.toInstanceResponse(instance, coupon, customer.getDisplayName());
     }
@@ -379,67 +342,33 @@ public class CouponService {
      */
     @Transactional
     public CouponInstance issueToCustomer(String couponId, String customerId) {
+        return issueToCustomer(couponId, customerId, null);
+    }
+
+    /**
+     * 發放票券給顧客
+     *
+     * @param couponId                票券 ID
+     * @param customerId              顧客 ID
+     * @param defaultLimitPerCustomer 票券未設定每人限領數量時採用的上限（null 表示不限）
+     * @return 票券實例
+     */
+    @Transactional
+    public CouponInstance issueToCustomer(String couponId, String customerId, Integer defaultLimitPerCustomer) {
         String tenantId = TenantContext.getTenantId();
 
         log.info("發放票券給顧客，票券ID：{}，顧客ID：{}", couponId, customerId);
 
-        // 取得票券定義
-        Coupon coupon = couponRepository.findByIdAndTenantIdAndDeletedAtIsNull(couponId, tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        ErrorCode.COUPON_NOT_FOUND, "找不到指定的票券"
-                ));
+        // 取得並檢查票券定義
+        Coupon coupon = getIssuableCoupon(couponId, tenantId);
 
-        // 檢查是否可發放
-        if (!coupon.canIssue()) {
-            throw new BusinessException(ErrorCode.COUPON_CANNOT_ISSUE, "此票券無法發放");
-        }
+        Integer limit = coupon.getLimitPerCustomer() != null && coupon.getLimitPerCustomer() > 0
+                ? coupon.getLimitPerCustomer()
+                : defaultLimitPerCustomer;
 
-        // 檢查票券是否已過期
-        if (coupon.getValidEndAt() != null && coupon.getValidEndAt().isBefore(LocalDateTime.now())) {
-            throw new BusinessException(ErrorCode.COUPON_CANNOT_ISSUE, "此票券已過期，無法發放");
-        }
+        CouponInstance instance = claim(tenantId, coupon, customerId, limit, "LINE", "透過 LINE Bot 領取");
 
-        // 檢查每人限領數量
-        if (coupon.getLimitPerCustomer() != null) {
-            long issuedCount = couponInstanceRepository.countByCustomerAndCoupon(
-                    tenantId, couponId, customerId
-            );
-            if (issuedCount >= coupon.getLimitPerCustomer()) {
-                throw new BusinessException(ErrorCode.COUPON_LIMIT_EXCEEDED, "已達領取上限");
-            }
-        }
-
-        // 計算有效期（使用票券定義的 validStartAt/validEndAt）
-        LocalDateTime validFrom = LocalDateTime.now();
-        LocalDateTime expiresAt = coupon.getValidEndAt();
-
-        if (coupon.getValidStartAt() != null && coupon.getValidStartAt().isAfter(LocalDateTime.now())) {
-            validFrom = coupon.getValidStartAt();
-        }
-
-        // 生成票券代碼
-        String code = generateCouponCode(tenantId);
-
-        // 建立票券實例
-        CouponInstance instance = CouponInstance.builder()
-                .couponId(couponId)
-                .customerId(customerId)
-                .code(code)
-                .status(CouponInstanceStatus.UNUSED)
-                .source("LINE")
-                .sourceDescription("透過 LINE Bot 領取")
-                .validFrom(validFrom)
-                .expiresAt(expiresAt)
-                .build();
-        instance.setTenantId(tenantId);
-
-        instance = couponInstanceRepository.save(instance);
-
-        // 更新票券已發出數量
-        coupon.issue();
-        couponRepository.save(coupon);
-
-        log.info("票券發放成功，票券實例ID：{}，代碼：{}", instance.getId(), code);
+        log.info("票券發放成功，票券實例ID：{}，代碼：{}", instance.getId(), instance.getCode());
 
         // 推送 SSE 通知
         try {
@@ -450,7 +379,7 @@ public class CouponService {
             sseNotificationService.notifyCouponClaimed(tenantId, Map.of(
                     "couponName", coupon.getName(),
                     "customerName", customerName,
-                    "code", code
+                    "code", instance.getCode()
             ));
         } catch (Exception e) {
             log.warn("推送票券領取通知失敗：{}", e.getMessage());
@@ -459,6 +388,121 @@ public class CouponService {
         return instance;
     }
 
+    /**
+     * 批次發放票券（後台 API 使用）
+     *
+     * <p>只會發給屬於目前租戶的顧客；已達領取上限者略過，剩餘數量不足時依列表順序發放
+     *
+     * @param couponId 票券 ID
+     * @param request  批次發放請求
+     * @return 發放結果
+     */
+    @Transactional
+    public BulkIssueCouponResponse bulkIssue(String couponId, BulkIssueCouponRequest request) {
+        String tenantId = TenantContext.getTenantId();
+
+        // 先驗證票券，讓後台拿到明確的錯誤原因
+        getIssuableCoupon(couponId, tenantId);
+
+        List<String> requestedIds = request.getCustomerIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<String> existingIds = new HashSet<>();
+        for (List<String> chunk : partition(requestedIds)) {
+            existingIds.addAll(customerRepository.findExistingIds(tenantId, chunk));
+        }
+        List<String> customerIds = requestedIds.stream()
+                .filter(existingIds::contains)
+                .collect(Collectors.toList());
+
+        return bulkIssue(tenantId, couponId, customerIds, "manual", request.getSourceDescription());
+    }
+
+    /**
+     * 批次發放票券（活動推播等背景流程使用）
+     *
+     * <p>以一次分組查詢取得每位顧客已領數量、一次原子更新預留發放數量，再一次寫入所有票券實例，
+     * 查詢數量與顧客人數無關。票券不可發放時不拋出例外，回傳發放 0 張
+     *
+     * @param tenantId          租戶 ID
+     * @param couponId          票券 ID
+     * @param customerIds       顧客 ID 列表
+     * @param source            發放來源（活動 ID 或 manual）
+     * @param sourceDescription 來源說明
+     * @return 發放結果
+     */
+    @Transactional
+    public BulkIssueCouponResponse bulkIssue(
+            String tenantId,
+            String couponId,
+            Collection<String> customerIds,
+            String source,
+            String sourceDescription
+    ) {
+        List<String> distinctIds = customerIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        BulkIssueCouponResponse.BulkIssueCouponResponseBuilder result = BulkIssueCouponResponse.builder()
+                .couponId(couponId)
+                .requestedCount(distinctIds.size())
+                .issuedCount(0)
+                .skippedByLimitCount(0)
+                .skippedBySoldOutCount(0);
+
+        Coupon coupon = couponRepository.findByIdAndTenantIdAndDeletedAtIsNull(couponId, tenantId).orElse(null);
+        if (coupon == null || !coupon.canIssue() || isPastValidEnd(coupon) || distinctIds.isEmpty()) {
+            log.info("票券無法批次發放，票券ID：{}", couponId);
+            return result.skippedBySoldOutCount(distinctIds.size()).build();
+        }
+
+        // 一次查出所有顧客已領取數量
+        Integer limit = coupon.getLimitPerCustomer();
+        Map<String, Long> claimedCounts = new HashMap<>();
+        Map<String, Integer> maxClaimSeqs = new HashMap<>();
+        if (limit != null) {
+            for (List<String> chunk : partition(distinctIds)) {
+                for (Object[] row : couponInstanceRepository.countByCouponGroupByCustomer(tenantId, couponId, chunk)) {
+                    claimedCounts.put((String) row[0], (Long) row[1]);
+                }
+                for (Object[] row : couponInstanceRepository.findMaxClaimSeqGroupByCustomer(tenantId, couponId, chunk)) {
+                    maxClaimSeqs.put((String) row[0], (Integer) row[1]);
+                }
+            }
+        }
+
+        List<String> eligibleIds = distinctIds.stream()
+                .filter(id -> limit == null || claimedCounts.getOrDefault(id, 0L) < limit)
+                .collect(Collectors.toList());
+        int skippedByLimit = distinctIds.size() - eligibleIds.size();
+
+        // 預留數量（剩餘不足時只預留剩下的部分）
+        int reserved = reserveUpTo(tenantId, couponId, eligibleIds.size());
+        refreshCounters(coupon);
+        List<String> issuedIds = eligibleIds.subList(0, reserved);
+
+        LocalDateTime validFrom = resolveValidFrom(coupon);
+        Iterator<String> codes = generateCouponCodes(issuedIds.size()).iterator();
+        List<CouponInstance> instances = new ArrayList<>(issuedIds.size());
+        for (String customerId : issuedIds) {
+            Integer claimSeq = limit != null ? maxClaimSeqs.getOrDefault(customerId, 0) + 1 : null;
+            instances.add(buildInstance(tenantId, coupon, customerId, codes.next(), claimSeq,
+                    validFrom, source, sourceDescription));
+        }
+        couponInstanceRepository.saveAll(instances);
+
+        log.info("票券批次發放完成，票券ID：{}，請求：{}，發放：{}，已達上限：{}",
+                couponId, distinctIds.size(), reserved, skippedByLimit);
+
+        return result
+                .issuedCount(reserved)
+                .skippedByLimitCount(skippedByLimit)
+                .skippedBySoldOutCount(eligibleIds.size() - reserved)
+                .build();
+    }
+
     // ========================================
     // 票券核銷
     // ========================================
@@ -498,10 +542,10 @@ public class CouponService {
 
         instance = couponInstanceRepository.save(instance);
 
-        // 更新票券已使用數量
+        // 更新票券已使用數量（原子遞增，避免同一票券併發核銷互相覆蓋）
         if (coupon != null) {
-            coupon.use();
-            couponRepository.save(coupon);
+            couponRepository.incrementUsedQuantity(coupon.getId(), tenantId);
+            refreshCounters(coupon);
         }
 
         log.info("票券核銷成功，實例ID：{}", instanceId);
@@ -618,14 +662,16 @@ public class CouponService {
                 tenantId, customerId, status, pageable
         );
 
+        // 同一位顧客，名稱只查一次；票券定義依 ID 批次載入
+        String customerName = page.hasContent()
+                ? customerRepository.findByIdAndTenantIdAndDeletedAtIsNull(customerId, tenantId)
+                        .map(Customer::getDisplayName)
+                        .orElse(null)
+                : null;
+        Map<String, Coupon> coupons = findActiveCouponsByIds(tenantId, page.getContent());
+
         List<CouponInstanceResponse> content = page.getContent().stream()
-                .map(ci -> {
-                    Coupon coupon = couponRepository.findByIdAndTenantIdAndDeletedAtIsNull(ci.getCouponId(), tenantId).orElse(null);
-                    String customerName = customerRepository.findByIdAndTenantIdAndDeletedAtIsNull(ci.getCustomerId(), tenantId)
-                            .map(Customer::getDisplayName)
-                            .orElse(null);
-                    return couponMapper.toInstanceResponse(ci, coupon, customerName);
-                })
+                .map(ci -> couponMapper.toInstanceResponse(ci, coupons.get(ci.getCouponId()), customerName))
                 .collect(Collectors.toList());
 
         return PageResponse.<CouponInstanceResponse>builder()
@@ -642,12 +688,13 @@ public class CouponService {
     public List<CouponInstanceResponse> getCustomerUsableCoupons(String customerId) {
         String tenantId = TenantContext.getTenantId();
 
-        return couponInstanceRepository.findUsableByCustomer(tenantId, customerId, LocalDateTime.now())
-                .stream()
-                .map(ci -> {
-                    Coupon coupon = couponRepository.findByIdAndTenantIdAndDeletedAtIsNull(ci.getCouponId(), tenantId).orElse(null);
-                    return couponMapper.toInstanceResponse(ci, coupon, null);
-                })
+        List<CouponInstance> instances = couponInstanceRepository.findUsableByCustomer(
+                tenantId, customerId, LocalDateTime.now()
+        );
+        Map<String, Coupon> coupons = findActiveCouponsByIds(tenantId, instances);
+
+        return instances.stream()
+                .map(ci -> couponMapper.toInstanceResponse(ci, coupons.get(ci.getCouponId()), null))
                 .collect(Collectors.toList());
     }
 
@@ -655,15 +702,208 @@ public class CouponService {
     // 私有方法
     // ========================================
 
-    private static final int MAX_CODE_RETRIES = 100;
+    /**
+     * 票券代碼字元集（排除易混淆的 0/O/1/I）
+     */
+    private static final char[] CODE_ALPHABET = "23456789ABCDEFGHJKLMNPQRSTUVWXYZ".toCharArray();
+
+    /**
+     * 票券代碼長度（10 碼 × 5 bits = 50 bits，碰撞機率極低，由唯一索引兜底）
+     */
+    private static final int CODE_LENGTH = 10;
+
+    /**
+     * 批次查詢 IN 條件的單批上限
+     */
+    private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+
+    /**
+     * 預留數量時重新讀取剩餘數量的次數上限
+     */
+    private static final int MAX_RESERVE_RETRIES = 3;
+
+    private static final SecureRandom CODE_RANDOM = new SecureRandom();
+
+    /**
+     * 依票券實例批次載入未刪除的票券定義
+     */
+    private Map<String, Coupon> findActiveCouponsByIds(String tenantId, List<CouponInstance> instances) {
+        Set<String> couponIds = instances.stream()
+                .map(CouponInstance::getCouponId)
+                .collect(Collectors.toSet());
+        if (couponIds.isEmpty()) {
+            return Map.of();
+        }
+        return couponRepository.findByTenantIdAndIdIn(tenantId, couponIds).stream()
+                .filter(coupon -> !coupon.isDeleted())
+                .collect(Collectors.toMap(Coupon::getId, coupon -> coupon));
+    }
 
-    private String generateCouponCode(String tenantId) {
-        for (int i = 0; i < MAX_CODE_RETRIES; i++) {
-            String code = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            if (!couponInstanceRepository.existsByTenantIdAndCodeAndDeletedAtIsNull(tenantId, code)) {
-                return code;
+    /**
+     * 取得可發放的票券定義，不可發放時拋出例外
+     */
+    private Coupon getIssuableCoupon(String couponId, String tenantId) {
+        Coupon coupon = couponRepository.findByIdAndTenantIdAndDeletedAtIsNull(couponId, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ErrorCode.COUPON_NOT_FOUND, "找不到指定的票券"
+                ));
+
+        // 檢查是否可發放
+        if (!coupon.canIssue()) {
+            throw new BusinessException(ErrorCode.COUPON_CANNOT_ISSUE, "此票券無法發放");
+        }
+
+        // 檢查票券是否已過期
+        if (isPastValidEnd(coupon)) {
+            throw new BusinessException(ErrorCode.COUPON_CANNOT_ISSUE, "此票券已過期，無法發放");
+        }
+
+        return coupon;
+    }
+
+    /**
+     * 領取單張票券
+     *
+     * <p>發放數量以原子 UPDATE 預留，不回寫 Coupon Entity；每人限領數量由
+     * (tenant_id, coupon_id, customer_id, claim_seq) 唯一索引保證，重複的併發領取會在寫入時被擋下。
+     * 唯一索引也涵蓋已刪除的票券，所以序號取所有票券（含已刪除）的最大序號 + 1，
+     * 上限則只計算未刪除的票券
+     */
+    private CouponInstance claim(
+            String tenantId,
+            Coupon coupon,
+            String customerId,
+            Integer limit,
+            String source,
+            String sourceDescription
+    ) {
+        // 檢查每人限領數量
+        Integer claimSeq = null;
+        if (limit != null) {
+            long issuedCount = couponInstanceRepository.countByCustomerAndCoupon(
+                    tenantId, coupon.getId(), customerId
+            );
+            if (issuedCount >= limit) {
+                throw new BusinessException(ErrorCode.COUPON_LIMIT_EXCEEDED, "已達領取上限");
+            }
+            Integer maxClaimSeq = couponInstanceRepository.findMaxClaimSeq(tenantId, coupon.getId(), customerId);
+            claimSeq = (maxClaimSeq != null ? maxClaimSeq : 0) + 1;
+        }
+
+        // 原子預留一張
+        if (couponRepository.reserveIssueQuantity(coupon.getId(), tenantId, 1) == 0) {
+            throw new BusinessException(ErrorCode.COUPON_CANNOT_ISSUE, "此票券已停止發放或已發完");
+        }
+        refreshCounters(coupon);
+
+        CouponInstance instance = buildInstance(tenantId, coupon, customerId, generateCouponCodes(1).get(0),
+                claimSeq, resolveValidFrom(coupon), source, sourceDescription);
+
+        try {
+            return couponInstanceRepository.saveAndFlush(instance);
+        } catch (DataIntegrityViolationException e) {
+            // 同一顧客的併發重複領取（或極少見的代碼碰撞），整筆交易回滾，預留數量一併還原
+            if (claimSeq != null) {
+                throw new BusinessException(ErrorCode.COUPON_LIMIT_EXCEEDED, "已達領取上限");
+            }
+            throw new BusinessException(ErrorCode.SYS_INTERNAL_ERROR, "無法生成唯一票券代碼，請稍後重試");
+        }
+    }
+
+    /**
+     * 預留最多 wanted 張，剩餘數量不足時改預留剩下的張數
+     *
+     * @return 實際預留張數
+     */
+    private int reserveUpTo(String tenantId, String couponId, int wanted) {
+        int attempt = wanted;
+        for (int i = 0; i < MAX_RESERVE_RETRIES && attempt > 0; i++) {
+            if (couponRepository.reserveIssueQuantity(couponId, tenantId, attempt) > 0) {
+                return attempt;
+            }
+            Integer remaining = couponRepository.findRemainingQuantity(couponId, tenantId);
+            if (remaining == null) {
+                // 不限數量卻預留失敗，表示票券已非發布狀態
+                return 0;
+            }
+            attempt = Math.min(wanted, remaining);
+        }
+        return 0;
+    }
+
+    /**
+     * 原子更新數量與版本號後重新載入票券
+     *
+     * <p>UPDATE 語句不經過持久化內容，已載入的票券仍是舊版本號，同一交易內再修改（如暫停）會樂觀鎖失敗
+     */
+    private void refreshCounters(Coupon coupon) {
+        if (entityManager.contains(coupon)) {
+            entityManager.refresh(coupon);
+        }
+    }
+
+    private CouponInstance buildInstance(
+            String tenantId,
+            Coupon coupon,
+            String customerId,
+            String code,
+            Integer claimSeq,
+            LocalDateTime validFrom,
+            String source,
+            String sourceDescription
+    ) {
+        CouponInstance instance = CouponInstance.builder()
+                .couponId(coupon.getId())
+                .customerId(customerId)
+                .code(code)
+                .claimSeq(claimSeq)
+                .status(CouponInstanceStatus.UNUSED)
+                .source(source)
+                .sourceDescription(sourceDescription)
+                .validFrom(validFrom)
+                .expiresAt(coupon.getValidEndAt())
+                .build();
+        instance.setTenantId(tenantId);
+        return instance;
+    }
+
+    /**
+     * 計算有效起始日（使用票券定義的 validStartAt）
+     */
+    private LocalDateTime resolveValidFrom(Coupon coupon) {
+        LocalDateTime now = LocalDateTime.now();
+        if (coupon.getValidStartAt() != null && coupon.getValidStartAt().isAfter(now)) {
+            return coupon.getValidStartAt();
+        }
+        return now;
+    }
+
+    private boolean isPastValidEnd(Coupon coupon) {
+        return coupon.getValidEndAt() != null && coupon.getValidEndAt().isBefore(LocalDateTime.now());
+    }
+
+    /**
+     * 產生不重複的票券代碼
+     *
+     * <p>不逐一查詢資料庫確認唯一性，代碼空間足夠大，偶發碰撞由唯一索引擋下
+     */
+    private List<String> generateCouponCodes(int count) {
+        Set<String> codes = new LinkedHashSet<>(count * 2);
+        char[] buffer = new char[CODE_LENGTH];
+        while (codes.size() < count) {
+            for (int i = 0; i < CODE_LENGTH; i++) {
+                buffer[i] = CODE_ALPHABET[CODE_RANDOM.nextInt(CODE_ALPHABET.length)];
             }
+            codes.add(new String(buffer));
+        }
+        return new ArrayList<>(codes);
+    }
+
+    private static List<List<String>> partition(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_BATCH_SIZE) {
+            chunks.add(ids.subList(i, Math.min(i + IN_CLAUSE_BATCH_SIZE, ids.size())));
         }
-        throw new BusinessException(ErrorCode.SYS_INTERNAL_ERROR, "無法生成唯一票券代碼，請稍後重試");
+        return chunks;
     }
 }
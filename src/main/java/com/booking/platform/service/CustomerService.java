@@ -15,12 +15,13 @@ import com.booking.platform.mapper.CustomerMapper;
 import com.booking.platform.repository.CustomerRepository;
 import com.booking.platform.repository.MembershipLevelRepository;
 import com.booking.platform.repository.PointTransactionRepository;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.repository.support.ListResult;
 import com.booking.platform.service.notification.SseNotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,8 +50,10 @@ public class CustomerService {
     private final CustomerRepository customerRepository;
     private final MembershipLevelRepository membershipLevelRepository;
     private final PointTransactionRepository pointTransactionRepository;
+    private final PointLedgerService pointLedgerService;
     private final CustomerMapper customerMapper;
     private final SseNotificationService sseNotificationService;
+    private final SegmentStatisticsService segmentStatisticsService;
 
     // ========================================
     // 查詢方法
@@ -59,13 +62,11 @@ public class CustomerService {
     public PageResponse<CustomerResponse> getList(
             CustomerStatus status,
             String keyword,
-            Pageable pageable
+            ListRequest request
     ) {
         String tenantId = TenantContext.getTenantId();
 
-        Page<Customer> page = customerRepository.findByTenantIdAndFilters(
-                tenantId, status, keyword, pageable
-        );
+        ListResult<Customer> result = customerRepository.findList(tenantId, status, keyword, request);
 
         // 批次查詢所有會員等級（避免 N+1）
         Map<String, String> levelNameMap = membershipLevelRepository
@@ -73,24 +74,12 @@ public class CustomerService {
                 .stream()
                 .collect(Collectors.toMap(MembershipLevel::getId, MembershipLevel::getName));
 
-        List<CustomerResponse> content = page.getContent().stream()
-                .map(c -> {
-                    String levelName = c.getMembershipLevelId() != null
-                            ? levelNameMap.get(c.getMembershipLevelId())
-                            : null;
-                    return customerMapper.toResponse(c, levelName);
-                })
-                .collect(Collectors.toList());
-
-        return PageResponse.<CustomerResponse>builder()
-                .content(content)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
-                .build();
+        return result.toPageResponse(c -> {
+            String levelName = c.getMembershipLevelId() != null
+                    ? levelNameMap.get(c.getMembershipLevelId())
+                    : null;
+            return customerMapper.toResponse(c, levelName);
+        });
     }
 
     public CustomerResponse getDetail(String id) {
@@ -191,6 +180,7 @@ public class CustomerService {
 
         entity.setTenantId(tenantId);
         entity = customerRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
 
         log.info("顧客建立成功，ID：{}", entity.getId());
 
@@ -240,6 +230,7 @@ public class CustomerService {
         entity.setTags(request.getTags());
 
         entity = customerRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
 
         log.info("顧客更新成功，ID：{}", entity.getId());
 
@@ -259,6 +250,7 @@ public class CustomerService {
 
         entity.softDelete();
         customerRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
 
         log.info("顧客刪除成功，ID：{}", id);
     }
@@ -267,92 +259,44 @@ public class CustomerService {
     // 點數操作
     // ========================================
 
-    private static final int MAX_RETRY = 3;
-
+    /**
+     * 增加點數（經點數帳本原子入帳）
+     */
     @Transactional
     public CustomerResponse addPoints(String id, int points, String description) {
         String tenantId = TenantContext.getTenantId();
 
         log.info("增加顧客點數，ID：{}，點數：{}", id, points);
 
-        for (int attempt = 0; attempt < MAX_RETRY; attempt++) {
-            try {
-                Customer entity = customerRepository.findByIdAndTenantIdAndDeletedAtIsNull(id, tenantId)
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                ErrorCode.CUSTOMER_NOT_FOUND, "找不到指定的顧客"
-                        ));
-
-                entity.addPoints(points);
-                entity = customerRepository.save(entity);
-
-                // 記錄點數交易
-                PointTransaction transaction = PointTransaction.builder()
-                        .customerId(id)
-                        .type("EARN")
-                        .points(points)
-                        .balanceAfter(entity.getPointBalance())
-                        .description(description)
-                        .build();
-                transaction.setTenantId(tenantId);
-                pointTransactionRepository.save(transaction);
-
-                log.info("顧客點數增加成功，ID：{}，新餘額：{}", id, entity.getPointBalance());
-
-                return customerMapper.toResponse(entity);
-            } catch (ObjectOptimisticLockingFailureException e) {
-                log.warn("點數增加樂觀鎖衝突，ID：{}，第 {} 次重試", id, attempt + 1);
-                if (attempt == MAX_RETRY - 1) {
-                    throw new BusinessException(ErrorCode.SYS_INTERNAL_ERROR, "系統繁忙，請稍後再試");
-                }
-            }
-        }
-        throw new BusinessException(ErrorCode.SYS_INTERNAL_ERROR, "系統繁忙，請稍後再試");
+        int balance = pointLedgerService.credit(tenantId, id, points, description, null);
+
+        return toResponseWithBalance(id, tenantId, balance);
     }
 
+    /**
+     * 扣除點數（經點數帳本原子扣除，不足時拋出 POINT_INSUFFICIENT）
+     */
     @Transactional
     public CustomerResponse deductPoints(String id, int points, String description) {
         String tenantId = TenantContext.getTenantId();
 
         log.info("扣除顧客點數，ID：{}，點數：{}", id, points);
 
-        for (int attempt = 0; attempt < MAX_RETRY; attempt++) {
-            try {
-                Customer entity = customerRepository.findByIdAndTenantIdAndDeletedAtIsNull(id, tenantId)
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                ErrorCode.CUSTOMER_NOT_FOUND, "找不到指定的顧客"
-                        ));
-
-                if (!entity.deductPoints(points)) {
-                    throw new BusinessException(
-                            ErrorCode.POINT_INSUFFICIENT,
-                            "點數不足"
-                    );
-                }
+        int balance = pointLedgerService.debit(tenantId, id, points, description, null);
 
-                entity = customerRepository.save(entity);
-
-                // 記錄點數交易
-                PointTransaction transaction = PointTransaction.builder()
-                        .customerId(id)
-                        .type("REDEEM")
-                        .points(-points)
-                        .balanceAfter(entity.getPointBalance())
-                        .description(description)
-                        .build();
-                transaction.setTenantId(tenantId);
-                pointTransactionRepository.save(transaction);
-
-                log.info("顧客點數扣除成功，ID：{}，新餘額：{}", id, entity.getPointBalance());
-
-                return customerMapper.toResponse(entity);
-            } catch (ObjectOptimisticLockingFailureException e) {
-                log.warn("點數扣除樂觀鎖衝突，ID：{}，第 {} 次重試", id, attempt + 1);
-                if (attempt == MAX_RETRY - 1) {
-                    throw new BusinessException(ErrorCode.SYS_INTERNAL_ERROR, "系統繁忙，請稍後再試");
-                }
-            }
-        }
-        throw new BusinessException(ErrorCode.SYS_INTERNAL_ERROR, "系統繁忙，請稍後再試");
+        return toResponseWithBalance(id, tenantId, balance);
+    }
+
+    private CustomerResponse toResponseWithBalance(String id, String tenantId, int balance) {
+        Customer entity = customerRepository.findByIdAndTenantIdAndDeletedAtIsNull(id, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ErrorCode.CUSTOMER_NOT_FOUND, "找不到指定的顧客"
+                ));
+
+        // 實體可能在餘額更新前已載入，以帳本回傳的餘額為準
+        CustomerResponse response = customerMapper.toResponse(entity);
+        response.setPointBalance(balance);
+        return response;
     }
 
     // ========================================
@@ -426,6 +370,7 @@ public class CustomerService {
         }
 
         entity = customerRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
         log.info("顧客標籤更新成功，ID：{}", id);
 
         return customerMapper.toResponse(entity);
@@ -458,6 +403,7 @@ public class CustomerService {
         entity.setTags(String.join(",", tags));
 
         entity = customerRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
         log.info("顧客標籤新增成功，ID：{}", id);
 
         return customerMapper.toResponse(entity);
@@ -491,6 +437,7 @@ public class CustomerService {
         }
 
         entity = customerRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
         log.info("顧客標籤移除成功，ID：{}", id);
 
         return customerMapper.toResponse(entity);
@@ -1,5 +1,6 @@
 package com.booking.platform.service;
 
+import com.booking.platform.common.persistence.WriteBehindBuffer;
 import com.booking.platform.common.response.PageResponse;
 import com.booking.platform.common.tenant.TenantContext;
 import com.booking.platform.dto.response.InventoryLogResponse;
@@ -32,6 +33,7 @@ public class InventoryService {
 
     private final InventoryLogRepository logRepository;
     private final ProductRepository productRepository;
+    private final WriteBehindBuffer writeBehindBuffer;
 
     // ========================================
     // 查詢方法
@@ -165,6 +167,8 @@ public class InventoryService {
 
     /**
      * 記錄手動調整（簡化版，供 ProductService 呼叫）
+     *
+     * <p>異動記錄於交易提交後批次寫入
      */
     @Transactional
     public void recordManualAdjustment(
@@ -192,7 +196,7 @@ public class InventoryService {
                 .build();
 
         logEntry.setTenantId(tenantId);
-        logRepository.save(logEntry);
+        writeBehindBuffer.append(logEntry);
 
         log.info("庫存手動調整記錄完成，商品：{}，調整：{}，原因：{}", productName, adjustment, reason);
     }
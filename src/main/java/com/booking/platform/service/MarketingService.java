@@ -7,6 +7,7 @@ import com.booking.platform.common.response.PageResponse;
 import com.booking.platform.common.tenant.TenantContext;
 import com.booking.platform.dto.request.CreateMarketingPushRequest;
 import com.booking.platform.dto.response.MarketingPushResponse;
+import com.booking.platform.dto.response.SegmentStatisticsResponse;
 import com.booking.platform.entity.line.LineUser;
 import com.booking.platform.entity.marketing.MarketingPush;
 import com.booking.platform.entity.tenant.Tenant;
@@ -50,6 +51,7 @@ public class MarketingService {
     private MarketingService self;
     private final LineUserRepository lineUserRepository;
     private final LineMessageService lineMessageService;
+    private final SegmentStatisticsService segmentStatisticsService;
     private final ObjectMapper objectMapper;
 
     // ========================================
@@ -220,14 +222,16 @@ public class MarketingService {
 
     /**
      * 估算目標人數
+     *
+     * <p>取自客群統計（分組查詢、短期快取），不再每種目標各自 COUNT
      */
     private int estimateTargetCount(String tenantId, MarketingPushTargetType targetType, String targetValue) {
+        SegmentStatisticsResponse statistics = segmentStatisticsService.getStatistics(tenantId);
         return switch (targetType) {
-            case ALL -> (int) lineUserRepository.countByTenantIdAndIsFollowedAndDeletedAtIsNull(tenantId, true);
-            case MEMBERSHIP_LEVEL -> (int) lineUserRepository.countByTenantIdAndMembershipLevelAndIsFollowedAndDeletedAtIsNull(
-                    tenantId, targetValue, true);
-            case TAG -> (int) lineUserRepository.countByTenantIdAndTagAndIsFollowedAndDeletedAtIsNull(
-                    tenantId, targetValue);
+            case ALL -> (int) statistics.getFollowerCount();
+            case MEMBERSHIP_LEVEL -> statistics.getFollowersByLevel().getOrDefault(targetValue, 0L).intValue();
+            // 與發送時的 LIKE 比對一致：包含目標字串的標籤都算
+            case TAG -> (int) segmentStatisticsService.countFollowersWithTagContaining(tenantId, targetValue);
             case CUSTOM -> 0; // 自訂名單需要實際解析
         };
     }
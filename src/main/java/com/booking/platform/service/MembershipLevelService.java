@@ -16,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +34,7 @@ public class MembershipLevelService {
     private final MembershipLevelRepository membershipLevelRepository;
     private final CustomerRepository customerRepository;
     private final MembershipLevelMapper membershipLevelMapper;
+    private final SegmentStatisticsService segmentStatisticsService;
 
     // ========================================
     // 查詢方法
@@ -41,14 +43,12 @@ public class MembershipLevelService {
     public List<MembershipLevelResponse> getList() {
         String tenantId = TenantContext.getTenantId();
 
+        // 各等級人數取自客群統計（分組查詢、短期快取）
+        Map<String, Long> memberCounts = segmentStatisticsService.getStatistics(tenantId).getCustomersByLevel();
+
         return membershipLevelRepository.findByTenantIdAndDeletedAtIsNullOrderBySortOrderAsc(tenantId)
                 .stream()
-                .map(level -> {
-                    Long memberCount = customerRepository.countByTenantIdAndMembershipLevelIdAndDeletedAtIsNull(
-                            tenantId, level.getId()
-                    );
-                    return membershipLevelMapper.toResponse(level, memberCount);
-                })
+                .map(level -> membershipLevelMapper.toResponse(level, memberCounts.getOrDefault(level.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
@@ -60,9 +60,7 @@ public class MembershipLevelService {
                         ErrorCode.MEMBERSHIP_LEVEL_NOT_FOUND, "找不到指定的會員等級"
                 ));
 
-        Long memberCount = customerRepository.countByTenantIdAndMembershipLevelIdAndDeletedAtIsNull(
-                tenantId, entity.getId()
-        );
+        Long memberCount = countMembers(tenantId, entity.getId());
 
         return membershipLevelMapper.toResponse(entity, memberCount);
     }
@@ -167,9 +165,7 @@ public class MembershipLevelService {
 
         entity = membershipLevelRepository.save(entity);
 
-        Long memberCount = customerRepository.countByTenantIdAndMembershipLevelIdAndDeletedAtIsNull(
-                tenantId, entity.getId()
-        );
+        Long memberCount = countMembers(tenantId, entity.getId());
 
         log.info("會員等級更新成功，ID：{}", entity.getId());
 
@@ -230,9 +226,7 @@ public class MembershipLevelService {
 
         log.info("會員等級狀態切換，ID：{}，新狀態：{}", id, entity.getIsActive());
 
-        Long memberCount = customerRepository.countByTenantIdAndMembershipLevelIdAndDeletedAtIsNull(
-                tenantId, entity.getId()
-        );
+        Long memberCount = countMembers(tenantId, entity.getId());
 
         return membershipLevelMapper.toResponse(entity, memberCount);
     }
@@ -255,4 +249,15 @@ public class MembershipLevelService {
 
         log.info("會員等級排序更新成功");
     }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 等級人數（顯示用，取自客群統計；刪除檢查仍即時 COUNT）
+     */
+    private Long countMembers(String tenantId, String levelId) {
+        return segmentStatisticsService.getStatistics(tenantId).getCustomersByLevel().getOrDefault(levelId, 0L);
+    }
 }
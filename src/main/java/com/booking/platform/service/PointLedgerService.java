@@ -0,0 +1,274 @@
+package com.booking.platform.service;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.exception.ErrorCode;
+import com.booking.platform.common.exception.ResourceNotFoundException;
+import com.booking.platform.entity.customer.PointTransaction;
+import com.booking.platform.repository.CustomerRepository;
+import com.booking.platform.repository.PointTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 顧客點數帳本服務
+ *
+ * <p>點數異動一律經過此服務：
+ * <ul>
+ *   <li>帳本（point_transactions）只新增不修改，冪等鍵相同的入帳只執行一次</li>
+ *   <li>餘額（customers.point_balance）以 {@code balance + delta >= 0} 條件的原子 UPDATE 維護，
+ *       不讀取顧客、不檢查版本號，同一顧客的並發入帳由資料列鎖排隊，不再樂觀鎖重試</li>
+ *   <li>活動贈點以批次 UPDATE 與批次寫入帳本，查詢數量與顧客人數無關</li>
+ * </ul>
+ *
+ * <p>同一冪等鍵並發入帳時，後提交者違反唯一約束，整筆交易（含餘額）回滾
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class PointLedgerService {
+
+    /**
+     * 交易類型
+     */
+    public static final String TYPE_EARN = "EARN";
+    public static final String TYPE_REDEEM = "REDEEM";
+    public static final String TYPE_ADJUST = "ADJUST";
+
+    private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final CustomerRepository customerRepository;
+    private final PointTransactionRepository pointTransactionRepository;
+    private final MeterRegistry meterRegistry;
+
+    // ========================================
+    // 單筆入帳
+    // ========================================
+
+    /**
+     * 增加點數
+     *
+     * @param tenantId       租戶 ID
+     * @param customerId     顧客 ID
+     * @param points         點數（正數）
+     * @param description    說明
+     * @param idempotencyKey 冪等鍵（可為 null）
+     * @return 異動後餘額
+     */
+    @Transactional
+    public int credit(String tenantId, String customerId, int points, String description, String idempotencyKey) {
+        return post(tenantId, customerId, TYPE_EARN, points, description, idempotencyKey);
+    }
+
+    /**
+     * 扣除點數
+     *
+     * @param tenantId       租戶 ID
+     * @param customerId     顧客 ID
+     * @param points         點數（正數）
+     * @param description    說明
+     * @param idempotencyKey 冪等鍵（可為 null）
+     * @return 異動後餘額
+     * @throws BusinessException 點數不足
+     */
+    @Transactional
+    public int debit(String tenantId, String customerId, int points, String description, String idempotencyKey) {
+        return post(tenantId, customerId, TYPE_REDEEM, -points, description, idempotencyKey);
+    }
+
+    // ========================================
+    // 批次入帳
+    // ========================================
+
+    /**
+     * 批次贈送點數（活動獎勵）
+     *
+     * <p>每位顧客的冪等鍵為 {@code keyPrefix:顧客 ID}，已入帳的顧客略過；
+     * 每 1000 位顧客一次查詢已入帳的鍵、一次 UPDATE 餘額、一次查詢新餘額，再批次寫入帳本
+     *
+     * @param tenantId    租戶 ID
+     * @param customerIds 顧客 ID 列表
+     * @param points      每位顧客的點數（正數）
+     * @param description 說明
+     * @param keyPrefix   冪等鍵前綴（如 campaign:{活動 ID}:{日期}）
+     * @return 實際入帳的顧客數
+     */
+    @Transactional
+    public int creditAll(String tenantId, Collection<String> customerIds, int points,
+                         String description, String keyPrefix) {
+        if (points <= 0) {
+            return 0;
+        }
+
+        List<String> distinctIds = customerIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        int credited = 0;
+        for (List<String> chunk : partition(distinctIds)) {
+            // 略過已入帳的顧客
+            Set<String> existingKeys = new HashSet<>(pointTransactionRepository.findExistingIdempotencyKeys(
+                    tenantId, chunk.stream().map(id -> keyPrefix + ":" + id).toList()
+            ));
+            List<String> pendingIds = chunk.stream()
+                    .filter(id -> !existingKeys.contains(keyPrefix + ":" + id))
+                    .toList();
+            if (pendingIds.isEmpty()) {
+                continue;
+            }
+
+            customerRepository.creditPointBalances(tenantId, pendingIds, points);
+
+            // 只為實際更新到的顧客（未刪除）寫入帳本
+            List<PointTransaction> transactions = new ArrayList<>(pendingIds.size());
+            for (Object[] row : customerRepository.findPointBalances(tenantId, pendingIds)) {
+                String customerId = (String) row[0];
+                transactions.add(buildTransaction(tenantId, customerId, TYPE_EARN, points,
+                        (Integer) row[1], description, keyPrefix + ":" + customerId));
+            }
+            pointTransactionRepository.saveAll(transactions);
+            credited += transactions.size();
+        }
+
+        count(TYPE_EARN, credited);
+        log.info("批次贈送點數完成，租戶：{}，點數：{}，請求：{}，入帳：{}",
+                tenantId, points, distinctIds.size(), credited);
+
+        return credited;
+    }
+
+    // ========================================
+    // 對帳
+    // ========================================
+
+    /**
+     * 比對所有顧客的餘額與帳本加總
+     *
+     * <p>一次集合查詢找出不一致的顧客；修正時不改餘額，而是新增 ADJUST 紀錄補足差額，
+     * 讓帳本能解釋顧客看到的餘額（如帳本上線前既有的點數）
+     *
+     * @param repair 是否寫入調整紀錄
+     * @return 不一致的顧客數
+     */
+    @Transactional
+    public int reconcile(boolean repair) {
+        List<Object[]> mismatches = pointTransactionRepository.findBalanceMismatches();
+        if (mismatches.isEmpty()) {
+            return 0;
+        }
+
+        Counter.builder("points.ledger.mismatches")
+                .description("點數餘額與帳本不一致的顧客數")
+                .register(meterRegistry)
+                .increment(mismatches.size());
+
+        if (!repair) {
+            log.warn("點數餘額與帳本不一致，顧客數：{}", mismatches.size());
+            return mismatches.size();
+        }
+
+        List<PointTransaction> adjustments = new ArrayList<>(mismatches.size());
+        for (Object[] row : mismatches) {
+            int balance = row[2] != null ? ((Number) row[2]).intValue() : 0;
+            int ledgerSum = ((Number) row[3]).intValue();
+            adjustments.add(buildTransaction((String) row[0], (String) row[1], TYPE_ADJUST,
+                    balance - ledgerSum, balance, "對帳調整", null));
+        }
+        pointTransactionRepository.saveAll(adjustments);
+        count(TYPE_ADJUST, adjustments.size());
+
+        log.warn("點數餘額與帳本不一致，已新增調整紀錄，顧客數：{}", adjustments.size());
+
+        return mismatches.size();
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private int post(String tenantId, String customerId, String type, int delta,
+                     String description, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            if (pointTransactionRepository.findByTenantIdAndIdempotencyKey(tenantId, idempotencyKey).isPresent()) {
+                log.info("點數已入帳，略過重複請求，顧客 ID：{}，冪等鍵：{}", customerId, idempotencyKey);
+                return currentBalance(tenantId, customerId);
+            }
+        }
+
+        if (customerRepository.adjustPointBalance(customerId, tenantId, delta) == 0) {
+            // 區分顧客不存在與點數不足
+            currentBalance(tenantId, customerId);
+            throw new BusinessException(ErrorCode.POINT_INSUFFICIENT, "點數不足");
+        }
+
+        // 資料列仍由本交易鎖定，讀到的就是本次異動後的餘額
+        int balanceAfter = currentBalance(tenantId, customerId);
+        pointTransactionRepository.save(buildTransaction(tenantId, customerId, type, delta,
+                balanceAfter, description, idempotencyKey));
+        count(type, 1);
+
+        log.info("點數異動成功，顧客 ID：{}，變動：{}，新餘額：{}", customerId, delta, balanceAfter);
+
+        return balanceAfter;
+    }
+
+    private int currentBalance(String tenantId, String customerId) {
+        return customerRepository.findPointBalance(customerId, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ErrorCode.CUSTOMER_NOT_FOUND, "找不到指定的顧客"
+                ));
+    }
+
+    private PointTransaction buildTransaction(String tenantId, String customerId, String type, int points,
+                                              int balanceAfter, String description, String idempotencyKey) {
+        PointTransaction transaction = PointTransaction.builder()
+                .customerId(customerId)
+                .type(type)
+                .points(points)
+                .balanceAfter(balanceAfter)
+                .description(description)
+                .idempotencyKey(idempotencyKey)
+                .build();
+        transaction.setTenantId(tenantId);
+        return transaction;
+    }
+
+    private void count(String type, int amount) {
+        if (amount == 0) {
+            return;
+        }
+        Counter.builder("points.ledger.entries")
+                .description("點數帳本寫入筆數")
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    private static List<List<String>> partition(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_BATCH_SIZE) {
+            chunks.add(ids.subList(i, Math.min(i + IN_CLAUSE_BATCH_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+}
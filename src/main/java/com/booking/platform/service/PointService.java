@@ -16,6 +16,8 @@ import com.booking.platform.mapper.PointTopUpMapper;
 import com.booking.platform.repository.PointTopUpRepository;
 import com.booking.platform.repository.TenantFeatureRepository;
 import com.booking.platform.repository.TenantRepository;
+import com.booking.platform.repository.support.ListRequest;
+import com.booking.platform.repository.support.ListResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -183,11 +185,11 @@ public class PointService {
     /**
      * 查詢儲值記錄
      *
-     * @param status 狀態篩選
-     * @param pageable 分頁參數
+     * @param status  狀態篩選
+     * @param request 分頁參數
      * @return 分頁結果
      */
-    public PageResponse<PointTopUpResponse> getTopUpList(TopUpStatus status, Pageable pageable) {
+    public PageResponse<PointTopUpResponse> getTopUpList(TopUpStatus status, ListRequest request) {
         // ========================================
         // 1. 取得當前租戶
         // ========================================
@@ -199,19 +201,13 @@ public class PointService {
         // 2. 查詢資料
         // ========================================
 
-        Page<PointTopUp> page;
-        if (status != null) {
-            page = pointTopUpRepository.findByTenantIdAndStatus(tenantId, status, pageable);
-        } else {
-            page = pointTopUpRepository.findByTenantId(tenantId, pageable);
-        }
+        ListResult<PointTopUp> result = pointTopUpRepository.findListByTenant(tenantId, status, request);
 
         // ========================================
         // 3. 轉換並返回
         // ========================================
 
-        Page<PointTopUpResponse> responsePage = page.map(pointTopUpMapper::toResponse);
-        return PageResponse.from(responsePage);
+        return result.toPageResponse(pointTopUpMapper::toResponse);
     }
 
     // ========================================
@@ -15,10 +15,9 @@ import com.booking.platform.enums.TopUpStatus;
 import com.booking.platform.mapper.PointTopUpMapper;
 import com.booking.platform.repository.PointTopUpRepository;
 import com.booking.platform.repository.TenantRepository;
+import com.booking.platform.repository.support.ListRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -53,28 +52,15 @@ public class PointTopUpService {
     public PageResponse<PointTopUpResponse> getAllTopUps(
             TopUpStatus status,
             String tenantId,
-            Pageable pageable
+            ListRequest request
     ) {
-        Page<PointTopUp> page = pointTopUpRepository.findAllWithFilters(status, tenantId, pageable);
-
-        List<PointTopUpResponse> content = page.getContent().stream()
-                .map(topUp -> {
+        return pointTopUpRepository.findListForAdmin(status, tenantId, request)
+                .toPageResponse(topUp -> {
                     String tenantName = tenantRepository.findById(topUp.getTenantId())
                             .map(Tenant::getName)
                             .orElse(null);
                     return pointTopUpMapper.toResponse(topUp, tenantName);
-                })
-                .collect(Collectors.toList());
-
-        return PageResponse.<PointTopUpResponse>builder()
-                .content(content)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
-                .build();
+                });
     }
 
     /**
@@ -143,24 +129,11 @@ public class PointTopUpService {
     /**
      * 取得店家的儲值申請（分頁）
      */
-    public PageResponse<PointTopUpResponse> getTenantTopUps(TopUpStatus status, Pageable pageable) {
+    public PageResponse<PointTopUpResponse> getTenantTopUps(TopUpStatus status, ListRequest request) {
         String tenantId = TenantContext.getTenantId();
 
-        Page<PointTopUp> page = pointTopUpRepository.findByTenantId(tenantId, status, pageable);
-
-        List<PointTopUpResponse> content = page.getContent().stream()
-                .map(pointTopUpMapper::toResponse)
-                .collect(Collectors.toList());
-
-        return PageResponse.<PointTopUpResponse>builder()
-                .content(content)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
-                .build();
+        return pointTopUpRepository.findListByTenant(tenantId, status, request)
+                .toPageResponse(pointTopUpMapper::toResponse);
     }
 
     // ========================================
@@ -16,12 +16,11 @@ import com.booking.platform.repository.CustomerRepository;
 import com.booking.platform.repository.line.LineUserRepository;
 import com.booking.platform.repository.ProductOrderRepository;
 import com.booking.platform.repository.ProductRepository;
+import com.booking.platform.repository.support.ListRequest;
 import com.booking.platform.service.line.LineMessageService;
 import com.booking.platform.service.notification.SseNotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,9 +28,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * 商品訂單服務
@@ -60,30 +57,11 @@ public class ProductOrderService {
     /**
      * 取得訂單列表（分頁）
      */
-    public PageResponse<ProductOrderResponse> getList(ProductOrderStatus status, Pageable pageable) {
+    public PageResponse<ProductOrderResponse> getList(ProductOrderStatus status, ListRequest request) {
         String tenantId = TenantContext.getTenantId();
 
-        Page<ProductOrder> page;
-        if (status != null) {
-            page = orderRepository.findByTenantIdAndStatusAndDeletedAtIsNullOrderByCreatedAtDesc(
-                    tenantId, status, pageable);
-        } else {
-            page = orderRepository.findByTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(tenantId, pageable);
-        }
-
-        List<ProductOrderResponse> content = page.getContent().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-
-        return PageResponse.<ProductOrderResponse>builder()
-                .content(content)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
-                .build();
+        return orderRepository.findList(tenantId, status, request)
+                .toPageResponse(this::toResponse);
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.booking.platform.service;
 
+import com.booking.platform.common.datasource.DataSourceWorkload;
+import com.booking.platform.common.datasource.Workload;
 import com.booking.platform.common.tenant.TenantContext;
 import com.booking.platform.dto.response.DailyReportResponse;
 import com.booking.platform.dto.response.ReportSummaryResponse;
@@ -29,6 +31,7 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
+@DataSourceWorkload(Workload.REPORTING)
 @Transactional(readOnly = true)
 @Slf4j
 public class ReportService {
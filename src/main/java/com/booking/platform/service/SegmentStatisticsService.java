@@ -0,0 +1,289 @@
+package com.booking.platform.service;
+
+import com.booking.platform.dto.response.SegmentStatisticsResponse;
+import com.booking.platform.repository.CustomerRepository;
+import com.booking.platform.repository.StaffRepository;
+import com.booking.platform.repository.line.LineUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 客群統計服務
+ *
+ * <p>會員等級人數、行銷推播目標人數、租戶的員工與顧客數，原本每個等級、每種目標各自 COUNT；
+ * 改為分組查詢一次算出：
+ * <ul>
+ *   <li>{@link #getStatistics} - 單一租戶的等級、標籤、追蹤狀態人數（3 條查詢）</li>
+ *   <li>{@link #getTenantCounts} - 多個租戶的員工、顧客數（管理後台租戶列表，2 條查詢）</li>
+ * </ul>
+ *
+ * <p>結果快取 ttl-seconds；顧客、員工、LINE 用戶異動時由異動端呼叫 {@link #invalidate} 清除（交易提交後再清除一次），
+ * 其他來源（如點數升級等級）以 TTL 為上限
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class SegmentStatisticsService {
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final CustomerRepository customerRepository;
+    private final StaffRepository staffRepository;
+    private final LineUserRepository lineUserRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.segment-statistics.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    /**
+     * 租戶客群統計（key：租戶 ID）
+     */
+    private final Map<String, Entry<Segments>> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * 租戶員工、顧客數（key：租戶 ID）
+     */
+    private final Map<String, Entry<TenantCounts>> tenantCounts = new ConcurrentHashMap<>();
+
+    // ========================================
+    // 查詢方法
+    // ========================================
+
+    /**
+     * 取得租戶客群統計
+     *
+     * @param tenantId 租戶 ID
+     * @return 客群統計
+     */
+    public SegmentStatisticsResponse getStatistics(String tenantId) {
+        return getSegments(tenantId).response();
+    }
+
+    /**
+     * 統計標籤包含指定字串的追蹤中用戶數
+     *
+     * <p>與推播發送時的 {@code tags LIKE '%tag%'} 比對方式一致，以顧客原始標籤字串計算，
+     * 同一用戶多個標籤符合時只算一次
+     *
+     * @param tenantId 租戶 ID
+     * @param tag      標籤
+     * @return 用戶數
+     */
+    public long countFollowersWithTagContaining(String tenantId, String tag) {
+        if (tag == null) {
+            return 0;
+        }
+        return getSegments(tenantId).followersByRawTags().entrySet().stream()
+                .filter(entry -> entry.getKey().contains(tag))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * 批次取得多個租戶的員工、顧客數
+     *
+     * @param tenantIds 租戶 ID 列表
+     * @return 員工、顧客數（key：租戶 ID，每個傳入的租戶都有值）
+     */
+    public Map<String, TenantCounts> getTenantCounts(Collection<String> tenantIds) {
+        long now = System.currentTimeMillis();
+        Map<String, TenantCounts> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String tenantId : tenantIds) {
+            Entry<TenantCounts> cached = tenantCounts.get(tenantId);
+            if (cached != null && cached.expiresAt() > now) {
+                result.put(tenantId, cached.value());
+            } else {
+                missing.add(tenantId);
+            }
+        }
+
+        record("tenant_counts", "hit", result.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        record("tenant_counts", "miss", missing.size());
+
+        Map<String, Long> staffCounts = toCountMap(staffRepository.countByTenantIdInGroupByTenant(missing));
+        Map<String, Long> customerCounts = toCountMap(customerRepository.countByTenantIdInGroupByTenant(missing));
+
+        for (String tenantId : missing) {
+            TenantCounts counts = new TenantCounts(
+                    staffCounts.getOrDefault(tenantId, 0L),
+                    customerCounts.getOrDefault(tenantId, 0L)
+            );
+            tenantCounts.put(tenantId, new Entry<>(counts, now + ttlSeconds * 1000));
+            result.put(tenantId, counts);
+        }
+        return result;
+    }
+
+    // ========================================
+    // 快取清除
+    // ========================================
+
+    /**
+     * 顧客、員工或 LINE 用戶異動
+     *
+     * <p>在交易內呼叫時立即清除一次（同交易後續讀取看到新資料），交易提交後再清除一次：
+     * 提交前其他請求可能已用舊資料重新寫入快取
+     *
+     * @param tenantId 租戶 ID
+     */
+    public void invalidate(String tenantId) {
+        evict(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(tenantId);
+                }
+            });
+        }
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void evict(String tenantId) {
+        statistics.remove(tenantId);
+        tenantCounts.remove(tenantId);
+        log.debug("已清除客群統計快取，租戶：{}", tenantId);
+    }
+
+    private Segments getSegments(String tenantId) {
+        long now = System.currentTimeMillis();
+        Entry<Segments> cached = statistics.get(tenantId);
+        if (cached != null && cached.expiresAt() > now) {
+            record("segments", "hit");
+            return cached.value();
+        }
+
+        record("segments", "miss");
+        Segments value = loadSegments(tenantId);
+        statistics.put(tenantId, new Entry<>(value, now + ttlSeconds * 1000));
+        return value;
+    }
+
+    private Segments loadSegments(String tenantId) {
+        // 顧客：依等級分組（含未設定等級）
+        Map<String, Long> customersByLevel = new HashMap<>();
+        long customerCount = 0;
+        for (Object[] row : customerRepository.countAllByTenantIdGroupByMembershipLevel(tenantId)) {
+            long count = (Long) row[1];
+            customerCount += count;
+            if (row[0] != null) {
+                customersByLevel.put((String) row[0], count);
+            }
+        }
+
+        // LINE 用戶：依等級、標籤、追蹤狀態分組
+        Map<String, Long> followersByLevel = new HashMap<>();
+        Map<String, Long> followersByTag = new HashMap<>();
+        Map<String, Long> followersByRawTags = new HashMap<>();
+        long lineUserCount = 0;
+        long followerCount = 0;
+        for (Object[] row : lineUserRepository.countSegmentsByTenantId(tenantId)) {
+            long count = (Long) row[3];
+            lineUserCount += count;
+            if (!Boolean.TRUE.equals(row[2])) {
+                continue;
+            }
+
+            followerCount += count;
+            if (row[0] != null) {
+                followersByLevel.merge((String) row[0], count, Long::sum);
+            }
+            if (row[1] != null) {
+                followersByRawTags.merge((String) row[1], count, Long::sum);
+                for (String tag : ((String) row[1]).split(",")) {
+                    if (!tag.isBlank()) {
+                        followersByTag.merge(tag.trim(), count, Long::sum);
+                    }
+                }
+            }
+        }
+
+        SegmentStatisticsResponse response = SegmentStatisticsResponse.builder()
+                .tenantId(tenantId)
+                .customerCount(customerCount)
+                .staffCount(staffRepository.countByTenantIdAndDeletedAtIsNull(tenantId))
+                .lineUserCount(lineUserCount)
+                .followerCount(followerCount)
+                .customersByLevel(customersByLevel)
+                .followersByLevel(followersByLevel)
+                .followersByTag(followersByTag)
+                .computedAt(LocalDateTime.now())
+                .build();
+        return new Segments(response, followersByRawTags);
+    }
+
+    private Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private void record(String part, String result) {
+        record(part, result, 1);
+    }
+
+    private void record(String part, String result, int amount) {
+        if (amount == 0) {
+            return;
+        }
+        Counter.builder("segment.statistics.requests")
+                .description("客群統計快取查詢次數")
+                .tag("part", part)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 租戶員工、顧客數
+     */
+    public record TenantCounts(long staffCount, long customerCount) {
+    }
+
+    /**
+     * 客群統計與原始標籤字串人數（key：顧客 tags 欄位原值）
+     */
+    private record Segments(SegmentStatisticsResponse response, Map<String, Long> followersByRawTags) {
+    }
+
+    /**
+     * 快取項目
+     */
+    private record Entry<T>(T value, long expiresAt) {
+    }
+}
@@ -11,6 +11,7 @@ import com.booking.platform.entity.catalog.ServiceItem;
 import com.booking.platform.enums.ServiceStatus;
 import com.booking.platform.mapper.ServiceItemMapper;
 import com.booking.platform.repository.ServiceItemRepository;
+import com.booking.platform.service.ai.AiPromptContextCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -35,6 +36,7 @@ public class ServiceItemService {
 
     private final ServiceItemRepository serviceItemRepository;
     private final ServiceItemMapper serviceItemMapper;
+    private final AiPromptContextCache aiPromptContextCache;
 
     // ========================================
     // 查詢方法
@@ -120,6 +122,7 @@ public class ServiceItemService {
 
         entity.setTenantId(tenantId);
         entity = serviceItemRepository.save(entity);
+        aiPromptContextCache.invalidateServices(tenantId);
 
         log.info("服務項目建立成功，ID：{}", entity.getId());
 
@@ -169,6 +172,7 @@ public class ServiceItemService {
         }
 
         entity = serviceItemRepository.save(entity);
+        aiPromptContextCache.invalidateServices(tenantId);
 
         log.info("服務項目更新成功，ID：{}", entity.getId());
 
@@ -188,6 +192,7 @@ public class ServiceItemService {
 
         entity.softDelete();
         serviceItemRepository.save(entity);
+        aiPromptContextCache.invalidateServices(tenantId);
 
         log.info("服務項目刪除成功，ID：{}", id);
     }
@@ -8,6 +8,7 @@ import com.booking.platform.dto.request.UpdateSettingsRequest;
 import com.booking.platform.dto.response.SettingsResponse;
 import com.booking.platform.entity.tenant.Tenant;
 import com.booking.platform.repository.TenantRepository;
+import com.booking.platform.service.ai.AiPromptContextCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -32,6 +33,7 @@ public class SettingsService {
     // ========================================
 
     private final TenantRepository tenantRepository;
+    private final AiPromptContextCache aiPromptContextCache;
 
     // ========================================
     // 查詢方法
@@ -238,6 +240,7 @@ public class SettingsService {
         // ========================================
 
         tenant = tenantRepository.save(tenant);
+        aiPromptContextCache.invalidateShop(tenantId);
         log.info("店家設定更新成功，租戶 ID：{}", tenantId);
 
         // ========================================
@@ -54,6 +54,7 @@ public class StaffService {
     private final StaffLeaveRepository staffLeaveRepository;
     private final TenantRepository tenantRepository;
     private final StaffMapper staffMapper;
+    private final SegmentStatisticsService segmentStatisticsService;
 
     private static final String[] DAY_OF_WEEK_NAMES = {
             "週日", "週一", "週二", "週三", "週四", "週五", "週六"
@@ -142,6 +143,7 @@ public class StaffService {
 
         entity.setTenantId(tenantId);
         entity = staffRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
 
         log.info("員工建立成功，ID：{}", entity.getId());
 
@@ -198,6 +200,7 @@ public class StaffService {
 
         entity.softDelete();
         staffRepository.save(entity);
+        segmentStatisticsService.invalidate(tenantId);
 
         log.info("員工刪除成功，ID：{}", id);
     }
@@ -1,5 +1,6 @@
 package com.booking.platform.service;
 
+import com.booking.platform.common.entity.IdGenerator;
 import com.booking.platform.common.exception.BusinessException;
 import com.booking.platform.common.exception.ErrorCode;
 import com.booking.platform.common.exception.ResourceNotFoundException;
@@ -12,9 +13,9 @@ import com.booking.platform.dto.response.TenantResponse;
 import com.booking.platform.entity.tenant.Tenant;
 import com.booking.platform.enums.TenantStatus;
 import com.booking.platform.mapper.TenantMapper;
-import com.booking.platform.repository.CustomerRepository;
-import com.booking.platform.repository.StaffRepository;
 import com.booking.platform.repository.TenantRepository;
+import com.booking.platform.service.ai.AiPromptContextCache;
+import com.booking.platform.service.line.LineWebhookRouteCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,6 +24,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 租戶服務
@@ -41,10 +44,11 @@ public class TenantService {
     // ========================================
 
     private final TenantRepository tenantRepository;
-    private final StaffRepository staffRepository;
-    private final CustomerRepository customerRepository;
+    private final SegmentStatisticsService segmentStatisticsService;
     private final TenantMapper tenantMapper;
     private final FeatureService featureService;
+    private final AiPromptContextCache aiPromptContextCache;
+    private final LineWebhookRouteCache webhookRouteCache;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
     // ========================================
@@ -73,7 +77,20 @@ public class TenantService {
         );
 
         // ========================================
-        // 2. 返回結果
+        // 2. 批次填入統計資料
+        // ========================================
+
+        Map<String, SegmentStatisticsService.TenantCounts> counts = segmentStatisticsService.getTenantCounts(
+                page.getContent().stream().map(TenantListItemResponse::getId).toList()
+        );
+        for (TenantListItemResponse item : page.getContent()) {
+            SegmentStatisticsService.TenantCounts tenantCounts = counts.get(item.getId());
+            item.setStaffCount(tenantCounts.staffCount());
+            item.setCustomerCount(tenantCounts.customerCount());
+        }
+
+        // ========================================
+        // 3. 返回結果
         // ========================================
 
         return PageResponse.from(page);
@@ -105,11 +122,10 @@ public class TenantService {
         // 3. 查詢統計資料
         // ========================================
 
-        long staffCount = staffRepository.countByTenantIdAndDeletedAtIsNull(id);
-        long customerCount = customerRepository.countByTenantIdAndDeletedAtIsNull(id);
+        SegmentStatisticsService.TenantCounts counts = segmentStatisticsService.getTenantCounts(List.of(id)).get(id);
 
-        response.setStaffCount(staffCount);
-        response.setCustomerCount(customerCount);
+        response.setStaffCount(counts.staffCount());
+        response.setCustomerCount(counts.customerCount());
 
         // ========================================
         // 4. 返回結果
@@ -179,7 +195,7 @@ public class TenantService {
                 .build();
 
         // 先產生 ID（Tenant 的 tenantId 就是自己的 ID）
-        String tenantId = java.util.UUID.randomUUID().toString();
+        String tenantId = IdGenerator.newId();
         entity.setId(tenantId);
         entity.setTenantId(tenantId);
 
@@ -246,6 +262,7 @@ public class TenantService {
         // ========================================
 
         entity = tenantRepository.save(entity);
+        aiPromptContextCache.invalidateShop(id);
 
         // ========================================
         // 4. 返回結果
@@ -341,6 +358,8 @@ public class TenantService {
 
         entity.softDelete();
         tenantRepository.save(entity);
+        aiPromptContextCache.invalidateShop(id);
+        webhookRouteCache.invalidate(id);
 
         log.info("租戶刪除成功，ID：{}", id);
     }
@@ -1,6 +1,7 @@
 package com.booking.platform.service.ai;
 
 import com.booking.platform.common.config.GroqConfig;
+import com.booking.platform.common.metrics.OutboundHttpMetricsInterceptor;
 import com.booking.platform.entity.tenant.Tenant;
 import com.booking.platform.entity.catalog.ServiceItem;
 import com.booking.platform.entity.customer.Customer;
@@ -46,6 +47,9 @@ public class AiAssistantService {
     private final ServiceItemRepository serviceItemRepository;
     private final CustomerRepository customerRepository;
     private final BookingRepository bookingRepository;
+    private final OutboundHttpMetricsInterceptor outboundHttpMetricsInterceptor;
+    private final AiPromptContextCache promptContextCache;
+    private final AiFaqCache faqCache;
 
     /**
      * 系統提示詞模板
@@ -163,8 +167,20 @@ public class AiAssistantService {
         }
 
         try {
+            // 常見問題（營業時間、價格、地址等）直接使用快取回覆，不呼叫 LLM
+            // 已綁定會員的顧客，提示詞帶有姓名、點數與預約次數，回覆可能包含個人資料，不查詢也不寫入快取
+            boolean faqCacheable = customerId == null;
+            if (faqCacheable) {
+                Optional<AiResponse> cached = faqCache.lookup(tenantId, userMessage);
+                if (cached.isPresent()) {
+                    log.debug("AI 常見問題快取命中，租戶：{}", tenantId);
+                    return cached.get();
+                }
+            }
+
             // 建立系統提示詞
-            String systemPrompt = buildSystemPrompt(tenantId, customerId);
+            String customerInfo = getCustomerInfo(tenantId, customerId);
+            String systemPrompt = buildSystemPrompt(tenantId, customerInfo);
 
             // 呼叫 Groq API
             String rawResponse = callGroqApi(systemPrompt, userMessage);
@@ -172,6 +188,10 @@ public class AiAssistantService {
             // 解析回覆，提取選單標記
             AiResponse response = parseResponse(rawResponse);
 
+            if (faqCacheable) {
+                faqCache.store(tenantId, userMessage, response);
+            }
+
             log.info("AI 回覆成功，租戶：{}，顯示選單：{}，訊息長度：{}",
                     tenantId, response.showMenu(), response.text().length());
             return response;
@@ -249,32 +269,26 @@ public class AiAssistantService {
 
     /**
      * 建立系統提示詞
+     *
+     * <p>店家資訊與服務項目取自快取，只有異動後的第一次呼叫會查詢資料庫
      */
-    private String buildSystemPrompt(String tenantId, String customerId) {
+    private String buildSystemPrompt(String tenantId, String customerInfo) {
         // 取得店家資訊
-        String shopInfo = getShopInfo(tenantId);
+        AiPromptContextCache.ShopInfo shopInfo = promptContextCache.getShopInfo(tenantId, () -> loadShopInfo(tenantId));
 
         // 取得服務項目
-        String serviceInfo = getServiceInfo(tenantId);
-
-        // 取得顧客資訊
-        String customerInfo = getCustomerInfo(tenantId, customerId);
+        String serviceInfo = promptContextCache.getServiceInfo(tenantId, () -> loadServiceInfo(tenantId));
 
-        // 取得店家名稱
-        String shopName = tenantRepository.findByIdAndDeletedAtIsNull(tenantId)
-                .map(Tenant::getName)
-                .orElse("店家");
-
-        return String.format(SYSTEM_PROMPT_TEMPLATE, shopName, shopInfo, serviceInfo, customerInfo);
+        return String.format(SYSTEM_PROMPT_TEMPLATE, shopInfo.name(), shopInfo.description(), serviceInfo, customerInfo);
     }
 
     /**
-     * 取得店家資訊
+     * 載入店家資訊（店名與提示詞段落，只查詢一次租戶）
      */
-    private String getShopInfo(String tenantId) {
+    private AiPromptContextCache.ShopInfo loadShopInfo(String tenantId) {
         Optional<Tenant> tenantOpt = tenantRepository.findByIdAndDeletedAtIsNull(tenantId);
         if (tenantOpt.isEmpty()) {
-            return "店家資訊不可用";
+            return new AiPromptContextCache.ShopInfo("店家", "店家資訊不可用");
         }
 
         Tenant tenant = tenantOpt.get();
@@ -293,13 +307,13 @@ public class AiAssistantService {
         // 營業時間（從設定取得，這裡用預設值）
         sb.append("- 營業時間：週一至週日 10:00-20:00（請以實際公告為準）\n");
 
-        return sb.toString();
+        return new AiPromptContextCache.ShopInfo(tenant.getName(), sb.toString());
     }
 
     /**
-     * 取得服務項目資訊
+     * 載入服務項目資訊
      */
-    private String getServiceInfo(String tenantId) {
+    private String loadServiceInfo(String tenantId) {
         List<ServiceItem> services = serviceItemRepository
                 .findByTenantIdAndStatusAndDeletedAtIsNull(tenantId, ServiceStatus.ACTIVE);
 
@@ -323,6 +337,14 @@ public class AiAssistantService {
         if (customerId == null) {
             return "新顧客（尚未建立會員資料）";
         }
+        return promptContextCache.getCustomerSummary(tenantId, customerId,
+                () -> loadCustomerInfo(tenantId, customerId));
+    }
+
+    /**
+     * 載入顧客資訊
+     */
+    private String loadCustomerInfo(String tenantId, String customerId) {
 
         Optional<Customer> customerOpt = customerRepository
                 .findByIdAndTenantIdAndDeletedAtIsNull(customerId, tenantId);
@@ -376,6 +398,7 @@ public class AiAssistantService {
             factory.setConnectTimeout(5000);
             factory.setReadTimeout(8000);
             RestTemplate timeoutTemplate = new RestTemplate(factory);
+            timeoutTemplate.getInterceptors().add(outboundHttpMetricsInterceptor);
 
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
             ResponseEntity<String> response = timeoutTemplate.exchange(
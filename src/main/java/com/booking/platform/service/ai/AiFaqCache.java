@@ -0,0 +1,281 @@
+package com.booking.platform.service.ai;
+
+import com.booking.platform.common.config.GroqConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AI 常見問題回覆快取
+ *
+ * <p>營業時間、價格、地址等問題的答案只取決於店家資料，不同顧客問同樣的問題不必每次呼叫 LLM
+ *
+ * <p>比對方式：
+ * <ul>
+ *   <li>問題先正規化（全半形、大小寫、標點、語助詞），相同即命中</li>
+ *   <li>否則以字元二元組（bigram）計算 Jaccard 相似度，超過門檻且只是增減字、
+ *       沒有替換字（例如「男生剪髮」與「女生剪髮」）時視為同一問題</li>
+ * </ul>
+ *
+ * <p>只快取命中主題關鍵字的問題，店家或服務異動時整個租戶清除。
+ * 呼叫端只在提示詞不含顧客資料（未綁定會員）時查詢與寫入，快取的回覆不會帶有任何顧客的個人資料
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AiFaqCache {
+
+    private final GroqConfig groqConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 可快取的問題主題關鍵字（營業時間、價格、地址、電話、服務項目）
+     */
+    private static final String[] FAQ_KEYWORDS = {
+            "營業", "幾點", "開門", "關門", "休息", "公休", "時間",
+            "多少錢", "價格", "價錢", "費用", "收費", "價目",
+            "地址", "在哪", "位置", "怎麼去", "停車",
+            "電話", "聯絡",
+            "服務項目", "有什麼服務", "有哪些服務"
+    };
+
+    /**
+     * 正規化時移除的語助詞與客套用語
+     */
+    private static final String[] FILLER_WORDS = {
+            "請問", "想問", "你們", "您們", "你好", "您好", "一下", "嗎", "呢", "啊", "呀", "喔", "哦", "吧", "的"
+    };
+
+    /**
+     * 各租戶的快取（key：租戶 ID）
+     */
+    private final Map<String, TenantFaq> tenants = new ConcurrentHashMap<>();
+
+    // ========================================
+    // 查詢與寫入
+    // ========================================
+
+    /**
+     * 查詢快取的回覆
+     *
+     * @param tenantId 租戶 ID
+     * @param question 顧客問題
+     * @return 快取的回覆，非常見問題或未命中時為空
+     */
+    public Optional<AiAssistantService.AiResponse> lookup(String tenantId, String question) {
+        if (!isFaq(question)) {
+            return Optional.empty();
+        }
+
+        String normalized = normalize(question);
+        TenantFaq faq = tenants.get(tenantId);
+        if (faq == null || normalized.isEmpty()) {
+            record("miss");
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (faq) {
+            // 完全相同
+            FaqEntry exact = faq.entries.get(normalized);
+            if (exact != null && exact.expiresAt > now) {
+                record("hit");
+                return Optional.of(exact.response);
+            }
+
+            // 近似問題
+            int[] bigrams = bigrams(normalized);
+            int[] chars = chars(normalized);
+            double threshold = groqConfig.getCache().getFaqSimilarity();
+            for (FaqEntry entry : faq.entries.values()) {
+                if (entry.expiresAt > now
+                        && similarity(bigrams, entry.bigrams) >= threshold
+                        && (containsAll(chars, entry.chars) || containsAll(entry.chars, chars))) {
+                    record("near_hit");
+                    log.debug("AI 常見問題近似命中，租戶：{}，問題：{}，快取：{}", tenantId, normalized, entry.normalized);
+                    return Optional.of(entry.response);
+                }
+            }
+        }
+
+        record("miss");
+        return Optional.empty();
+    }
+
+    /**
+     * 寫入回覆
+     *
+     * @param tenantId 租戶 ID
+     * @param question 顧客問題
+     * @param response AI 回覆
+     */
+    public void store(String tenantId, String question, AiAssistantService.AiResponse response) {
+        if (!isFaq(question) || response == null || response.text().isEmpty()) {
+            return;
+        }
+
+        String normalized = normalize(question);
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        GroqConfig.Cache config = groqConfig.getCache();
+        TenantFaq faq = tenants.computeIfAbsent(tenantId, k -> new TenantFaq(config.getFaqMaxEntriesPerTenant()));
+        long expiresAt = System.currentTimeMillis() + config.getFaqTtlSeconds() * 1000;
+        synchronized (faq) {
+            faq.entries.put(normalized,
+                    new FaqEntry(normalized, bigrams(normalized), chars(normalized), response, expiresAt));
+        }
+    }
+
+    /**
+     * 清除租戶的快取（店家資訊或服務項目異動時）
+     *
+     * @param tenantId 租戶 ID
+     */
+    public void invalidateTenant(String tenantId) {
+        tenants.remove(tenantId);
+    }
+
+    // ========================================
+    // 文字指紋
+    // ========================================
+
+    /**
+     * 是否為可快取的常見問題
+     */
+    static boolean isFaq(String question) {
+        if (question == null) {
+            return false;
+        }
+        for (String keyword : FAQ_KEYWORDS) {
+            if (question.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 正規化問題：全形轉半形、小寫、移除標點空白與語助詞
+     */
+    static String normalize(String question) {
+        String text = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase();
+        for (String filler : FILLER_WORDS) {
+            text = text.replace(filler, "");
+        }
+        return text.replaceAll("[^\\p{L}\\p{N}]", "");
+    }
+
+    /**
+     * 字元二元組（排序後去重的 hash 陣列）
+     */
+    static int[] bigrams(String text) {
+        if (text.length() < 2) {
+            return new int[]{text.hashCode()};
+        }
+        int[] grams = new int[text.length() - 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = text.charAt(i) * 31 + text.charAt(i + 1);
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    /**
+     * 使用的字元（排序後去重）
+     */
+    static int[] chars(String text) {
+        return text.chars().sorted().distinct().toArray();
+    }
+
+    /**
+     * a 是否包含 b 的所有元素（兩個已排序陣列）
+     */
+    static boolean containsAll(int[] a, int[] b) {
+        int i = 0;
+        for (int value : b) {
+            while (i < a.length && a[i] < value) {
+                i++;
+            }
+            if (i == a.length || a[i] != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Jaccard 相似度（兩個已排序陣列）
+     */
+    static double similarity(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - common;
+        return union == 0 ? 0 : (double) common / union;
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void record(String result) {
+        Counter.builder("ai.cache.requests")
+                .description("AI 快取查詢次數")
+                .tag("cache", "faq")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 快取項目
+     */
+    private record FaqEntry(String normalized, int[] bigrams, int[] chars,
+                            AiAssistantService.AiResponse response, long expiresAt) {
+    }
+
+    /**
+     * 單一租戶的快取（LRU，超過上限淘汰最久未使用）
+     */
+    private static final class TenantFaq {
+
+        private final LinkedHashMap<String, FaqEntry> entries;
+
+        private TenantFaq(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FaqEntry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.booking.platform.service.ai;
+
+import com.booking.platform.common.cache.LocalCacheInvalidator;
+import com.booking.platform.common.config.GroqConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * AI 系統提示詞上下文快取
+ *
+ * <p>系統提示詞由店家資訊、服務項目、顧客摘要三段組成，每段分開快取、分開失效：
+ * <ul>
+ *   <li>店家資訊：店家設定或租戶資料異動時清除（{@link #invalidateShop}）</li>
+ *   <li>服務項目：服務新增、修改、刪除時清除（{@link #invalidateServices}）</li>
+ *   <li>顧客摘要：短時間快取（點數、預約次數變動頻繁，不主動清除）</li>
+ * </ul>
+ *
+ * <p>店家或服務異動時一併清除 {@link AiFaqCache}，避免回覆舊的價格或營業資訊。
+ * 清除經 {@link LocalCacheInvalidator} 在交易提交後再執行一次並通知其他實例
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AiPromptContextCache {
+
+    private static final String SHOP_CACHE = "ai-prompt-shop";
+    private static final String SERVICES_CACHE = "ai-prompt-services";
+
+    private final GroqConfig groqConfig;
+    private final MeterRegistry meterRegistry;
+    private final AiFaqCache faqCache;
+    private final LocalCacheInvalidator cacheInvalidator;
+
+    /**
+     * 店家資訊（key：租戶 ID）
+     */
+    private final Map<String, Entry<ShopInfo>> shopInfos = new ConcurrentHashMap<>();
+
+    /**
+     * 服務項目說明（key：租戶 ID）
+     */
+    private final Map<String, Entry<String>> serviceInfos = new ConcurrentHashMap<>();
+
+    /**
+     * 顧客摘要（key：租戶 ID + 顧客 ID）
+     */
+    private final Map<String, Entry<String>> customerSummaries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidator.register(SHOP_CACHE, this::evictShop);
+        cacheInvalidator.register(SERVICES_CACHE, this::evictServices);
+    }
+
+    // ========================================
+    // 查詢方法
+    // ========================================
+
+    /**
+     * 取得店家資訊
+     *
+     * @param tenantId 租戶 ID
+     * @param loader   未命中時的載入方法
+     * @return 店家資訊
+     */
+    public ShopInfo getShopInfo(String tenantId, Supplier<ShopInfo> loader) {
+        return get(shopInfos, tenantId, groqConfig.getCache().getContextTtlSeconds(), loader, "shop");
+    }
+
+    /**
+     * 取得服務項目說明
+     *
+     * @param tenantId 租戶 ID
+     * @param loader   未命中時的載入方法
+     * @return 服務項目說明
+     */
+    public String getServiceInfo(String tenantId, Supplier<String> loader) {
+        return get(serviceInfos, tenantId, groqConfig.getCache().getContextTtlSeconds(), loader, "services");
+    }
+
+    /**
+     * 取得顧客摘要
+     *
+     * @param tenantId   租戶 ID
+     * @param customerId 顧客 ID
+     * @param loader     未命中時的載入方法
+     * @return 顧客摘要
+     */
+    public String getCustomerSummary(String tenantId, String customerId, Supplier<String> loader) {
+        GroqConfig.Cache config = groqConfig.getCache();
+        if (customerSummaries.size() >= config.getCustomerMaxEntries()) {
+            long now = System.currentTimeMillis();
+            customerSummaries.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (customerSummaries.size() >= config.getCustomerMaxEntries()) {
+                customerSummaries.clear();
+            }
+        }
+        return get(customerSummaries, tenantId + ":" + customerId, config.getCustomerTtlSeconds(), loader, "customer");
+    }
+
+    // ========================================
+    // 快取清除
+    // ========================================
+
+    /**
+     * 店家資訊異動（名稱、電話、地址等）
+     *
+     * @param tenantId 租戶 ID
+     */
+    public void invalidateShop(String tenantId) {
+        cacheInvalidator.invalidate(SHOP_CACHE, tenantId);
+    }
+
+    /**
+     * 服務項目異動
+     *
+     * @param tenantId 租戶 ID
+     */
+    public void invalidateServices(String tenantId) {
+        cacheInvalidator.invalidate(SERVICES_CACHE, tenantId);
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void evictShop(String tenantId) {
+        shopInfos.remove(tenantId);
+        faqCache.invalidateTenant(tenantId);
+        log.debug("已清除 AI 店家資訊快取，租戶：{}", tenantId);
+    }
+
+    private void evictServices(String tenantId) {
+        serviceInfos.remove(tenantId);
+        faqCache.invalidateTenant(tenantId);
+        log.debug("已清除 AI 服務項目快取，租戶：{}", tenantId);
+    }
+
+    private <T> T get(Map<String, Entry<T>> cache, String key, long ttlSeconds, Supplier<T> loader, String part) {
+        long now = System.currentTimeMillis();
+        Entry<T> cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            record(part, "hit");
+            return cached.value();
+        }
+
+        record(part, "miss");
+        T value = loader.get();
+        cache.put(key, new Entry<>(value, now + ttlSeconds * 1000));
+        return value;
+    }
+
+    private void record(String part, String result) {
+        Counter.builder("ai.cache.requests")
+                .description("AI 快取查詢次數")
+                .tag("cache", "prompt_" + part)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 店家資訊
+     *
+     * @param name        店名
+     * @param description 提示詞中的店家資訊段落
+     */
+    public record ShopInfo(String name, String description) {
+    }
+
+    /**
+     * 快取項目
+     */
+    private record Entry<T>(T value, long expiresAt) {
+    }
+}
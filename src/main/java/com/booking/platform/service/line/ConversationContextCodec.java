@@ -0,0 +1,393 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.dto.line.ConversationContext;
+import com.booking.platform.enums.line.ConversationState;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * 對話上下文精簡編碼
+ *
+ * <p>取代通用 JSON 序列化（含類別名稱、日期字串、多型解析），每則 LINE 訊息讀寫一次，
+ * Redis 記憶體與編解碼 CPU 都較省
+ *
+ * <p>格式：
+ * <pre>
+ * [MAGIC][版本] ( [欄位標籤][值] )* [0]
+ * 欄位標籤 = varint(欄位編號 &lt;&lt; 3 | 類型)，類型 0 = varint，2 = 長度 + UTF-8 字串
+ * </pre>
+ * <ul>
+ *   <li>null 欄位不寫入；整數以 zigzag varint 編碼，日期為 epoch day，時間為當日秒數</li>
+ *   <li>對話狀態以名稱儲存，enum 調整順序不影響；不認得的狀態視為 IDLE</li>
+ *   <li>不認得的欄位依類型略過：新版本新增欄位時，尚未更新的節點仍可讀取（新增欄位只能用新編號，不可重用）</li>
+ *   <li>第一個 byte 不是 MAGIC 時改用舊的 JSON 序列化器讀取，升級前寫入的資料仍可讀</li>
+ * </ul>
+ *
+ * <p>滾動部署時先以 line.conversation.compact-codec=false 部署（只寫 JSON、兩種都可讀），
+ * 所有節點更新後再開啟
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public class ConversationContextCodec implements RedisSerializer<ConversationContext> {
+
+    /**
+     * 格式識別（JSON 以 '{' 或 '[' 開頭，不會衝突）
+     */
+    static final byte MAGIC = (byte) 0xC7;
+
+    /**
+     * 目前的格式版本
+     */
+    static final byte VERSION = 1;
+
+    private static final int TYPE_VARINT = 0;
+    private static final int TYPE_STRING = 2;
+
+    // ========================================
+    // 欄位編號（只可新增，不可修改或重用）
+    // ========================================
+
+    private static final int TENANT_ID = 1;
+    private static final int LINE_USER_ID = 2;
+    private static final int CUSTOMER_ID = 3;
+    private static final int STATE = 4;
+    private static final int STATE_CHANGED_AT_SECONDS = 5;
+    private static final int STATE_CHANGED_AT_NANOS = 6;
+    private static final int CATEGORY_ID = 7;
+    private static final int CATEGORY_NAME = 8;
+    private static final int SERVICE_ID = 9;
+    private static final int SERVICE_NAME = 10;
+    private static final int SERVICE_DURATION = 11;
+    private static final int SERVICE_PRICE = 12;
+    private static final int SERVICE_REQUIRES_STAFF = 13;
+    private static final int STAFF_ID = 14;
+    private static final int STAFF_NAME = 15;
+    private static final int DATE = 16;
+    private static final int TIME_SECONDS = 17;
+    private static final int TIME_NANOS = 18;
+    private static final int CANCEL_BOOKING_ID = 19;
+    private static final int CUSTOMER_NOTE = 20;
+    private static final int PRODUCT_ID = 21;
+    private static final int PRODUCT_NAME = 22;
+    private static final int PRODUCT_PRICE = 23;
+    private static final int QUANTITY = 24;
+    private static final int COUPON_ID = 25;
+    private static final int COUPON_NAME = 26;
+    private static final int PREVIOUS_STATE = 27;
+
+    private final RedisSerializer<Object> legacySerializer;
+    private final boolean writeCompact;
+
+    /**
+     * @param legacySerializer 舊的 JSON 序列化器（讀取升級前的資料、未開啟精簡編碼時寫入）
+     * @param writeCompact     是否以精簡格式寫入
+     */
+    public ConversationContextCodec(RedisSerializer<Object> legacySerializer, boolean writeCompact) {
+        this.legacySerializer = legacySerializer;
+        this.writeCompact = writeCompact;
+    }
+
+    // ========================================
+    // RedisSerializer
+    // ========================================
+
+    @Override
+    public byte[] serialize(ConversationContext context) throws SerializationException {
+        if (context == null) {
+            return new byte[0];
+        }
+        return writeCompact ? encode(context) : legacySerializer.serialize(context);
+    }
+
+    @Override
+    public ConversationContext deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == MAGIC) {
+            return decode(bytes);
+        }
+
+        Object legacy = legacySerializer.deserialize(bytes);
+        if (legacy instanceof ConversationContext context) {
+            return context;
+        }
+        throw new SerializationException("無法辨識的對話上下文格式");
+    }
+
+    // ========================================
+    // 編碼
+    // ========================================
+
+    /**
+     * 以精簡格式編碼
+     *
+     * @param context 對話上下文
+     * @return 編碼結果
+     */
+    public byte[] encode(ConversationContext context) {
+        Writer out = new Writer();
+        out.raw(MAGIC);
+        out.raw(VERSION);
+
+        out.string(TENANT_ID, context.getTenantId());
+        out.string(LINE_USER_ID, context.getLineUserId());
+        out.string(CUSTOMER_ID, context.getCustomerId());
+        out.string(STATE, context.getState() != null ? context.getState().name() : null);
+        if (context.getStateChangedAt() != null) {
+            out.number(STATE_CHANGED_AT_SECONDS, context.getStateChangedAt().toEpochSecond(ZoneOffset.UTC));
+            out.nonZero(STATE_CHANGED_AT_NANOS, context.getStateChangedAt().getNano());
+        }
+
+        out.string(CATEGORY_ID, context.getSelectedCategoryId());
+        out.string(CATEGORY_NAME, context.getSelectedCategoryName());
+        out.string(SERVICE_ID, context.getSelectedServiceId());
+        out.string(SERVICE_NAME, context.getSelectedServiceName());
+        out.number(SERVICE_DURATION, context.getSelectedServiceDuration());
+        out.number(SERVICE_PRICE, context.getSelectedServicePrice());
+        if (context.getSelectedServiceRequiresStaff() != null) {
+            out.number(SERVICE_REQUIRES_STAFF, context.getSelectedServiceRequiresStaff() ? 1 : 0);
+        }
+        out.string(STAFF_ID, context.getSelectedStaffId());
+        out.string(STAFF_NAME, context.getSelectedStaffName());
+        if (context.getSelectedDate() != null) {
+            out.number(DATE, context.getSelectedDate().toEpochDay());
+        }
+        if (context.getSelectedTime() != null) {
+            out.number(TIME_SECONDS, context.getSelectedTime().toSecondOfDay());
+            out.nonZero(TIME_NANOS, context.getSelectedTime().getNano());
+        }
+        out.string(CANCEL_BOOKING_ID, context.getCancelBookingId());
+        out.string(CUSTOMER_NOTE, context.getCustomerNote());
+
+        out.string(PRODUCT_ID, context.getSelectedProductId());
+        out.string(PRODUCT_NAME, context.getSelectedProductName());
+        out.number(PRODUCT_PRICE, context.getSelectedProductPrice());
+        out.number(QUANTITY, context.getSelectedQuantity());
+        out.string(COUPON_ID, context.getSelectedCouponId());
+        out.string(COUPON_NAME, context.getSelectedCouponName());
+        out.string(PREVIOUS_STATE, context.getPreviousState() != null ? context.getPreviousState().name() : null);
+
+        out.varint(0);
+        return out.toByteArray();
+    }
+
+    // ========================================
+    // 解碼
+    // ========================================
+
+    /**
+     * 解碼精簡格式
+     *
+     * @param bytes 編碼結果
+     * @return 對話上下文
+     */
+    public ConversationContext decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        if (in.raw() != MAGIC) {
+            throw new SerializationException("對話上下文格式錯誤");
+        }
+        // 版本只用於診斷：欄位皆有標籤，新舊版本可互相讀取
+        in.raw();
+
+        ConversationContext context = new ConversationContext();
+        context.setState(null);
+        long stateChangedAtSeconds = Long.MIN_VALUE;
+        int stateChangedAtNanos = 0;
+        int timeSeconds = -1;
+        int timeNanos = 0;
+
+        int tag;
+        while ((tag = (int) in.varint()) != 0) {
+            int field = tag >>> 3;
+            int type = tag & 0x7;
+
+            switch (field) {
+                case TENANT_ID -> context.setTenantId(in.string(type));
+                case LINE_USER_ID -> context.setLineUserId(in.string(type));
+                case CUSTOMER_ID -> context.setCustomerId(in.string(type));
+                case STATE -> context.setState(state(in.string(type)));
+                case STATE_CHANGED_AT_SECONDS -> stateChangedAtSeconds = in.number(type);
+                case STATE_CHANGED_AT_NANOS -> stateChangedAtNanos = (int) in.number(type);
+                case CATEGORY_ID -> context.setSelectedCategoryId(in.string(type));
+                case CATEGORY_NAME -> context.setSelectedCategoryName(in.string(type));
+                case SERVICE_ID -> context.setSelectedServiceId(in.string(type));
+                case SERVICE_NAME -> context.setSelectedServiceName(in.string(type));
+                case SERVICE_DURATION -> context.setSelectedServiceDuration((int) in.number(type));
+                case SERVICE_PRICE -> context.setSelectedServicePrice((int) in.number(type));
+                case SERVICE_REQUIRES_STAFF -> context.setSelectedServiceRequiresStaff(in.number(type) != 0);
+                case STAFF_ID -> context.setSelectedStaffId(in.string(type));
+                case STAFF_NAME -> context.setSelectedStaffName(in.string(type));
+                case DATE -> context.setSelectedDate(LocalDate.ofEpochDay(in.number(type)));
+                case TIME_SECONDS -> timeSeconds = (int) in.number(type);
+                case TIME_NANOS -> timeNanos = (int) in.number(type);
+                case CANCEL_BOOKING_ID -> context.setCancelBookingId(in.string(type));
+                case CUSTOMER_NOTE -> context.setCustomerNote(in.string(type));
+                case PRODUCT_ID -> context.setSelectedProductId(in.string(type));
+                case PRODUCT_NAME -> context.setSelectedProductName(in.string(type));
+                case PRODUCT_PRICE -> context.setSelectedProductPrice((int) in.number(type));
+                case QUANTITY -> context.setSelectedQuantity((int) in.number(type));
+                case COUPON_ID -> context.setSelectedCouponId(in.string(type));
+                case COUPON_NAME -> context.setSelectedCouponName(in.string(type));
+                case PREVIOUS_STATE -> context.setPreviousState(state(in.string(type)));
+                default -> in.skip(type);
+            }
+        }
+
+        if (stateChangedAtSeconds != Long.MIN_VALUE) {
+            context.setStateChangedAt(LocalDateTime.ofEpochSecond(stateChangedAtSeconds, stateChangedAtNanos, ZoneOffset.UTC));
+        }
+        if (timeSeconds >= 0) {
+            context.setSelectedTime(LocalTime.ofSecondOfDay(timeSeconds).withNano(timeNanos));
+        }
+        return context;
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private static ConversationState state(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return ConversationState.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            // 新版本新增的狀態，舊節點回到初始狀態
+            return ConversationState.IDLE;
+        }
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 寫入緩衝
+     */
+    private static class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+
+        void raw(byte value) {
+            out.write(value);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        void tag(int field, int type) {
+            varint(((long) field << 3) | type);
+        }
+
+        void number(int field, Number value) {
+            if (value != null) {
+                tag(field, TYPE_VARINT);
+                long v = value.longValue();
+                varint((v << 1) ^ (v >> 63));
+            }
+        }
+
+        void nonZero(int field, int value) {
+            if (value != 0) {
+                number(field, value);
+            }
+        }
+
+        void string(int field, String value) {
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                tag(field, TYPE_STRING);
+                varint(bytes.length);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 讀取游標
+     */
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte raw() {
+            ensure(1);
+            return bytes[position++];
+        }
+
+        long varint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = raw();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("對話上下文格式錯誤：varint 過長");
+        }
+
+        long number(int type) {
+            expect(type, TYPE_VARINT);
+            long v = varint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String string(int type) {
+            expect(type, TYPE_STRING);
+            int length = (int) varint();
+            ensure(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void skip(int type) {
+            switch (type) {
+                case TYPE_VARINT -> varint();
+                case TYPE_STRING -> {
+                    int length = (int) varint();
+                    ensure(length);
+                    position += length;
+                }
+                default -> throw new SerializationException("對話上下文格式錯誤：未知類型 " + type);
+            }
+        }
+
+        private void expect(int type, int expected) {
+            if (type != expected) {
+                throw new SerializationException("對話上下文格式錯誤：類型 " + type + "，預期 " + expected);
+            }
+        }
+
+        private void ensure(int length) {
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("對話上下文格式錯誤：資料不完整");
+            }
+        }
+    }
+}
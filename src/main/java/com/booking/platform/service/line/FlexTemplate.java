@@ -0,0 +1,205 @@
+package com.booking.platform.service.line;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 預先序列化的 Flex Message 模板
+ *
+ * <p>Flex 選單的結構（Header 顏色、標題、Hero 圖片、按鈕樣式）在租戶設定不變時都相同，
+ * 每次只有日期、時段、預約內容等少數欄位不同。這裡把骨架序列化一次，
+ * 切成固定片段與具型別的洞，渲染時只需串接片段並填入值，不必重建整棵 JsonNode 樹
+ *
+ * <p>洞的型別：
+ * <ul>
+ *   <li>字串洞 {@link #stringHole(String)}：填入時做 JSON 跳脫並加上引號，null 輸出 {@code null}</li>
+ *   <li>原始洞 {@link #rawHole(String)}：直接填入已渲染好的 JSON 片段（如陣列內容）</li>
+ * </ul>
+ *
+ * <p>骨架中以佔位字串標記洞的位置，例如 {@code bubble.put("text", FlexTemplate.stringHole("date"))}；
+ * 只有編譯時宣告的洞名會被辨識，其他文字（包含租戶自訂內容）一律視為固定片段
+ *
+ * <p>模板編譯後不可變，可安全地在多執行緒間共用
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+public final class FlexTemplate {
+
+    private static final String STRING_PREFIX = "{{s:";
+    private static final String RAW_PREFIX = "{{r:";
+    private static final String SUFFIX = "}}";
+
+    /**
+     * 固定片段（數量為洞數 + 1）
+     */
+    private final String[] segments;
+
+    /**
+     * 每個洞對應的值索引（依 render 參數順序）
+     */
+    private final int[] holeIndexes;
+
+    /**
+     * 每個洞是否為字串洞
+     */
+    private final boolean[] holeQuoted;
+
+    /**
+     * 固定片段總長度（用於預估輸出大小）
+     */
+    private final int staticLength;
+
+    private FlexTemplate(String[] segments, int[] holeIndexes, boolean[] holeQuoted) {
+        this.segments = segments;
+        this.holeIndexes = holeIndexes;
+        this.holeQuoted = holeQuoted;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    // ========================================
+    // 佔位字串
+    // ========================================
+
+    /**
+     * 字串洞佔位字串
+     *
+     * @param name 洞名
+     * @return 放在骨架中的佔位字串
+     */
+    public static String stringHole(String name) {
+        return STRING_PREFIX + name + SUFFIX;
+    }
+
+    /**
+     * 原始 JSON 洞佔位字串
+     *
+     * @param name 洞名
+     * @return 放在骨架中的佔位字串
+     */
+    public static String rawHole(String name) {
+        return RAW_PREFIX + name + SUFFIX;
+    }
+
+    // ========================================
+    // 編譯
+    // ========================================
+
+    /**
+     * 編譯模板
+     *
+     * @param objectMapper JSON 序列化器
+     * @param skeleton     含佔位字串的骨架
+     * @param holeNames    洞名（順序即 {@link #render(String...)} 的參數順序）
+     * @return 編譯後的模板
+     * @throws IllegalStateException 骨架無法序列化
+     */
+    public static FlexTemplate compile(ObjectMapper objectMapper, JsonNode skeleton, String... holeNames) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(skeleton);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Flex 模板序列化失敗", e);
+        }
+
+        List<String> names = Arrays.asList(holeNames);
+        List<String> segments = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<Boolean> quoted = new ArrayList<>();
+
+        int segmentStart = 0;
+        int cursor = 0;
+        while (true) {
+            int open = json.indexOf("\"{{", cursor);
+            if (open < 0) {
+                break;
+            }
+            int close = json.indexOf(SUFFIX + "\"", open);
+            if (close < 0) {
+                break;
+            }
+
+            // "{{s:name}}" → 去掉前後引號
+            String marker = json.substring(open + 1, close + SUFFIX.length());
+            boolean isString = marker.startsWith(STRING_PREFIX);
+            boolean isRaw = marker.startsWith(RAW_PREFIX);
+            int index = (isString || isRaw)
+                    ? names.indexOf(marker.substring(STRING_PREFIX.length(), marker.length() - SUFFIX.length()))
+                    : -1;
+
+            if (index < 0 || (open > 0 && json.charAt(open - 1) == '\\')) {
+                // 不是宣告過的洞，當作一般文字
+                cursor = open + 1;
+                continue;
+            }
+
+            segments.add(json.substring(segmentStart, open));
+            indexes.add(index);
+            quoted.add(isString);
+            segmentStart = close + SUFFIX.length() + 1;
+            cursor = segmentStart;
+        }
+        segments.add(json.substring(segmentStart));
+
+        int[] holeIndexes = new int[indexes.size()];
+        boolean[] holeQuoted = new boolean[quoted.size()];
+        for (int i = 0; i < holeIndexes.length; i++) {
+            holeIndexes[i] = indexes.get(i);
+            holeQuoted[i] = quoted.get(i);
+        }
+        return new FlexTemplate(segments.toArray(new String[0]), holeIndexes, holeQuoted);
+    }
+
+    // ========================================
+    // 渲染
+    // ========================================
+
+    /**
+     * 渲染為 JSON 字串
+     *
+     * @param values 洞的值（順序同編譯時的 holeNames）
+     * @return JSON 字串
+     */
+    public String render(String... values) {
+        int estimate = staticLength;
+        for (String value : values) {
+            estimate += value != null ? value.length() + 8 : 4;
+        }
+        StringBuilder out = new StringBuilder(estimate);
+        renderTo(out, values);
+        return out.toString();
+    }
+
+    /**
+     * 渲染並附加到既有的 StringBuilder（用於串接多個模板）
+     *
+     * @param out    輸出
+     * @param values 洞的值（順序同編譯時的 holeNames）
+     */
+    public void renderTo(StringBuilder out, String... values) {
+        for (int i = 0; i < holeIndexes.length; i++) {
+            out.append(segments[i]);
+            String value = values[holeIndexes[i]];
+            if (!holeQuoted[i]) {
+                out.append(value);
+            } else if (value == null) {
+                out.append("null");
+            } else {
+                out.append('"');
+                JsonStringEncoder.getInstance().quoteAsString(value, out);
+                out.append('"');
+            }
+        }
+        out.append(segments[segments.length - 1]);
+    }
+}
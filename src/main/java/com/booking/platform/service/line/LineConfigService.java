@@ -41,7 +41,9 @@ public class LineConfigService {
     private final TenantLineConfigRepository lineConfigRepository;
     private final TenantRepository tenantRepository;
     private final EncryptionService encryptionService;
+    private final LineCredentialService credentialService;
     private final LineRichMenuService richMenuService;
+    private final LineWebhookRouteCache webhookRouteCache;
 
     @Value("${server.port:8080}")
     private int serverPort;
@@ -130,6 +132,7 @@ public class LineConfigService {
 
         config.setStatus(LineConfigStatus.ACTIVE);
         lineConfigRepository.save(config);
+        webhookRouteCache.invalidate(config.getTenantId());
 
         log.info("LINE Bot 已透過診斷端點啟用，租戶代碼：{}，原狀態：{}", tenantCode, previousStatus);
 
@@ -152,7 +155,7 @@ public class LineConfigService {
             return null;
         }
 
-        return encryptionService.decrypt(config.getChannelSecretEncrypted());
+        return credentialService.getChannelSecret(config);
     }
 
     /**
@@ -171,7 +174,7 @@ public class LineConfigService {
             return null;
         }
 
-        return encryptionService.decrypt(config.getChannelAccessTokenEncrypted());
+        return credentialService.getAccessToken(config);
     }
 
     // ========================================
@@ -270,6 +273,11 @@ public class LineConfigService {
         // ========================================
 
         config = lineConfigRepository.save(config);
+        webhookRouteCache.invalidate(tenantId);
+
+        if (request.hasChannelSecretUpdate() || request.hasAccessTokenUpdate()) {
+            credentialService.invalidate(tenantId);
+        }
 
         log.info("LINE 設定儲存成功，租戶：{}，狀態：{}", tenantId, config.getStatus());
 
@@ -310,6 +318,7 @@ public class LineConfigService {
 
         config.activate();
         config = lineConfigRepository.save(config);
+        webhookRouteCache.invalidate(tenantId);
 
         // ========================================
         // 建立 Rich Menu（底部固定選單）
@@ -357,6 +366,8 @@ public class LineConfigService {
 
         config.deactivate();
         config = lineConfigRepository.save(config);
+        credentialService.invalidate(tenantId);
+        webhookRouteCache.invalidate(tenantId);
 
         log.info("LINE Bot 停用成功，租戶：{}", tenantId);
 
@@ -399,7 +410,7 @@ public class LineConfigService {
         // ========================================
 
         try {
-            String accessToken = encryptionService.decrypt(config.getChannelAccessTokenEncrypted());
+            String accessToken = credentialService.getAccessToken(config);
 
             // 使用 LINE Bot API 的 Get Bot Info 端點
             java.net.http.HttpClient client = java.net.http.HttpClient.newHttpClient();
@@ -421,6 +432,7 @@ public class LineConfigService {
                 if (config.getStatus() != LineConfigStatus.ACTIVE) {
                     config.activate();
                     lineConfigRepository.save(config);
+                    webhookRouteCache.invalidate(tenantId);
                     log.info("LINE Bot 自動啟用成功，租戶：{}", tenantId);
                 }
 
@@ -481,6 +493,7 @@ public class LineConfigService {
         if (config != null) {
             config.markAsVerified();
             lineConfigRepository.save(config);
+            webhookRouteCache.invalidate(tenantId);
             log.info("Webhook 驗證成功，租戶：{}", tenantId);
         }
     }
@@ -530,7 +543,7 @@ public class LineConfigService {
      */
     private void autoSetWebhookOnLine(TenantLineConfig config) {
         try {
-            String accessToken = encryptionService.decrypt(config.getChannelAccessTokenEncrypted());
+            String accessToken = credentialService.getAccessToken(config);
             String webhookUrl = config.getWebhookUrl();
 
             java.net.http.HttpClient client = java.net.http.HttpClient.newHttpClient();
@@ -2,10 +2,11 @@ package com.booking.platform.service.line;
 
 import com.booking.platform.dto.line.ConversationContext;
 import com.booking.platform.enums.line.ConversationState;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -20,12 +21,12 @@ import java.util.Optional;
  *
  * <p>Redis Key 格式：line:conversation:{tenantId}:{lineUserId}
  * <p>預設 TTL：30 分鐘
+ * <p>Value 以 {@link ConversationContextCodec} 讀取；line.conversation.compact-codec 開啟後才寫入精簡編碼（預設關閉）
  *
  * @author Developer
  * @since 1.0.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class LineConversationService {
 
@@ -33,7 +34,8 @@ public class LineConversationService {
     // 依賴注入
     // ========================================
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, ConversationContext> redisTemplate;
+    private final LineReplyDeadlineService replyDeadlineService;
 
     // ========================================
     // 配置
@@ -51,6 +53,19 @@ public class LineConversationService {
     @Value("${line.conversation.key-prefix:line:conversation:}")
     private String keyPrefix;
 
+    @SuppressWarnings("unchecked")
+    public LineConversationService(RedisTemplate<String, Object> redisTemplate,
+                                   LineReplyDeadlineService replyDeadlineService,
+                                   @Value("${line.conversation.compact-codec:false}") boolean compactCodec) {
+        this.replyDeadlineService = replyDeadlineService;
+        this.redisTemplate = new RedisTemplate<>();
+        this.redisTemplate.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        this.redisTemplate.setKeySerializer(new StringRedisSerializer());
+        this.redisTemplate.setValueSerializer(new ConversationContextCodec(
+                (RedisSerializer<Object>) redisTemplate.getValueSerializer(), compactCodec));
+        this.redisTemplate.afterPropertiesSet();
+    }
+
     // ========================================
     // 查詢方法
     // ========================================
@@ -66,14 +81,11 @@ public class LineConversationService {
         String key = buildKey(tenantId, lineUserId);
 
         try {
-            Object value = redisTemplate.opsForValue().get(key);
+            ConversationContext value = redisTemplate.opsForValue().get(key);
             if (value != null) {
                 // 刷新 TTL
                 redisTemplate.expire(key, Duration.ofSeconds(conversationTtl));
-
-                if (value instanceof ConversationContext) {
-                    return (ConversationContext) value;
-                }
+                return value;
             }
         } catch (Exception e) {
             log.warn("讀取對話上下文失敗，將建立新的：{}", e.getMessage());
@@ -123,7 +135,8 @@ public class LineConversationService {
         ConversationContext context = ConversationContext.create(tenantId, lineUserId);
         context.setCustomerId(customerId);
 
-        saveContext(context);
+        // 新的空白對話重複建立結果相同，不算事件的狀態異動
+        write(context);
 
         log.debug("建立對話上下文，租戶：{}，LINE User：{}", tenantId, lineUserId);
 
@@ -136,6 +149,11 @@ public class LineConversationService {
      * @param context 對話上下文
      */
     public void saveContext(ConversationContext context) {
+        replyDeadlineService.recordStateChange();
+        write(context);
+    }
+
+    private void write(ConversationContext context) {
         String key = buildKey(context.getTenantId(), context.getLineUserId());
 
         try {
@@ -377,6 +395,7 @@ public class LineConversationService {
      */
     public void deleteContext(String tenantId, String lineUserId) {
         String key = buildKey(tenantId, lineUserId);
+        replyDeadlineService.recordStateChange();
         redisTemplate.delete(key);
 
         log.debug("刪除對話上下文，租戶：{}，LINE User：{}", tenantId, lineUserId);
@@ -0,0 +1,208 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.exception.ErrorCode;
+import com.booking.platform.common.line.LineSignatureValidator;
+import com.booking.platform.entity.line.TenantLineConfig;
+import com.booking.platform.repository.line.TenantLineConfigRepository;
+import com.booking.platform.service.common.EncryptionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LINE 憑證服務
+ *
+ * <p>快取解密後的 Channel Secret 與 Access Token，避免每個 Webhook、每次推送都重新 AES 解密
+ *
+ * <p>快取規則：
+ * <ul>
+ *   <li>以租戶 ID 為 key，同時記住解密前的密文</li>
+ *   <li>密文與資料庫不同（憑證已更換）時自動重新解密，其他實例更新憑證也能感知</li>
+ *   <li>儲存設定、停用時主動清除</li>
+ *   <li>簽名驗證用的 Mac 以 ThreadLocal 保存，每個執行緒、每組 Channel Secret 各一個</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LineCredentialService {
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final TenantLineConfigRepository lineConfigRepository;
+    private final EncryptionService encryptionService;
+    private final LineSignatureValidator signatureValidator;
+
+    // ========================================
+    // 快取
+    // ========================================
+
+    /**
+     * Channel Secret 快取（key：租戶 ID）
+     */
+    private final Map<String, ChannelSecret> channelSecrets = new ConcurrentHashMap<>();
+
+    /**
+     * Access Token 快取（key：租戶 ID）
+     */
+    private final Map<String, Credential> accessTokens = new ConcurrentHashMap<>();
+
+    // ========================================
+    // 查詢方法
+    // ========================================
+
+    /**
+     * 取得目前執行緒可用的簽名 Mac
+     *
+     * @param config 租戶 LINE 設定
+     * @return 已用 Channel Secret 初始化的 Mac，未設定 Channel Secret 時回傳 null
+     */
+    public Mac getSignatureMac(TenantLineConfig config) {
+        return getSignatureMac(config.getTenantId(), config.getChannelSecretEncrypted());
+    }
+
+    /**
+     * 取得目前執行緒可用的簽名 Mac（Webhook 路由只保存密文）
+     *
+     * @param tenantId               租戶 ID
+     * @param channelSecretEncrypted Channel Secret 密文
+     * @return 已用 Channel Secret 初始化的 Mac，未設定 Channel Secret 時回傳 null
+     */
+    public Mac getSignatureMac(String tenantId, String channelSecretEncrypted) {
+        ChannelSecret secret = loadChannelSecret(tenantId, channelSecretEncrypted);
+        return secret != null ? secret.mac().get() : null;
+    }
+
+    /**
+     * 取得解密後的 Channel Secret
+     *
+     * @param config 租戶 LINE 設定
+     * @return Channel Secret，未設定時回傳 null
+     */
+    public String getChannelSecret(TenantLineConfig config) {
+        ChannelSecret secret = loadChannelSecret(config.getTenantId(), config.getChannelSecretEncrypted());
+        return secret != null ? secret.plain() : null;
+    }
+
+    /**
+     * 取得解密後的 Access Token
+     *
+     * @param config 租戶 LINE 設定
+     * @return Access Token，未設定時回傳 null
+     */
+    public String getAccessToken(TenantLineConfig config) {
+        String encrypted = config.getChannelAccessTokenEncrypted();
+        if (encrypted == null) {
+            return null;
+        }
+
+        Credential cached = accessTokens.get(config.getTenantId());
+        if (cached != null && cached.encrypted().equals(encrypted)) {
+            return cached.plain();
+        }
+
+        String plain = encryptionService.decrypt(encrypted);
+        accessTokens.put(config.getTenantId(), new Credential(encrypted, plain));
+        return plain;
+    }
+
+    /**
+     * 取得租戶的 Access Token（供呼叫 LINE API 使用）
+     *
+     * @param tenantId 租戶 ID
+     * @return Access Token
+     * @throws BusinessException 設定不存在或未設定 Access Token
+     */
+    public String getRequiredAccessToken(String tenantId) {
+        TenantLineConfig config = lineConfigRepository.findByTenantId(tenantId)
+                .orElseThrow(() -> new BusinessException(
+                        ErrorCode.LINE_CONFIG_NOT_FOUND, "LINE 設定不存在"
+                ));
+
+        if (config.getChannelAccessTokenEncrypted() == null) {
+            throw new BusinessException(
+                    ErrorCode.LINE_CONFIG_INVALID, "LINE Access Token 未設定"
+            );
+        }
+
+        return getAccessToken(config);
+    }
+
+    // ========================================
+    // 快取清除
+    // ========================================
+
+    /**
+     * 清除租戶的憑證快取
+     *
+     * <p>憑證更換後下一次讀取時也會因密文不同而重新解密，
+     * 這裡主要是讓舊的明文不繼續留在記憶體
+     *
+     * @param tenantId 租戶 ID
+     */
+    public void invalidate(String tenantId) {
+        channelSecrets.remove(tenantId);
+        accessTokens.remove(tenantId);
+        log.debug("已清除 LINE 憑證快取，租戶：{}", tenantId);
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 從快取取得 Channel Secret，密文變更時重新解密
+     */
+    private ChannelSecret loadChannelSecret(String tenantId, String encrypted) {
+        if (encrypted == null) {
+            return null;
+        }
+
+        ChannelSecret cached = channelSecrets.get(tenantId);
+        if (cached != null && cached.encrypted().equals(encrypted)) {
+            return cached;
+        }
+
+        cached = new ChannelSecret(encrypted, encryptionService.decrypt(encrypted), signatureValidator);
+        channelSecrets.put(tenantId, cached);
+        log.debug("Channel Secret 已載入快取，租戶：{}", tenantId);
+        return cached;
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 密文與明文
+     */
+    private record Credential(String encrypted, String plain) {
+    }
+
+    /**
+     * Channel Secret 與每執行緒的 Mac
+     */
+    private record ChannelSecret(String encrypted, String plain, ThreadLocal<Mac> mac) {
+
+        ChannelSecret(String encrypted, String plain, LineSignatureValidator validator) {
+            this(encrypted, plain, ThreadLocal.withInitial(() -> {
+                try {
+                    return validator.createMac(Objects.requireNonNull(plain));
+                } catch (Exception e) {
+                    throw new IllegalStateException("建立簽名 Mac 失敗", e);
+                }
+            }));
+        }
+    }
+}
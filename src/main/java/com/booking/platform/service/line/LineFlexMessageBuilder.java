@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -42,6 +43,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * LINE Flex Message 建構器
@@ -75,6 +78,9 @@ public class LineFlexMessageBuilder {
     @org.springframework.beans.factory.annotation.Value("${app.base-url:https://booking-platform-production-1e08.up.railway.app}")
     private String appBaseUrl;
 
+    @org.springframework.beans.factory.annotation.Value("${line.flex-template.config-check-seconds:60}")
+    private long configCheckSeconds;
+
     private final ObjectMapper objectMapper;
     private final TenantRepository tenantRepository;
     private final TenantLineConfigRepository lineConfigRepository;
@@ -95,6 +101,33 @@ public class LineFlexMessageBuilder {
     private static final String BACKGROUND_COLOR = "#FFFFFF";
     private static final String SEPARATOR_COLOR = "#EEEEEE";
 
+    // ========================================
+    // 預編譯模板
+    // ========================================
+
+    private static final DateTimeFormatter TIME_LABEL_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter BOOKING_DATE_FORMAT = DateTimeFormatter.ofPattern("M/d (E)");
+    private static final DateTimeFormatter TIME_MENU_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("M月d日 (E)", java.util.Locale.TAIWAN);
+
+    /**
+     * 依租戶設定編譯的模板（key：租戶 ID + 模板名稱）
+     *
+     * <p>記住編譯時的 flexMenuConfig 原文，設定變更後下一次渲染自動重新編譯
+     */
+    private final Map<String, TenantTemplate> tenantTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * 各租戶 flexMenuConfig 原文（key：租戶 ID），每 config-check-seconds 秒才重新查詢一次；
+     * 本機儲存設定時由 {@link #invalidateTemplates} 立即清除，其他實例最多延遲一個檢查週期
+     */
+    private final Map<String, ConfigFingerprint> configFingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * 與租戶設定無關的模板（時段按鈕、預約卡片等）
+     */
+    private final Map<String, FlexTemplate> sharedTemplates = new ConcurrentHashMap<>();
+
     // ========================================
     // 1. 主選單
     // ========================================
@@ -415,6 +448,89 @@ public class LineFlexMessageBuilder {
         }
     }
 
+    /**
+     * 取得依租戶設定編譯的模板，flexMenuConfig 變更時重新編譯
+     *
+     * @param tenantId 租戶 ID（可為 null，視為無自訂設定）
+     * @param name     模板名稱
+     * @param compiler 編譯方法
+     * @return 編譯後的模板
+     */
+    private FlexTemplate getTenantTemplate(String tenantId, String name, Supplier<FlexTemplate> compiler) {
+        String fingerprint = flexMenuConfigFingerprint(tenantId);
+        String key = tenantId + ":" + name;
+
+        TenantTemplate cached = tenantTemplates.get(key);
+        if (cached != null && cached.fingerprint().equals(fingerprint)) {
+            return cached.template();
+        }
+
+        FlexTemplate template = compiler.get();
+        tenantTemplates.put(key, new TenantTemplate(fingerprint, template));
+        log.debug("Flex 模板已編譯，租戶：{}，模板：{}", tenantId, name);
+        return template;
+    }
+
+    /**
+     * 取得與租戶無關的模板
+     */
+    private FlexTemplate getSharedTemplate(String name, Supplier<FlexTemplate> compiler) {
+        return sharedTemplates.computeIfAbsent(name, k -> compiler.get());
+    }
+
+    /**
+     * 清除租戶的模板與設定原文快取（flexMenuConfig 儲存後呼叫）
+     *
+     * @param tenantId 租戶 ID
+     */
+    public void invalidateTemplates(String tenantId) {
+        configFingerprints.remove(tenantId);
+        tenantTemplates.keySet().removeIf(key -> key.startsWith(tenantId + ":"));
+    }
+
+    /**
+     * 取得 flexMenuConfig 原文（作為模板版本判斷），快取期間內不再查詢 LINE 設定
+     */
+    private String flexMenuConfigFingerprint(String tenantId) {
+        if (tenantId == null) {
+            return "";
+        }
+
+        long now = System.currentTimeMillis();
+        ConfigFingerprint cached = configFingerprints.get(tenantId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.raw();
+        }
+
+        String raw = loadFlexMenuConfigRaw(tenantId);
+        configFingerprints.put(tenantId, new ConfigFingerprint(raw, now + configCheckSeconds * 1000));
+        return raw;
+    }
+
+    /**
+     * 讀取 flexMenuConfig 原文（作為模板版本判斷），未設定時回傳空字串
+     */
+    private String loadFlexMenuConfigRaw(String tenantId) {
+        if (tenantId == null) {
+            return "";
+        }
+        try {
+            return lineConfigRepository.findByTenantId(tenantId)
+                    .map(TenantLineConfig::getFlexMenuConfig)
+                    .orElse("");
+        } catch (Exception e) {
+            log.warn("讀取 flexMenuConfig 失敗，租戶：{}", tenantId);
+            return "";
+        }
+    }
+
+    /**
+     * 將已渲染的 JSON 包成 JsonNode，序列化時原樣輸出
+     */
+    private JsonNode toRawNode(String json) {
+        return objectMapper.getNodeFactory().rawValueNode(new RawValue(json));
+    }
+
     /**
      * 從配置取得文字值，如無則用預設值
      */
@@ -2238,6 +2354,60 @@ public class LineFlexMessageBuilder {
             timeMaxCapacity = serviceForTime.getMaxCapacity();
         }
 
+        FlexTemplate template = getTenantTemplate(tenantId, "timeMenu", () -> compileTimeMenuTemplate(tenantId));
+        FlexTemplate rowTemplate = getSharedTemplate("timeRow", this::compileTimeRowTemplate);
+        FlexTemplate buttonTemplate = getSharedTemplate("timeButton", this::compileTimeButtonTemplate);
+        String filler = getSharedTemplate("filler", () -> FlexTemplate.compile(objectMapper, createFillerBox())).render();
+
+        // Body 內容：每行 3 個按鈕
+        StringBuilder bodyContents = new StringBuilder(availableSlots.size() * 160 + 2).append('[');
+        StringBuilder row = new StringBuilder(512);
+        for (int i = 0; i < availableSlots.size(); i += 3) {
+            row.setLength(0);
+            row.append('[');
+
+            int end = Math.min(i + 3, availableSlots.size());
+            for (int j = i; j < end; j++) {
+                LocalTime time = availableSlots.get(j);
+                String label = time.format(TIME_LABEL_FORMAT);
+                if (showCapacity) {
+                    // 查詢剩餘名額
+                    long count = bookingRepository.countConflictingBookingsByService(
+                            tenantId, serviceId, date, time, time.plusMinutes(duration != null ? duration : 60));
+                    int remaining = (int) (timeMaxCapacity - count);
+                    label = label + " (剩" + remaining + ")";
+                }
+                if (j > i) {
+                    row.append(',');
+                }
+                buttonTemplate.renderTo(row, label, "action=select_time&time=" + time.format(DateTimeFormatter.ISO_LOCAL_TIME));
+            }
+
+            // 補齊空位
+            for (int j = end - i; j < 3; j++) {
+                row.append(',').append(filler);
+            }
+            row.append(']');
+
+            if (i > 0) {
+                bodyContents.append(',');
+            }
+            rowTemplate.renderTo(bodyContents, row.toString());
+        }
+
+        if (availableSlots.isEmpty()) {
+            bodyContents.append(getSharedTemplate("noSlot", this::compileNoSlotTemplate).render());
+        }
+        bodyContents.append(']');
+
+        String dateText = "📅 " + date.format(TIME_MENU_DATE_FORMAT);
+        return toRawNode(template.render(dateText, bodyContents.toString()));
+    }
+
+    /**
+     * 編譯時段選單模板（Header 依租戶步驟設定，日期與時段按鈕為洞）
+     */
+    private FlexTemplate compileTimeMenuTemplate(String tenantId) {
         // 讀取步驟自訂配置
         String timeStepColor = getStepConfig(tenantId, "time", "color", "#4A90D9");
         String timeStepTitle = getStepConfig(tenantId, "time", "title", "⏰ 選擇時段");
@@ -2251,7 +2421,7 @@ public class LineFlexMessageBuilder {
         // 在 header 中追加日期提示
         ObjectNode dateText = objectMapper.createObjectNode();
         dateText.put("type", "text");
-        dateText.put("text", "📅 " + date.format(DateTimeFormatter.ofPattern("M月d日 (E)", java.util.Locale.TAIWAN)));
+        dateText.put("text", FlexTemplate.stringHole("date"));
         dateText.put("size", "sm");
         dateText.put("color", "#FFFFFF");
         dateText.put("align", "center");
@@ -2264,56 +2434,46 @@ public class LineFlexMessageBuilder {
         body.put("layout", "vertical");
         body.put("spacing", "sm");
         body.put("paddingAll", "15px");
-
-        ArrayNode bodyContents = objectMapper.createArrayNode();
-
-        // 每行 3 個按鈕
-        for (int i = 0; i < availableSlots.size(); i += 3) {
-            ObjectNode row = objectMapper.createObjectNode();
-            row.put("type", "box");
-            row.put("layout", "horizontal");
-            row.put("spacing", "sm");
-
-            ArrayNode rowContents = objectMapper.createArrayNode();
-
-            for (int j = i; j < Math.min(i + 3, availableSlots.size()); j++) {
-                LocalTime time = availableSlots.get(j);
-                if (showCapacity) {
-                    // 查詢剩餘名額
-                    long count = bookingRepository.countConflictingBookingsByService(
-                            tenantId, serviceId, date, time, time.plusMinutes(duration != null ? duration : 60));
-                    int remaining = (int) (timeMaxCapacity - count);
-                    rowContents.add(createTimeButtonWithCapacity(time, remaining));
-                } else {
-                    rowContents.add(createTimeButton(time));
-                }
-            }
-
-            // 補齊空位
-            while (rowContents.size() < 3) {
-                rowContents.add(createFillerBox());
-            }
-
-            row.set("contents", rowContents);
-            bodyContents.add(row);
-        }
-
-        if (availableSlots.isEmpty()) {
-            ObjectNode noSlotText = objectMapper.createObjectNode();
-            noSlotText.put("type", "text");
-            noSlotText.put("text", "此日期沒有可預約的時段");
-            noSlotText.put("align", "center");
-            noSlotText.put("color", SECONDARY_COLOR);
-            bodyContents.add(noSlotText);
-        }
-
-        body.set("contents", bodyContents);
+        body.put("contents", FlexTemplate.rawHole("contents"));
         bubble.set("body", body);
 
         // Footer - 返回按鈕
         bubble.set("footer", createBackFooter());
 
-        return bubble;
+        return FlexTemplate.compile(objectMapper, bubble, "date", "contents");
+    }
+
+    /**
+     * 編譯時段列模板
+     */
+    private FlexTemplate compileTimeRowTemplate() {
+        ObjectNode row = objectMapper.createObjectNode();
+        row.put("type", "box");
+        row.put("layout", "horizontal");
+        row.put("spacing", "sm");
+        row.put("contents", FlexTemplate.rawHole("contents"));
+        return FlexTemplate.compile(objectMapper, row, "contents");
+    }
+
+    /**
+     * 編譯時段按鈕模板
+     */
+    private FlexTemplate compileTimeButtonTemplate() {
+        return FlexTemplate.compile(objectMapper,
+                createTimeButton(FlexTemplate.stringHole("label"), FlexTemplate.stringHole("data")),
+                "label", "data");
+    }
+
+    /**
+     * 編譯無可用時段提示
+     */
+    private FlexTemplate compileNoSlotTemplate() {
+        ObjectNode noSlotText = objectMapper.createObjectNode();
+        noSlotText.put("type", "text");
+        noSlotText.put("text", "此日期沒有可預約的時段");
+        noSlotText.put("align", "center");
+        noSlotText.put("color", SECONDARY_COLOR);
+        return FlexTemplate.compile(objectMapper, noSlotText);
     }
 
     /**
@@ -2630,27 +2790,11 @@ public class LineFlexMessageBuilder {
 
     /**
      * 建構時段按鈕
+     *
+     * @param label 按鈕文字（時間，容量模式附剩餘名額）
+     * @param data  Postback 資料
      */
-    private ObjectNode createTimeButton(LocalTime time) {
-        ObjectNode button = objectMapper.createObjectNode();
-        button.put("type", "button");
-        button.put("style", "secondary");
-        button.put("height", "sm");
-        button.put("flex", 1);
-
-        ObjectNode action = objectMapper.createObjectNode();
-        action.put("type", "postback");
-        action.put("label", time.format(DateTimeFormatter.ofPattern("HH:mm")));
-        action.put("data", "action=select_time&time=" + time.format(DateTimeFormatter.ISO_LOCAL_TIME));
-
-        button.set("action", action);
-        return button;
-    }
-
-    /**
-     * 建構時段按鈕（含剩餘名額）
-     */
-    private ObjectNode createTimeButtonWithCapacity(LocalTime time, int remaining) {
+    private ObjectNode createTimeButton(String label, String data) {
         ObjectNode button = objectMapper.createObjectNode();
         button.put("type", "button");
         button.put("style", "secondary");
@@ -2659,8 +2803,8 @@ public class LineFlexMessageBuilder {
 
         ObjectNode action = objectMapper.createObjectNode();
         action.put("type", "postback");
-        action.put("label", time.format(DateTimeFormatter.ofPattern("HH:mm")) + " (剩" + remaining + ")");
-        action.put("data", "action=select_time&time=" + time.format(DateTimeFormatter.ISO_LOCAL_TIME));
+        action.put("label", label);
+        action.put("data", data);
 
         button.set("action", action);
         return button;
@@ -3098,12 +3242,49 @@ public class LineFlexMessageBuilder {
         }
 
         // 有預約時顯示列表
-        ObjectNode carousel = objectMapper.createObjectNode();
-        carousel.put("type", "carousel");
+        FlexTemplate carouselTemplate = getSharedTemplate("carousel", this::compileCarouselTemplate);
+        FlexTemplate guideTemplate = getTenantTemplate(tenantId, "bookingListGuide",
+                () -> compileBookingListGuideTemplate(tenantId));
+        FlexTemplate cardTemplate = getSharedTemplate("bookingCard", () -> compileBookingCardTemplate(false));
+        FlexTemplate cardWithStaffTemplate = getSharedTemplate("bookingCardWithStaff", () -> compileBookingCardTemplate(true));
 
-        ArrayNode bubbles = objectMapper.createArrayNode();
+        StringBuilder bubbles = new StringBuilder(600 * (bookings.size() + 1)).append('[');
 
         // 導覽 Bubble（含自訂 Header 和 Hero 圖片）
+        guideTemplate.renderTo(bubbles, "👈 往左滑動查看所有預約\n\n共 " + bookings.size() + " 筆預約");
+
+        for (Booking booking : bookings) {
+            bubbles.append(',');
+            String dateTime = booking.getBookingDate().format(BOOKING_DATE_FORMAT) +
+                    " " + booking.getStartTime().format(TIME_LABEL_FORMAT);
+            String staffName = booking.getStaffName() != null ? "服務人員：" + booking.getStaffName() : null;
+
+            (staffName != null ? cardWithStaffTemplate : cardTemplate).renderTo(bubbles,
+                    getStatusColor(booking.getStatus()),
+                    getStatusText(booking.getStatus()),
+                    booking.getServiceName(),
+                    dateTime,
+                    staffName);
+        }
+        bubbles.append(']');
+
+        return toRawNode(carouselTemplate.render(bubbles.toString()));
+    }
+
+    /**
+     * 編譯 Carousel 外框模板
+     */
+    private FlexTemplate compileCarouselTemplate() {
+        ObjectNode carousel = objectMapper.createObjectNode();
+        carousel.put("type", "carousel");
+        carousel.put("contents", FlexTemplate.rawHole("contents"));
+        return FlexTemplate.compile(objectMapper, carousel, "contents");
+    }
+
+    /**
+     * 編譯預約列表導覽 Bubble 模板（Header 依租戶功能設定）
+     */
+    private FlexTemplate compileBookingListGuideTemplate(String tenantId) {
         ObjectNode guideBubble = objectMapper.createObjectNode();
         guideBubble.put("type", "bubble");
         guideBubble.put("size", "kilo");
@@ -3117,81 +3298,90 @@ public class LineFlexMessageBuilder {
         guideBody.put("paddingAll", "15px");
         ObjectNode guideText = objectMapper.createObjectNode();
         guideText.put("type", "text");
-        guideText.put("text", "👈 往左滑動查看所有預約\n\n共 " + bookings.size() + " 筆預約");
+        guideText.put("text", FlexTemplate.stringHole("text"));
         guideText.put("size", "sm");
         guideText.put("color", SECONDARY_COLOR);
         guideText.put("wrap", true);
         guideBody.set("contents", objectMapper.createArrayNode().add(guideText));
         guideBubble.set("body", guideBody);
-        bubbles.add(guideBubble);
-
-        for (Booking booking : bookings) {
-            ObjectNode bubble = objectMapper.createObjectNode();
-            bubble.put("type", "bubble");
-            bubble.put("size", "kilo");
-
-            // Header with status
-            ObjectNode header = objectMapper.createObjectNode();
-            header.put("type", "box");
-            header.put("layout", "vertical");
-            header.put("backgroundColor", getStatusColor(booking.getStatus()));
-            header.put("paddingAll", "10px");
-
-            ObjectNode statusText = objectMapper.createObjectNode();
-            statusText.put("type", "text");
-            statusText.put("text", getStatusText(booking.getStatus()));
-            statusText.put("size", "sm");
-            statusText.put("color", "#FFFFFF");
-            statusText.put("align", "center");
-            statusText.put("weight", "bold");
+        return FlexTemplate.compile(objectMapper, guideBubble, "text");
+    }
 
-            header.set("contents", objectMapper.createArrayNode().add(statusText));
-            bubble.set("header", header);
+    /**
+     * 編譯預約卡片模板
+     *
+     * @param withStaff 是否顯示服務人員
+     */
+    private FlexTemplate compileBookingCardTemplate(boolean withStaff) {
+        return FlexTemplate.compile(objectMapper, buildBookingCardSkeleton(withStaff),
+                "color", "status", "serviceName", "dateTime", "staffName");
+    }
 
-            // Body
-            ObjectNode body = objectMapper.createObjectNode();
-            body.put("type", "box");
-            body.put("layout", "vertical");
-            body.put("spacing", "sm");
-            body.put("paddingAll", "15px");
+    /**
+     * 建構預約卡片骨架（狀態 Header、服務名稱、日期時間、服務人員）
+     */
+    private ObjectNode buildBookingCardSkeleton(boolean withStaff) {
+        ObjectNode bubble = objectMapper.createObjectNode();
+        bubble.put("type", "bubble");
+        bubble.put("size", "kilo");
 
-            ArrayNode bodyContents = objectMapper.createArrayNode();
+        // Header with status
+        ObjectNode header = objectMapper.createObjectNode();
+        header.put("type", "box");
+        header.put("layout", "vertical");
+        header.put("backgroundColor", FlexTemplate.stringHole("color"));
+        header.put("paddingAll", "10px");
+
+        ObjectNode statusText = objectMapper.createObjectNode();
+        statusText.put("type", "text");
+        statusText.put("text", FlexTemplate.stringHole("status"));
+        statusText.put("size", "sm");
+        statusText.put("color", "#FFFFFF");
+        statusText.put("align", "center");
+        statusText.put("weight", "bold");
+
+        header.set("contents", objectMapper.createArrayNode().add(statusText));
+        bubble.set("header", header);
 
-            // 服務名稱
-            ObjectNode serviceName = objectMapper.createObjectNode();
-            serviceName.put("type", "text");
-            serviceName.put("text", booking.getServiceName());
-            serviceName.put("size", "lg");
-            serviceName.put("weight", "bold");
-            bodyContents.add(serviceName);
-
-            // 日期時間
-            ObjectNode dateTime = objectMapper.createObjectNode();
-            dateTime.put("type", "text");
-            dateTime.put("text", booking.getBookingDate().format(DateTimeFormatter.ofPattern("M/d (E)")) +
-                    " " + booking.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")));
-            dateTime.put("size", "md");
-            dateTime.put("color", SECONDARY_COLOR);
-            bodyContents.add(dateTime);
-
-            // 員工
-            if (booking.getStaffName() != null) {
-                ObjectNode staffName = objectMapper.createObjectNode();
-                staffName.put("type", "text");
-                staffName.put("text", "服務人員：" + booking.getStaffName());
-                staffName.put("size", "sm");
-                staffName.put("color", SECONDARY_COLOR);
-                bodyContents.add(staffName);
-            }
+        // Body
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("type", "box");
+        body.put("layout", "vertical");
+        body.put("spacing", "sm");
+        body.put("paddingAll", "15px");
 
-            body.set("contents", bodyContents);
-            bubble.set("body", body);
+        ArrayNode bodyContents = objectMapper.createArrayNode();
 
-            bubbles.add(bubble);
+        // 服務名稱
+        ObjectNode serviceName = objectMapper.createObjectNode();
+        serviceName.put("type", "text");
+        serviceName.put("text", FlexTemplate.stringHole("serviceName"));
+        serviceName.put("size", "lg");
+        serviceName.put("weight", "bold");
+        bodyContents.add(serviceName);
+
+        // 日期時間
+        ObjectNode dateTime = objectMapper.createObjectNode();
+        dateTime.put("type", "text");
+        dateTime.put("text", FlexTemplate.stringHole("dateTime"));
+        dateTime.put("size", "md");
+        dateTime.put("color", SECONDARY_COLOR);
+        bodyContents.add(dateTime);
+
+        // 員工
+        if (withStaff) {
+            ObjectNode staffName = objectMapper.createObjectNode();
+            staffName.put("type", "text");
+            staffName.put("text", FlexTemplate.stringHole("staffName"));
+            staffName.put("size", "sm");
+            staffName.put("color", SECONDARY_COLOR);
+            bodyContents.add(staffName);
         }
 
-        carousel.set("contents", bubbles);
-        return carousel;
+        body.set("contents", bodyContents);
+        bubble.set("body", body);
+
+        return bubble;
     }
 
     /**
@@ -3791,109 +3981,74 @@ public class LineFlexMessageBuilder {
             return buildBookingList(bookings, tenantId);
         }
 
-        ObjectNode carousel = objectMapper.createObjectNode();
-        carousel.put("type", "carousel");
+        FlexTemplate carouselTemplate = getSharedTemplate("carousel", this::compileCarouselTemplate);
+        String navigationBubble = getSharedTemplate("carouselNavigation",
+                () -> FlexTemplate.compile(objectMapper, buildCarouselNavigationBubble())).render();
 
-        ArrayNode bubbles = objectMapper.createArrayNode();
+        StringBuilder bubbles = new StringBuilder(700 * (bookings.size() + 1)).append('[');
 
         for (Booking booking : bookings) {
-            ObjectNode bubble = objectMapper.createObjectNode();
-            bubble.put("type", "bubble");
-            bubble.put("size", "kilo");
-
-            // Header with status
-            ObjectNode header = objectMapper.createObjectNode();
-            header.put("type", "box");
-            header.put("layout", "vertical");
-            header.put("backgroundColor", getStatusColor(booking.getStatus()));
-            header.put("paddingAll", "10px");
-
-            ObjectNode statusText = objectMapper.createObjectNode();
-            statusText.put("type", "text");
-            statusText.put("text", getStatusText(booking.getStatus()));
-            statusText.put("size", "sm");
-            statusText.put("color", "#FFFFFF");
-            statusText.put("align", "center");
-            statusText.put("weight", "bold");
-
-            header.set("contents", objectMapper.createArrayNode().add(statusText));
-            bubble.set("header", header);
-
-            // Body
-            ObjectNode body = objectMapper.createObjectNode();
-            body.put("type", "box");
-            body.put("layout", "vertical");
-            body.put("spacing", "sm");
-            body.put("paddingAll", "15px");
-
-            ArrayNode bodyContents = objectMapper.createArrayNode();
-
-            // 服務名稱
-            ObjectNode serviceName = objectMapper.createObjectNode();
-            serviceName.put("type", "text");
-            serviceName.put("text", booking.getServiceName());
-            serviceName.put("size", "lg");
-            serviceName.put("weight", "bold");
-            bodyContents.add(serviceName);
-
-            // 日期時間
-            ObjectNode dateTime = objectMapper.createObjectNode();
-            dateTime.put("type", "text");
-            dateTime.put("text", booking.getBookingDate().format(DateTimeFormatter.ofPattern("M/d (E)")) +
-                    " " + booking.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")));
-            dateTime.put("size", "md");
-            dateTime.put("color", SECONDARY_COLOR);
-            bodyContents.add(dateTime);
-
-            // 員工
-            if (booking.getStaffName() != null) {
-                ObjectNode staffName = objectMapper.createObjectNode();
-                staffName.put("type", "text");
-                staffName.put("text", "服務人員：" + booking.getStaffName());
-                staffName.put("size", "sm");
-                staffName.put("color", SECONDARY_COLOR);
-                bodyContents.add(staffName);
-            }
+            boolean withStaff = booking.getStaffName() != null;
+            boolean cancellable = booking.isCancellable();
+            FlexTemplate cardTemplate = getSharedTemplate(
+                    "bookingCancelCard:" + withStaff + ":" + cancellable,
+                    () -> compileCancelableBookingCardTemplate(withStaff, cancellable));
+
+            String dateTime = booking.getBookingDate().format(BOOKING_DATE_FORMAT) +
+                    " " + booking.getStartTime().format(TIME_LABEL_FORMAT);
+            boolean pending = BookingStatus.PENDING.equals(booking.getStatus());
+
+            cardTemplate.renderTo(bubbles,
+                    getStatusColor(booking.getStatus()),
+                    getStatusText(booking.getStatus()),
+                    booking.getServiceName(),
+                    dateTime,
+                    withStaff ? "服務人員：" + booking.getStaffName() : null,
+                    pending ? "⏳ 等待店家確認中" : "✓ 預約已確認",
+                    pending ? "#FFA500" : "#4CAF50",
+                    "action=cancel_booking_request&bookingId=" + booking.getId());
+            bubbles.append(',');
+        }
 
-            // 狀態描述文字
-            ObjectNode statusDesc = objectMapper.createObjectNode();
-            statusDesc.put("type", "text");
-            if (BookingStatus.PENDING.equals(booking.getStatus())) {
-                statusDesc.put("text", "⏳ 等待店家確認中");
-                statusDesc.put("color", "#FFA500");
-            } else {
-                statusDesc.put("text", "✓ 預約已確認");
-                statusDesc.put("color", "#4CAF50");
-            }
-            statusDesc.put("size", "sm");
-            statusDesc.put("weight", "bold");
-            statusDesc.put("margin", "md");
-            bodyContents.add(statusDesc);
+        // 末端導航卡片 — 返回主選單
+        bubbles.append(navigationBubble).append(']');
 
-            body.set("contents", bodyContents);
-            bubble.set("body", body);
+        return toRawNode(carouselTemplate.render(bubbles.toString()));
+    }
 
-            // Footer - 可取消的預約顯示取消按鈕
-            if (booking.isCancellable()) {
-                ObjectNode footer = objectMapper.createObjectNode();
-                footer.put("type", "box");
-                footer.put("layout", "vertical");
-                footer.put("paddingAll", "10px");
-
-                footer.set("contents", objectMapper.createArrayNode().add(
-                        createButton("取消預約", "action=cancel_booking_request&bookingId=" + booking.getId(), "#DC3545")
-                ));
-                bubble.set("footer", footer);
-            }
+    /**
+     * 編譯含取消按鈕的預約卡片模板
+     *
+     * <p>在預約卡片下方加上狀態描述，可取消的預約另有取消按鈕 Footer
+     */
+    private FlexTemplate compileCancelableBookingCardTemplate(boolean withStaff, boolean cancellable) {
+        ObjectNode bubble = buildBookingCardSkeleton(withStaff);
+
+        // 狀態描述文字
+        ObjectNode statusDesc = objectMapper.createObjectNode();
+        statusDesc.put("type", "text");
+        statusDesc.put("text", FlexTemplate.stringHole("statusDesc"));
+        statusDesc.put("color", FlexTemplate.stringHole("statusDescColor"));
+        statusDesc.put("size", "sm");
+        statusDesc.put("weight", "bold");
+        statusDesc.put("margin", "md");
+        ((ArrayNode) bubble.get("body").get("contents")).add(statusDesc);
+
+        // Footer - 可取消的預約顯示取消按鈕
+        if (cancellable) {
+            ObjectNode footer = objectMapper.createObjectNode();
+            footer.put("type", "box");
+            footer.put("layout", "vertical");
+            footer.put("paddingAll", "10px");
 
-            bubbles.add(bubble);
+            footer.set("contents", objectMapper.createArrayNode().add(
+                    createButton("取消預約", FlexTemplate.stringHole("cancelData"), "#DC3545")
+            ));
+            bubble.set("footer", footer);
         }
 
-        // 末端導航卡片 — 返回主選單
-        bubbles.add(buildCarouselNavigationBubble());
-
-        carousel.set("contents", bubbles);
-        return carousel;
+        return FlexTemplate.compile(objectMapper, bubble, "color", "status", "serviceName", "dateTime", "staffName",
+                "statusDesc", "statusDescColor", "cancelData");
     }
 
     // ========================================
@@ -6546,4 +6701,20 @@ public class LineFlexMessageBuilder {
 
         return bubble;
     }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 租戶模板與編譯時的設定原文
+     */
+    private record TenantTemplate(String fingerprint, FlexTemplate template) {
+    }
+
+    /**
+     * flexMenuConfig 原文與快取到期時間（epoch 毫秒）
+     */
+    private record ConfigFingerprint(String raw, long expiresAt) {
+    }
 }
@@ -1,12 +1,12 @@
 package com.booking.platform.service.line;
 
+import com.booking.platform.common.admission.TenantBulkhead;
 import com.booking.platform.common.exception.BusinessException;
 import com.booking.platform.common.exception.ErrorCode;
-import com.booking.platform.entity.line.TenantLineConfig;
 import com.booking.platform.entity.tenant.Tenant;
 import com.booking.platform.repository.TenantRepository;
 import com.booking.platform.repository.line.TenantLineConfigRepository;
-import com.booking.platform.service.common.EncryptionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -47,9 +47,11 @@ public class LineMessageService {
 
     private final TenantLineConfigRepository lineConfigRepository;
     private final TenantRepository tenantRepository;
-    private final EncryptionService encryptionService;
+    private final LineCredentialService credentialService;
+    private final LineReplyDeadlineService replyDeadlineService;
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
+    private final TenantBulkhead tenantBulkhead;
 
     // ========================================
     // 配置
@@ -76,7 +78,8 @@ public class LineMessageService {
      *
      * <p>使用 replyToken 回覆用戶訊息，不計入推送額度
      * <p>注意：此方法不使用 @Async，因為 replyToken 只有約 30 秒有效期
-     * <p>呼叫此方法的 processWebhook 已經是 @Async，所以這裡同步執行即可
+     * <p>呼叫此方法的 Webhook 處理已在背景執行緒（事件佇列消費者或 taskExecutor），所以這裡同步執行即可
+     * <p>Reply Token 已過期時改用 Push 送給事件的用戶（計入推送額度），避免用戶收不到回應
      *
      * @param tenantId   租戶 ID
      * @param replyToken 回覆 Token
@@ -86,6 +89,16 @@ public class LineMessageService {
     private static final long REPLY_RETRY_DELAY_MS = 100;
 
     public void reply(String tenantId, String replyToken, List<Map<String, Object>> messages) {
+        if (replyDeadlineService.isExpired()) {
+            String userId = replyDeadlineService.currentUserId();
+            if (userId != null) {
+                log.warn("Reply Token 已過期，改用 Push 送出，租戶：{}，用戶：{}", tenantId, userId);
+                replyDeadlineService.recordReply("push_fallback");
+                push(tenantId, userId, messages);
+                return;
+            }
+        }
+
         for (int attempt = 0; attempt < REPLY_MAX_RETRIES; attempt++) {
             try {
                 String accessToken = getAccessToken(tenantId);
@@ -94,7 +107,8 @@ public class LineMessageService {
                 requestBody.put("replyToken", replyToken);
                 requestBody.set("messages", objectMapper.valueToTree(messages));
 
-                sendRequest(REPLY_API, accessToken, requestBody);
+                sendRequest(tenantId, REPLY_API, accessToken, requestBody);
+                replyDeadlineService.recordReply("reply");
                 return;
 
             } catch (Exception e) {
@@ -181,40 +195,54 @@ public class LineMessageService {
     @Async
     @Transactional
     public void push(String tenantId, String userId, List<Map<String, Object>> messages) {
-        log.debug("推送訊息，租戶：{}，用戶：{}", tenantId, userId);
-
         try {
-            // ========================================
-            // 1. 檢查推送額度
-            // ========================================
+            pushOrThrow(tenantId, userId, messages);
+        } catch (BusinessException e) {
+            log.error("推送訊息業務錯誤，租戶：{}，用戶：{}，錯誤：{}", tenantId, userId, e.getMessage());
+        } catch (Exception e) {
+            log.error("推送訊息失敗，租戶：{}，用戶：{}，錯誤：{}", tenantId, userId, e.getMessage(), e);
+        }
+    }
 
-            checkAndUsePushQuota(tenantId, 1);
+    /**
+     * 推送訊息給單一用戶（同步，失敗時拋出例外）
+     *
+     * <p>供需要自行重試的呼叫端使用；發送失敗時交易回滾，不扣推送額度
+     *
+     * @param tenantId 租戶 ID
+     * @param userId   LINE User ID
+     * @param messages 訊息列表
+     * @throws BusinessException 額度不足、未設定 LINE 等無法重試的錯誤
+     */
+    @Transactional
+    public void pushOrThrow(String tenantId, String userId, List<Map<String, Object>> messages) {
+        log.debug("推送訊息，租戶：{}，用戶：{}", tenantId, userId);
 
-            // ========================================
-            // 2. 取得 Access Token
-            // ========================================
+        // ========================================
+        // 1. 檢查推送額度
+        // ========================================
 
-            String accessToken = getAccessToken(tenantId);
+        checkAndUsePushQuota(tenantId, 1);
 
-            // ========================================
-            // 3. 建立請求
-            // ========================================
+        // ========================================
+        // 2. 取得 Access Token
+        // ========================================
 
-            ObjectNode requestBody = objectMapper.createObjectNode();
-            requestBody.put("to", userId);
-            requestBody.set("messages", objectMapper.valueToTree(messages));
+        String accessToken = getAccessToken(tenantId);
 
-            // ========================================
-            // 4. 發送請求
-            // ========================================
+        // ========================================
+        // 3. 建立請求
+        // ========================================
 
-            sendRequest(PUSH_API, accessToken, requestBody);
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.put("to", userId);
+        requestBody.set("messages", objectMapper.valueToTree(messages));
 
-        } catch (BusinessException e) {
-            log.error("推送訊息業務錯誤，租戶：{}，用戶：{}，錯誤：{}", tenantId, userId, e.getMessage());
-        } catch (Exception e) {
-            log.error("推送訊息失敗，租戶：{}，用戶：{}，錯誤：{}", tenantId, userId, e.getMessage(), e);
-        }
+        // ========================================
+        // 4. 發送請求
+        // ========================================
+
+        sendRequest(tenantId, PUSH_API, accessToken, requestBody);
     }
 
     /**
@@ -241,12 +269,20 @@ public class LineMessageService {
      * @param contents Flex Message 內容
      */
     public void pushFlex(String tenantId, String userId, String altText, JsonNode contents) {
-        Map<String, Object> message = Map.of(
-                "type", "flex",
-                "altText", altText,
-                "contents", contents
-        );
-        push(tenantId, userId, List.of(message));
+        push(tenantId, userId, List.of(flexMessage(altText, contents)));
+    }
+
+    /**
+     * 推送 Flex Message（同步，失敗時拋出例外）
+     *
+     * @param tenantId 租戶 ID
+     * @param userId   LINE User ID
+     * @param altText  替代文字
+     * @param contents Flex Message 內容
+     */
+    @Transactional
+    public void pushFlexOrThrow(String tenantId, String userId, String altText, JsonNode contents) {
+        pushOrThrow(tenantId, userId, List.of(flexMessage(altText, contents)));
     }
 
     /**
@@ -294,7 +330,7 @@ public class LineMessageService {
             // 4. 發送請求
             // ========================================
 
-            sendRequest(MULTICAST_API, accessToken, requestBody);
+            sendRequest(tenantId, MULTICAST_API, accessToken, requestBody);
 
         } catch (BusinessException e) {
             throw e;
@@ -344,22 +380,22 @@ public class LineMessageService {
     // 私有方法
     // ========================================
 
+    /**
+     * 建立 Flex Message
+     */
+    private Map<String, Object> flexMessage(String altText, JsonNode contents) {
+        return Map.of(
+                "type", "flex",
+                "altText", altText,
+                "contents", contents
+        );
+    }
+
     /**
      * 取得解密後的 Access Token
      */
     private String getAccessToken(String tenantId) {
-        TenantLineConfig config = lineConfigRepository.findByTenantId(tenantId)
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.LINE_CONFIG_NOT_FOUND, "LINE 設定不存在"
-                ));
-
-        if (config.getChannelAccessTokenEncrypted() == null) {
-            throw new BusinessException(
-                    ErrorCode.LINE_CONFIG_INVALID, "LINE Access Token 未設定"
-            );
-        }
-
-        return encryptionService.decrypt(config.getChannelAccessTokenEncrypted());
+        return credentialService.getRequiredAccessToken(tenantId);
     }
 
     /**
@@ -394,21 +430,30 @@ public class LineMessageService {
 
     /**
      * 發送 HTTP 請求到 LINE API
+     *
+     * <p>直接序列化為 UTF-8 位元組，預編譯的 Flex 模板（RawValue）原樣寫出
+     * <p>每個租戶同時進行的請求數有上限，避免單一租戶的大量推送佔滿連線
      */
-    private void sendRequest(String endpoint, String accessToken, ObjectNode requestBody) {
+    private void sendRequest(String tenantId, String endpoint, String accessToken, ObjectNode requestBody) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
         headers.setContentType(MediaType.APPLICATION_JSON);
 
-        HttpEntity<String> request = new HttpEntity<>(requestBody.toString(), headers);
+        HttpEntity<byte[]> request;
+        try {
+            request = new HttpEntity<>(objectMapper.writeValueAsBytes(requestBody), headers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("LINE 請求序列化失敗", e);
+        }
 
         try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiEndpoint + endpoint,
-                    HttpMethod.POST,
-                    request,
-                    String.class
-            );
+            ResponseEntity<String> response = tenantBulkhead.call(TenantBulkhead.Pool.LINE_API, tenantId,
+                    () -> restTemplate.exchange(
+                            apiEndpoint + endpoint,
+                            HttpMethod.POST,
+                            request,
+                            String.class
+                    ));
 
             if (!response.getStatusCode().is2xxSuccessful()) {
                 log.error("LINE API 請求失敗，端點：{}，狀態碼：{}，回應：{}",
@@ -39,35 +39,7 @@ public class LineNotificationService {
     @Async
     public void sendBookingStatusNotification(Booking booking, BookingStatus newStatus, String message) {
         try {
-            String tenantId = booking.getTenantId();
-            String customerId = booking.getCustomerId();
-
-            // 查詢顧客的 LINE User
-            Optional<LineUser> lineUserOpt = lineUserRepository
-                    .findByTenantIdAndCustomerIdAndDeletedAtIsNull(tenantId, customerId);
-
-            if (lineUserOpt.isEmpty()) {
-                log.debug("顧客沒有關聯的 LINE 用戶，跳過通知。顧客 ID：{}", customerId);
-                return;
-            }
-
-            LineUser lineUser = lineUserOpt.get();
-
-            // 檢查是否可以接收訊息
-            if (!lineUser.canReceiveMessage()) {
-                log.debug("LINE 用戶無法接收訊息（未追蹤或已刪除）。LINE User ID：{}", lineUser.getLineUserId());
-                return;
-            }
-
-            // 建構通知訊息
-            JsonNode notification = flexMessageBuilder.buildBookingStatusNotification(booking, newStatus, message);
-
-            // 發送推播
-            messageService.pushFlex(tenantId, lineUser.getLineUserId(), getNotificationAltText(newStatus), notification);
-
-            log.info("已發送預約狀態通知，租戶：{}，預約 ID：{}，新狀態：{}",
-                    tenantId, booking.getId(), newStatus);
-
+            pushBookingStatusNotification(booking, newStatus, message);
         } catch (Exception e) {
             log.error("發送預約狀態通知失敗，預約 ID：{}，錯誤：{}", booking.getId(), e.getMessage(), e);
         }
@@ -82,38 +54,59 @@ public class LineNotificationService {
     @Async
     public void sendBookingModificationNotification(Booking booking, String changeDescription) {
         try {
-            String tenantId = booking.getTenantId();
-            String customerId = booking.getCustomerId();
+            pushBookingModificationNotification(booking, changeDescription);
+        } catch (Exception e) {
+            log.error("發送預約修改通知失敗，預約 ID：{}，錯誤：{}", booking.getId(), e.getMessage(), e);
+        }
+    }
 
-            // 查詢顧客的 LINE User
-            Optional<LineUser> lineUserOpt = lineUserRepository
-                    .findByTenantIdAndCustomerIdAndDeletedAtIsNull(tenantId, customerId);
+    /**
+     * 同步發送預約狀態變更通知，失敗時拋出例外（供外寄匣重試）
+     *
+     * @param booking   預約
+     * @param newStatus 新狀態
+     * @param message   附加訊息（可選）
+     * @return 是否已發送（顧客沒有可接收訊息的 LINE 帳號時為 false）
+     */
+    public boolean pushBookingStatusNotification(Booking booking, BookingStatus newStatus, String message) {
+        Optional<String> lineUserId = findReachableLineUserId(booking.getTenantId(), booking.getCustomerId());
+        if (lineUserId.isEmpty()) {
+            return false;
+        }
 
-            if (lineUserOpt.isEmpty()) {
-                log.debug("顧客沒有關聯的 LINE 用戶，跳過通知。顧客 ID：{}", customerId);
-                return;
-            }
+        // 建構通知訊息
+        JsonNode notification = flexMessageBuilder.buildBookingStatusNotification(booking, newStatus, message);
 
-            LineUser lineUser = lineUserOpt.get();
+        // 發送推播
+        messageService.pushFlexOrThrow(booking.getTenantId(), lineUserId.get(),
+                getNotificationAltText(newStatus), notification);
 
-            // 檢查是否可以接收訊息
-            if (!lineUser.canReceiveMessage()) {
-                log.debug("LINE 用戶無法接收訊息（未追蹤或已刪除）。LINE User ID：{}", lineUser.getLineUserId());
-                return;
-            }
+        log.info("已發送預約狀態通知，租戶：{}，預約 ID：{}，新狀態：{}",
+                booking.getTenantId(), booking.getId(), newStatus);
+        return true;
+    }
 
-            // 建構通知訊息
-            JsonNode notification = flexMessageBuilder.buildBookingModificationNotification(booking, changeDescription);
+    /**
+     * 同步發送預約修改通知，失敗時拋出例外（供外寄匣重試）
+     *
+     * @param booking           預約
+     * @param changeDescription 變更描述
+     * @return 是否已發送（顧客沒有可接收訊息的 LINE 帳號時為 false）
+     */
+    public boolean pushBookingModificationNotification(Booking booking, String changeDescription) {
+        Optional<String> lineUserId = findReachableLineUserId(booking.getTenantId(), booking.getCustomerId());
+        if (lineUserId.isEmpty()) {
+            return false;
+        }
 
-            // 發送推播
-            messageService.pushFlex(tenantId, lineUser.getLineUserId(), "您的預約資訊已更新", notification);
+        // 建構通知訊息
+        JsonNode notification = flexMessageBuilder.buildBookingModificationNotification(booking, changeDescription);
 
-            log.info("已發送預約修改通知，租戶：{}，預約 ID：{}",
-                    tenantId, booking.getId());
+        // 發送推播
+        messageService.pushFlexOrThrow(booking.getTenantId(), lineUserId.get(), "您的預約資訊已更新", notification);
 
-        } catch (Exception e) {
-            log.error("發送預約修改通知失敗，預約 ID：{}，錯誤：{}", booking.getId(), e.getMessage(), e);
-        }
+        log.info("已發送預約修改通知，租戶：{}，預約 ID：{}", booking.getTenantId(), booking.getId());
+        return true;
     }
 
     /**
@@ -237,6 +230,29 @@ public class LineNotificationService {
         }
     }
 
+    /**
+     * 查詢顧客可接收訊息的 LINE User ID
+     */
+    private Optional<String> findReachableLineUserId(String tenantId, String customerId) {
+        Optional<LineUser> lineUserOpt = lineUserRepository
+                .findByTenantIdAndCustomerIdAndDeletedAtIsNull(tenantId, customerId);
+
+        if (lineUserOpt.isEmpty()) {
+            log.debug("顧客沒有關聯的 LINE 用戶，跳過通知。顧客 ID：{}", customerId);
+            return Optional.empty();
+        }
+
+        LineUser lineUser = lineUserOpt.get();
+
+        // 檢查是否可以接收訊息
+        if (!lineUser.canReceiveMessage()) {
+            log.debug("LINE 用戶無法接收訊息（未追蹤或已刪除）。LINE User ID：{}", lineUser.getLineUserId());
+            return Optional.empty();
+        }
+
+        return Optional.of(lineUser.getLineUserId());
+    }
+
     /**
      * 取得通知替代文字（用於無法顯示 Flex Message 時）
      */
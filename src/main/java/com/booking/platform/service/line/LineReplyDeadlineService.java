@@ -0,0 +1,314 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.common.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * LINE 回覆期限服務
+ *
+ * <p>Reply Token 在事件發生後約一分鐘失效，逾期回覆會被 LINE 拒絕，用戶看不到任何回應。
+ * 這裡記錄每個事件的回覆期限，並提供：
+ * <ul>
+ *   <li>慢工作（AI 回覆、可預約時段計算）在獨立執行緒池執行並設定等待上限</li>
+ *   <li>等待逾時時由呼叫端先回覆簡短訊息，完整結果完成後改用 Push 送出</li>
+ *   <li>執行緒池已滿時改在目前執行緒執行，不讓事件因拒絕排入而沒有回應</li>
+ *   <li>送出 Reply 前若期限已過，{@link LineMessageService} 改用 Push 補送</li>
+ *   <li>記錄事件是否已回覆用戶或異動對話狀態，之後的失敗不再交由佇列重試</li>
+ * </ul>
+ *
+ * <p>輸出指標：
+ * <ul>
+ *   <li>line.reply.latency - 事件發生到送出回覆的時間（handler, outcome）</li>
+ *   <li>line.reply.deadline.misses - 回覆期限風險次數（handler, outcome）</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class LineReplyDeadlineService {
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final MeterRegistry meterRegistry;
+    private final Executor slowWorkExecutor;
+
+    /**
+     * Reply Token 有效時間（毫秒）
+     */
+    @Value("${line.reply.token-ttl-ms:60000}")
+    private long tokenTtlMs;
+
+    /**
+     * 保留給送出回覆本身的時間（毫秒）
+     */
+    @Value("${line.reply.safety-margin-ms:5000}")
+    private long safetyMarginMs;
+
+    /**
+     * 目前執行緒處理中的事件
+     */
+    private final ThreadLocal<EventDeadline> current = new ThreadLocal<>();
+
+    public LineReplyDeadlineService(MeterRegistry meterRegistry,
+                                    @Qualifier("lineSlowWorkExecutor") Executor slowWorkExecutor) {
+        this.meterRegistry = meterRegistry;
+        this.slowWorkExecutor = slowWorkExecutor;
+    }
+
+    // ========================================
+    // 事件範圍
+    // ========================================
+
+    /**
+     * 開始處理事件
+     *
+     * @param userId         LINE User ID（逾期時 Push 的對象）
+     * @param handler        處理器類型（指標標籤）
+     * @param eventTimestamp 事件發生時間（epoch 毫秒，0 表示未知，以目前時間計算）
+     */
+    public void begin(String userId, String handler, long eventTimestamp) {
+        long now = System.currentTimeMillis();
+        long occurredAt = eventTimestamp > 0 && eventTimestamp <= now ? eventTimestamp : now;
+        current.set(new EventDeadline(userId, occurredAt, occurredAt + tokenTtlMs, handler));
+    }
+
+    /**
+     * 更新目前事件的處理器類型（例如 Postback 解析出 action 之後）
+     *
+     * @param handler 處理器類型
+     */
+    public void setHandler(String handler) {
+        EventDeadline deadline = current.get();
+        if (deadline != null) {
+            deadline.handler = handler;
+        }
+    }
+
+    /**
+     * 結束處理事件
+     */
+    public void end() {
+        current.remove();
+    }
+
+    // ========================================
+    // 期限查詢
+    // ========================================
+
+    /**
+     * 目前事件距離期限（扣除保留時間）剩餘的毫秒數
+     *
+     * @return 剩餘毫秒數，不在事件範圍內時回傳 {@link Long#MAX_VALUE}
+     */
+    public long remainingMillis() {
+        EventDeadline deadline = current.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return deadline.expiresAt - safetyMarginMs - System.currentTimeMillis();
+    }
+
+    /**
+     * 目前事件的 Reply Token 是否已失效
+     *
+     * @return 是否已失效
+     */
+    public boolean isExpired() {
+        EventDeadline deadline = current.get();
+        return deadline != null && System.currentTimeMillis() >= deadline.expiresAt;
+    }
+
+    /**
+     * 目前事件的用戶（Push 補送對象）
+     *
+     * @return LINE User ID，不在事件範圍內時回傳 null
+     */
+    public String currentUserId() {
+        EventDeadline deadline = current.get();
+        return deadline != null ? deadline.userId : null;
+    }
+
+    // ========================================
+    // 慢工作
+    // ========================================
+
+    /**
+     * 在期限內執行慢工作
+     *
+     * <p>等待時間取 timeout 與期限剩餘時間較小者。逾時後工作繼續執行，
+     * 完成時把結果交給 lateResult（在工作執行緒上呼叫，通常用來 Push）。
+     * 執行緒池已滿而拒絕排入時，改在目前執行緒直接執行（不設等待上限），
+     * 結果若晚於期限，送出回覆時由 {@link LineMessageService} 改用 Push 補送
+     *
+     * @param work       工作名稱（記錄用）
+     * @param task       工作內容
+     * @param timeout    等待上限
+     * @param lateResult 逾時後的結果處理
+     * @param <T>        結果型別
+     * @return 工作結果
+     * @throws TimeoutException 等待逾時，呼叫端應先回覆簡短訊息
+     */
+    public <T> T callWithinDeadline(String work, Supplier<T> task, Duration timeout,
+                                    Consumer<T> lateResult) throws TimeoutException {
+        String tenantId = TenantContext.getTenantId();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> withTenant(tenantId, task), slowWorkExecutor);
+        } catch (RejectedExecutionException e) {
+            recordMiss("slow_work_rejected");
+            log.warn("慢工作執行緒池已滿，{} 改在目前執行緒執行，處理器：{}", work, currentHandler());
+            return task.get();
+        }
+
+        long waitMs = Math.min(timeout.toMillis(), Math.max(0, remainingMillis()));
+        try {
+            return future.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            recordMiss("slow_work_timeout");
+            log.warn("慢工作 {} 超過 {}ms，先回覆後再推送結果，處理器：{}", work, waitMs, currentHandler());
+
+            future.whenComplete((result, error) -> {
+                if (error != null) {
+                    log.warn("慢工作 {} 逾時後執行失敗：{}", work, error.getMessage());
+                    return;
+                }
+                withTenant(tenantId, () -> {
+                    lateResult.accept(result);
+                    return null;
+                });
+            });
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待慢工作時被中斷：" + work, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("慢工作執行失敗：" + work, cause);
+        }
+    }
+
+    // ========================================
+    // 指標
+    // ========================================
+
+    /**
+     * 記錄回覆送出
+     *
+     * @param outcome reply（準時回覆）或 push_fallback（期限已過改用 Push）
+     */
+    public void recordReply(String outcome) {
+        EventDeadline deadline = current.get();
+        if (deadline == null) {
+            return;
+        }
+        deadline.sideEffects = true;
+
+        Timer.builder("line.reply.latency")
+                .description("LINE 事件發生到送出回覆的時間")
+                .tag("handler", deadline.handler)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.currentTimeMillis() - deadline.occurredAt, TimeUnit.MILLISECONDS);
+
+        if (!"reply".equals(outcome)) {
+            recordMiss(outcome);
+        }
+    }
+
+    /**
+     * 記錄目前事件異動了對話狀態
+     */
+    public void recordStateChange() {
+        EventDeadline deadline = current.get();
+        if (deadline != null) {
+            deadline.sideEffects = true;
+        }
+    }
+
+    /**
+     * 目前事件是否已回覆用戶或異動對話狀態（重新處理事件會重複這些動作）
+     */
+    public boolean hasSideEffects() {
+        EventDeadline deadline = current.get();
+        return deadline != null && deadline.sideEffects;
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void recordMiss(String outcome) {
+        Counter.builder("line.reply.deadline.misses")
+                .description("LINE 回覆期限風險次數")
+                .tag("handler", currentHandler())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String currentHandler() {
+        EventDeadline deadline = current.get();
+        return deadline != null ? deadline.handler : "unknown";
+    }
+
+    /**
+     * 在工作執行緒上帶入租戶上下文
+     */
+    private static <T> T withTenant(String tenantId, Supplier<T> task) {
+        if (tenantId == null) {
+            return task.get();
+        }
+        TenantContext.setTenantId(tenantId);
+        try {
+            return task.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 事件期限
+     */
+    private static final class EventDeadline {
+
+        private final String userId;
+        private final long occurredAt;
+        private final long expiresAt;
+        private String handler;
+        private boolean sideEffects;
+
+        private EventDeadline(String userId, long occurredAt, long expiresAt, String handler) {
+            this.userId = userId;
+            this.occurredAt = occurredAt;
+            this.expiresAt = expiresAt;
+            this.handler = handler;
+        }
+    }
+}
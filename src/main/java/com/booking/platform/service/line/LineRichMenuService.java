@@ -6,7 +6,6 @@ import com.booking.platform.entity.line.TenantLineConfig;
 import com.booking.platform.entity.tenant.Tenant;
 import com.booking.platform.repository.TenantRepository;
 import com.booking.platform.repository.line.TenantLineConfigRepository;
-import com.booking.platform.service.common.EncryptionService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -29,10 +28,7 @@ import org.springframework.web.client.RestTemplate;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
-import java.awt.font.TextLayout;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 /**
@@ -63,7 +59,10 @@ public class LineRichMenuService {
 
     private final TenantLineConfigRepository lineConfigRepository;
     private final TenantRepository tenantRepository;
-    private final EncryptionService encryptionService;
+    private final LineCredentialService credentialService;
+    private final RichMenuFontRegistry fontRegistry;
+    private final RichMenuImageEncoder imageEncoder;
+    private final RichMenuImageCache imageCache;
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
 
@@ -152,6 +151,12 @@ public class LineRichMenuService {
      */
     private static final long MAX_IMAGE_SIZE = 1024 * 1024;
 
+    /**
+     * 佈局區域快取（key：佈局代碼 + 高度）
+     */
+    private static final java.util.Map<String, int[][]> LAYOUT_AREAS_CACHE =
+            new java.util.concurrent.ConcurrentHashMap<>();
+
     // ========================================
     // 選單項目
     // ========================================
@@ -366,31 +371,34 @@ public class LineRichMenuService {
             validateImage(imageBytes);
 
             // ========================================
-            // 2. 自動縮放圖片到 Rich Menu 尺寸
+            // 2. 解析文字顏色
             // ========================================
-            byte[] resizedImageBytes = resizeImageToRichMenuSize(imageBytes);
+            Color overlayTextColor = TEXT_COLOR;
+            if (!noOverlay && textColorHex != null && textColorHex.startsWith("#") && textColorHex.length() == 7) {
+                try {
+                    overlayTextColor = Color.decode(textColorHex);
+                } catch (NumberFormatException e) {
+                    log.warn("無效的文字顏色：{}，使用預設白色", textColorHex);
+                }
+            }
 
             // ========================================
-            // 3. 決定最終圖片（是否疊加文字圖示）
+            // 3. 縮放並決定最終圖片（相同圖片與設定使用快取）
             // ========================================
-            byte[] finalImageBytes;
-            if (noOverlay) {
-                // 不疊加文字圖示，直接使用縮放後的背景圖
-                finalImageBytes = resizedImageBytes;
-                log.info("noOverlay=true，跳過疊加文字圖示");
-            } else {
-                // 解析文字顏色
-                Color overlayTextColor = TEXT_COLOR;
-                if (textColorHex != null && textColorHex.startsWith("#") && textColorHex.length() == 7) {
-                    try {
-                        overlayTextColor = Color.decode(textColorHex);
-                    } catch (NumberFormatException e) {
-                        log.warn("無效的文字顏色：{}，使用預設白色", textColorHex);
-                    }
+            Color textColor = overlayTextColor;
+            String cacheKey = RichMenuImageCache.key("CUSTOM_BG", imageBytes, DEFAULT_LAYOUT,
+                    noOverlay ? "none" : textColor.getRGB());
+            byte[] finalImageBytes = imageCache.getOrRender(cacheKey, () -> {
+                // 自動縮放圖片到 Rich Menu 尺寸
+                byte[] resizedImageBytes = resizeImageToRichMenuSize(imageBytes);
+                if (noOverlay) {
+                    // 不疊加文字圖示，直接使用縮放後的背景圖
+                    log.info("noOverlay=true，跳過疊加文字圖示");
+                    return resizedImageBytes;
                 }
                 // 在背景圖片上疊加選單文字和圖示
-                finalImageBytes = overlayMenuItemsOnImage(resizedImageBytes, overlayTextColor);
-            }
+                return overlayMenuItemsOnImage(resizedImageBytes, textColor);
+            });
 
             // ========================================
             // 4. 刪除現有的 Rich Menu
@@ -527,23 +535,13 @@ public class LineRichMenuService {
             outputG2d.drawImage(finalImage, 0, 0, null);
             outputG2d.dispose();
 
-            // 轉換為 PNG 位元組陣列
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(outputImage, "png", baos);
-            byte[] result = baos.toByteArray();
+            // 編碼為 PNG 或 JPEG（依預估大小選擇）
+            byte[] result = imageEncoder.encode(outputImage, null, MAX_IMAGE_SIZE);
 
             // 檢查輸出大小
             if (result.length > MAX_IMAGE_SIZE) {
-                log.warn("縮放後圖片超過 1MB（{}KB），嘗試轉為 JPEG", result.length / 1024);
-                // 嘗試用 JPEG 格式（較小檔案）
-                baos = new ByteArrayOutputStream();
-                ImageIO.write(outputImage, "jpg", baos);
-                result = baos.toByteArray();
-
-                if (result.length > MAX_IMAGE_SIZE) {
-                    throw new BusinessException(ErrorCode.SYS_VALIDATION_ERROR,
-                            "圖片處理後仍超過 1MB，請使用較小的原始圖片");
-                }
+                throw new BusinessException(ErrorCode.SYS_VALIDATION_ERROR,
+                        "圖片處理後仍超過 1MB，請使用較小的原始圖片");
             }
 
             log.info("圖片縮放完成，輸出大小：{}KB", result.length / 1024);
@@ -611,18 +609,8 @@ public class LineRichMenuService {
 
             g2d.dispose();
 
-            // 轉換為 PNG
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(composite, "png", baos);
-            byte[] result = baos.toByteArray();
-
-            // 檢查大小
-            if (result.length > MAX_IMAGE_SIZE) {
-                log.warn("合成圖片超過 1MB（{}KB），嘗試轉為 JPEG", result.length / 1024);
-                baos = new ByteArrayOutputStream();
-                ImageIO.write(composite, "jpg", baos);
-                result = baos.toByteArray();
-            }
+            // 編碼為 PNG 或 JPEG（依預估大小選擇）
+            byte[] result = imageEncoder.encode(composite, null, MAX_IMAGE_SIZE);
 
             log.info("圖片合成完成，輸出大小：{}KB", result.length / 1024);
             return result;
@@ -689,7 +677,7 @@ public class LineRichMenuService {
         // ========================================
         // 2. 繪製描邊文字（使用 TextLayout 描邊，清晰可讀）
         // ========================================
-        Font cellFont = textFont.deriveFont((float) fontSize);
+        Font cellFont = fontRegistry.getFont(textFont.getStyle(), fontSize);
         g2d.setFont(cellFont);
         FontMetrics fm = g2d.getFontMetrics();
         String text = MENU_ITEMS[index][0];
@@ -698,9 +686,7 @@ public class LineRichMenuService {
         int textY = centerY + circleSize / 2 + fm.getAscent();
 
         FontRenderContext frc = g2d.getFontRenderContext();
-        TextLayout textLayout = new TextLayout(text, cellFont, frc);
-        AffineTransform transform = AffineTransform.getTranslateInstance(textX, textY);
-        Shape textShape = textLayout.getOutline(transform);
+        Shape textShape = fontRegistry.getTextOutline(text, cellFont, frc, textX, textY);
 
         // 描邊層
         g2d.setStroke(new BasicStroke(8, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
@@ -863,7 +849,7 @@ public class LineRichMenuService {
 
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
-        headers.setContentType(MediaType.IMAGE_PNG);
+        headers.setContentType(imageEncoder.detectMediaType(imageBytes));
         headers.setContentLength(imageBytes.length);
 
         HttpEntity<byte[]> request = new HttpEntity<>(imageBytes, headers);
@@ -1054,6 +1040,21 @@ public class LineRichMenuService {
      * @return 區域陣列
      */
     private int[][] getLayoutAreasWithHeight(String layout, int menuHeight) {
+        int[][] areas = LAYOUT_AREAS_CACHE.computeIfAbsent(
+                layout + ":" + menuHeight, k -> computeLayoutAreas(layout, menuHeight));
+
+        // 回傳複本，避免呼叫端修改到快取內容
+        int[][] copy = new int[areas.length][];
+        for (int i = 0; i < areas.length; i++) {
+            copy[i] = areas[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * 計算佈局的區域定義
+     */
+    private int[][] computeLayoutAreas(String layout, int menuHeight) {
         int rowTopH = menuHeight / 2;
         int rowBottomH = menuHeight - rowTopH;
 
@@ -1290,11 +1291,27 @@ public class LineRichMenuService {
     /**
      * 產生指定主題的 Rich Menu 圖片
      *
+     * <p>相同主題、店名、佈局的圖片只繪製一次，之後從快取取得
+     *
      * @param shopName 店家名稱
      * @param theme 主題配色
      * @return 圖片位元組陣列
      */
     private byte[] generateRichMenuImage(String shopName, String theme) throws IOException {
+        String themeKey = theme != null ? theme.toUpperCase() : "GREEN";
+        String layout = "BOUTIQUE".equals(themeKey) ? "3+4+4" : DEFAULT_LAYOUT;
+        String cacheKey = RichMenuImageCache.key("THEME", themeKey, shopName, layout);
+        return imageCache.getOrRender(cacheKey, () -> renderRichMenuImage(shopName, theme));
+    }
+
+    /**
+     * 繪製指定主題的 Rich Menu 圖片
+     *
+     * @param shopName 店家名稱
+     * @param theme 主題配色
+     * @return 圖片位元組陣列
+     */
+    private byte[] renderRichMenuImage(String shopName, String theme) throws IOException {
         // 精品風主題使用特殊渲染
         if ("BOUTIQUE".equalsIgnoreCase(theme)) {
             return generateBoutiqueRichMenuImage(shopName);
@@ -1354,10 +1371,7 @@ public class LineRichMenuService {
 
         g2d.dispose();
 
-        // 轉換為 PNG
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(image, "png", baos);
-        return baos.toByteArray();
+        return imageEncoder.encode(image, themeColor, MAX_IMAGE_SIZE);
     }
 
     /**
@@ -1577,26 +1591,8 @@ public class LineRichMenuService {
 
         g2d.dispose();
 
-        // 轉換為 PNG
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(image, "png", baos);
-        byte[] result = baos.toByteArray();
-
-        // 超過 1MB 轉 JPEG
-        if (result.length > MAX_IMAGE_SIZE) {
-            baos.reset();
-            // 轉為 RGB（JPEG 不支援 ARGB）
-            BufferedImage rgbImage = new BufferedImage(imgW, imgH, BufferedImage.TYPE_INT_RGB);
-            Graphics2D rg = rgbImage.createGraphics();
-            rg.setColor(bgLight);
-            rg.fillRect(0, 0, imgW, imgH);
-            rg.drawImage(image, 0, 0, null);
-            rg.dispose();
-            ImageIO.write(rgbImage, "jpg", baos);
-            result = baos.toByteArray();
-        }
-
-        return result;
+        // 編碼（超過 1MB 時轉 JPEG，透明區域以米色底填滿）
+        return imageEncoder.encode(image, bgLight, MAX_IMAGE_SIZE);
     }
 
     /**
@@ -1703,18 +1699,7 @@ public class LineRichMenuService {
      * 取得解密後的 Access Token
      */
     private String getAccessToken(String tenantId) {
-        TenantLineConfig config = lineConfigRepository.findByTenantId(tenantId)
-                .orElseThrow(() -> new BusinessException(
-                        ErrorCode.LINE_CONFIG_NOT_FOUND, "LINE 設定不存在"
-                ));
-
-        if (config.getChannelAccessTokenEncrypted() == null) {
-            throw new BusinessException(
-                    ErrorCode.LINE_CONFIG_INVALID, "LINE Access Token 未設定"
-            );
-        }
-
-        return encryptionService.decrypt(config.getChannelAccessTokenEncrypted());
+        return credentialService.getRequiredAccessToken(tenantId);
     }
 
     /**
@@ -2268,85 +2253,16 @@ public class LineRichMenuService {
     }
 
     /**
-     * 載入支援中文的字型（跨平台相容）
+     * 取得支援中文的字型（跨平台相容）
      *
-     * <p>依序嘗試以下字型：
-     * <ol>
-     *   <li>WenQuanYi Zen Hei（Docker/Linux - 文泉驛正黑，優先使用）</li>
-     *   <li>WenQuanYi Micro Hei（Linux - 文泉驛微米黑）</li>
-     *   <li>Noto Sans CJK TC（Linux - Google Noto）</li>
-     *   <li>Microsoft JhengHei（Windows - 微軟正黑體）</li>
-     *   <li>PingFang TC（macOS - 蘋方）</li>
-     *   <li>SansSerif（Java 邏輯字型，最後備援）</li>
-     * </ol>
+     * <p>字型檔只在第一次使用時載入，之後由 {@link RichMenuFontRegistry} 快取
      *
      * @param style 字型樣式（Font.PLAIN, Font.BOLD 等）
      * @param size 字型大小
      * @return 可用的中文字型
      */
     private Font loadChineseFont(int style, int size) {
-        // ========================================
-        // 1. 優先嘗試直接載入字型檔案（最可靠）
-        // ========================================
-        String[] fontFilePaths = {
-                "/usr/share/fonts/wenquanyi/wqy-zenhei/wqy-zenhei.ttc",  // Alpine font-wqy-zenhei
-                "/usr/share/fonts/truetype/wqy/wqy-zenhei.ttc",           // Debian/Ubuntu
-                "/usr/share/fonts/wqy-zenhei/wqy-zenhei.ttc",             // CentOS/RHEL
-                "/usr/share/fonts/wenquanyi/wqy-microhei/wqy-microhei.ttc" // Alpine 微米黑
-        };
-
-        for (String path : fontFilePaths) {
-            java.io.File fontFile = new java.io.File(path);
-            if (fontFile.exists()) {
-                try {
-                    Font font = Font.createFont(Font.TRUETYPE_FONT, fontFile);
-                    font = font.deriveFont(style, (float) size);
-                    if (font.canDisplay('預')) {
-                        log.debug("使用字型檔案：{}", path);
-                        return font;
-                    }
-                } catch (Exception e) {
-                    log.warn("載入字型檔案失敗 {}：{}", path, e.getMessage());
-                }
-            }
-        }
-
-        // ========================================
-        // 2. 備援：使用系統字型名稱查找
-        // ========================================
-        String[] fontCandidates = {
-                "WenQuanYi Zen Hei",     // Docker/Linux - 文泉驛正黑
-                "WenQuanYi Micro Hei",   // Linux - 文泉驛微米黑
-                "Noto Sans CJK TC",      // Linux - Google Noto 字型
-                "Noto Sans TC",          // Linux - Noto 變體
-                "Droid Sans Fallback",   // Linux/Android
-                "Microsoft JhengHei",    // Windows - 微軟正黑體
-                "Microsoft YaHei",       // Windows - 微軟雅黑
-                "PingFang TC",           // macOS - 蘋方繁體
-                "Heiti TC",              // macOS - 黑體繁體
-                "SimHei",                // Windows - 黑體
-                "SansSerif"              // Java 邏輯字型（最後備援）
-        };
-
-        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-        java.util.Set<String> availableFonts = new java.util.HashSet<>();
-        for (String fontName : ge.getAvailableFontFamilyNames()) {
-            availableFonts.add(fontName);
-        }
-
-        for (String fontName : fontCandidates) {
-            if (availableFonts.contains(fontName)) {
-                Font font = new Font(fontName, style, size);
-                if (font.canDisplay('預')) {
-                    log.debug("使用系統字型：{}", fontName);
-                    return font;
-                }
-            }
-        }
-
-        log.warn("找不到支援中文的字型，使用預設 SansSerif（可能無法正確顯示中文）");
-        log.warn("可用字型列表：{}", String.join(", ", availableFonts));
-        return new Font("SansSerif", style, size);
+        return fontRegistry.getFont(style, size);
     }
 
     // ========================================
@@ -2404,7 +2320,7 @@ public class LineRichMenuService {
         drawIcon(g2d, MENU_ICON_TYPES[index], centerX, iconCenterY, iconSize);
 
         // ── 繪製文字（帶陰影）──
-        Font cellFont = textFont.deriveFont((float) fontSize);
+        Font cellFont = fontRegistry.getFont(textFont.getStyle(), fontSize);
         g2d.setFont(cellFont);
         FontMetrics fm = g2d.getFontMetrics();
         String text = MENU_ITEMS[index][0];
@@ -2450,7 +2366,7 @@ public class LineRichMenuService {
         drawIcon(g2d, MENU_ICON_TYPES[index], centerX, centerY - iconSize / 4, iconSize);
 
         // 繪製文字（先畫陰影再畫白色）
-        Font cellFont = textFont.deriveFont((float) fontSize);
+        Font cellFont = fontRegistry.getFont(textFont.getStyle(), fontSize);
         g2d.setFont(cellFont);
         FontMetrics fm = g2d.getFontMetrics();
         String text = MENU_ITEMS[index][0];
@@ -2491,7 +2407,7 @@ public class LineRichMenuService {
         int fontSize = Math.max(36, Math.min(72, cellW / 12));
 
         // 計算文字尺寸
-        Font cellFont = textFont.deriveFont((float) fontSize);
+        Font cellFont = fontRegistry.getFont(textFont.getStyle(), fontSize);
         g2d.setFont(cellFont);
         FontMetrics fm = g2d.getFontMetrics();
         String text = MENU_ITEMS[index][0];
@@ -2760,19 +2676,9 @@ public class LineRichMenuService {
             outG.drawImage(cropped, 0, 0, null);
             outG.dispose();
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(output, "png", baos);
-            byte[] result = baos.toByteArray();
-
-            // 超過 1MB 轉 JPEG
+            byte[] result = imageEncoder.encode(output, null, MAX_IMAGE_SIZE);
             if (result.length > MAX_IMAGE_SIZE) {
-                log.warn("圖片超過 1MB（{}KB），轉為 JPEG", result.length / 1024);
-                baos = new ByteArrayOutputStream();
-                ImageIO.write(output, "jpg", baos);
-                result = baos.toByteArray();
-                if (result.length > MAX_IMAGE_SIZE) {
-                    throw new BusinessException(ErrorCode.SYS_VALIDATION_ERROR, "圖片處理後仍超過 1MB");
-                }
+                throw new BusinessException(ErrorCode.SYS_VALIDATION_ERROR, "圖片處理後仍超過 1MB");
             }
 
             return result;
@@ -3048,7 +2954,7 @@ public class LineRichMenuService {
                         labelColor = Color.WHITE;
                     }
 
-                    Font cellFont = textFont.deriveFont((float) labelSize);
+                    Font cellFont = fontRegistry.getFont(textFont.getStyle(), labelSize);
                     g2d.setFont(cellFont);
                     FontMetrics fm = g2d.getFontMetrics();
                     int textWidth = fm.stringWidth(label);
@@ -3081,9 +2987,7 @@ public class LineRichMenuService {
                     // 描邊文字（提高可讀性）
                     Color outlineColor = getContrastOutlineColor(labelColor);
                     FontRenderContext frc = g2d.getFontRenderContext();
-                    TextLayout textLayout = new TextLayout(label, cellFont, frc);
-                    AffineTransform transform = AffineTransform.getTranslateInstance(textX, textY);
-                    Shape textShape = textLayout.getOutline(transform);
+                    Shape textShape = fontRegistry.getTextOutline(label, cellFont, frc, textX, textY);
 
                     g2d.setStroke(new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
                     g2d.setColor(outlineColor);
@@ -3105,21 +3009,7 @@ public class LineRichMenuService {
             // ========================================
             // 3. 匯出
             // ========================================
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(canvas, "png", baos);
-            byte[] result = baos.toByteArray();
-
-            if (result.length > MAX_IMAGE_SIZE) {
-                log.warn("合成圖片超過 1MB（{}KB），轉為 JPEG", result.length / 1024);
-                // 轉 RGB（JPEG 不支援 ARGB）
-                BufferedImage rgbImage = new BufferedImage(MENU_WIDTH, menuHeight, BufferedImage.TYPE_INT_RGB);
-                Graphics2D rgbG = rgbImage.createGraphics();
-                rgbG.drawImage(canvas, 0, 0, null);
-                rgbG.dispose();
-                baos = new ByteArrayOutputStream();
-                ImageIO.write(rgbImage, "jpg", baos);
-                result = baos.toByteArray();
-            }
+            byte[] result = imageEncoder.encode(canvas, Color.BLACK, MAX_IMAGE_SIZE);
 
             log.info("進階 Rich Menu 圖片合成完成，大小：{}KB", result.length / 1024);
             return result;
@@ -0,0 +1,356 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.repository.line.LineUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LINE 用戶互動追蹤
+ *
+ * <p>每則訊息都讀取並整筆儲存 LineUser 只為了累加互動次數，聊天頻繁的用戶會造成大量寫入：
+ * <ul>
+ *   <li>已知用戶：記憶體中記錄各租戶已存在的 LINE User ID，確認用戶存在不必查資料庫</li>
+ *   <li>計數彙總：互動次數、預約次數先在記憶體累加</li>
+ *   <li>定時寫入：每隔 flush-interval-ms 以 UPDATE ... SET count = count + n 批量寫入，
+ *       累加次數與最後互動時間都相同的用戶合併為一條 UPDATE</li>
+ * </ul>
+ *
+ * <p>最後互動時間取到秒，同一秒內互動的用戶可以合併寫入；
+ * 計數在記憶體中，程序異常終止時可能遺失最後一個區間的累加；寫入失敗時計數放回，下次再寫入
+ *
+ * <p>輸出指標：
+ * <ul>
+ *   <li>line.user.interaction.pending - 尚未寫入的用戶數</li>
+ *   <li>line.user.interaction.flushed - 已寫入的累加次數（type: interaction / booking）</li>
+ *   <li>line.user.lookup - 用戶存在檢查（result: known / unknown）</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class LineUserInteractionTracker {
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final LineUserRepository lineUserRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Executor flushExecutor;
+
+    /**
+     * 每條 UPDATE 的用戶數上限（IN 清單長度）
+     */
+    @Value("${line.interaction.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 尚未寫入的用戶數達此值時提前寫入
+     */
+    @Value("${line.interaction.max-pending:50000}")
+    private int maxPending;
+
+    /**
+     * 已知用戶上限，超過時清空重新累積
+     */
+    @Value("${line.interaction.known-users-max:200000}")
+    private int knownUsersMax;
+
+    /**
+     * 已知用戶（key：租戶 ID）
+     */
+    private final Map<String, Set<String>> knownUsers = new ConcurrentHashMap<>();
+    private final AtomicInteger knownCount = new AtomicInteger();
+
+    /**
+     * 尚未寫入的計數（只在 compute 內修改）
+     */
+    private final Map<UserKey, PendingCounts> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public LineUserInteractionTracker(LineUserRepository lineUserRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Qualifier("taskExecutor") Executor flushExecutor) {
+        this.lineUserRepository = lineUserRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.flushExecutor = flushExecutor;
+
+        Gauge.builder("line.user.interaction.pending", pending, Map::size)
+                .description("互動計數尚未寫入的用戶數")
+                .register(meterRegistry);
+    }
+
+    // ========================================
+    // 已知用戶
+    // ========================================
+
+    /**
+     * 用戶是否已確認存在
+     *
+     * @param tenantId   租戶 ID
+     * @param lineUserId LINE User ID
+     * @return true 表示不必再查資料庫
+     */
+    public boolean isKnown(String tenantId, String lineUserId) {
+        Set<String> users = knownUsers.get(tenantId);
+        boolean known = users != null && users.contains(lineUserId);
+        Counter.builder("line.user.lookup")
+                .tag("result", known ? "known" : "unknown")
+                .register(meterRegistry)
+                .increment();
+        return known;
+    }
+
+    /**
+     * 記錄用戶已存在
+     *
+     * <p>在交易內呼叫時，交易提交後才記錄，交易回滾（用戶未建立）則不記錄
+     *
+     * @param tenantId   租戶 ID
+     * @param lineUserId LINE User ID
+     */
+    public void markKnown(String tenantId, String lineUserId) {
+        afterCommit(() -> addKnown(tenantId, lineUserId));
+    }
+
+    // ========================================
+    // 計數
+    // ========================================
+
+    /**
+     * 累加互動次數並更新最後互動時間
+     *
+     * @param tenantId   租戶 ID
+     * @param lineUserId LINE User ID
+     */
+    public void recordInteraction(String tenantId, String lineUserId) {
+        recordInteraction(tenantId, lineUserId, LocalDateTime.now());
+    }
+
+    void recordInteraction(String tenantId, String lineUserId, LocalDateTime at) {
+        LocalDateTime truncated = at.truncatedTo(ChronoUnit.SECONDS);
+        afterCommit(() -> add(new UserKey(tenantId, lineUserId), 1, 0, truncated));
+    }
+
+    /**
+     * 累加預約次數
+     *
+     * @param tenantId   租戶 ID
+     * @param lineUserId LINE User ID
+     */
+    public void recordBooking(String tenantId, String lineUserId) {
+        afterCommit(() -> add(new UserKey(tenantId, lineUserId), 0, 1, null));
+    }
+
+    // ========================================
+    // 寫入
+    // ========================================
+
+    /**
+     * 定時寫入累加的計數
+     */
+    @Scheduled(fixedDelayString = "${line.interaction.flush-interval-ms:10000}")
+    public void flushPeriodically() {
+        if (!pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * 關閉前寫入剩餘計數
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("關閉前寫入 LINE 用戶互動計數 {} 位", flushed);
+        }
+    }
+
+    /**
+     * 寫入目前累加的所有計數
+     *
+     * @return 寫入的用戶數
+     */
+    public synchronized int flush() {
+        Map<UserKey, PendingCounts> drained = drain();
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        // 依租戶、累加次數與最後互動時間分組，同組合併為一條 UPDATE
+        Map<GroupKey, List<String>> interactions = new HashMap<>();
+        Map<GroupKey, List<String>> bookings = new HashMap<>();
+        drained.forEach((key, counts) -> {
+            if (counts.interactions > 0) {
+                interactions.computeIfAbsent(
+                                new GroupKey(key.tenantId(), counts.interactions, counts.lastInteractionAt),
+                                k -> new ArrayList<>())
+                        .add(key.lineUserId());
+            }
+            if (counts.bookings > 0) {
+                bookings.computeIfAbsent(new GroupKey(key.tenantId(), counts.bookings, null), k -> new ArrayList<>())
+                        .add(key.lineUserId());
+            }
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                interactions.forEach((group, users) -> write(group, users, true));
+                bookings.forEach((group, users) -> write(group, users, false));
+            });
+        } catch (Exception e) {
+            log.warn("LINE 用戶互動計數寫入失敗，下次重試，用戶數：{}，錯誤：{}", drained.size(), e.getMessage());
+            drained.forEach((key, counts) ->
+                    add(key, counts.interactions, counts.bookings, counts.lastInteractionAt));
+            return 0;
+        }
+
+        count("interaction", interactions);
+        count("booking", bookings);
+        return drained.size();
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void addKnown(String tenantId, String lineUserId) {
+        if (knownCount.get() >= knownUsersMax) {
+            knownUsers.clear();
+            knownCount.set(0);
+        }
+        if (knownUsers.computeIfAbsent(tenantId, k -> ConcurrentHashMap.newKeySet()).add(lineUserId)) {
+            knownCount.incrementAndGet();
+        }
+    }
+
+    private void forget(String tenantId, List<String> lineUserIds) {
+        Set<String> users = knownUsers.get(tenantId);
+        if (users != null) {
+            lineUserIds.forEach(users::remove);
+        }
+    }
+
+    private void add(UserKey key, int interactions, int bookings, LocalDateTime at) {
+        pending.compute(key, (k, counts) -> {
+            PendingCounts merged = counts != null ? counts : new PendingCounts();
+            merged.interactions += interactions;
+            merged.bookings += bookings;
+            if (at != null && (merged.lastInteractionAt == null || at.isAfter(merged.lastInteractionAt))) {
+                merged.lastInteractionAt = at;
+            }
+            return merged;
+        });
+
+        if (pending.size() >= maxPending && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    private Map<UserKey, PendingCounts> drain() {
+        Map<UserKey, PendingCounts> drained = new HashMap<>();
+        for (UserKey key : pending.keySet()) {
+            PendingCounts counts = pending.remove(key);
+            if (counts != null) {
+                drained.put(key, counts);
+            }
+        }
+        return drained;
+    }
+
+    private void write(GroupKey group, List<String> lineUserIds, boolean interaction) {
+        for (int from = 0; from < lineUserIds.size(); from += batchSize) {
+            List<String> chunk = lineUserIds.subList(from, Math.min(from + batchSize, lineUserIds.size()));
+            int updated = interaction
+                    ? lineUserRepository.addInteractions(group.tenantId(), chunk, group.count(), group.lastInteractionAt())
+                    : lineUserRepository.addBookings(group.tenantId(), chunk, group.count());
+
+            // 有用戶已不存在（例如已刪除），下次互動重新確認
+            if (updated < chunk.size()) {
+                forget(group.tenantId(), chunk);
+            }
+        }
+    }
+
+    private void count(String type, Map<GroupKey, List<String>> groups) {
+        long total = groups.entrySet().stream()
+                .mapToLong(entry -> (long) entry.getKey().count() * entry.getValue().size())
+                .sum();
+        if (total > 0) {
+            Counter.builder("line.user.interaction.flushed")
+                    .description("LINE 用戶計數已寫入的累加次數")
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .increment(total);
+        }
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    private record UserKey(String tenantId, String lineUserId) {
+    }
+
+    /**
+     * 一條 UPDATE 的分組（預約次數不更新最後互動時間，lastInteractionAt 為 null）
+     */
+    private record GroupKey(String tenantId, int count, LocalDateTime lastInteractionAt) {
+    }
+
+    /**
+     * 單一用戶尚未寫入的計數
+     */
+    private static class PendingCounts {
+        private int interactions;
+        private int bookings;
+        private LocalDateTime lastInteractionAt;
+    }
+}
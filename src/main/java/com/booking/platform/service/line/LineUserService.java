@@ -8,6 +8,7 @@ import com.booking.platform.entity.line.LineUser;
 import com.booking.platform.enums.CustomerStatus;
 import com.booking.platform.repository.CustomerRepository;
 import com.booking.platform.repository.line.LineUserRepository;
+import com.booking.platform.service.SegmentStatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -36,6 +37,8 @@ public class LineUserService {
 
     private final LineUserRepository lineUserRepository;
     private final CustomerRepository customerRepository;
+    private final LineUserInteractionTracker interactionTracker;
+    private final SegmentStatisticsService segmentStatisticsService;
 
     // ========================================
     // 查詢方法
@@ -63,6 +66,27 @@ public class LineUserService {
         return lineUserRepository.findByTenantIdAndCustomerIdAndDeletedAtIsNull(tenantId, customerId);
     }
 
+    /**
+     * 記錄已存在用戶的互動
+     *
+     * <p>已知用戶不查資料庫；互動次數由 {@link LineUserInteractionTracker} 彙總後批量寫入
+     *
+     * @param tenantId   租戶 ID
+     * @param lineUserId LINE User ID
+     * @return false 表示用戶不存在，需呼叫 {@link #getOrCreateUser} 建立
+     */
+    public boolean recordInteraction(String tenantId, String lineUserId) {
+        if (!interactionTracker.isKnown(tenantId, lineUserId)) {
+            if (!lineUserRepository.existsByTenantIdAndLineUserIdAndDeletedAtIsNull(tenantId, lineUserId)) {
+                return false;
+            }
+            interactionTracker.markKnown(tenantId, lineUserId);
+        }
+
+        interactionTracker.recordInteraction(tenantId, lineUserId);
+        return true;
+    }
+
     /**
      * 取得或建立 LINE 用戶
      *
@@ -92,7 +116,8 @@ public class LineUserService {
             // 更新個人資料
             LineUser user = existingUser.get();
             user.updateProfile(displayName, pictureUrl, statusMessage);
-            user.incrementInteractionCount();
+            interactionTracker.markKnown(tenantId, lineUserId);
+            interactionTracker.recordInteraction(tenantId, lineUserId);
             return lineUserRepository.save(user);
         }
 
@@ -124,6 +149,8 @@ public class LineUserService {
 
         createCustomerForLineUser(tenantId, newUser);
 
+        interactionTracker.markKnown(tenantId, lineUserId);
+        segmentStatisticsService.invalidate(tenantId);
         return newUser;
     }
 
@@ -154,6 +181,7 @@ public class LineUserService {
         // 查詢或建立用戶
         LineUser user = getOrCreateUser(tenantId, lineUserId, displayName, pictureUrl, statusMessage);
         user.handleFollow();
+        segmentStatisticsService.invalidate(tenantId);
 
         return lineUserRepository.save(user);
     }
@@ -185,6 +213,7 @@ public class LineUserService {
                         });
             }
 
+            segmentStatisticsService.invalidate(tenantId);
             return lineUserRepository.save(user);
         }
 
@@ -194,16 +223,13 @@ public class LineUserService {
     /**
      * 增加預約次數
      *
+     * <p>由 {@link LineUserInteractionTracker} 彙總後批量寫入，不讀取用戶
+     *
      * @param tenantId   租戶 ID
      * @param lineUserId LINE User ID
      */
-    @Transactional
     public void incrementBookingCount(String tenantId, String lineUserId) {
-        lineUserRepository.findByTenantIdAndLineUserIdAndDeletedAtIsNull(tenantId, lineUserId)
-                .ifPresent(user -> {
-                    user.incrementBookingCount();
-                    lineUserRepository.save(user);
-                });
+        interactionTracker.recordBooking(tenantId, lineUserId);
     }
 
     /**
@@ -233,6 +259,8 @@ public class LineUserService {
                     customerRepository.save(customer);
                 });
 
+        segmentStatisticsService.invalidate(tenantId);
+
         log.info("LINE 用戶綁定顧客成功，租戶：{}，LINE User：{}，顧客：{}",
                 tenantId, lineUserId, customerId);
     }
@@ -278,6 +306,7 @@ public class LineUserService {
 
         // 否則建立顧客
         createCustomerForLineUser(tenantId, lineUser);
+        segmentStatisticsService.invalidate(tenantId);
         return lineUser.getCustomerId();
     }
 
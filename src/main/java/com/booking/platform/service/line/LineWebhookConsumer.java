@@ -0,0 +1,322 @@
+package com.booking.platform.service.line;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LINE Webhook 事件消費者
+ *
+ * <p>每個節點以同一個消費者群組（line-webhook）讀取所有分區，每個分區一個執行緒依序處理；
+ * 處理成功才確認（XACK），處理失敗或節點當機的事件留在待確認清單，
+ * 閒置超過 claim-idle-ms 後由任一節點接手（XCLAIM），至少處理一次
+ *
+ * <p>重複投遞（LINE 重送或接手重試）以 webhookEventId 去重：
+ * 處理前以 SET NX 標記處理中（逾時與接手時間相同），完成後改為已處理並保留 dedup-ttl-hours
+ *
+ * <p>投遞超過 max-deliveries 次仍失敗的事件移入 line:webhook:dead 並確認，避免一直重試
+ *
+ * <p>輸出指標：
+ * <ul>
+ *   <li>line.webhook.queue.events - 事件處理結果（outcome）</li>
+ *   <li>line.webhook.queue.delay - 寫入佇列到開始處理的等待時間</li>
+ *   <li>line.webhook.queue.pending - 已投遞尚未確認的事件數</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ * @see LineWebhookQueue
+ */
+@Component
+@ConditionalOnProperty(name = "line.webhook-queue.enabled", havingValue = "true")
+@Slf4j
+public class LineWebhookConsumer {
+
+    static final String GROUP = "line-webhook";
+
+    private static final String DEAD_LETTER_STREAM = LineWebhookQueue.STREAM_PREFIX + "dead";
+    private static final String DEDUP_PREFIX = LineWebhookQueue.STREAM_PREFIX + "seen:";
+    private static final String PROCESSING = "processing";
+    private static final String DONE = "done";
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final LineWebhookQueue webhookQueue;
+    private final LineWebhookService webhookService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${line.webhook-queue.batch-size:10}")
+    private int batchSize;
+
+    @Value("${line.webhook-queue.claim-idle-ms:60000}")
+    private long claimIdleMs;
+
+    @Value("${line.webhook-queue.max-deliveries:3}")
+    private int maxDeliveries;
+
+    @Value("${line.webhook-queue.dedup-ttl-hours:24}")
+    private long dedupTtlHours;
+
+    /**
+     * 消費者名稱（主機名稱 + PID），節點重啟後舊名稱的待確認事件由接手機制處理
+     */
+    private final String consumerName = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer delayTimer;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    @Autowired
+    public LineWebhookConsumer(RedisConnectionFactory connectionFactory,
+                               LineWebhookQueue webhookQueue,
+                               LineWebhookService webhookService,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this(connectionFactory, new StringRedisTemplate(connectionFactory), webhookQueue, webhookService,
+                objectMapper, meterRegistry);
+    }
+
+    LineWebhookConsumer(RedisConnectionFactory connectionFactory,
+                        StringRedisTemplate redisTemplate,
+                        LineWebhookQueue webhookQueue,
+                        LineWebhookService webhookService,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.webhookQueue = webhookQueue;
+        this.webhookService = webhookService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        this.delayTimer = Timer.builder("line.webhook.queue.delay")
+                .description("Webhook 事件寫入佇列到開始處理的等待時間")
+                .register(meterRegistry);
+        Gauge.builder("line.webhook.queue.pending", pending, AtomicLong::get)
+                .description("已投遞尚未確認的 Webhook 事件數")
+                .register(meterRegistry);
+    }
+
+    // ========================================
+    // 啟動與關閉
+    // ========================================
+
+    /**
+     * 應用程式就緒後開始消費
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(2))
+                        .batchSize(batchSize)
+                        .executor(new SimpleAsyncTaskExecutor("line-webhook-"))
+                        .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+
+        Consumer consumer = Consumer.from(GROUP, consumerName);
+        for (int partition = 0; partition < webhookQueue.partitions(); partition++) {
+            String streamKey = LineWebhookQueue.streamKey(partition);
+            createGroup(streamKey);
+            container.register(
+                    StreamReadRequest.builder(StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                            .consumer(consumer)
+                            .autoAcknowledge(false)
+                            // Redis 暫時無法連線時不取消訂閱，稍候再讀
+                            .cancelOnError(e -> false)
+                            .errorHandler(this::onPollError)
+                            .build(),
+                    this::handle);
+        }
+        container.start();
+
+        log.info("LINE Webhook 消費者已啟動，消費者：{}，分區數：{}", consumerName, webhookQueue.partitions());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    // ========================================
+    // 處理
+    // ========================================
+
+    /**
+     * 處理一筆事件，成功（或已處理過）才確認
+     */
+    void handle(MapRecord<String, String, String> record) {
+        Map<String, String> fields = record.getValue();
+        String tenantId = fields.get(LineWebhookQueue.FIELD_TENANT_ID);
+        String eventId = fields.get(LineWebhookQueue.FIELD_EVENT_ID);
+        boolean dedup = eventId != null && !eventId.isEmpty();
+        String dedupKey = DEDUP_PREFIX + eventId;
+
+        delayTimer.record(Math.max(0, System.currentTimeMillis() - record.getId().getTimestamp()),
+                TimeUnit.MILLISECONDS);
+
+        if (dedup && !Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(dedupKey, PROCESSING, Duration.ofMillis(claimIdleMs)))) {
+            if (DONE.equals(redisTemplate.opsForValue().get(dedupKey))) {
+                acknowledge(record);
+                count("duplicate");
+            }
+            // 其他消費者處理中：不確認，逾時後由接手機制重新判斷
+            return;
+        }
+
+        try {
+            webhookService.processEvent(tenantId, objectMapper.readTree(fields.get(LineWebhookQueue.FIELD_EVENT)));
+        } catch (Exception e) {
+            log.error("Webhook 事件處理失敗，等待重試，租戶：{}，事件：{}，錯誤：{}",
+                    tenantId, record.getId(), e.getMessage(), e);
+            if (dedup) {
+                redisTemplate.delete(dedupKey);
+            }
+            count("failed");
+            return;
+        }
+
+        if (dedup) {
+            redisTemplate.opsForValue().set(dedupKey, DONE, Duration.ofHours(dedupTtlHours));
+        }
+        acknowledge(record);
+        count("processed");
+    }
+
+    // ========================================
+    // 接手與監控
+    // ========================================
+
+    /**
+     * 接手閒置過久的待確認事件（處理失敗或消費者已停止），並更新待確認數量
+     */
+    @Scheduled(fixedDelayString = "${line.webhook-queue.reclaim-interval-ms:30000}")
+    public void reclaim() {
+        if (container == null) {
+            return;
+        }
+
+        StreamOperations<String, String, String> streams = redisTemplate.opsForStream();
+        Duration minIdle = Duration.ofMillis(claimIdleMs);
+        long totalPending = 0;
+
+        for (int partition = 0; partition < webhookQueue.partitions(); partition++) {
+            String streamKey = LineWebhookQueue.streamKey(partition);
+            try {
+                PendingMessages messages = streams.pending(streamKey, GROUP, Range.unbounded(), batchSize * 10L);
+                for (PendingMessage message : messages) {
+                    if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                        continue;
+                    }
+                    if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                        deadLetter(streamKey, message.getId());
+                        continue;
+                    }
+                    // 同時接手時只有一個節點成功（XCLAIM 會重置閒置時間）
+                    List<MapRecord<String, String, String>> claimed =
+                            streams.claim(streamKey, GROUP, consumerName, minIdle, message.getId());
+                    claimed.forEach(this::handle);
+                }
+                totalPending += streams.pending(streamKey, GROUP).getTotalPendingMessages();
+            } catch (Exception e) {
+                log.warn("Webhook 待確認事件接手失敗，分區：{}，錯誤：{}", streamKey, e.getMessage());
+            }
+        }
+
+        pending.set(totalPending);
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void createGroup(String streamKey) {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(streamKey.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true));
+        } catch (Exception e) {
+            // 群組已存在（BUSYGROUP）
+            log.debug("消費者群組已存在，分區：{}", streamKey);
+        }
+    }
+
+    /**
+     * 移入死信 Stream 並確認
+     */
+    private void deadLetter(String streamKey, RecordId id) {
+        StreamOperations<String, String, String> streams = redisTemplate.opsForStream();
+        List<MapRecord<String, String, String>> records = streams.range(streamKey, Range.closed(id.getValue(), id.getValue()));
+        for (MapRecord<String, String, String> record : records) {
+            Map<String, String> fields = new HashMap<>(record.getValue());
+            fields.put("source", streamKey + "/" + id.getValue());
+            streams.add(StreamRecords.string(fields).withStreamKey(DEAD_LETTER_STREAM));
+            log.error("Webhook 事件重試次數用完，已移入 {}，租戶：{}，事件：{}",
+                    DEAD_LETTER_STREAM, fields.get(LineWebhookQueue.FIELD_TENANT_ID), id.getValue());
+        }
+        streams.acknowledge(streamKey, GROUP, id);
+        count("dead_letter");
+    }
+
+    private void acknowledge(MapRecord<String, String, String> record) {
+        redisTemplate.opsForStream().acknowledge(GROUP, record);
+    }
+
+    private void onPollError(Throwable e) {
+        log.warn("讀取 Webhook 佇列失敗：{}", e.getMessage());
+        LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void count(String outcome) {
+        Counter.builder("line.webhook.queue.events")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
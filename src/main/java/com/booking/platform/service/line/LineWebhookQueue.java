@@ -0,0 +1,177 @@
+package com.booking.platform.service.line;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LINE Webhook 事件佇列（Redis Streams）
+ *
+ * <p>簽名驗證通過後，Webhook 內的事件逐筆寫入 Redis Stream 即回應 LINE，
+ * 由 {@link LineWebhookConsumer} 以消費者群組處理；重新部署或流量突增時事件留在 Redis，不會遺失
+ *
+ * <p>依租戶分區（line:webhook:{分區}），同租戶的事件在同一分區，
+ * 每個節點對每個分區各有一個消費執行緒，增加節點即可提高處理量
+ *
+ * <p>每筆事件欄位：
+ * <ul>
+ *   <li>tenantId - 租戶 ID</li>
+ *   <li>eventId - LINE webhookEventId（去重用）</li>
+ *   <li>event - 事件 JSON</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ * @see LineWebhookConsumer
+ */
+@Component
+@Slf4j
+public class LineWebhookQueue {
+
+    /**
+     * Stream Key 前綴
+     */
+    static final String STREAM_PREFIX = "line:webhook:";
+
+    static final String FIELD_TENANT_ID = "tenantId";
+    static final String FIELD_EVENT_ID = "eventId";
+    static final String FIELD_EVENT = "event";
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${line.webhook-queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${line.webhook-queue.partitions:8}")
+    private int partitions;
+
+    @Value("${line.webhook-queue.max-length:100000}")
+    private long maxLength;
+
+    @Autowired
+    public LineWebhookQueue(RedisConnectionFactory connectionFactory,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this(new StringRedisTemplate(connectionFactory), objectMapper, meterRegistry);
+    }
+
+    LineWebhookQueue(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ========================================
+    // 寫入
+    // ========================================
+
+    /**
+     * 將 Webhook 內的事件寫入佇列
+     *
+     * @param tenantId 租戶 ID
+     * @param body     已驗證簽名的請求 body
+     * @return false 表示未寫入（佇列未啟用或 Redis 無法寫入），呼叫端需自行處理
+     */
+    public boolean enqueue(String tenantId, byte[] body) {
+        if (!enabled) {
+            return false;
+        }
+
+        JsonNode events;
+        try {
+            events = objectMapper.readTree(body).path("events");
+        } catch (IOException e) {
+            log.warn("Webhook 內容無法解析，租戶：{}，錯誤：{}", tenantId, e.getMessage());
+            return true;
+        }
+
+        // LINE 後台的 Webhook 驗證請求沒有事件
+        if (!events.isArray() || events.isEmpty()) {
+            return true;
+        }
+
+        byte[] streamKey = streamKey(partitionOf(tenantId)).getBytes(StandardCharsets.UTF_8);
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (JsonNode event : events) {
+                    Map<byte[], byte[]> fields = new LinkedHashMap<>();
+                    fields.put(bytes(FIELD_TENANT_ID), bytes(tenantId));
+                    fields.put(bytes(FIELD_EVENT_ID), bytes(event.path("webhookEventId").asText("")));
+                    fields.put(bytes(FIELD_EVENT), bytes(event.toString()));
+                    connection.streamCommands().xAdd(
+                            StreamRecords.rawBytes(fields).withStreamKey(streamKey), options);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Webhook 寫入佇列失敗，改為程序內處理，租戶：{}，錯誤：{}", tenantId, e.getMessage());
+            count("fallback", events.size());
+            return false;
+        }
+
+        count("enqueued", events.size());
+        return true;
+    }
+
+    // ========================================
+    // 分區
+    // ========================================
+
+    /**
+     * 租戶所屬分區
+     */
+    int partitionOf(String tenantId) {
+        return Math.floorMod(tenantId.hashCode(), partitions);
+    }
+
+    /**
+     * 分區數
+     */
+    int partitions() {
+        return partitions;
+    }
+
+    /**
+     * 分區的 Stream Key
+     */
+    static String streamKey(int partition) {
+        return STREAM_PREFIX + partition;
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void count(String outcome, int amount) {
+        Counter.builder("line.webhook.queue.events")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+}
@@ -0,0 +1,174 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.common.cache.LocalCacheInvalidator;
+import com.booking.platform.dto.line.LineWebhookRoute;
+import com.booking.platform.repository.line.TenantLineConfigRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Webhook 路由快取
+ *
+ * <p>租戶代碼對應到 {@link LineWebhookRoute}，Webhook 進入時不必查詢租戶與完整的 LINE 設定：
+ * <ul>
+ *   <li>已知代碼：快取 ttl-seconds，LINE 設定或租戶異動時清除（{@link #invalidate}）</li>
+ *   <li>未知代碼：負向快取 negative-ttl-seconds，打到錯誤或已刪除代碼的流量不會每次都查資料庫</li>
+ *   <li>筆數達 max-entries 時淘汰最久未使用的項目，大量隨機代碼不會清掉常用租戶的路由</li>
+ * </ul>
+ *
+ * <p>清除經 {@link LocalCacheInvalidator} 在交易提交後執行並通知其他實例；
+ * 簽名驗證失敗時呼叫端可用 {@link #refresh} 重新載入，Channel Secret 剛更換也不會誤擋 Webhook
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LineWebhookRouteCache {
+
+    private static final String CACHE_NAME = "line-webhook-route";
+
+    private final TenantLineConfigRepository lineConfigRepository;
+    private final MeterRegistry meterRegistry;
+    private final LocalCacheInvalidator cacheInvalidator;
+
+    @Value("${line.webhook-route.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${line.webhook-route.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    @Value("${line.webhook-route.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${line.webhook-route.refresh-min-interval-ms:10000}")
+    private long refreshMinIntervalMs;
+
+    /**
+     * 路由（key：租戶代碼，value 為 null 表示代碼不存在或未設定 LINE）
+     *
+     * <p>依存取順序排列，超過 max-entries 時淘汰最久未使用的項目；存取時鎖定整個 Map
+     */
+    private final Map<String, Entry> routes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @PostConstruct
+    public void registerInvalidation() {
+        cacheInvalidator.register(CACHE_NAME, this::evictTenant);
+    }
+
+    // ========================================
+    // 查詢方法
+    // ========================================
+
+    /**
+     * 取得租戶代碼的路由
+     *
+     * @param tenantCode 租戶代碼
+     * @return 路由，代碼不存在或未設定 LINE 時為空
+     */
+    public Optional<LineWebhookRoute> resolve(String tenantCode) {
+        Entry cached = get(tenantCode);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            record(cached.route() != null ? "hit" : "negative_hit");
+            return Optional.ofNullable(cached.route());
+        }
+
+        record("miss");
+        return load(tenantCode);
+    }
+
+    /**
+     * 重新載入租戶代碼的路由
+     *
+     * <p>剛載入不久（refresh-min-interval-ms 內）的路由直接回傳，偽造簽名的請求不會每次都查資料庫
+     *
+     * @param tenantCode 租戶代碼
+     * @return 路由，代碼不存在或未設定 LINE 時為空
+     */
+    public Optional<LineWebhookRoute> refresh(String tenantCode) {
+        Entry cached = get(tenantCode);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < refreshMinIntervalMs) {
+            return Optional.ofNullable(cached.route());
+        }
+
+        record("refresh");
+        return load(tenantCode);
+    }
+
+    // ========================================
+    // 快取清除
+    // ========================================
+
+    /**
+     * LINE 設定或租戶異動
+     *
+     * <p>同時清除負向快取，剛完成設定的租戶不必等負向快取過期；
+     * 在交易中呼叫時，提交後再清除一次並通知其他實例
+     *
+     * @param tenantId 租戶 ID
+     */
+    public void invalidate(String tenantId) {
+        cacheInvalidator.invalidate(CACHE_NAME, tenantId);
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void evictTenant(String tenantId) {
+        synchronized (routes) {
+            routes.values().removeIf(entry -> entry.route() == null || entry.route().tenantId().equals(tenantId));
+        }
+        log.debug("已清除 Webhook 路由快取，租戶：{}", tenantId);
+    }
+
+    private Entry get(String tenantCode) {
+        synchronized (routes) {
+            return routes.get(tenantCode);
+        }
+    }
+
+    private Optional<LineWebhookRoute> load(String tenantCode) {
+        Optional<LineWebhookRoute> route = lineConfigRepository.findWebhookRoute(tenantCode);
+        long now = System.currentTimeMillis();
+        long ttl = route.isPresent() ? ttlSeconds : negativeTtlSeconds;
+
+        synchronized (routes) {
+            routes.put(tenantCode, new Entry(route.orElse(null), now, now + ttl * 1000));
+        }
+        return route;
+    }
+
+    private void record(String result) {
+        Counter.builder("line.webhook.route.requests")
+                .description("Webhook 路由快取查詢次數")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 快取項目
+     */
+    private record Entry(LineWebhookRoute route, long loadedAt, long expiresAt) {
+    }
+}
@@ -1,5 +1,11 @@
 package com.booking.platform.service.line;
 
+import com.booking.platform.common.datasource.DataSourceWorkload;
+import com.booking.platform.common.datasource.Workload;
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.exception.ErrorCode;
+import com.booking.platform.common.exception.ResourceNotFoundException;
+import com.booking.platform.common.metrics.SqlStatementMetrics;
 import com.booking.platform.common.tenant.TenantContext;
 import com.booking.platform.dto.line.ConversationContext;
 import com.booking.platform.dto.request.CreateBookingRequest;
@@ -33,10 +39,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -44,6 +51,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -81,6 +90,29 @@ public class LineWebhookService {
     private final CouponService couponService;
     private final AiAssistantService aiAssistantService;
     private final com.booking.platform.service.ProductOrderService productOrderService;
+    private final SqlStatementMetrics sqlStatementMetrics;
+    private final LineReplyDeadlineService replyDeadlineService;
+
+    // ========================================
+    // 回覆期限
+    // ========================================
+
+    /**
+     * AI 回覆等待上限（毫秒），逾時先回覆再推送
+     */
+    @Value("${line.reply.ai-timeout-ms:8000}")
+    private long aiTimeoutMs;
+
+    /**
+     * 可預約時段計算等待上限（毫秒），逾時先回覆再推送
+     */
+    @Value("${line.reply.availability-timeout-ms:5000}")
+    private long availabilityTimeoutMs;
+
+    /**
+     * 目前事件中處理器已回覆用戶、但屬於系統錯誤的例外（事件處理完畢後拋出）
+     */
+    private final ThreadLocal<Exception> handlerFailure = new ThreadLocal<>();
 
     // ========================================
     // 關鍵字
@@ -169,25 +201,32 @@ public class LineWebhookService {
     /**
      * 處理 Webhook 事件
      *
+     * <p>由呼叫端排入執行緒池（見 {@link com.booking.platform.common.admission.TenantBulkhead}），這裡同步執行
+     *
      * @param tenantId 租戶 ID
      * @param body     請求 body（JSON 字串）
      */
-    @Async
+    @DataSourceWorkload(Workload.BACKGROUND)
     public void processWebhook(String tenantId, String body) {
+        JsonNode events;
         try {
-            JsonNode root = objectMapper.readTree(body);
-            JsonNode events = root.get("events");
+            events = objectMapper.readTree(body).get("events");
+        } catch (Exception e) {
+            log.error("處理 Webhook 失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
+            return;
+        }
 
-            if (events == null || !events.isArray()) {
-                return;
-            }
+        if (events == null || !events.isArray()) {
+            return;
+        }
 
-            for (JsonNode event : events) {
+        // 程序內處理沒有重試，單一事件失敗不影響同一批的其他事件
+        for (JsonNode event : events) {
+            try {
                 processEvent(tenantId, event);
+            } catch (Exception e) {
+                log.error("處理 Webhook 事件失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             }
-
-        } catch (Exception e) {
-            log.error("處理 Webhook 失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
         }
     }
 
@@ -197,19 +236,79 @@ public class LineWebhookService {
 
     /**
      * 處理單一事件
+     *
+     * <p>Webhook 佇列的消費者逐筆呼叫，處理失敗時拋出例外，由佇列重試。
+     * 處理器攔截系統錯誤後仍會先回覆用戶，錯誤記錄下來，事件處理完畢後再拋出；
+     * {@link BusinessException}、{@link ResourceNotFoundException} 屬於用戶操作結果，不重試
+     *
+     * <p>失敗前已回覆用戶或異動對話狀態時只記錄錯誤、不拋出：
+     * 重新處理會重複回覆（Reply Token 已用過時改以 Push 送出），或以重置後的對話狀態處理舊事件
+     *
+     * @param tenantId 租戶 ID
+     * @param event    事件 JSON
      */
-    private void processEvent(String tenantId, JsonNode event) {
+    public void processEvent(String tenantId, JsonNode event) {
         String eventType = event.path("type").asText();
         LineEventType type = LineEventType.fromValue(eventType);
 
         log.debug("處理事件，租戶：{}，類型：{}", tenantId, type);
 
-        switch (type) {
-            case MESSAGE -> handleMessageEvent(tenantId, event);
-            case POSTBACK -> handlePostbackEvent(tenantId, event);
-            case FOLLOW -> handleFollowEvent(tenantId, event);
-            case UNFOLLOW -> handleUnfollowEvent(tenantId, event);
-            default -> log.debug("未處理的事件類型：{}", type);
+        // 記錄回覆期限（Reply Token 約一分鐘失效）
+        replyDeadlineService.begin(
+                event.path("source").path("userId").asText(null),
+                type.name().toLowerCase(),
+                event.path("timestamp").asLong(0));
+
+        handlerFailure.remove();
+        RuntimeException escaped = null;
+        Exception failure;
+        boolean sideEffects;
+        try {
+            // 記錄每個事件執行的 SQL 數量
+            sqlStatementMetrics.record("line_event", type.name(), tenantId, () -> {
+                switch (type) {
+                    case MESSAGE -> handleMessageEvent(tenantId, event);
+                    case POSTBACK -> handlePostbackEvent(tenantId, event);
+                    case FOLLOW -> handleFollowEvent(tenantId, event);
+                    case UNFOLLOW -> handleUnfollowEvent(tenantId, event);
+                    default -> log.debug("未處理的事件類型：{}", type);
+                }
+            });
+        } catch (RuntimeException e) {
+            escaped = e;
+        } finally {
+            sideEffects = replyDeadlineService.hasSideEffects();
+            replyDeadlineService.end();
+            failure = handlerFailure.get();
+            handlerFailure.remove();
+        }
+
+        Exception error = escaped != null ? escaped : failure;
+        if (error == null) {
+            return;
+        }
+
+        if (sideEffects) {
+            log.error("LINE 事件處理失敗，已回覆用戶或異動對話狀態，不重試，租戶：{}，類型：{}，錯誤：{}",
+                    tenantId, type, error.getMessage(), error);
+            return;
+        }
+
+        if (escaped != null) {
+            throw escaped;
+        }
+        throw new IllegalStateException("LINE 事件處理失敗：" + failure.getMessage(), failure);
+    }
+
+    /**
+     * 記錄處理器攔截的系統錯誤，事件處理完畢後由 {@link #processEvent} 拋出
+     */
+    private void recordHandlerFailure(Exception e) {
+        if (e instanceof BusinessException || e instanceof ResourceNotFoundException) {
+            return;
+        }
+        if (handlerFailure.get() == null) {
+            handlerFailure.set(e);
         }
     }
 
@@ -311,6 +410,8 @@ public class LineWebhookService {
             return;
         }
 
+        replyDeadlineService.setHandler(action);
+
         switch (action) {
             case "start_booking" -> startBookingFlow(tenantId, userId, replyToken);
             case "select_category" -> handleSelectCategory(tenantId, userId, replyToken, params);
@@ -346,7 +447,11 @@ public class LineWebhookService {
             case "confirm_purchase" -> handleConfirmPurchase(tenantId, userId, replyToken);
             // 進階自訂 Rich Menu — Flex 彈窗
             case "flex_popup" -> handleFlexPopup(tenantId, userId, replyToken, params);
-            default -> log.debug("未處理的 action：{}", action);
+            default -> {
+                // 未知 action 不作為指標標籤，避免標籤數量失控
+                replyDeadlineService.setHandler("unknown");
+                log.debug("未處理的 action：{}", action);
+            }
         }
     }
 
@@ -473,8 +578,8 @@ public class LineWebhookService {
 
         // 新流程：選完服務後顯示日期選單（傳入服務時長過濾無可用時段的日期）
         Integer serviceDuration = duration != null ? Integer.parseInt(duration) : null;
-        JsonNode dateMenu = flexMessageBuilder.buildDateMenu(tenantId, serviceDuration, serviceId);
-        messageService.replyFlex(tenantId, replyToken, "請選擇日期", dateMenu);
+        replyAvailabilityMenu(tenantId, userId, replyToken, "date_menu", "請選擇日期",
+                () -> flexMessageBuilder.buildDateMenu(tenantId, serviceDuration, serviceId));
     }
 
     /**
@@ -504,14 +609,11 @@ public class LineWebhookService {
         ConversationContext context = conversationService.getContext(tenantId, userId);
 
         // 新流程：選完員工後顯示時段選單
-        JsonNode timeMenu = flexMessageBuilder.buildTimeMenu(
-                tenantId,
-                staffId,
-                context.getSelectedDate(),
-                context.getSelectedServiceDuration(),
-                context.getSelectedServiceId()
-        );
-        messageService.replyFlex(tenantId, replyToken, "請選擇時段", timeMenu);
+        String selectedStaffId = staffId;
+        replyAvailabilityMenu(tenantId, userId, replyToken, "time_menu", "請選擇時段",
+                () -> flexMessageBuilder.buildTimeMenu(
+                        tenantId, selectedStaffId, context.getSelectedDate(), context.getSelectedServiceDuration(),
+                        context.getSelectedServiceId()));
     }
 
     /**
@@ -546,15 +648,16 @@ public class LineWebhookService {
         if (Boolean.FALSE.equals(context.getSelectedServiceRequiresStaff())) {
             // 自動設定 staff=null 並跳到時段選擇
             conversationService.setSelectedStaff(tenantId, userId, null, "無需指定");
-            JsonNode timeMenu = flexMessageBuilder.buildTimeMenu(
-                    tenantId, null, date, context.getSelectedServiceDuration(),
-                    context.getSelectedServiceId());
-            messageService.replyFlex(tenantId, replyToken, "請選擇時段", timeMenu);
+            replyAvailabilityMenu(tenantId, userId, replyToken, "time_menu", "請選擇時段",
+                    () -> flexMessageBuilder.buildTimeMenu(
+                            tenantId, null, date, context.getSelectedServiceDuration(),
+                            context.getSelectedServiceId()));
         } else {
             // 新流程：選完日期後顯示員工選單（根據日期篩選可用員工，傳入服務時長檢查可預約時段）
-            JsonNode staffMenu = flexMessageBuilder.buildStaffMenuByDate(
-                    tenantId, context.getSelectedServiceId(), date, context.getSelectedServiceDuration());
-            messageService.replyFlex(tenantId, replyToken, "請選擇服務人員", staffMenu);
+            replyAvailabilityMenu(tenantId, userId, replyToken, "staff_menu", "請選擇服務人員",
+                    () -> flexMessageBuilder.buildStaffMenuByDate(
+                            tenantId, context.getSelectedServiceId(), date,
+                            context.getSelectedServiceDuration()));
         }
     }
 
@@ -616,7 +719,7 @@ public class LineWebhookService {
 
         try {
             // ========================================
-            // 設定 TenantContext（因為是 @Async 方法）
+            // 設定 TenantContext（在背景執行緒執行）
             // ========================================
             TenantContext.setTenantId(tenantId);
 
@@ -661,6 +764,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "預約成功", successMessage);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("LINE 預約建立失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "預約失敗：" + e.getMessage() + "\n請稍後再試或聯繫店家。");
         } finally {
@@ -726,40 +830,46 @@ public class LineWebhookService {
                 case SELECTING_STAFF -> {
                     // 如果服務不需要員工，重導回日期選擇
                     if (Boolean.FALSE.equals(context.getSelectedServiceRequiresStaff())) {
-                        JsonNode dateMenu = flexMessageBuilder.buildDateMenu(tenantId, context.getSelectedServiceDuration(), context.getSelectedServiceId());
-                        messageService.replyFlex(tenantId, replyToken, "請選擇日期", dateMenu);
+                        replyAvailabilityMenu(tenantId, userId, replyToken, "date_menu", "請選擇日期",
+                                () -> flexMessageBuilder.buildDateMenu(
+                                        tenantId, context.getSelectedServiceDuration(),
+                                        context.getSelectedServiceId()));
                     } else {
                         // 返回選員工時需要根據已選日期篩選，傳入服務時長檢查可預約時段
                         LocalDate selectedDate = context.getSelectedDate();
                         if (selectedDate == null) {
                             log.warn("SELECTING_STAFF 狀態但 selectedDate 為 null，返回日期選單");
-                            JsonNode dateMenu = flexMessageBuilder.buildDateMenu(tenantId, context.getSelectedServiceDuration(), context.getSelectedServiceId());
-                            messageService.replyFlex(tenantId, replyToken, "請選擇日期", dateMenu);
+                            replyAvailabilityMenu(tenantId, userId, replyToken, "date_menu", "請選擇日期",
+                                    () -> flexMessageBuilder.buildDateMenu(
+                                            tenantId, context.getSelectedServiceDuration(),
+                                            context.getSelectedServiceId()));
                         } else {
-                            JsonNode staffMenu = flexMessageBuilder.buildStaffMenuByDate(
-                                    tenantId, context.getSelectedServiceId(), selectedDate,
-                                    context.getSelectedServiceDuration());
-                            messageService.replyFlex(tenantId, replyToken, "請選擇服務人員", staffMenu);
+                            replyAvailabilityMenu(tenantId, userId, replyToken, "staff_menu", "請選擇服務人員",
+                                    () -> flexMessageBuilder.buildStaffMenuByDate(
+                                            tenantId, context.getSelectedServiceId(), selectedDate,
+                                            context.getSelectedServiceDuration()));
                         }
                     }
                 }
                 case SELECTING_DATE -> {
-                    JsonNode dateMenu = flexMessageBuilder.buildDateMenu(tenantId, context.getSelectedServiceDuration(), context.getSelectedServiceId());
-                    messageService.replyFlex(tenantId, replyToken, "請選擇日期", dateMenu);
+                    replyAvailabilityMenu(tenantId, userId, replyToken, "date_menu", "請選擇日期",
+                            () -> flexMessageBuilder.buildDateMenu(
+                                    tenantId, context.getSelectedServiceDuration(),
+                                    context.getSelectedServiceId()));
                 }
                 case SELECTING_TIME -> {
                     LocalDate selectedDate = context.getSelectedDate();
                     if (selectedDate == null) {
                         log.warn("SELECTING_TIME 狀態但 selectedDate 為 null，返回日期選單");
-                        JsonNode dateMenu = flexMessageBuilder.buildDateMenu(tenantId, context.getSelectedServiceDuration(), context.getSelectedServiceId());
-                        messageService.replyFlex(tenantId, replyToken, "請選擇日期", dateMenu);
+                        replyAvailabilityMenu(tenantId, userId, replyToken, "date_menu", "請選擇日期",
+                                () -> flexMessageBuilder.buildDateMenu(
+                                        tenantId, context.getSelectedServiceDuration(),
+                                        context.getSelectedServiceId()));
                     } else {
-                        JsonNode timeMenu = flexMessageBuilder.buildTimeMenu(
-                                tenantId, context.getSelectedStaffId(),
-                                selectedDate, context.getSelectedServiceDuration(),
-                                context.getSelectedServiceId()
-                        );
-                        messageService.replyFlex(tenantId, replyToken, "請選擇時段", timeMenu);
+                        replyAvailabilityMenu(tenantId, userId, replyToken, "time_menu", "請選擇時段",
+                                () -> flexMessageBuilder.buildTimeMenu(
+                                        tenantId, context.getSelectedStaffId(), selectedDate,
+                                        context.getSelectedServiceDuration(), context.getSelectedServiceId()));
                     }
                 }
                 case INPUTTING_NOTE -> {
@@ -773,6 +883,7 @@ public class LineWebhookService {
                 default -> replyMainMenu(tenantId, userId, replyToken);
             }
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("顯示當前狀態失敗，租戶：{}，用戶：{}，狀態：{}，錯誤：{}",
                     tenantId, userId, context.getState(), e.getMessage(), e);
             // 回覆提示訊息，避免用戶看不到任何回應
@@ -828,6 +939,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "我的預約", bookingList);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("查詢預約失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "查詢預約失敗，請稍後再試。");
         }
@@ -871,6 +983,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "確認取消預約", confirmMessage);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("處理取消預約請求失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "處理失敗，請稍後再試。");
         }
@@ -894,6 +1007,7 @@ public class LineWebhookService {
             messageService.replyText(tenantId, replyToken, "預約已取消成功。如需重新預約，請點選「開始預約」。");
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("取消預約失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "取消預約失敗：" + e.getMessage());
         } finally {
@@ -916,12 +1030,16 @@ public class LineWebhookService {
             // 查詢可領取的票券（已發布、有庫存、未過期）
             List<Coupon> coupons = couponRepository.findAvailableByTenantId(tenantId);
 
-            // 取得顧客 ID，過濾已領滿的票券
+            // 取得顧客 ID，過濾已領滿的票券（一次分組統計所有票券的已領數量）
             String customerId = lineUserService.getCustomerId(tenantId, userId);
-            if (customerId != null) {
+            if (customerId != null && !coupons.isEmpty()) {
+                Map<String, Long> claimedCounts = new HashMap<>();
+                List<String> couponIds = coupons.stream().map(Coupon::getId).collect(Collectors.toList());
+                for (Object[] row : couponInstanceRepository.countByCustomerGroupByCoupon(tenantId, customerId, couponIds)) {
+                    claimedCounts.put((String) row[0], (Long) row[1]);
+                }
                 coupons = coupons.stream().filter(coupon -> {
-                    long claimed = couponInstanceRepository.countByCustomerAndCoupon(
-                            tenantId, coupon.getId(), customerId);
+                    long claimed = claimedCounts.getOrDefault(coupon.getId(), 0L);
                     int limit = coupon.getLimitPerCustomer() != null ? coupon.getLimitPerCustomer() : 1;
                     return claimed < limit;
                 }).collect(Collectors.toList());
@@ -937,6 +1055,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "可領取票券", couponList);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("查詢票券失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "查詢票券失敗，請稍後再試。");
         }
@@ -974,27 +1093,22 @@ public class LineWebhookService {
                 return;
             }
 
-            // 檢查每人限領數量
-            Integer limitPerCustomer = coupon.getLimitPerCustomer();
-            long alreadyClaimed = couponInstanceRepository.countByCustomerAndCoupon(tenantId, couponId, customerId);
-
-            if (limitPerCustomer != null && limitPerCustomer > 0) {
-                if (alreadyClaimed >= limitPerCustomer) {
-                    messageService.replyText(tenantId, replyToken,
-                            String.format("此票券每人限領 %d 張，您已領取 %d 張。", limitPerCustomer, alreadyClaimed));
-                    return;
-                }
-            } else {
-                // 沒有設定限領數量時，預設每人只能領 1 張
-                if (alreadyClaimed > 0) {
-                    messageService.replyText(tenantId, replyToken, "您已經領取過此票券了。");
-                    return;
+            // 發放票券（每人限領數量由票券服務原子檢查；未設定時預設每人只能領 1 張）
+            CouponInstance instance;
+            try {
+                instance = couponService.issueToCustomer(couponId, customerId, 1);
+            } catch (BusinessException e) {
+                if (e.getErrorCode() == ErrorCode.COUPON_LIMIT_EXCEEDED) {
+                    Integer limitPerCustomer = coupon.getLimitPerCustomer();
+                    messageService.replyText(tenantId, replyToken, limitPerCustomer != null && limitPerCustomer > 1
+                            ? String.format("此票券每人限領 %d 張，您已達領取上限。", limitPerCustomer)
+                            : "您已經領取過此票券了。");
+                } else {
+                    messageService.replyText(tenantId, replyToken, "此票券已停止發放或已發完。");
                 }
+                return;
             }
 
-            // 發放票券
-            CouponInstance instance = couponService.issueToCustomer(couponId, customerId);
-
             // 回覆成功訊息（使用 Flex Message）
             JsonNode successMessage = flexMessageBuilder.buildCouponReceiveSuccess(
                     coupon.getName(),
@@ -1004,6 +1118,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "票券領取成功", successMessage);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("領取票券失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "領取票券失敗：" + e.getMessage());
         } finally {
@@ -1041,18 +1156,19 @@ public class LineWebhookService {
                 return;
             }
 
-            // 取得票券名稱對應
-            Map<String, String> couponNames = new HashMap<>();
-            for (CouponInstance instance : instances) {
-                couponRepository.findById(instance.getCouponId())
-                        .ifPresent(coupon -> couponNames.put(coupon.getId(), coupon.getName()));
-            }
+            // 取得票券名稱對應（批次載入）
+            java.util.Set<String> couponIds = instances.stream()
+                    .map(CouponInstance::getCouponId)
+                    .collect(Collectors.toSet());
+            Map<String, String> couponNames = couponRepository.findByTenantIdAndIdIn(tenantId, couponIds).stream()
+                    .collect(Collectors.toMap(Coupon::getId, Coupon::getName));
 
             // 建構已領取票券列表
             JsonNode myCouponList = flexMessageBuilder.buildMyCouponList(instances, couponNames, tenantId);
             messageService.replyFlex(tenantId, replyToken, "我的票券", myCouponList);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("查詢已領取票券失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "查詢失敗，請稍後再試。");
         }
@@ -1121,6 +1237,7 @@ public class LineWebhookService {
             log.info("=== 會員資訊 Flex Message 發送成功 ===");
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("=== 查詢會員資訊失敗 ===");
             log.error("租戶：{}，用戶：{}，錯誤類型：{}，錯誤訊息：{}",
                     tenantId, userId, e.getClass().getName(), e.getMessage());
@@ -1175,6 +1292,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "商品列表", productList);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("查詢商品失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "查詢商品失敗，請稍後再試。");
         }
@@ -1223,6 +1341,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "選擇數量", quantityMenu);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("選擇商品失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "處理失敗，請稍後再試。");
         }
@@ -1248,6 +1367,7 @@ public class LineWebhookService {
             messageService.replyFlex(tenantId, replyToken, "確認購買", confirmMessage);
 
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("選擇數量失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "處理失敗，請稍後再試。");
         }
@@ -1301,6 +1421,7 @@ public class LineWebhookService {
             log.warn("確認購買失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage());
             messageService.replyText(tenantId, replyToken, e.getMessage());
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("確認購買失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             messageService.replyText(tenantId, replyToken, "處理失敗，請稍後再試。");
         } finally {
@@ -1313,12 +1434,10 @@ public class LineWebhookService {
     // ========================================
 
     /**
-     * 確保用戶存在
+     * 確保用戶存在並記錄互動
      */
     private void ensureUserExists(String tenantId, String userId, JsonNode event) {
-        Optional<LineUser> userOpt = lineUserService.findByLineUserId(tenantId, userId);
-
-        if (userOpt.isEmpty()) {
+        if (!lineUserService.recordInteraction(tenantId, userId)) {
             // 取得用戶資料
             JsonNode profile = messageService.getProfile(tenantId, userId);
             String displayName = profile != null ? profile.path("displayName").asText() : null;
@@ -1339,11 +1458,21 @@ public class LineWebhookService {
             // 嘗試 AI 智慧回覆（完整包裹在 try-catch 中確保不影響主流程）
             try {
                 if (aiAssistantService != null && aiAssistantService.shouldUseAi(text)) {
+                    replyDeadlineService.setHandler("ai_chat");
+
                     // 取得顧客 ID
                     String customerId = getCustomerIdByLineUser(tenantId, userId);
 
-                    // 呼叫 AI（包含選單顯示標記）
-                    var aiResponse = aiAssistantService.chatWithMenuFlag(tenantId, customerId, text);
+                    // 呼叫 AI（包含選單顯示標記），超過等待上限時結果改用 Push 送出
+                    var aiResponse = replyDeadlineService.callWithinDeadline(
+                            "ai_chat",
+                            () -> aiAssistantService.chatWithMenuFlag(tenantId, customerId, text),
+                            Duration.ofMillis(aiTimeoutMs),
+                            late -> {
+                                if (late != null && !late.text().isEmpty()) {
+                                    pushAiResponse(tenantId, userId, late.text(), late.showMenu());
+                                }
+                            });
 
                     if (aiResponse != null && !aiResponse.text().isEmpty()) {
                         // AI 回覆成功，根據 AI 判斷決定是否顯示選單
@@ -1351,6 +1480,10 @@ public class LineWebhookService {
                         return;
                     }
                 }
+            } catch (TimeoutException e) {
+                // AI 仍在處理，先回覆讓用戶知道已收到
+                messageService.replyText(tenantId, replyToken, "收到您的訊息，正在為您查詢，請稍候…");
+                return;
             } catch (Exception e) {
                 log.warn("AI 功能異常，改用預設回覆：{}", e.getMessage());
             }
@@ -1394,6 +1527,41 @@ public class LineWebhookService {
         }
     }
 
+    /**
+     * 推送 AI 回應（AI 超過回覆等待上限時使用）
+     */
+    private void pushAiResponse(String tenantId, String userId, String aiResponse, boolean showMenu) {
+        messageService.pushText(tenantId, userId, aiResponse);
+        if (showMenu) {
+            JsonNode mainMenu = flexMessageBuilder.buildMainMenu(tenantId);
+            messageService.pushFlex(tenantId, userId, "需要什麼服務呢？", mainMenu);
+        }
+    }
+
+    /**
+     * 回覆需要計算可預約時段的選單
+     *
+     * <p>計算超過等待上限時先回覆簡短訊息，選單完成後改用 Push 送出，避免 Reply Token 過期
+     *
+     * @param tenantId   租戶 ID
+     * @param userId     LINE User ID
+     * @param replyToken 回覆 Token
+     * @param work       工作名稱
+     * @param altText    替代文字
+     * @param menu       選單建構
+     */
+    private void replyAvailabilityMenu(String tenantId, String userId, String replyToken,
+                                       String work, String altText, Supplier<JsonNode> menu) {
+        try {
+            JsonNode contents = replyDeadlineService.callWithinDeadline(
+                    work, menu, Duration.ofMillis(availabilityTimeoutMs),
+                    late -> messageService.pushFlex(tenantId, userId, altText, late));
+            messageService.replyFlex(tenantId, replyToken, altText, contents);
+        } catch (TimeoutException e) {
+            messageService.replyText(tenantId, replyToken, "正在查詢可預約時段，請稍候…");
+        }
+    }
+
     /**
      * 處理備註文字輸入
      */
@@ -1522,6 +1690,7 @@ public class LineWebhookService {
             log.warn("無效的 cellKey：{}", cellKey);
             replyMainMenu(tenantId, userId, replyToken);
         } catch (Exception e) {
+            recordHandlerFailure(e);
             log.error("處理 Flex 彈窗失敗，租戶：{}，錯誤：{}", tenantId, e.getMessage(), e);
             replyMainMenu(tenantId, userId, replyToken);
         }
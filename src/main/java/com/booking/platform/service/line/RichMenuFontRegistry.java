@@ -0,0 +1,209 @@
+package com.booking.platform.service.line;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.awt.Font;
+import java.awt.GraphicsEnvironment;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rich Menu 字型註冊表
+ *
+ * <p>中文字型檔（wqy-zenhei.ttc 約 17MB）在整個程序只解析一次，
+ * 不同樣式與大小的字型由基底字型衍生後快取
+ *
+ * <p>同時快取文字外框（TextLayout.getOutline），
+ * 相同文字、字型、渲染設定在每次產生圖片時不必重新排版
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class RichMenuFontRegistry {
+
+    // ========================================
+    // 字型來源
+    // ========================================
+
+    /**
+     * 字型檔案路徑（依序嘗試）
+     */
+    private static final String[] FONT_FILE_PATHS = {
+            "/usr/share/fonts/wenquanyi/wqy-zenhei/wqy-zenhei.ttc",  // Alpine font-wqy-zenhei
+            "/usr/share/fonts/truetype/wqy/wqy-zenhei.ttc",           // Debian/Ubuntu
+            "/usr/share/fonts/wqy-zenhei/wqy-zenhei.ttc",             // CentOS/RHEL
+            "/usr/share/fonts/wenquanyi/wqy-microhei/wqy-microhei.ttc" // Alpine 微米黑
+    };
+
+    /**
+     * 系統字型名稱（字型檔案都找不到時使用）
+     */
+    private static final String[] FONT_CANDIDATES = {
+            "WenQuanYi Zen Hei",     // Docker/Linux - 文泉驛正黑
+            "WenQuanYi Micro Hei",   // Linux - 文泉驛微米黑
+            "Noto Sans CJK TC",      // Linux - Google Noto 字型
+            "Noto Sans TC",          // Linux - Noto 變體
+            "Droid Sans Fallback",   // Linux/Android
+            "Microsoft JhengHei",    // Windows - 微軟正黑體
+            "Microsoft YaHei",       // Windows - 微軟雅黑
+            "PingFang TC",           // macOS - 蘋方繁體
+            "Heiti TC",              // macOS - 黑體繁體
+            "SimHei",                // Windows - 黑體
+            "SansSerif"              // Java 邏輯字型（最後備援）
+    };
+
+    /**
+     * 文字外框快取上限（超過時整批清除，正常使用下選單文字種類有限）
+     */
+    private static final int MAX_OUTLINE_ENTRIES = 2000;
+
+    // ========================================
+    // 快取
+    // ========================================
+
+    /**
+     * 基底字型（延遲載入，只載入一次）
+     */
+    private volatile Font baseFont;
+
+    /**
+     * 衍生字型快取（key：樣式 + 大小）
+     */
+    private final Map<Long, Font> derivedFonts = new ConcurrentHashMap<>();
+
+    /**
+     * 文字外框快取（原點位置，使用時再平移）
+     */
+    private final Map<OutlineKey, Shape> outlines = new ConcurrentHashMap<>();
+
+    // ========================================
+    // 公開方法
+    // ========================================
+
+    /**
+     * 取得指定樣式與大小的中文字型
+     *
+     * @param style 字型樣式（Font.PLAIN, Font.BOLD 等）
+     * @param size  字型大小
+     * @return 可用的中文字型
+     */
+    public Font getFont(int style, float size) {
+        long key = ((long) style << 32) | Float.floatToIntBits(size);
+        return derivedFonts.computeIfAbsent(key, k -> getBaseFont().deriveFont(style, size));
+    }
+
+    /**
+     * 取得文字外框（已平移至指定位置）
+     *
+     * @param text 文字
+     * @param font 字型
+     * @param frc  渲染設定
+     * @param x    基線起點 X
+     * @param y    基線 Y
+     * @return 文字外框
+     */
+    public Shape getTextOutline(String text, Font font, FontRenderContext frc, double x, double y) {
+        OutlineKey key = new OutlineKey(text, font, frc);
+        Shape outline = outlines.get(key);
+        if (outline == null) {
+            if (outlines.size() >= MAX_OUTLINE_ENTRIES) {
+                outlines.clear();
+            }
+            outline = new TextLayout(text, font, frc).getOutline(null);
+            outlines.put(key, outline);
+        }
+        return AffineTransform.getTranslateInstance(x, y).createTransformedShape(outline);
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 取得基底字型（第一次呼叫時載入）
+     */
+    private Font getBaseFont() {
+        Font font = baseFont;
+        if (font == null) {
+            synchronized (this) {
+                font = baseFont;
+                if (font == null) {
+                    long start = System.currentTimeMillis();
+                    font = loadBaseFont();
+                    baseFont = font;
+                    log.info("Rich Menu 字型載入完成：{}，耗時 {}ms",
+                            font.getFontName(), System.currentTimeMillis() - start);
+                }
+            }
+        }
+        return font;
+    }
+
+    /**
+     * 載入支援中文的基底字型
+     *
+     * <p>依序嘗試：字型檔案 → 系統字型名稱 → SansSerif
+     */
+    private Font loadBaseFont() {
+        // ========================================
+        // 1. 優先嘗試直接載入字型檔案（最可靠）
+        // ========================================
+        for (String path : FONT_FILE_PATHS) {
+            File fontFile = new File(path);
+            if (fontFile.exists()) {
+                try {
+                    Font font = Font.createFont(Font.TRUETYPE_FONT, fontFile);
+                    if (font.canDisplay('預')) {
+                        log.debug("使用字型檔案：{}", path);
+                        return font;
+                    }
+                } catch (Exception e) {
+                    log.warn("載入字型檔案失敗 {}：{}", path, e.getMessage());
+                }
+            }
+        }
+
+        // ========================================
+        // 2. 備援：使用系統字型名稱查找
+        // ========================================
+        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        Set<String> availableFonts = new HashSet<>();
+        for (String fontName : ge.getAvailableFontFamilyNames()) {
+            availableFonts.add(fontName);
+        }
+
+        for (String fontName : FONT_CANDIDATES) {
+            if (availableFonts.contains(fontName)) {
+                Font font = new Font(fontName, Font.PLAIN, 1);
+                if (font.canDisplay('預')) {
+                    log.debug("使用系統字型：{}", fontName);
+                    return font;
+                }
+            }
+        }
+
+        log.warn("找不到支援中文的字型，使用預設 SansSerif（可能無法正確顯示中文）");
+        log.warn("可用字型列表：{}", String.join(", ", availableFonts));
+        return new Font("SansSerif", Font.PLAIN, 1);
+    }
+
+    // ========================================
+    // 內部類別
+    // ========================================
+
+    /**
+     * 文字外框快取 key（Font 與 FontRenderContext 皆有實作 equals）
+     */
+    private record OutlineKey(String text, Font font, FontRenderContext frc) {
+    }
+}
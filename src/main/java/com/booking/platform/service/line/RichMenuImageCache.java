@@ -0,0 +1,126 @@
+package com.booking.platform.service.line;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rich Menu 成品圖片快取
+ *
+ * <p>以內容雜湊為 key（主題、店名、佈局、文字顏色、背景圖雜湊等），
+ * 相同輸入不會重新繪製與編碼；不同租戶使用相同主題和店名時也能共用
+ *
+ * <p>依總位元組數做 LRU 淘汰，預設上限 64MB
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class RichMenuImageCache {
+
+    /**
+     * 快取總大小上限（bytes）
+     */
+    @Value("${line.rich-menu.image-cache-max-bytes:67108864}")
+    private long maxBytes;
+
+    /**
+     * 快取內容（access-order，最久未使用的在前）
+     */
+    private final LinkedHashMap<String, byte[]> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 目前快取總大小
+     */
+    private long totalBytes;
+
+    /**
+     * 圖片產生器
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render() throws IOException;
+    }
+
+    /**
+     * 取得快取圖片，沒有時呼叫產生器並存入快取
+     *
+     * <p>產生過程不持有鎖，同時間相同 key 的請求可能各自繪製一次，結果相同
+     *
+     * @param key      快取 key（由 {@link #key(Object...)} 產生）
+     * @param renderer 圖片產生器
+     * @return 圖片位元組陣列
+     * @throws IOException 產生失敗
+     */
+    public byte[] getOrRender(String key, Renderer renderer) throws IOException {
+        synchronized (images) {
+            byte[] cached = images.get(key);
+            if (cached != null) {
+                log.debug("Rich Menu 圖片快取命中：{}", key);
+                return cached;
+            }
+        }
+
+        byte[] rendered = renderer.render();
+        put(key, rendered);
+        return rendered;
+    }
+
+    /**
+     * 以內容產生快取 key（SHA-256）
+     *
+     * @param parts 組成內容（字串、位元組陣列或其他物件）
+     * @return 十六進位雜湊字串
+     */
+    public static String key(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                if (part instanceof byte[] bytes) {
+                    digest.update(bytes);
+                } else {
+                    digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                }
+                // 分隔符，避免 ("ab","c") 與 ("a","bc") 相同
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    private void put(String key, byte[] image) {
+        if (image.length > maxBytes) {
+            return;
+        }
+
+        synchronized (images) {
+            byte[] previous = images.put(key, image);
+            if (previous != null) {
+                totalBytes -= previous.length;
+            }
+            totalBytes += image.length;
+
+            Iterator<Map.Entry<String, byte[]>> it = images.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                totalBytes -= it.next().getValue().length;
+                it.remove();
+            }
+        }
+    }
+}
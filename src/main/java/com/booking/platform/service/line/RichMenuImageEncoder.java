@@ -0,0 +1,175 @@
+package com.booking.platform.service.line;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Rich Menu 圖片編碼器
+ *
+ * <p>LINE Rich Menu 圖片上限 1MB。原本的做法是先完整輸出 PNG，超過再重做一次 JPEG；
+ * 照片背景的 PNG 幾乎都會超過，等於每張圖都編碼兩次
+ *
+ * <p>這裡先以取樣條帶估算 PNG 大小，預估放得下才輸出 PNG，否則直接輸出 JPEG，
+ * 一般情況只需要一次完整編碼
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class RichMenuImageEncoder {
+
+    /**
+     * PNG 預估大小需低於上限的比例才採用（保留誤差空間）
+     */
+    private static final double PNG_ESTIMATE_RATIO = 0.85;
+
+    /**
+     * 取樣條帶數量（平均分布於整張圖，合計約 1/4 高度）
+     */
+    private static final int SAMPLE_BANDS = 4;
+
+    /**
+     * JPEG 品質（依序嘗試，通常第一個就符合大小）
+     */
+    private static final float[] JPEG_QUALITIES = {0.92f, 0.85f, 0.75f, 0.6f};
+
+    /**
+     * 編碼圖片，輸出不超過指定大小的 PNG 或 JPEG
+     *
+     * <p>所有品質都超過上限時回傳最小的結果，由呼叫端決定如何處理
+     *
+     * @param image      圖片
+     * @param background 轉 JPEG 時透明區域的底色
+     * @param maxBytes   大小上限
+     * @return PNG 或 JPEG 位元組陣列
+     * @throws IOException 編碼失敗
+     */
+    public byte[] encode(BufferedImage image, Color background, long maxBytes) throws IOException {
+        // ========================================
+        // 1. 預估 PNG 大小，放得下就輸出 PNG
+        // ========================================
+
+        long estimate = estimatePngSize(image);
+        if (estimate <= maxBytes * PNG_ESTIMATE_RATIO) {
+            byte[] png = writePng(image);
+            if (png.length <= maxBytes) {
+                return png;
+            }
+            log.debug("PNG 預估 {}KB，實際 {}KB 超過上限，改用 JPEG", estimate / 1024, png.length / 1024);
+        }
+
+        // ========================================
+        // 2. 輸出 JPEG
+        // ========================================
+
+        BufferedImage rgb = toRgb(image, background);
+        byte[] jpeg = null;
+        for (float quality : JPEG_QUALITIES) {
+            jpeg = writeJpeg(rgb, quality);
+            if (jpeg.length <= maxBytes) {
+                return jpeg;
+            }
+        }
+        return jpeg;
+    }
+
+    /**
+     * 依圖片內容判斷媒體類型
+     *
+     * @param imageBytes 圖片位元組陣列
+     * @return image/jpeg 或 image/png
+     */
+    public MediaType detectMediaType(byte[] imageBytes) {
+        if (imageBytes.length > 2
+                && (imageBytes[0] & 0xFF) == 0xFF
+                && (imageBytes[1] & 0xFF) == 0xD8) {
+            return MediaType.IMAGE_JPEG;
+        }
+        return MediaType.IMAGE_PNG;
+    }
+
+    // ========================================
+    // 私有方法
+    // ========================================
+
+    /**
+     * 以數條平均分布的橫向條帶估算整張圖的 PNG 大小
+     */
+    private long estimatePngSize(BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int bandHeight = Math.max(1, height / (SAMPLE_BANDS * 4));
+        int sampleHeight = bandHeight * SAMPLE_BANDS;
+
+        BufferedImage sample = new BufferedImage(width, sampleHeight, image.getType() == 0
+                ? BufferedImage.TYPE_INT_ARGB : image.getType());
+        Graphics2D g = sample.createGraphics();
+        for (int i = 0; i < SAMPLE_BANDS; i++) {
+            int srcY = (int) ((long) (height - bandHeight) * i / Math.max(1, SAMPLE_BANDS - 1));
+            int dstY = i * bandHeight;
+            g.drawImage(image, 0, dstY, width, dstY + bandHeight, 0, srcY, width, srcY + bandHeight, null);
+        }
+        g.dispose();
+
+        return (long) writePng(sample).length * height / sampleHeight;
+    }
+
+    private byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(256 * 1024);
+        ImageIO.write(image, "png", baos);
+        return baos.toByteArray();
+    }
+
+    private byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        if (!writers.hasNext()) {
+            throw new IOException("找不到 JPEG 編碼器");
+        }
+
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(256 * 1024);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(baos)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * 轉為 RGB（JPEG 不支援透明）
+     */
+    private BufferedImage toRgb(BufferedImage image, Color background) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        if (background != null) {
+            g.setColor(background);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        }
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return rgb;
+    }
+}
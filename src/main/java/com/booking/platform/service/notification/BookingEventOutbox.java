@@ -0,0 +1,62 @@
+package com.booking.platform.service.notification;
+
+import com.booking.platform.entity.booking.Booking;
+import com.booking.platform.entity.booking.BookingOutboxEvent;
+import com.booking.platform.enums.BookingEventType;
+import com.booking.platform.repository.BookingOutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * 預約事件外寄匣
+ *
+ * <p>預約異動時呼叫 {@link #publish}，事件與預約在同一交易寫入；
+ * 交易提交後通知 {@link BookingOutboxRelay} 立即轉送，請求不必等待 LINE、簡訊、SSE 發送完成
+ *
+ * @author Developer
+ * @since 1.0.0
+ * @see BookingOutboxRelay
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingEventOutbox {
+
+    private final BookingOutboxEventRepository outboxEventRepository;
+    private final BookingOutboxRelay relay;
+
+    /**
+     * 寫入預約事件（須在預約異動的交易內呼叫）
+     *
+     * @param booking   預約
+     * @param eventType 事件類型
+     * @param message   附加訊息（可選）
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Booking booking, BookingEventType eventType, String message) {
+        BookingOutboxEvent event = BookingOutboxEvent.builder()
+                .bookingId(booking.getId())
+                .eventType(eventType)
+                .message(message)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        event.setTenantId(booking.getTenantId());
+        outboxEventRepository.save(event);
+
+        log.debug("寫入預約事件，租戶：{}，預約 ID：{}，事件：{}", booking.getTenantId(), booking.getId(), eventType);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.wakeUp();
+            }
+        });
+    }
+}
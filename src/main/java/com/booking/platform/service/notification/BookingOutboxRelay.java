@@ -0,0 +1,474 @@
+package com.booking.platform.service.notification;
+
+import com.booking.platform.common.entity.BaseEntity;
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.dto.response.BookingResponse;
+import com.booking.platform.entity.booking.Booking;
+import com.booking.platform.entity.booking.BookingOutboxEvent;
+import com.booking.platform.enums.BookingEventType;
+import com.booking.platform.enums.BookingStatus;
+import com.booking.platform.enums.OutboxChannel;
+import com.booking.platform.enums.OutboxStatus;
+import com.booking.platform.mapper.BookingMapper;
+import com.booking.platform.repository.BookingOutboxEventRepository;
+import com.booking.platform.repository.BookingRepository;
+import com.booking.platform.service.line.LineNotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 預約事件轉送器
+ *
+ * <p>從 booking_outbox_events 批次撈取到期事件，依租戶分組後發送 LINE、簡訊、SSE 通知：
+ * <ol>
+ *   <li>以 FOR UPDATE SKIP LOCKED 鎖定一批事件，嘗試次數加一並設定租約，提交後釋放鎖定；
+ *       多個實例同時轉送時不會拿到同一筆，處理中斷的事件在租約到期後重新撈取</li>
+ *   <li>一次查詢載入這批事件的預約，同一批內重複的事件（同預約、同類型、同訊息）只發送一次</li>
+ *   <li>逐一發送尚未完成的管道，已完成的管道記錄在事件上，重試時不重複通知</li>
+ *   <li>全部管道完成標記為完成；暫時性錯誤依指數退避重試，次數用完標記為失敗</li>
+ * </ol>
+ *
+ * <p>額度不足、未設定 LINE 等業務錯誤無法靠重試解決，該管道直接略過，
+ * 同一批內同租戶的其他事件也不再呼叫該管道
+ *
+ * <p>LINE、簡訊以每秒發送數限制流量（每個實例各自計算），
+ * 突發的大量預約只會排隊，不會打爆外部 API 或被限流後丟失
+ *
+ * <p>輸出指標：
+ * <ul>
+ *   <li>outbox.dispatched - 管道發送結果（channel, outcome）</li>
+ *   <li>outbox.events - 事件處理結果（outcome）</li>
+ * </ul>
+ *
+ * @author Developer
+ * @since 1.0.0
+ * @see BookingEventOutbox
+ */
+@Component
+@Slf4j
+public class BookingOutboxRelay {
+
+    // ========================================
+    // 依賴注入
+    // ========================================
+
+    private final BookingOutboxEventRepository outboxEventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final LineNotificationService lineNotificationService;
+    private final SseNotificationService sseNotificationService;
+    private final SmsService smsService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor relayExecutor;
+
+    /**
+     * 每批撈取筆數
+     */
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * 最大嘗試次數
+     */
+    @Value("${app.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    /**
+     * 租約秒數（處理中的事件在此時間內不會被其他實例撈取）
+     */
+    @Value("${app.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    /**
+     * 首次重試間隔秒數（之後每次加倍）
+     */
+    @Value("${app.outbox.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    /**
+     * 重試間隔上限秒數
+     */
+    @Value("${app.outbox.retry-max-seconds:1800}")
+    private long retryMaxSeconds;
+
+    /**
+     * 是否發送預約確認、取消簡訊（租戶仍需啟用 SMS）
+     */
+    @Value("${app.outbox.sms-enabled:false}")
+    private boolean smsEnabled;
+
+    /**
+     * 已完成事件保留天數
+     */
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final ChannelThrottle lineThrottle;
+    private final ChannelThrottle smsThrottle;
+    private final AtomicBoolean relayScheduled = new AtomicBoolean();
+
+    public BookingOutboxRelay(BookingOutboxEventRepository outboxEventRepository,
+                              BookingRepository bookingRepository,
+                              BookingMapper bookingMapper,
+                              LineNotificationService lineNotificationService,
+                              SseNotificationService sseNotificationService,
+                              SmsService smsService,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("taskExecutor") Executor relayExecutor,
+                              @Value("${app.outbox.line-per-second:20}") int linePerSecond,
+                              @Value("${app.outbox.sms-per-second:5}") int smsPerSecond) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.lineNotificationService = lineNotificationService;
+        this.sseNotificationService = sseNotificationService;
+        this.smsService = smsService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.relayExecutor = relayExecutor;
+        this.lineThrottle = new ChannelThrottle(linePerSecond);
+        this.smsThrottle = new ChannelThrottle(smsPerSecond);
+    }
+
+    // ========================================
+    // 觸發
+    // ========================================
+
+    /**
+     * 事件寫入提交後立即轉送（非同步）
+     *
+     * <p>執行緒池已滿時不處理，由定時轉送補上
+     */
+    public void wakeUp() {
+        if (!relayScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            relayExecutor.execute(() -> {
+                relayScheduled.set(false);
+                relay();
+            });
+        } catch (RejectedExecutionException e) {
+            relayScheduled.set(false);
+            log.debug("轉送任務被拒絕，等待定時轉送");
+        }
+    }
+
+    /**
+     * 定時轉送（補上立即轉送遺漏的事件與到期的重試）
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:5000}")
+    public void relayPeriodically() {
+        relay();
+    }
+
+    /**
+     * 清理已完成的事件（失敗的事件保留以便追查）
+     */
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 30 3 * * *}")
+    public void purgeProcessed() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(OutboxStatus.DONE, before));
+        if (deleted != null && deleted > 0) {
+            log.info("清理已完成的預約事件 {} 筆", deleted);
+        }
+    }
+
+    // ========================================
+    // 轉送
+    // ========================================
+
+    /**
+     * 轉送所有到期事件
+     *
+     * @return 處理的事件數
+     */
+    public synchronized int relay() {
+        int total = 0;
+        try {
+            List<BookingOutboxEvent> batch;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    dispatch(batch);
+                    total += batch.size();
+                }
+            } while (batch.size() >= batchSize);
+        } catch (Exception e) {
+            log.error("預約事件轉送失敗：{}", e.getMessage(), e);
+        }
+        return total;
+    }
+
+    /**
+     * 鎖定一批到期事件並設定租約
+     */
+    private List<BookingOutboxEvent> claim() {
+        List<BookingOutboxEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<BookingOutboxEvent> due = outboxEventRepository.findDueForUpdate(
+                    OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            for (BookingOutboxEvent event : due) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            }
+            return due;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void dispatch(List<BookingOutboxEvent> batch) {
+        Set<String> bookingIds = batch.stream()
+                .map(BookingOutboxEvent::getBookingId)
+                .collect(Collectors.toSet());
+        Map<String, Booking> bookings = bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Map<String, List<BookingOutboxEvent>> byTenant = batch.stream()
+                .collect(Collectors.groupingBy(BaseEntity::getTenantId, LinkedHashMap::new, Collectors.toList()));
+
+        byTenant.forEach((tenantId, events) -> {
+            Set<String> seen = new HashSet<>();
+            Set<OutboxChannel> rejected = EnumSet.noneOf(OutboxChannel.class);
+            for (BookingOutboxEvent event : events) {
+                String key = event.getBookingId() + ":" + event.getEventType() + ":" + Objects.toString(event.getMessage(), "");
+                if (!seen.add(key)) {
+                    event.markDone();
+                    countEvent("duplicate");
+                    continue;
+                }
+                dispatchEvent(event, bookings.get(event.getBookingId()), rejected);
+            }
+        });
+
+        saveResults(batch);
+    }
+
+    private void dispatchEvent(BookingOutboxEvent event, Booking booking, Set<OutboxChannel> rejected) {
+        if (booking == null) {
+            event.setLastError("預約不存在");
+            event.markDone();
+            countEvent("missing");
+            return;
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (OutboxChannel channel : channelsFor(event)) {
+            if (event.isChannelDone(channel)) {
+                continue;
+            }
+            if (rejected.contains(channel)) {
+                event.markChannelDone(channel);
+                countDispatched(channel, "skipped");
+                continue;
+            }
+
+            try {
+                send(channel, event, booking);
+                event.markChannelDone(channel);
+                countDispatched(channel, "success");
+            } catch (BusinessException e) {
+                // 額度不足、未設定等租戶層級的錯誤，重試無效
+                log.warn("預約通知無法發送，租戶：{}，預約 ID：{}，管道：{}，原因：{}",
+                        event.getTenantId(), event.getBookingId(), channel, e.getMessage());
+                rejected.add(channel);
+                event.markChannelDone(channel);
+                countDispatched(channel, "rejected");
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode().value() == 429) {
+                    errors.add(channel + "：" + e.getMessage());
+                    countDispatched(channel, "error");
+                } else {
+                    // 用戶封鎖、參數錯誤等，重試無效
+                    log.warn("預約通知被拒絕，預約 ID：{}，管道：{}，狀態碼：{}",
+                            event.getBookingId(), channel, e.getStatusCode());
+                    event.markChannelDone(channel);
+                    countDispatched(channel, "rejected");
+                }
+            } catch (Exception e) {
+                errors.add(channel + "：" + e.getMessage());
+                countDispatched(channel, "error");
+            }
+        }
+
+        if (errors.isEmpty()) {
+            event.markDone();
+            countEvent("done");
+            return;
+        }
+
+        event.markFailedAttempt(String.join("；", errors), maxAttempts, retryAt(event.getAttempts()));
+        if (event.getStatus() == OutboxStatus.FAILED) {
+            log.error("預約事件重試次數用完，事件 ID：{}，預約 ID：{}，錯誤：{}",
+                    event.getId(), event.getBookingId(), event.getLastError());
+            countEvent("failed");
+        } else {
+            log.warn("預約事件發送失敗，稍後重試，事件 ID：{}，第 {} 次，錯誤：{}",
+                    event.getId(), event.getAttempts(), event.getLastError());
+            countEvent("retry");
+        }
+    }
+
+    /**
+     * 事件需要發送的管道
+     */
+    private List<OutboxChannel> channelsFor(BookingOutboxEvent event) {
+        List<OutboxChannel> channels = new ArrayList<>(3);
+        channels.add(OutboxChannel.SSE);
+
+        BookingEventType type = event.getEventType();
+        boolean hasMessage = event.getMessage() != null && !event.getMessage().isEmpty();
+        if (type != BookingEventType.CREATED && (type != BookingEventType.UPDATED || hasMessage)) {
+            channels.add(OutboxChannel.LINE);
+        }
+        if (smsEnabled && (type == BookingEventType.CONFIRMED || type == BookingEventType.CANCELLED)) {
+            channels.add(OutboxChannel.SMS);
+        }
+        return channels;
+    }
+
+    private void send(OutboxChannel channel, BookingOutboxEvent event, Booking booking) {
+        switch (channel) {
+            case SSE -> sendSse(event, booking);
+            case LINE -> {
+                lineThrottle.acquire();
+                if (event.getEventType() == BookingEventType.UPDATED) {
+                    lineNotificationService.pushBookingModificationNotification(booking, event.getMessage());
+                } else {
+                    lineNotificationService.pushBookingStatusNotification(
+                            booking, toStatus(event.getEventType()), event.getMessage());
+                }
+            }
+            case SMS -> {
+                // 簡訊發送結果記錄在 sms_logs，呼叫完成即視為完成，不重試以免重複扣額度
+                smsThrottle.acquire();
+                if (event.getEventType() == BookingEventType.CONFIRMED) {
+                    smsService.sendBookingConfirmation(booking);
+                } else {
+                    smsService.sendBookingCancelled(booking);
+                }
+            }
+        }
+    }
+
+    private void sendSse(BookingOutboxEvent event, Booking booking) {
+        String tenantId = event.getTenantId();
+        BookingResponse response = bookingMapper.toResponse(booking);
+        switch (event.getEventType()) {
+            case CREATED -> sseNotificationService.notifyNewBooking(tenantId, response);
+            case UPDATED -> sseNotificationService.notifyBookingUpdated(tenantId, response);
+            case CANCELLED -> sseNotificationService.notifyBookingCancelled(tenantId, response);
+            default -> sseNotificationService.notifyBookingStatusChanged(
+                    tenantId, response, toStatus(event.getEventType()).name());
+        }
+    }
+
+    private BookingStatus toStatus(BookingEventType type) {
+        return switch (type) {
+            case CONFIRMED -> BookingStatus.CONFIRMED;
+            case COMPLETED -> BookingStatus.COMPLETED;
+            case CANCELLED -> BookingStatus.CANCELLED;
+            case NO_SHOW -> BookingStatus.NO_SHOW;
+            default -> throw new IllegalArgumentException("事件沒有對應的預約狀態：" + type);
+        };
+    }
+
+    /**
+     * 寫回處理結果
+     *
+     * <p>先以一次查詢載入這批事件，saveAll 合併時直接套用在已載入的實體上，不必逐筆 SELECT
+     */
+    private void saveResults(List<BookingOutboxEvent> batch) {
+        List<String> ids = batch.stream().map(BaseEntity::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.findAllById(ids);
+            outboxEventRepository.saveAll(batch);
+        });
+    }
+
+    /**
+     * 下次重試時間（指數退避）
+     */
+    private LocalDateTime retryAt(int attempts) {
+        long delay = Math.min(retryMaxSeconds, retryBaseSeconds << Math.min(attempts - 1, 16));
+        return LocalDateTime.now().plusSeconds(delay);
+    }
+
+    private void countDispatched(OutboxChannel channel, String outcome) {
+        Counter.builder("outbox.dispatched")
+                .tag("channel", channel.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void countEvent(String outcome) {
+        Counter.builder("outbox.events")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // ========================================
+    // 流量限制
+    // ========================================
+
+    /**
+     * 固定間隔的發送節流（每秒 N 筆，0 表示不限制）
+     */
+    static final class ChannelThrottle {
+
+        private final long intervalNanos;
+        private long nextSlot;
+
+        ChannelThrottle(int perSecond) {
+            this.intervalNanos = perSecond > 0 ? 1_000_000_000L / perSecond : 0;
+        }
+
+        void acquire() {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextSlot);
+                nextSlot = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+}
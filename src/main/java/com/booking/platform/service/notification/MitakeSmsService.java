@@ -105,7 +105,6 @@ public class MitakeSmsService implements SmsService {
                 .customerId(customerId)
                 .status(SmsStatus.SENDING)
                 .build();
-        smsLogRepository.save(smsLog);
 
         // ========================================
         // 4. 呼叫三竹 API 發送
@@ -131,6 +130,7 @@ public class MitakeSmsService implements SmsService {
             log.error("SMS 發送異常，租戶：{}", tenantId, e);
         }
 
+        // 發送結果確定後才寫入（一次 INSERT，不先寫 SENDING 再更新）
         return smsLogRepository.save(smsLog);
     }
 
@@ -12,10 +12,9 @@ import com.booking.platform.entity.system.Payment;
 import com.booking.platform.enums.PaymentStatus;
 import com.booking.platform.enums.PaymentType;
 import com.booking.platform.repository.PaymentRepository;
+import com.booking.platform.repository.support.ListRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,10 +24,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
 
 /**
  * ECPay 金流服務
@@ -194,31 +191,11 @@ public class EcpayService {
     /**
      * 查詢支付記錄列表
      */
-    public PageResponse<PaymentResponse> getList(PaymentStatus status, Pageable pageable) {
+    public PageResponse<PaymentResponse> getList(PaymentStatus status, ListRequest request) {
         String tenantId = TenantContext.getTenantId();
 
-        Page<Payment> page;
-        if (status != null) {
-            page = paymentRepository.findByTenantIdAndStatusAndDeletedAtIsNullOrderByCreatedAtDesc(
-                    tenantId, status, pageable);
-        } else {
-            page = paymentRepository.findByTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(
-                    tenantId, pageable);
-        }
-
-        List<PaymentResponse> content = page.getContent().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-
-        return PageResponse.<PaymentResponse>builder()
-                .content(content)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
-                .build();
+        return paymentRepository.findList(tenantId, status, request)
+                .toPageResponse(this::toResponse);
     }
 
     /**
@@ -566,8 +566,10 @@ function refreshPageData(eventType, data) {
                 break;
 
             case 'calendar':
-                // 行事曆頁面 - 刷新行事曆
-                if (typeof calendar !== 'undefined' && calendar.refetchEvents) {
+                // 行事曆頁面 - 只同步異動的預約
+                if (typeof calendar !== 'undefined' && typeof syncCalendar === 'function') {
+                    syncCalendar(calendar);
+                } else if (typeof calendar !== 'undefined' && calendar.refetchEvents) {
                     calendar.refetchEvents();
                 }
                 break;
@@ -484,25 +484,10 @@ function initCalendar(elementId, options = {}) {
                     start: fetchInfo.startStr.split('T')[0],
                     end: fetchInfo.endStr.split('T')[0]
                 };
-                const result = await api.get('/api/bookings/calendar', params);
+                const result = await api.get('/api/bookings/calendar/feed', params);
                 if (result.success && result.data) {
-                    const statusPrefix = {
-                        PENDING: '⏳ ',
-                        CONFIRMED: '✓ ',
-                        IN_PROGRESS: '▶ ',
-                        COMPLETED: '✔ ',
-                        CANCELLED: '✗ ',
-                        NO_SHOW: '✗ '
-                    };
-                    const events = result.data.map(booking => ({
-                        id: booking.id,
-                        title: `${statusPrefix[booking.status] || ''}${booking.customerName || ''} - ${booking.serviceName || ''}`,
-                        start: booking.bookingDate + 'T' + booking.startTime,
-                        end: booking.bookingDate + 'T' + booking.endTime,
-                        className: `status-${(booking.status || 'PENDING').toLowerCase().replace('_', '-')}`,
-                        extendedProps: booking
-                    }));
-                    successCallback(events);
+                    calendarSyncState = { ...params, version: result.data.version };
+                    successCallback(result.data.items.map(toCalendarEvent));
                 } else {
                     failureCallback(new Error('載入失敗'));
                 }
@@ -518,6 +503,70 @@ function initCalendar(elementId, options = {}) {
     return calendar;
 }
 
+/**
+ * 行事曆同步狀態（目前區間與版本）
+ */
+let calendarSyncState = null;
+
+const CALENDAR_STATUS_PREFIX = {
+    PENDING: '⏳ ',
+    CONFIRMED: '✓ ',
+    IN_PROGRESS: '▶ ',
+    COMPLETED: '✔ ',
+    CANCELLED: '✗ ',
+    NO_SHOW: '✗ '
+};
+
+/**
+ * 行事曆項目轉為 FullCalendar 事件
+ */
+function toCalendarEvent(booking) {
+    return {
+        id: booking.id,
+        title: `${CALENDAR_STATUS_PREFIX[booking.status] || ''}${booking.customerName || ''} - ${booking.serviceName || ''}`,
+        start: booking.bookingDate + 'T' + booking.startTime,
+        end: booking.bookingDate + 'T' + booking.endTime,
+        className: `status-${(booking.status || 'PENDING').toLowerCase().replace('_', '-')}`,
+        extendedProps: booking
+    };
+}
+
+/**
+ * 增量同步行事曆（只取上次同步後的異動）
+ *
+ * 收到 SSE 預約事件或操作完成後呼叫；尚未載入過則整個重新載入
+ */
+async function syncCalendar(calendarInstance) {
+    if (!calendarInstance) return;
+    if (!calendarSyncState) {
+        calendarInstance.refetchEvents();
+        return;
+    }
+
+    const state = calendarSyncState;
+    try {
+        const result = await api.get('/api/bookings/calendar/feed', { ...state, since: state.version });
+        // 期間切換了區間，以新區間的載入結果為準
+        if (!result.success || !result.data || calendarSyncState !== state) return;
+
+        const feed = result.data;
+        if (feed.full) {
+            calendarInstance.refetchEvents();
+            return;
+        }
+
+        const source = calendarInstance.getEventSources()[0];
+        feed.removedIds.forEach(id => calendarInstance.getEventById(id)?.remove());
+        feed.items.forEach(item => {
+            calendarInstance.getEventById(item.id)?.remove();
+            calendarInstance.addEvent(toCalendarEvent(item), source);
+        });
+        calendarSyncState = { ...state, version: feed.version };
+    } catch (error) {
+        console.error('同步行事曆失敗:', error);
+    }
+}
+
 // ========================================
 // 預約操作
 // ========================================
@@ -533,7 +582,7 @@ async function confirmBooking(bookingId) {
         await api.post(`/api/bookings/${bookingId}/confirm`);
         showSuccess('預約已確認');
         if (typeof loadBookings === 'function') loadBookings();
-        if (typeof calendar !== 'undefined') calendar.refetchEvents();
+        if (typeof calendar !== 'undefined') syncCalendar(calendar);
     } catch (error) {
         console.error('確認預約失敗:', error);
     }
@@ -550,7 +599,7 @@ async function cancelBooking(bookingId) {
         await api.post(`/api/bookings/${bookingId}/cancel?reason=${encodeURIComponent(reason || '')}`);
         showSuccess('預約已取消');
         if (typeof loadBookings === 'function') loadBookings();
-        if (typeof calendar !== 'undefined') calendar.refetchEvents();
+        if (typeof calendar !== 'undefined') syncCalendar(calendar);
     } catch (error) {
         console.error('取消預約失敗:', error);
     }
@@ -567,7 +616,7 @@ async function completeBooking(bookingId) {
         await api.post(`/api/bookings/${bookingId}/complete`);
         showSuccess('預約已完成');
         if (typeof loadBookings === 'function') loadBookings();
-        if (typeof calendar !== 'undefined') calendar.refetchEvents();
+        if (typeof calendar !== 'undefined') syncCalendar(calendar);
     } catch (error) {
         console.error('完成預約失敗:', error);
     }
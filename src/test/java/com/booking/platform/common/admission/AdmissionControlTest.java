@@ -0,0 +1,140 @@
+package com.booking.platform.common.admission;
+
+import com.booking.platform.dto.line.LineWebhookRoute;
+import com.booking.platform.repository.TenantRepository;
+import com.booking.platform.service.line.LineWebhookRouteCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 准入控制測試（令牌桶、租戶限流、租戶併發上限）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("令牌桶用完突發量後拒絕，依速率補充")
+    void tokenBucket_BurstThenRefill() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+
+        long halfSecond = TimeUnit.MILLISECONDS.toNanos(500);
+        assertThat(bucket.tryAcquire(halfSecond)).isTrue();
+        assertThat(bucket.tryAcquire(halfSecond)).isFalse();
+
+        assertThat(bucket.drainAdmitted()).isEqualTo(4);
+        assertThat(bucket.drainAdmitted()).isZero();
+    }
+
+    @Test
+    @DisplayName("各租戶各自限流，拒絕數依租戶記錄，不存在的租戶記為 unknown")
+    void rateLimiter_PerTenant() {
+        TenantRepository tenantRepository = mock(TenantRepository.class);
+        LineWebhookRouteCache routeCache = mock(LineWebhookRouteCache.class);
+        when(routeCache.resolve(anyString())).thenReturn(Optional.empty());
+        when(routeCache.resolve("shop-a")).thenReturn(Optional.of(new LineWebhookRoute("tenant-a", null, null, true)));
+        TenantRateLimiter limiter = new TenantRateLimiter(mock(RedisConnectionFactory.class), meterRegistry,
+                tenantRepository, routeCache, 1, 2, 1, 2, 1, 2);
+        ReflectionTestUtils.setField(limiter, "maxBuckets", 1000);
+
+        assertThat(limiter.tryAcquire(AdmissionRoute.LINE_WEBHOOK, "shop-a")).isTrue();
+        assertThat(limiter.tryAcquire(AdmissionRoute.LINE_WEBHOOK, "shop-a")).isTrue();
+        assertThat(limiter.tryAcquire(AdmissionRoute.LINE_WEBHOOK, "shop-a")).isFalse();
+        assertThat(limiter.tryAcquire(AdmissionRoute.LINE_WEBHOOK, "shop-b")).isTrue();
+
+        assertThat(meterRegistry.get("admission.rejected")
+                .tag("route", "line-webhook")
+                .tag("tenant", "shop-a")
+                .tag("scope", "local")
+                .counter().count()).isEqualTo(1);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire(AdmissionRoute.LINE_WEBHOOK, "no-such-shop");
+            limiter.tryAcquire(AdmissionRoute.PUBLIC_API, "no-such-tenant");
+        }
+        assertThat(meterRegistry.get("admission.rejected").tag("tenant", "unknown").counters()).hasSize(2);
+        assertThat(meterRegistry.find("admission.rejected").tag("tenant", "no-such-shop").counter()).isNull();
+        verify(routeCache, times(1)).resolve("no-such-shop");
+        verify(tenantRepository, times(1)).existsByIdAndDeletedAtIsNull("no-such-tenant");
+        assertThat(limiter.retryAfterSeconds(AdmissionRoute.LINE_WEBHOOK)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("令牌桶數達上限時移除最久未使用的，仍在使用的保留限流狀態")
+    void rateLimiter_CapsBuckets() {
+        TenantRateLimiter limiter = new TenantRateLimiter(mock(RedisConnectionFactory.class), meterRegistry,
+                mock(TenantRepository.class), mock(LineWebhookRouteCache.class), 1, 2, 1, 2, 1, 2);
+        ReflectionTestUtils.setField(limiter, "maxBuckets", 10);
+
+        assertThat(limiter.tryAcquire(AdmissionRoute.PUBLIC_BOOKING, "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire(AdmissionRoute.PUBLIC_BOOKING, "10.0.0.1")).isTrue();
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(AdmissionRoute.PUBLIC_BOOKING, "203.0.113." + i);
+            // 持續使用的來源不會被移除
+            assertThat(limiter.tryAcquire(AdmissionRoute.PUBLIC_BOOKING, "10.0.0.1")).isFalse();
+        }
+
+        Map<?, ?> buckets = (Map<?, ?>) ReflectionTestUtils.getField(limiter, "buckets");
+        assertThat(buckets).hasSizeLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("公開預約依代理解析後的來源 IP 限流，不採用客戶端自填的 X-Forwarded-For")
+    void filter_IgnoresSpoofedForwardedFor() throws Exception {
+        TenantRateLimiter limiter = mock(TenantRateLimiter.class);
+        when(limiter.tryAcquire(any(), anyString())).thenReturn(true);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, new ObjectMapper());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/booking/shop-a");
+        request.setRemoteAddr("198.51.100.7");
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(limiter).tryAcquire(AdmissionRoute.PUBLIC_BOOKING, "198.51.100.7");
+    }
+
+    @Test
+    @DisplayName("租戶達併發上限時不排入，工作結束後釋放名額")
+    void bulkhead_TryRun() {
+        List<Runnable> queued = new ArrayList<>();
+        TenantBulkhead bulkhead = new TenantBulkhead(queued::add, meterRegistry, 1, 1);
+
+        assertThat(bulkhead.tryRun(TenantBulkhead.Pool.LINE_WEBHOOK, "tenant-1", () -> { })).isTrue();
+        assertThat(bulkhead.tryRun(TenantBulkhead.Pool.LINE_WEBHOOK, "tenant-1", () -> { })).isFalse();
+        assertThat(bulkhead.tryRun(TenantBulkhead.Pool.LINE_WEBHOOK, "tenant-2", () -> { })).isTrue();
+
+        queued.get(0).run();
+        assertThat(bulkhead.tryRun(TenantBulkhead.Pool.LINE_WEBHOOK, "tenant-1", () -> { })).isTrue();
+
+        assertThat(meterRegistry.get("admission.bulkhead.rejected")
+                .tag("pool", "line-webhook")
+                .tag("tenant", "tenant-1")
+                .counter().count()).isEqualTo(1);
+    }
+}
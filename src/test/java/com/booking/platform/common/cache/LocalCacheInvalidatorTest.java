@@ -0,0 +1,107 @@
+package com.booking.platform.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 本機快取失效協調測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class LocalCacheInvalidatorTest {
+
+    private static final String CHANNEL = "cache:local:invalidate";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> evicted = new ArrayList<>();
+    private LocalCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        invalidator = new LocalCacheInvalidator(mock(RedisConnectionFactory.class), redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(invalidator, "broadcastEnabled", true);
+        ReflectionTestUtils.setField(invalidator, "channel", CHANNEL);
+        invalidator.register("shop", evicted::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("不在交易中時立即清除並通知其他實例")
+    void invalidate_OutsideTransaction() {
+        invalidator.invalidate("shop", "tenant-1");
+
+        assertThat(evicted).containsExactly("tenant-1");
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        assertThat((String) message.getValue()).endsWith("|shop|tenant-1");
+    }
+
+    @Test
+    @DisplayName("交易中先清除本機，提交後再清除一次才通知其他實例")
+    void invalidate_AgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.invalidate("shop", "tenant-1");
+
+        assertThat(evicted).containsExactly("tenant-1");
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(evicted).containsExactly("tenant-1", "tenant-1");
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), any());
+        assertThat(meterRegistry.get("cache.local.invalidation").tag("direction", "sent").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("收到其他實例的通知時清除本機快取，自己發出的與未註冊的快取略過")
+    void onMessage_EvictsOtherInstances() {
+        invalidator.onMessage(message("other-instance|shop|tenant-2"), null);
+        invalidator.onMessage(message("other-instance|unknown|tenant-3"), null);
+        assertThat(evicted).containsExactly("tenant-2");
+
+        invalidator.invalidate("shop", "tenant-1");
+        ArgumentCaptor<Object> own = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), own.capture());
+        invalidator.onMessage(message((String) own.getValue()), null);
+
+        assertThat(evicted).containsExactly("tenant-2", "tenant-1");
+    }
+
+    // ========================================
+    // 輔助方法
+    // ========================================
+
+    private Message message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
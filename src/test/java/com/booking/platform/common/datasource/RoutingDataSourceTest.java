@@ -0,0 +1,102 @@
+package com.booking.platform.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 讀寫分離路由測試（以 H2 代替讀取副本）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class RoutingDataSourceTest {
+
+    private final JdbcTemplate replica = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @Test
+    @DisplayName("寫入走主庫，背景寫入走背景池")
+    void route_Write() {
+        assertThat(RoutingDataSource.route(Workload.INTERACTIVE, true, false, true, true))
+                .isEqualTo(DataSourceRoute.PRIMARY);
+        assertThat(RoutingDataSource.route(Workload.REPORTING, true, false, true, true))
+                .isEqualTo(DataSourceRoute.PRIMARY);
+        assertThat(RoutingDataSource.route(Workload.BACKGROUND, true, false, true, true))
+                .isEqualTo(DataSourceRoute.BACKGROUND);
+    }
+
+    @Test
+    @DisplayName("互動唯讀交易讀副本，副本不夠新時讀主庫")
+    void route_InteractiveRead() {
+        assertThat(RoutingDataSource.route(Workload.INTERACTIVE, false, true, true, true))
+                .isEqualTo(DataSourceRoute.REPLICA);
+        assertThat(RoutingDataSource.route(Workload.INTERACTIVE, false, true, true, false))
+                .isEqualTo(DataSourceRoute.PRIMARY);
+        assertThat(RoutingDataSource.route(Workload.INTERACTIVE, false, false, true, true))
+                .isEqualTo(DataSourceRoute.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("報表讀副本報表池，副本無法使用時不佔互動池")
+    void route_Reporting() {
+        assertThat(RoutingDataSource.route(Workload.REPORTING, false, true, true, false))
+                .isEqualTo(DataSourceRoute.REPORTING);
+        assertThat(RoutingDataSource.route(Workload.REPORTING, false, false, false, false))
+                .isEqualTo(DataSourceRoute.BACKGROUND);
+    }
+
+    @Test
+    @DisplayName("租戶剛寫入時改讀主庫，其他租戶仍讀副本")
+    void lagTracker_ReadYourWrites() {
+        ReplicaLagTracker tracker = new ReplicaLagTracker(replica, "", 3000, 60000, new SimpleMeterRegistry());
+        assertThat(tracker.isReplicaFresh("tenant-1")).isFalse();
+
+        tracker.refresh();
+        tracker.recordWrite("tenant-1");
+
+        assertThat(tracker.isReplicaAvailable()).isTrue();
+        assertThat(tracker.isReplicaFresh("tenant-1")).isFalse();
+        assertThat(tracker.isReplicaFresh("tenant-2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("延遲超過上限或查詢失敗時不讀副本")
+    void lagTracker_Lag() {
+        ReplicaLagTracker lagging = new ReplicaLagTracker(replica, "SELECT 5000", 3000, 0, new SimpleMeterRegistry());
+        lagging.refresh();
+        assertThat(lagging.isReplicaAvailable()).isTrue();
+        assertThat(lagging.isReplicaFresh("tenant-1")).isFalse();
+
+        ReplicaLagTracker broken = new ReplicaLagTracker(replica, "SELECT no_such_function()", 3000, 0,
+                new SimpleMeterRegistry());
+        broken.refresh();
+        assertThat(broken.isReplicaAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("只有送出異動語句的交易標記為寫入")
+    void transactionWrites_MarksDmlOnly() {
+        assertThat(TransactionWrites.isWrite("insert into booking (id) values (?)")).isTrue();
+        assertThat(TransactionWrites.isWrite(" UPDATE coupon SET version = version + 1")).isTrue();
+        assertThat(TransactionWrites.isWrite("select b1_0.id from booking b1_0")).isFalse();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionWrites.markIfWrite("select 1");
+            assertThat(TransactionWrites.currentTransactionWrote()).isFalse();
+
+            TransactionWrites.markIfWrite("delete from booking where id = ?");
+            TransactionWrites.markIfWrite("delete from booking where id = ?");
+            assertThat(TransactionWrites.currentTransactionWrote()).isTrue();
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.booking.platform.common.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 主鍵產生器測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class IdGeneratorTest {
+
+    @Test
+    @DisplayName("產生標準格式的 UUIDv7")
+    void newId_Format() {
+        String id = IdGenerator.newId();
+        UUID uuid = UUID.fromString(id);
+
+        assertThat(id).hasSize(36);
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("連續產生的主鍵字串遞增且不重複")
+    void newId_Monotonic() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(IdGenerator.newId());
+        }
+
+        assertThat(ids).isSorted();
+        assertThat(new HashSet<>(ids)).hasSameSizeAs(ids);
+    }
+
+    @Test
+    @DisplayName("可取出建立時間，隨機 UUID 回傳 -1")
+    void timestampOf() {
+        long before = System.currentTimeMillis();
+        long timestamp = IdGenerator.timestampOf(IdGenerator.newId());
+
+        assertThat(timestamp).isBetween(before, System.currentTimeMillis() + 1000);
+        assertThat(IdGenerator.timestampOf(UUID.randomUUID().toString())).isEqualTo(-1);
+        assertThat(IdGenerator.timestampOf("not-a-uuid")).isEqualTo(-1);
+    }
+}
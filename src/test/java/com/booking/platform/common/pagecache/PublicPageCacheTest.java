@@ -0,0 +1,102 @@
+package com.booking.platform.common.pagecache;
+
+import com.booking.platform.common.config.TrackingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.i18n.FixedLocaleResolver;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 公開頁面整頁快取測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class PublicPageCacheTest {
+
+    private static final String HTML = "<html><body>" + "預約系統".repeat(200) + "</body></html>";
+
+    private final ITemplateEngine templateEngine = mock(ITemplateEngine.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PublicPageCache pageCache;
+
+    @BeforeEach
+    void setUp() {
+        when(templateEngine.process(eq("public/index"), any(IContext.class))).thenReturn(HTML);
+        pageCache = new PublicPageCache(templateEngine, new FixedLocaleResolver(Locale.TAIWAN),
+                new TrackingConfig(), meterRegistry);
+        ReflectionTestUtils.setField(pageCache, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("同一頁面與語系只渲染一次，接受 gzip 時回應預先壓縮的內容")
+    void serve_RendersOnceAndServesGzip() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+
+        pageCache.serve("public/index", request);
+        ResponseEntity<byte[]> response = pageCache.serve("public/index", request);
+
+        verify(templateEngine, times(1)).process(eq("public/index"), any(IContext.class));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).endsWith("-gz\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(HTML);
+        }
+        assertThat(meterRegistry.get("page.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 相符時回 304 且不帶內容")
+    void serve_NotModified() {
+        ResponseEntity<byte[]> first = pageCache.serve("public/index", new MockHttpServletRequest("GET", "/"));
+        assertThat(first.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(first.getBody()).isEqualTo(HTML.getBytes(StandardCharsets.UTF_8));
+        String etag = first.getHeaders().getETag();
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<byte[]> response = pageCache.serve("public/index", revalidate);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("清除語系後重新渲染；未支援的語系歸到繁體中文")
+    void invalidate_PerLocale() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        pageCache.serve("public/index", request);
+
+        pageCache.invalidate(Locale.ENGLISH);
+        pageCache.serve("public/index", request);
+        verify(templateEngine, times(1)).process(eq("public/index"), any(IContext.class));
+
+        pageCache.invalidate(Locale.TAIWAN);
+        pageCache.serve("public/index", request);
+        verify(templateEngine, times(2)).process(eq("public/index"), any(IContext.class));
+
+        assertThat(PublicPageCache.supportedLocale(Locale.JAPAN)).isEqualTo(Locale.TAIWAN);
+        assertThat(PublicPageCache.supportedLocale(Locale.US)).isEqualTo(Locale.ENGLISH);
+        assertThat(PublicPageCache.acceptsGzip("gzip;q=0, br")).isFalse();
+    }
+}
@@ -0,0 +1,104 @@
+package com.booking.platform.common.persistence;
+
+import com.booking.platform.entity.catalog.ServiceItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 二級快取跨實例失效通知測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class SecondLevelCacheBroadcasterTest {
+
+    private static final String CHANNEL = "hibernate:l2:invalidate";
+    private static final String ENTITY = ServiceItem.class.getName();
+
+    private final SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    private final Cache cache = mock(Cache.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SecondLevelCacheBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        when(sessionFactory.getCache()).thenReturn(cache);
+        broadcaster = new SecondLevelCacheBroadcaster(sessionFactory, mock(RedisConnectionFactory.class),
+                redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(broadcaster, "channel", CHANNEL);
+    }
+
+    @Test
+    @DisplayName("有二級快取的實體提交後發佈通知，沒有快取的實體不發佈")
+    void publish_CachedEntityOnly() {
+        broadcaster.onPostInsert(new PostInsertEvent(null, "svc-1", null, persister(ENTITY, true), null));
+        broadcaster.onPostInsert(new PostInsertEvent(null, "bk-1", null, persister("Booking", false), null));
+
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate, times(1)).convertAndSend(eq(CHANNEL), message.capture());
+        assertThat((String) message.getValue()).endsWith("|" + ENTITY + "|svc-1");
+        assertThat(meterRegistry.get("hibernate.l2.broadcast").tag("direction", "sent").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("收到其他實例的通知時清除實體與查詢快取，整個區域的通知清除整個實體區域")
+    void onMessage_Evicts() {
+        broadcaster.onMessage(message("other-instance|" + ENTITY + "|svc-1"), null);
+        verify(cache).evictEntityData(ENTITY, "svc-1");
+
+        broadcaster.onMessage(message("other-instance|" + ENTITY + "|*"), null);
+        verify(cache).evictEntityData(ENTITY);
+
+        verify(cache, times(2)).evictQueryRegions();
+        assertThat(meterRegistry.get("hibernate.l2.broadcast").tag("direction", "received").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("區域清除通知發佈到頻道，自己發出的通知不再清除本機快取")
+    void publishRegionEviction_IgnoresOwnMessage() {
+        broadcaster.publishRegionEviction(ServiceItem.class);
+
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        assertThat((String) message.getValue()).endsWith("|" + ENTITY + "|*");
+
+        broadcaster.onMessage(message((String) message.getValue()), null);
+        verifyNoInteractions(cache);
+    }
+
+    // ========================================
+    // 輔助方法
+    // ========================================
+
+    private EntityPersister persister(String entityName, boolean cached) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getEntityName()).thenReturn(entityName);
+        when(persister.canWriteToCache()).thenReturn(cached);
+        return persister;
+    }
+
+    private Message message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,64 @@
+package com.booking.platform.common.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 延遲批次寫入測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class WriteBehindBufferTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        buffer = new WriteBehindBuffer(entityManager, transactionManager, new SimpleMeterRegistry(), Runnable::run);
+        ReflectionTestUtils.setField(buffer, "batchSize", 2);
+        ReflectionTestUtils.setField(buffer, "maxPending", 100);
+    }
+
+    @Test
+    @DisplayName("依批次大小分交易寫入")
+    void flush_InBatches() {
+        // 批次大小 2：第 2 筆觸發一次寫入，剩下 1 筆由定時寫入
+        List.of("a", "b", "c").forEach(buffer::append);
+        verify(transactionManager, times(1)).commit(any());
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        verify(entityManager, times(3)).persist(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("整批失敗時逐筆重試，只丟棄有問題的資料")
+    void flush_IsolatesBadRow() {
+        doThrow(new PersistenceException("bad row")).when(entityManager).persist("bad");
+
+        buffer.append("bad");
+        buffer.append("good");
+
+        verify(entityManager, times(2)).persist("bad");
+        verify(entityManager, times(1)).persist("good");
+        assertThat(buffer.flush()).isZero();
+    }
+}
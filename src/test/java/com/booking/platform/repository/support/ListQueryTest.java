@@ -0,0 +1,83 @@
+package com.booking.platform.repository.support;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.repository.support.ListQuery.SortKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 列表查詢建構器測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class ListQueryTest {
+
+    private record Row(LocalDateTime visitedAt, String id) {
+    }
+
+    private ListQuery<Row> query(String status) {
+        return ListQuery.from(Row.class, "r")
+                .where("r.tenantId = :tenantId", "tenantId", "t1")
+                .and("r.status = :status", "status", status)
+                .and("r.name LIKE :keyword", "keyword", ListQuery.contains(" "))
+                .orderBy(SortKey.descNullsLast("r.visitedAt", Row::visitedAt, LocalDateTime::parse))
+                .orderBy(SortKey.desc("r.id", Row::id, Function.identity()));
+    }
+
+    @Test
+    @DisplayName("未帶值的篩選條件不出現在 JPQL")
+    void selectJpql_SkipsInactivePredicates() {
+        Map<String, Object> params = new HashMap<>();
+
+        String jpql = query(null).selectJpql("Row", null, params);
+
+        assertThat(jpql).isEqualTo("SELECT r FROM Row r WHERE r.tenantId = :tenantId"
+                + " ORDER BY r.visitedAt DESC NULLS LAST, r.id DESC");
+        assertThat(query("ACTIVE").countJpql("Row"))
+                .isEqualTo("SELECT COUNT(r) FROM Row r WHERE r.tenantId = :tenantId AND r.status = :status");
+    }
+
+    @Test
+    @DisplayName("游標編碼後可還原，並展開為 Keyset 條件")
+    void cursor_RoundTrip() {
+        ListQuery<Row> query = query(null);
+        LocalDateTime visitedAt = LocalDateTime.of(2024, 5, 1, 10, 30, 0, 123_000_000);
+
+        List<Object> values = query.decodeCursor(query.encodeCursor(new Row(visitedAt, "id-9")));
+        assertThat(values).containsExactly(visitedAt, "id-9");
+
+        Map<String, Object> params = new HashMap<>();
+        String jpql = query.selectJpql("Row", values, params);
+        assertThat(jpql).contains("((r.visitedAt < :cursor0 OR r.visitedAt IS NULL))"
+                + " OR (r.visitedAt = :cursor0 AND r.id < :cursor1)");
+        assertThat(params).containsEntry("cursor0", visitedAt).containsEntry("cursor1", "id-9");
+    }
+
+    @Test
+    @DisplayName("null 排序值只往後比較唯一鍵")
+    void cursor_NullSortValue() {
+        ListQuery<Row> query = query(null);
+
+        List<Object> values = query.decodeCursor(query.encodeCursor(new Row(null, "id-3")));
+        String jpql = query.selectJpql("Row", values, new HashMap<>());
+
+        assertThat(values).containsExactly(null, "id-3");
+        assertThat(jpql).contains("((r.visitedAt IS NULL AND r.id < :cursor1))");
+    }
+
+    @Test
+    @DisplayName("無效游標拋出參數錯誤")
+    void decodeCursor_Invalid() {
+        assertThatThrownBy(() -> query(null).decodeCursor("not-a-cursor"))
+                .isInstanceOf(BusinessException.class);
+    }
+}
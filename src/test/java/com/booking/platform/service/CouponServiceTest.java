@@ -0,0 +1,380 @@
+package com.booking.platform.service;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.tenant.TenantContext;
+import com.booking.platform.dto.response.BulkIssueCouponResponse;
+import com.booking.platform.entity.customer.Customer;
+import com.booking.platform.entity.line.LineUser;
+import com.booking.platform.entity.marketing.Campaign;
+import com.booking.platform.entity.marketing.Coupon;
+import com.booking.platform.entity.marketing.CouponInstance;
+import com.booking.platform.entity.customer.MembershipLevel;
+import com.booking.platform.enums.CampaignStatus;
+import com.booking.platform.enums.CampaignType;
+import com.booking.platform.enums.CouponInstanceStatus;
+import com.booking.platform.enums.CouponStatus;
+import com.booking.platform.enums.CouponType;
+import com.booking.platform.repository.CampaignRepository;
+import com.booking.platform.repository.CouponInstanceRepository;
+import com.booking.platform.repository.CouponRepository;
+import com.booking.platform.repository.CustomerRepository;
+import com.booking.platform.repository.MembershipLevelRepository;
+import com.booking.platform.repository.line.LineUserRepository;
+import com.booking.platform.service.line.LineMessageService;
+import com.booking.platform.service.line.LineWebhookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 票券服務測試
+ *
+ * <p>列表查詢的 SQL 數量不應隨筆數增加（避免 N+1），涵蓋票券、行銷活動、會員等級列表
+ * 與 LINE 的「可領取票券」「我的票券」（LINE API 以 Mock 取代）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class CouponServiceTest {
+
+    private static final String LINE_USER_ID = "U-coupon-test";
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponInstanceRepository couponInstanceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CampaignService campaignService;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private MembershipLevelService membershipLevelService;
+
+    @Autowired
+    private MembershipLevelRepository membershipLevelRepository;
+
+    @Autowired
+    private SegmentStatisticsService segmentStatisticsService;
+
+    @Autowired
+    private LineWebhookService lineWebhookService;
+
+    @Autowired
+    private LineUserRepository lineUserRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private LineMessageService lineMessageService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String tenantId;
+    private Customer testCustomer;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID().toString();
+        TenantContext.setTenantId(tenantId);
+
+        testCustomer = createCustomer("測試顧客");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("顧客票券列表 - 查詢數量固定")
+    void getCustomerCoupons_FixedQueryCount() {
+        issueInstances(2);
+        long smallListQueries = countStatements(() ->
+                couponService.getCustomerCoupons(testCustomer.getId(), null, PageRequest.of(0, 20)));
+
+        issueInstances(8);
+        long largeListQueries = countStatements(() ->
+                couponService.getCustomerCoupons(testCustomer.getId(), null, PageRequest.of(0, 20)));
+
+        assertThat(largeListQueries).isEqualTo(smallListQueries);
+    }
+
+    @Test
+    @DisplayName("顧客可用票券 - 查詢數量固定")
+    void getCustomerUsableCoupons_FixedQueryCount() {
+        issueInstances(2);
+        long smallListQueries = countStatements(() ->
+                couponService.getCustomerUsableCoupons(testCustomer.getId()));
+
+        issueInstances(8);
+        long largeListQueries = countStatements(() ->
+                couponService.getCustomerUsableCoupons(testCustomer.getId()));
+
+        assertThat(largeListQueries).isEqualTo(smallListQueries);
+        assertThat(couponService.getCustomerUsableCoupons(testCustomer.getId()))
+                .hasSize(10)
+                .allSatisfy(response -> assertThat(response.getCouponName()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("行銷活動列表 - 票券名稱批次載入，查詢數量固定")
+    void campaignList_FixedQueryCount() {
+        createCampaigns(2);
+        long smallListQueries = countStatements(() ->
+                campaignService.getList(null, null, PageRequest.of(0, 20)));
+
+        createCampaigns(8);
+        long largeListQueries = countStatements(() ->
+                campaignService.getList(null, null, PageRequest.of(0, 20)));
+
+        assertThat(largeListQueries).isEqualTo(smallListQueries);
+        assertThat(campaignService.getList(null, null, PageRequest.of(0, 20)).getContent())
+                .hasSize(10)
+                .allSatisfy(response -> assertThat(response.getCouponName()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("會員等級列表 - 各等級人數分組統計，查詢數量固定")
+    void membershipLevelList_FixedQueryCount() {
+        createMembershipLevels(2);
+        segmentStatisticsService.invalidate(tenantId);
+        long smallListQueries = countStatements(() -> membershipLevelService.getList());
+
+        createMembershipLevels(6);
+        segmentStatisticsService.invalidate(tenantId);
+        long largeListQueries = countStatements(() -> membershipLevelService.getList());
+
+        assertThat(largeListQueries).isEqualTo(smallListQueries);
+        assertThat(membershipLevelService.getList())
+                .hasSize(8)
+                .allSatisfy(response -> assertThat(response.getMemberCount()).isEqualTo(1L));
+    }
+
+    @Test
+    @DisplayName("LINE 我的票券 - 票券名稱批次載入，查詢數量固定")
+    void lineViewMyCoupons_FixedQueryCount() {
+        createLineUser();
+        issueInstances(2);
+        processPostback("view_my_coupons");
+        long smallListQueries = countStatements(() -> processPostback("view_my_coupons"));
+
+        issueInstances(8);
+        long largeListQueries = countStatements(() -> processPostback("view_my_coupons"));
+
+        assertThat(largeListQueries).isEqualTo(smallListQueries);
+        verify(lineMessageService, atLeastOnce()).replyFlex(eq(tenantId), any(), eq("我的票券"), any());
+    }
+
+    @Test
+    @DisplayName("LINE 可領取票券 - 已領數量分組統計，查詢數量固定")
+    void lineViewCoupons_FixedQueryCount() {
+        createLineUser();
+        issueInstances(1);
+        createCoupon("可領取-1", null, 1);
+        processPostback("view_coupons");
+        long smallListQueries = countStatements(() -> processPostback("view_coupons"));
+
+        issueInstances(4);
+        for (int i = 0; i < 4; i++) {
+            createCoupon("可領取-" + (i + 2), null, 1);
+        }
+        long largeListQueries = countStatements(() -> processPostback("view_coupons"));
+
+        assertThat(largeListQueries).isEqualTo(smallListQueries);
+        verify(lineMessageService, atLeastOnce()).replyFlex(eq(tenantId), any(), eq("可領取票券"), any());
+    }
+
+    @Test
+    @DisplayName("批次發放 - 遵守限量與每人限領")
+    void bulkIssue_RespectsQuantityAndLimit() {
+        Coupon coupon = createCoupon("限量券", 3, 1);
+        List<String> customerIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            customerIds.add(createCustomer("顧客" + i).getId());
+        }
+
+        BulkIssueCouponResponse first = couponService.bulkIssue(
+                tenantId, coupon.getId(), customerIds, "manual", null);
+
+        assertThat(first.getIssuedCount()).isEqualTo(3);
+        assertThat(first.getSkippedBySoldOutCount()).isEqualTo(2);
+        assertThat(couponRepository.findRemainingQuantity(coupon.getId(), tenantId)).isZero();
+
+        BulkIssueCouponResponse second = couponService.bulkIssue(
+                tenantId, coupon.getId(), customerIds.subList(0, 3), "manual", null);
+
+        assertThat(second.getIssuedCount()).isZero();
+        assertThat(second.getSkippedByLimitCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("領取 - 已刪除的票券不佔用領取序號，可重新領取")
+    void issueToCustomer_AfterSoftDelete() {
+        Coupon coupon = createCoupon("每人一張", null, 1);
+
+        CouponInstance first = couponService.issueToCustomer(coupon.getId(), testCustomer.getId());
+        first.softDelete();
+        couponInstanceRepository.saveAndFlush(first);
+
+        CouponInstance second = couponService.issueToCustomer(coupon.getId(), testCustomer.getId());
+        entityManager.flush();
+
+        assertThat(second.getClaimSeq()).isEqualTo(first.getClaimSeq() + 1);
+        assertThatThrownBy(() -> couponService.issueToCustomer(coupon.getId(), testCustomer.getId()))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("領取遞增版本號 - 同一交易內再修改票券不會樂觀鎖失敗，也不覆蓋發放數量")
+    void issueToCustomer_ThenMutateCoupon() {
+        Coupon coupon = createCoupon("限量券", 10, null);
+
+        couponService.issueToCustomer(coupon.getId(), testCustomer.getId());
+        couponService.pause(coupon.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Coupon reloaded = couponRepository.findById(coupon.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(CouponStatus.PAUSED);
+        assertThat(reloaded.getIssuedQuantity()).isEqualTo(1);
+    }
+
+    // ========================================
+    // 輔助方法
+    // ========================================
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Customer createCustomer(String name) {
+        Customer customer = Customer.builder()
+                .name(name)
+                .build();
+        customer.setTenantId(tenantId);
+        return customerRepository.save(customer);
+    }
+
+    private Coupon createCoupon(String name, Integer totalQuantity, Integer limitPerCustomer) {
+        Coupon coupon = Coupon.builder()
+                .name(name)
+                .type(CouponType.DISCOUNT_AMOUNT)
+                .status(CouponStatus.PUBLISHED)
+                .discountAmount(BigDecimal.valueOf(100))
+                .totalQuantity(totalQuantity)
+                .limitPerCustomer(limitPerCustomer)
+                .build();
+        coupon.setTenantId(tenantId);
+        return couponRepository.saveAndFlush(coupon);
+    }
+
+    private void createCampaigns(int count) {
+        for (int i = 0; i < count; i++) {
+            Coupon coupon = createCoupon("活動券-" + UUID.randomUUID(), null, null);
+            Campaign campaign = Campaign.builder()
+                    .name("活動-" + UUID.randomUUID())
+                    .type(CampaignType.LIMITED_TIME)
+                    .status(CampaignStatus.ACTIVE)
+                    .couponId(coupon.getId())
+                    .build();
+            campaign.setTenantId(tenantId);
+            campaignRepository.save(campaign);
+        }
+    }
+
+    private void createMembershipLevels(int count) {
+        for (int i = 0; i < count; i++) {
+            MembershipLevel level = MembershipLevel.builder()
+                    .name("等級-" + UUID.randomUUID().toString().substring(0, 8))
+                    .build();
+            level.setTenantId(tenantId);
+            level = membershipLevelRepository.save(level);
+
+            Customer member = createCustomer("會員-" + i);
+            member.setMembershipLevelId(level.getId());
+            customerRepository.save(member);
+        }
+    }
+
+    private void createLineUser() {
+        LineUser lineUser = LineUser.builder()
+                .lineUserId(LINE_USER_ID)
+                .customerId(testCustomer.getId())
+                .build();
+        lineUser.setTenantId(tenantId);
+        lineUserRepository.save(lineUser);
+    }
+
+    private void processPostback(String action) {
+        ObjectNode event = objectMapper.createObjectNode();
+        event.put("type", "postback");
+        event.put("replyToken", "reply-token");
+        event.put("timestamp", System.currentTimeMillis());
+        event.putObject("source").put("userId", LINE_USER_ID);
+        event.putObject("postback").put("data", "action=" + action);
+        lineWebhookService.processEvent(tenantId, event);
+    }
+
+    private void issueInstances(int count) {
+        for (int i = 0; i < count; i++) {
+            Coupon coupon = createCoupon("票券-" + UUID.randomUUID(), null, null);
+            CouponInstance instance = CouponInstance.builder()
+                    .couponId(coupon.getId())
+                    .customerId(testCustomer.getId())
+                    .code(UUID.randomUUID().toString().substring(0, 12))
+                    .status(CouponInstanceStatus.UNUSED)
+                    .source("manual")
+                    .build();
+            instance.setTenantId(tenantId);
+            couponInstanceRepository.save(instance);
+        }
+    }
+}
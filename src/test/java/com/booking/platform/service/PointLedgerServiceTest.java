@@ -0,0 +1,91 @@
+package com.booking.platform.service;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.exception.ErrorCode;
+import com.booking.platform.common.exception.ResourceNotFoundException;
+import com.booking.platform.entity.customer.PointTransaction;
+import com.booking.platform.repository.CustomerRepository;
+import com.booking.platform.repository.PointTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 點數帳本服務測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class PointLedgerServiceTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final PointTransactionRepository pointTransactionRepository = mock(PointTransactionRepository.class);
+
+    private final PointLedgerService service = new PointLedgerService(
+            customerRepository, pointTransactionRepository, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("入帳以原子 UPDATE 更新餘額並寫入帳本")
+    void credit_UpdatesBalanceAndAppendsEntry() {
+        when(customerRepository.adjustPointBalance("c1", "t1", 30)).thenReturn(1);
+        when(customerRepository.findPointBalance("c1", "t1")).thenReturn(Optional.of(130));
+
+        assertThat(service.credit("t1", "c1", 30, "預約完成", "booking:b1")).isEqualTo(130);
+
+        verify(pointTransactionRepository).save(argThat(tx -> tx.getPoints() == 30
+                && tx.getBalanceAfter() == 130
+                && "booking:b1".equals(tx.getIdempotencyKey())));
+    }
+
+    @Test
+    @DisplayName("冪等鍵已入帳時不再異動餘額")
+    void credit_DuplicateKeyIsNoop() {
+        when(pointTransactionRepository.findByTenantIdAndIdempotencyKey("t1", "booking:b1"))
+                .thenReturn(Optional.of(new PointTransaction()));
+        when(customerRepository.findPointBalance("c1", "t1")).thenReturn(Optional.of(130));
+
+        assertThat(service.credit("t1", "c1", 30, "預約完成", "booking:b1")).isEqualTo(130);
+
+        verify(customerRepository, never()).adjustPointBalance(any(), any(), anyInt());
+        verify(pointTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("點數不足與顧客不存在分別回報")
+    void debit_InsufficientOrMissing() {
+        when(customerRepository.adjustPointBalance(any(), eq("t1"), eq(-50))).thenReturn(0);
+        when(customerRepository.findPointBalance("c1", "t1")).thenReturn(Optional.of(10));
+        when(customerRepository.findPointBalance("c2", "t1")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.debit("t1", "c1", 50, "兌換", null))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.POINT_INSUFFICIENT);
+        assertThatThrownBy(() -> service.debit("t1", "c2", 50, "兌換", null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(pointTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("批次贈點略過已入帳的顧客，一次 UPDATE 其餘顧客")
+    void creditAll_SkipsCreditedCustomers() {
+        when(pointTransactionRepository.findExistingIdempotencyKeys(eq("t1"), any()))
+                .thenReturn(List.of("campaign:x:c1"));
+        when(customerRepository.findPointBalances("t1", List.of("c2", "c3"))).thenReturn(List.of(
+                new Object[]{"c2", 20},
+                new Object[]{"c3", 15}
+        ));
+
+        assertThat(service.creditAll("t1", List.of("c1", "c2", "c3", "c2"), 10, "活動獎勵", "campaign:x"))
+                .isEqualTo(2);
+
+        verify(customerRepository).creditPointBalances("t1", List.of("c2", "c3"), 10);
+        verify(pointTransactionRepository).saveAll(argThat((List<PointTransaction> txs) -> txs.size() == 2));
+    }
+}
@@ -0,0 +1,125 @@
+package com.booking.platform.service;
+
+import com.booking.platform.dto.response.SegmentStatisticsResponse;
+import com.booking.platform.repository.CustomerRepository;
+import com.booking.platform.repository.StaffRepository;
+import com.booking.platform.repository.line.LineUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 客群統計服務測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class SegmentStatisticsServiceTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final StaffRepository staffRepository = mock(StaffRepository.class);
+    private final LineUserRepository lineUserRepository = mock(LineUserRepository.class);
+
+    private SegmentStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SegmentStatisticsService(customerRepository, staffRepository, lineUserRepository,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "ttlSeconds", 60L);
+    }
+
+    @Test
+    @DisplayName("分組結果彙總為等級、標籤、追蹤人數，並快取到清除為止")
+    void getStatistics_AggregatesAndCaches() {
+        when(customerRepository.countAllByTenantIdGroupByMembershipLevel("t1")).thenReturn(List.of(
+                new Object[]{"gold", 3L},
+                new Object[]{null, 5L}
+        ));
+        when(lineUserRepository.countSegmentsByTenantId("t1")).thenReturn(List.of(
+                new Object[]{"gold", "VIP,常客", true, 2L},
+                new Object[]{"gold", "VIP2", true, 1L},
+                new Object[]{null, " 常客 ", true, 4L},
+                new Object[]{"gold", "VIP", false, 7L},
+                new Object[]{null, null, true, 6L}
+        ));
+        when(staffRepository.countByTenantIdAndDeletedAtIsNull("t1")).thenReturn(2L);
+
+        SegmentStatisticsResponse statistics = service.getStatistics("t1");
+
+        assertThat(statistics.getCustomerCount()).isEqualTo(8);
+        assertThat(statistics.getStaffCount()).isEqualTo(2);
+        assertThat(statistics.getLineUserCount()).isEqualTo(20);
+        assertThat(statistics.getFollowerCount()).isEqualTo(13);
+        assertThat(statistics.getCustomersByLevel()).isEqualTo(Map.of("gold", 3L));
+        assertThat(statistics.getFollowersByLevel()).isEqualTo(Map.of("gold", 3L));
+        assertThat(statistics.getFollowersByTag()).isEqualTo(Map.of("VIP", 2L, "VIP2", 1L, "常客", 6L));
+        // 與 LIKE '%VIP%' 相同：VIP 與 VIP2 都算，同一用戶只算一次
+        assertThat(service.countFollowersWithTagContaining("t1", "VIP")).isEqualTo(3);
+
+        service.getStatistics("t1");
+        verify(lineUserRepository, times(1)).countSegmentsByTenantId("t1");
+
+        service.invalidate("t1");
+        service.getStatistics("t1");
+        verify(lineUserRepository, times(2)).countSegmentsByTenantId("t1");
+    }
+
+    @Test
+    @DisplayName("多個租戶的員工、顧客數只查未快取的租戶，沒有資料的租戶為 0")
+    void getTenantCounts_BatchesMissingTenants() {
+        when(staffRepository.countByTenantIdInGroupByTenant(any())).thenReturn(List.<Object[]>of(
+                new Object[]{"t1", 2L}
+        ));
+        when(customerRepository.countByTenantIdInGroupByTenant(any())).thenReturn(List.<Object[]>of(
+                new Object[]{"t1", 10L},
+                new Object[]{"t2", 4L}
+        ));
+
+        Map<String, SegmentStatisticsService.TenantCounts> counts = service.getTenantCounts(List.of("t1", "t2", "t3"));
+
+        assertThat(counts).containsEntry("t1", new SegmentStatisticsService.TenantCounts(2, 10))
+                .containsEntry("t2", new SegmentStatisticsService.TenantCounts(0, 4))
+                .containsEntry("t3", new SegmentStatisticsService.TenantCounts(0, 0));
+
+        service.invalidate("t2");
+        service.getTenantCounts(List.of("t1", "t2"));
+
+        verify(staffRepository).countByTenantIdInGroupByTenant(List.of("t2"));
+        verify(customerRepository).countByTenantIdInGroupByTenant(List.of("t2"));
+    }
+
+    @Test
+    @DisplayName("交易內清除後，提交前被重新寫入的快取在提交後再清除一次")
+    void invalidate_AgainAfterCommit() {
+        when(staffRepository.countByTenantIdInGroupByTenant(any())).thenReturn(List.of());
+        when(customerRepository.countByTenantIdInGroupByTenant(any())).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.invalidate("t1");
+            // 提交前其他請求讀取並寫入快取（仍是舊資料）
+            service.getTenantCounts(List.of("t1"));
+            service.getTenantCounts(List.of("t1"));
+            verify(customerRepository, times(1)).countByTenantIdInGroupByTenant(List.of("t1"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        service.getTenantCounts(List.of("t1"));
+        verify(customerRepository, times(2)).countByTenantIdInGroupByTenant(List.of("t1"));
+    }
+}
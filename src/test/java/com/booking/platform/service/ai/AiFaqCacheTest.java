@@ -0,0 +1,66 @@
+package com.booking.platform.service.ai;
+
+import com.booking.platform.common.config.GroqConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * AI 常見問題快取測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class AiFaqCacheTest {
+
+    private final AiFaqCache cache = new AiFaqCache(new GroqConfig(), new SimpleMeterRegistry());
+
+    private final AiAssistantService.AiResponse answer =
+            new AiAssistantService.AiResponse("我們的營業時間是 10:00-20:00 喔！", false);
+
+    @Test
+    @DisplayName("標點、全形與語助詞不同仍視為同一問題")
+    void lookup_NormalizedMatch() {
+        cache.store("tenant-1", "請問營業時間是幾點？", answer);
+
+        assertThat(cache.lookup("tenant-1", "營業時間是幾點呢")).contains(answer);
+        assertThat(cache.lookup("tenant-1", "營業時間是幾點 ?")).contains(answer);
+    }
+
+    @Test
+    @DisplayName("只是多幾個字的近似問題命中")
+    void lookup_NearDuplicate() {
+        cache.store("tenant-1", "你們的營業時間是幾點到幾點", answer);
+
+        assertThat(cache.lookup("tenant-1", "平日營業時間是幾點到幾點")).contains(answer);
+    }
+
+    @Test
+    @DisplayName("替換關鍵字的問題不命中")
+    void lookup_SubstitutedWordMisses() {
+        cache.store("tenant-1", "男生剪髮的價格是多少", answer);
+
+        assertThat(cache.lookup("tenant-1", "女生剪髮的價格是多少")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("非常見問題與其他租戶不命中")
+    void lookup_NotFaqOrOtherTenant() {
+        cache.store("tenant-1", "營業時間", answer);
+        cache.store("tenant-1", "推薦我一個髮型", answer);
+
+        assertThat(cache.lookup("tenant-2", "營業時間")).isEmpty();
+        assertThat(cache.lookup("tenant-1", "推薦我一個髮型")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("清除租戶後不命中")
+    void invalidateTenant() {
+        cache.store("tenant-1", "營業時間", answer);
+        cache.invalidateTenant("tenant-1");
+
+        assertThat(cache.lookup("tenant-1", "營業時間")).isEmpty();
+    }
+}
@@ -0,0 +1,160 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.common.config.RedisConfig;
+import com.booking.platform.dto.line.ConversationContext;
+import com.booking.platform.enums.line.ConversationState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 對話上下文精簡編碼測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class ConversationContextCodecTest {
+
+    private RedisSerializer<Object> legacySerializer;
+    private ConversationContextCodec codec;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        legacySerializer = (RedisSerializer<Object>) new RedisConfig()
+                .redisTemplate(mock(RedisConnectionFactory.class))
+                .getValueSerializer();
+        codec = new ConversationContextCodec(legacySerializer, true);
+    }
+
+    @Test
+    @DisplayName("編碼後解碼與原本相同，且比 JSON 小")
+    void roundTrip() {
+        ConversationContext context = sample();
+
+        byte[] compact = codec.serialize(context);
+
+        assertThat(codec.deserialize(compact)).isEqualTo(context);
+        assertThat(compact.length).isLessThan(legacySerializer.serialize(context).length / 2);
+    }
+
+    @Test
+    @DisplayName("所有欄位都填入時編碼後解碼與原本相同（新增欄位未編碼時失敗）")
+    void roundTrip_EveryField() throws IllegalAccessException {
+        ConversationContext context = new ConversationContext();
+        int index = 0;
+        for (Field field : ConversationContext.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            field.set(context, valueFor(field, ++index));
+        }
+
+        ConversationContext decoded = codec.deserialize(codec.serialize(context));
+
+        for (Field field : ConversationContext.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                assertThat(field.get(decoded)).as(field.getName()).isEqualTo(field.get(context));
+            }
+        }
+        assertThat(decoded).isEqualTo(context);
+    }
+
+    @Test
+    @DisplayName("升級前寫入的 JSON 仍可讀取")
+    void readsLegacyJson() {
+        ConversationContext context = sample();
+
+        assertThat(codec.deserialize(legacySerializer.serialize(context))).isEqualTo(context);
+    }
+
+    @Test
+    @DisplayName("略過不認得的欄位（新版本寫入的資料）")
+    void skipsUnknownFields() {
+        ConversationContext context = sample();
+        byte[] compact = codec.serialize(context);
+
+        // 在結尾標記前插入欄位 99（字串 "hi"）
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(compact, 0, compact.length - 1);
+        out.writeBytes(new byte[]{(byte) 0x9A, 0x06, 0x02, 'h', 'i', 0x00});
+
+        assertThat(codec.deserialize(out.toByteArray())).isEqualTo(context);
+    }
+
+    @Test
+    @DisplayName("未開啟精簡編碼時寫入 JSON")
+    void writesJsonWhenDisabled() {
+        ConversationContextCodec jsonCodec = new ConversationContextCodec(legacySerializer, false);
+
+        byte[] bytes = jsonCodec.serialize(sample());
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(codec.deserialize(bytes)).isEqualTo(sample());
+    }
+
+    // ========================================
+    // 輔助方法
+    // ========================================
+
+    /**
+     * 依欄位型別產生每個欄位都不同、且不是預設值的內容
+     */
+    private Object valueFor(Field field, int index) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName() + "-值" + index;
+        }
+        if (type == Integer.class) {
+            return 100_000 * index + index;
+        }
+        if (type == Boolean.class) {
+            return true;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_789).plusMinutes(index);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.of(2024, 5, 3).plusDays(index);
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.of(15, 0, 30, 987_654_321).plusMinutes(index);
+        }
+        if (type == ConversationState.class) {
+            ConversationState[] states = ConversationState.values();
+            return states[states.length - 1 - index % (states.length - 1)];
+        }
+        throw new AssertionError("未處理的欄位型別：" + field.getName() + " " + type);
+    }
+
+    private ConversationContext sample() {
+        return ConversationContext.builder()
+                .tenantId("tenant-1")
+                .lineUserId("U4af4980629a1b2c3d4e5f60718293a4b")
+                .state(ConversationState.CONFIRMING_BOOKING)
+                .stateChangedAt(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_789))
+                .selectedServiceId("service-1")
+                .selectedServiceName("剪髮＋洗髮")
+                .selectedServiceDuration(60)
+                .selectedServicePrice(800)
+                .selectedServiceRequiresStaff(false)
+                .selectedDate(LocalDate.of(2024, 5, 3))
+                .selectedTime(LocalTime.of(15, 0))
+                .customerNote("想要修短一點")
+                .previousState(ConversationState.SELECTING_TIME)
+                .build();
+    }
+}
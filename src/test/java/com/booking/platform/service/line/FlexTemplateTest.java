@@ -0,0 +1,62 @@
+package com.booking.platform.service.line;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Flex 預編譯模板測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class FlexTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("渲染結果與直接建構 JsonNode 相同")
+    void render_MatchesTree() throws Exception {
+        ObjectNode skeleton = objectMapper.createObjectNode();
+        skeleton.put("type", "text");
+        skeleton.put("text", FlexTemplate.stringHole("text"));
+        skeleton.put("contents", FlexTemplate.rawHole("contents"));
+        FlexTemplate template = FlexTemplate.compile(objectMapper, skeleton, "text", "contents");
+
+        String value = "📅 \"引號\" \\ 換行\n";
+        JsonNode rendered = objectMapper.readTree(template.render(value, "[1,2]"));
+
+        ObjectNode expected = objectMapper.createObjectNode();
+        expected.put("type", "text");
+        expected.put("text", value);
+        expected.set("contents", objectMapper.createArrayNode().add(1).add(2));
+        assertThat(rendered).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("字串洞填入 null 輸出 JSON null")
+    void render_NullValue() throws Exception {
+        ObjectNode skeleton = objectMapper.createObjectNode();
+        skeleton.put("text", FlexTemplate.stringHole("text"));
+        FlexTemplate template = FlexTemplate.compile(objectMapper, skeleton, "text");
+
+        assertThat(objectMapper.readTree(template.render((String) null)).get("text").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("未宣告的佔位文字視為一般內容")
+    void compile_UndeclaredMarkerIsLiteral() throws Exception {
+        ObjectNode skeleton = objectMapper.createObjectNode();
+        skeleton.put("title", "{{s:other}}");
+        skeleton.put("text", FlexTemplate.stringHole("text"));
+        FlexTemplate template = FlexTemplate.compile(objectMapper, skeleton, "text");
+
+        JsonNode rendered = objectMapper.readTree(template.render("值"));
+        assertThat(rendered.get("title").asText()).isEqualTo("{{s:other}}");
+        assertThat(rendered.get("text").asText()).isEqualTo("值");
+    }
+}
@@ -0,0 +1,68 @@
+package com.booking.platform.service.line;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * LINE 回覆期限服務測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class LineReplyDeadlineServiceTest {
+
+    private LineReplyDeadlineService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LineReplyDeadlineService(new SimpleMeterRegistry(), Runnable::run);
+        ReflectionTestUtils.setField(service, "tokenTtlMs", 60000L);
+        ReflectionTestUtils.setField(service, "safetyMarginMs", 5000L);
+        service.begin("U1", "message", System.currentTimeMillis());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.end();
+    }
+
+    @Test
+    @DisplayName("尚未回覆或異動狀態時沒有副作用")
+    void hasSideEffects_FalseInitially() {
+        assertThat(service.hasSideEffects()).isFalse();
+    }
+
+    @Test
+    @DisplayName("送出回覆後標記副作用")
+    void recordReply_MarksSideEffects() {
+        service.recordReply("reply");
+
+        assertThat(service.hasSideEffects()).isTrue();
+    }
+
+    @Test
+    @DisplayName("異動對話狀態後標記副作用，事件結束後清除")
+    void recordStateChange_MarksSideEffectsUntilEnd() {
+        service.recordStateChange();
+        assertThat(service.hasSideEffects()).isTrue();
+
+        service.end();
+        assertThat(service.hasSideEffects()).isFalse();
+    }
+
+    @Test
+    @DisplayName("不在事件範圍內時忽略")
+    void recordStateChange_OutsideEvent() {
+        service.end();
+
+        service.recordStateChange();
+
+        assertThat(service.hasSideEffects()).isFalse();
+    }
+}
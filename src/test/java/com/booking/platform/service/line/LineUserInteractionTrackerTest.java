@@ -0,0 +1,106 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.repository.line.LineUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LINE 用戶互動追蹤測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class LineUserInteractionTrackerTest {
+
+    private final LineUserRepository lineUserRepository = mock(LineUserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private LineUserInteractionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        tracker = new LineUserInteractionTracker(lineUserRepository, transactionManager,
+                new SimpleMeterRegistry(), Runnable::run);
+        ReflectionTestUtils.setField(tracker, "batchSize", 500);
+        ReflectionTestUtils.setField(tracker, "maxPending", 50000);
+        ReflectionTestUtils.setField(tracker, "knownUsersMax", 1000);
+    }
+
+    @Test
+    @DisplayName("同一用戶多則訊息合併為一次累加，次數與最後互動時間相同的用戶合併為一條 UPDATE")
+    void flush_CoalescesInteractions() {
+        LocalDateTime at = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+        tracker.recordInteraction("t1", "u1", at);
+        tracker.recordInteraction("t1", "u1", at);
+        tracker.recordInteraction("t1", "u1", at.plusSeconds(3));
+        tracker.recordInteraction("t1", "u2", at.plusNanos(100_000_000));
+        tracker.recordInteraction("t1", "u3", at.plusNanos(900_000_000));
+        tracker.recordBooking("t1", "u2");
+        when(lineUserRepository.addInteractions(any(), any(), anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(1).size());
+        when(lineUserRepository.addBookings(any(), any(), anyInt())).thenReturn(1);
+
+        assertThat(tracker.flush()).isEqualTo(3);
+
+        verify(lineUserRepository).addInteractions("t1", List.of("u1"), 3, at.plusSeconds(3));
+        verify(lineUserRepository).addInteractions(eq("t1"),
+                argThat(ids -> ids.size() == 2 && ids.containsAll(List.of("u2", "u3"))), eq(1), eq(at));
+        verify(lineUserRepository).addBookings("t1", List.of("u2"), 1);
+        assertThat(tracker.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("累加次數相同但最後互動時間不同的用戶各自寫入自己的時間")
+    void flush_KeepsEachUsersLastInteraction() {
+        LocalDateTime at = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+        tracker.recordInteraction("t1", "u1", at);
+        tracker.recordInteraction("t1", "u2", at.plusSeconds(5));
+        when(lineUserRepository.addInteractions(any(), any(), anyInt(), any())).thenReturn(1);
+
+        assertThat(tracker.flush()).isEqualTo(2);
+
+        verify(lineUserRepository).addInteractions("t1", List.of("u1"), 1, at);
+        verify(lineUserRepository).addInteractions("t1", List.of("u2"), 1, at.plusSeconds(5));
+    }
+
+    @Test
+    @DisplayName("寫入失敗時計數放回，下次一併寫入")
+    void flush_FailureKeepsCounts() {
+        tracker.recordInteraction("t1", "u1");
+        when(lineUserRepository.addInteractions(any(), any(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(1);
+
+        assertThat(tracker.flush()).isZero();
+        tracker.recordInteraction("t1", "u1");
+        assertThat(tracker.flush()).isEqualTo(1);
+
+        verify(lineUserRepository).addInteractions(eq("t1"), eq(List.of("u1")), eq(2), any());
+    }
+
+    @Test
+    @DisplayName("已不存在的用戶寫入後從已知用戶移除")
+    void flush_ForgetsMissingUsers() {
+        tracker.markKnown("t1", "u1");
+        assertThat(tracker.isKnown("t1", "u1")).isTrue();
+
+        tracker.recordInteraction("t1", "u1");
+        when(lineUserRepository.addInteractions(any(), any(), anyInt(), any())).thenReturn(0);
+        tracker.flush();
+
+        assertThat(tracker.isKnown("t1", "u1")).isFalse();
+    }
+}
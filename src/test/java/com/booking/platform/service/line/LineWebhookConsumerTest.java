@@ -0,0 +1,179 @@
+package com.booking.platform.service.line;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LINE Webhook 事件消費者測試（確認、接手、死信）
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class LineWebhookConsumerTest {
+
+    private static final String GROUP = LineWebhookConsumer.GROUP;
+    private static final String STREAM = LineWebhookQueue.streamKey(0);
+    private static final String DEDUP_KEY = LineWebhookQueue.STREAM_PREFIX + "seen:evt-1";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, String, String> streams = mock(StreamOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final LineWebhookQueue webhookQueue = mock(LineWebhookQueue.class);
+    private final LineWebhookService webhookService = mock(LineWebhookService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LineWebhookConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.<String, String>opsForStream()).thenReturn(streams);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(webhookQueue.partitions()).thenReturn(1);
+        when(streams.pending(anyString(), eq(GROUP)))
+                .thenReturn(new PendingMessagesSummary(GROUP, 0, Range.unbounded(), Map.of()));
+
+        consumer = new LineWebhookConsumer(mock(RedisConnectionFactory.class), redisTemplate, webhookQueue,
+                webhookService, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(consumer, "batchSize", 10);
+        ReflectionTestUtils.setField(consumer, "claimIdleMs", 60000L);
+        ReflectionTestUtils.setField(consumer, "maxDeliveries", 3);
+        ReflectionTestUtils.setField(consumer, "dedupTtlHours", 24L);
+        ReflectionTestUtils.setField(consumer, "container", mock(StreamMessageListenerContainer.class));
+    }
+
+    @Test
+    @DisplayName("處理成功後標記已處理並確認")
+    void handle_AcknowledgesOnSuccess() {
+        MapRecord<String, String, String> record = record("1-0");
+
+        consumer.handle(record);
+
+        verify(webhookService).processEvent(eq("tenant-1"), any(JsonNode.class));
+        verify(values).set(eq(DEDUP_KEY), eq("done"), any(Duration.class));
+        verify(streams).acknowledge(GROUP, record);
+        assertThat(count("processed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("處理失敗時不確認並釋放去重標記，等待接手重試")
+    void handle_LeavesPendingOnFailure() {
+        MapRecord<String, String, String> record = record("1-0");
+        doThrow(new IllegalStateException("LINE 事件處理失敗"))
+                .when(webhookService).processEvent(anyString(), any(JsonNode.class));
+
+        consumer.handle(record);
+
+        verify(streams, never()).acknowledge(anyString(), any(MapRecord.class));
+        verify(redisTemplate).delete(DEDUP_KEY);
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("已處理過的事件直接確認，不再處理")
+    void handle_AcknowledgesDuplicate() {
+        MapRecord<String, String, String> record = record("1-0");
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(values.get(DEDUP_KEY)).thenReturn("done");
+
+        consumer.handle(record);
+
+        verifyNoInteractions(webhookService);
+        verify(streams).acknowledge(GROUP, record);
+        assertThat(count("duplicate")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("閒置過久的待確認事件由本節點接手處理並確認，未逾時的不接手")
+    void reclaim_ClaimsIdleMessages() {
+        RecordId idle = RecordId.of("1-0");
+        RecordId recent = RecordId.of("2-0");
+        MapRecord<String, String, String> claimed = record("1-0");
+        when(streams.pending(eq(STREAM), eq(GROUP), any(Range.class), anyLong())).thenReturn(pending(
+                new PendingMessage(idle, Consumer.from(GROUP, "old-node"), Duration.ofMinutes(2), 1),
+                new PendingMessage(recent, Consumer.from(GROUP, "other-node"), Duration.ofSeconds(5), 1)
+        ));
+        when(streams.claim(eq(STREAM), eq(GROUP), anyString(), any(Duration.class), eq(idle)))
+                .thenReturn(List.of(claimed));
+
+        consumer.reclaim();
+
+        verify(streams, never()).claim(eq(STREAM), eq(GROUP), anyString(), any(Duration.class), eq(recent));
+        verify(webhookService).processEvent(eq("tenant-1"), any(JsonNode.class));
+        verify(streams).acknowledge(GROUP, claimed);
+    }
+
+    @Test
+    @DisplayName("投遞次數用完的事件移入死信 Stream 並確認，不再處理")
+    @SuppressWarnings("unchecked")
+    void reclaim_DeadLettersPoisonMessages() {
+        RecordId poison = RecordId.of("1-0");
+        when(streams.pending(eq(STREAM), eq(GROUP), any(Range.class), anyLong())).thenReturn(pending(
+                new PendingMessage(poison, Consumer.from(GROUP, "old-node"), Duration.ofMinutes(2), 3)
+        ));
+        when(streams.range(eq(STREAM), any(Range.class))).thenReturn(List.of(record("1-0")));
+
+        consumer.reclaim();
+
+        ArgumentCaptor<MapRecord<String, String, String>> deadLetter = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streams).add(deadLetter.capture());
+        assertThat(deadLetter.getValue().getStream()).isEqualTo(LineWebhookQueue.STREAM_PREFIX + "dead");
+        assertThat(deadLetter.getValue().getValue())
+                .containsEntry(LineWebhookQueue.FIELD_TENANT_ID, "tenant-1")
+                .containsEntry("source", STREAM + "/1-0");
+        verify(streams).acknowledge(STREAM, GROUP, poison);
+        verify(streams, never()).claim(anyString(), anyString(), anyString(), any(Duration.class), any(RecordId.class));
+        verifyNoInteractions(webhookService);
+        assertThat(count("dead_letter")).isEqualTo(1);
+    }
+
+    // ========================================
+    // 輔助方法
+    // ========================================
+
+    private MapRecord<String, String, String> record(String id) {
+        return StreamRecords.string(Map.of(
+                        LineWebhookQueue.FIELD_TENANT_ID, "tenant-1",
+                        LineWebhookQueue.FIELD_EVENT_ID, "evt-1",
+                        LineWebhookQueue.FIELD_EVENT, "{\"type\":\"unfollow\",\"source\":{\"userId\":\"U1\"}}"))
+                .withStreamKey(STREAM)
+                .withId(RecordId.of(id));
+    }
+
+    private PendingMessages pending(PendingMessage... messages) {
+        return new PendingMessages(GROUP, List.of(messages));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("line.webhook.queue.events").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.booking.platform.service.line;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * LINE Webhook 事件佇列測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class LineWebhookQueueTest {
+
+    private static final String BODY = """
+            {"destination":"U0","events":[
+              {"type":"message","webhookEventId":"evt-1","source":{"userId":"U1"}},
+              {"type":"follow","webhookEventId":"evt-2","source":{"userId":"U2"}}
+            ]}""";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LineWebhookQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new LineWebhookQueue(redisTemplate, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "partitions", 8);
+        ReflectionTestUtils.setField(queue, "maxLength", 1000L);
+    }
+
+    @Test
+    @DisplayName("每個事件一筆寫入租戶所屬分區，以一次 pipeline 送出")
+    @SuppressWarnings("unchecked")
+    void enqueue_OneRecordPerEvent() {
+        assertThat(queue.enqueue("tenant-1", bytes(BODY))).isTrue();
+
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).executePipelined(callback.capture());
+
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStreamCommands streamCommands = mock(RedisStreamCommands.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        callback.getValue().doInRedis(connection);
+
+        ArgumentCaptor<ByteRecord> records = ArgumentCaptor.forClass(ByteRecord.class);
+        verify(streamCommands, times(2)).xAdd(records.capture(), any(XAddOptions.class));
+        String streamKey = LineWebhookQueue.streamKey(queue.partitionOf("tenant-1"));
+        List<ByteRecord> added = records.getAllValues();
+        assertThat(added).allSatisfy(record -> assertThat(string(record.getStream())).isEqualTo(streamKey));
+        assertThat(added.get(1).getValue()).anySatisfy((field, value) -> {
+            assertThat(string(field)).isEqualTo(LineWebhookQueue.FIELD_EVENT_ID);
+            assertThat(string(value)).isEqualTo("evt-2");
+        });
+        assertThat(meterRegistry.get("line.webhook.queue.events").tag("outcome", "enqueued").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("未啟用時不寫入；沒有事件的驗證請求視為已處理")
+    void enqueue_DisabledOrEmpty() {
+        assertThat(queue.enqueue("tenant-1", bytes("{\"events\":[]}"))).isTrue();
+
+        ReflectionTestUtils.setField(queue, "enabled", false);
+        assertThat(queue.enqueue("tenant-1", bytes(BODY))).isFalse();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Redis 無法寫入時回傳 false，由呼叫端改為程序內處理")
+    @SuppressWarnings("unchecked")
+    void enqueue_FallbackWhenRedisFails() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertThat(queue.enqueue("tenant-1", bytes(BODY))).isFalse();
+        assertThat(meterRegistry.get("line.webhook.queue.events").tag("outcome", "fallback").counter().count())
+                .isEqualTo(2);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
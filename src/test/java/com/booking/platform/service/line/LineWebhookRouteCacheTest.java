@@ -0,0 +1,112 @@
+package com.booking.platform.service.line;
+
+import com.booking.platform.common.cache.LocalCacheInvalidator;
+import com.booking.platform.dto.line.LineWebhookRoute;
+import com.booking.platform.repository.line.TenantLineConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Webhook 路由快取測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class LineWebhookRouteCacheTest {
+
+    private final TenantLineConfigRepository lineConfigRepository = mock(TenantLineConfigRepository.class);
+    private LineWebhookRouteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalCacheInvalidator cacheInvalidator =
+                new LocalCacheInvalidator(mock(RedisConnectionFactory.class), meterRegistry);
+
+        cache = new LineWebhookRouteCache(lineConfigRepository, meterRegistry, cacheInvalidator);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "refreshMinIntervalMs", 10000L);
+        cache.registerInvalidation();
+
+        when(lineConfigRepository.findWebhookRoute(anyString())).thenReturn(Optional.empty());
+        when(lineConfigRepository.findWebhookRoute("shop-a")).thenReturn(Optional.of(route("tenant-a")));
+        when(lineConfigRepository.findWebhookRoute("shop-b")).thenReturn(Optional.of(route("tenant-b")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("超過筆數上限時只淘汰最久未使用的路由")
+    void resolve_EvictsLeastRecentlyUsed() {
+        cache.resolve("shop-a");
+        cache.resolve("shop-b");
+        cache.resolve("shop-a");
+
+        // 隨機代碼擠掉最久未使用的 shop-b，常用的 shop-a 保留
+        cache.resolve("random-1");
+        cache.resolve("shop-a");
+        cache.resolve("shop-b");
+
+        verify(lineConfigRepository, times(1)).findWebhookRoute("shop-a");
+        verify(lineConfigRepository, times(2)).findWebhookRoute("shop-b");
+    }
+
+    @Test
+    @DisplayName("清除租戶路由時一併清除負向快取")
+    void invalidate_RemovesTenantAndNegativeEntries() {
+        cache.resolve("shop-a");
+        cache.resolve("no-such-shop");
+
+        cache.invalidate("tenant-a");
+        cache.resolve("shop-a");
+        cache.resolve("no-such-shop");
+
+        verify(lineConfigRepository, times(2)).findWebhookRoute("shop-a");
+        verify(lineConfigRepository, times(2)).findWebhookRoute("no-such-shop");
+    }
+
+    @Test
+    @DisplayName("交易中提交前重新載入的舊路由在提交後清除")
+    void invalidate_AgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.resolve("shop-a");
+        cache.invalidate("tenant-a");
+        // 提交前的併發請求以舊設定重新載入
+        cache.resolve("shop-a");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Optional<LineWebhookRoute> resolved = cache.resolve("shop-a");
+
+        assertThat(resolved).map(LineWebhookRoute::tenantId).hasValue("tenant-a");
+        verify(lineConfigRepository, times(3)).findWebhookRoute("shop-a");
+    }
+
+    // ========================================
+    // 輔助方法
+    // ========================================
+
+    private LineWebhookRoute route(String tenantId) {
+        return new LineWebhookRoute(tenantId, null, null, true);
+    }
+}
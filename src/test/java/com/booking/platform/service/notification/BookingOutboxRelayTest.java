@@ -0,0 +1,128 @@
+package com.booking.platform.service.notification;
+
+import com.booking.platform.common.exception.BusinessException;
+import com.booking.platform.common.exception.ErrorCode;
+import com.booking.platform.entity.booking.Booking;
+import com.booking.platform.entity.booking.BookingOutboxEvent;
+import com.booking.platform.enums.BookingEventType;
+import com.booking.platform.enums.BookingStatus;
+import com.booking.platform.enums.OutboxChannel;
+import com.booking.platform.enums.OutboxStatus;
+import com.booking.platform.mapper.BookingMapper;
+import com.booking.platform.repository.BookingOutboxEventRepository;
+import com.booking.platform.repository.BookingRepository;
+import com.booking.platform.service.line.LineNotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 預約事件轉送器測試
+ *
+ * @author Developer
+ * @since 1.0.0
+ */
+class BookingOutboxRelayTest {
+
+    private final BookingOutboxEventRepository outboxEventRepository = mock(BookingOutboxEventRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final LineNotificationService lineNotificationService = mock(LineNotificationService.class);
+    private final SseNotificationService sseNotificationService = mock(SseNotificationService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private BookingOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        relay = new BookingOutboxRelay(outboxEventRepository, bookingRepository, mock(BookingMapper.class),
+                lineNotificationService, sseNotificationService, mock(SmsService.class),
+                new SimpleMeterRegistry(), transactionManager, Runnable::run, 0, 0);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "leaseSeconds", 120L);
+        ReflectionTestUtils.setField(relay, "retryBaseSeconds", 30L);
+        ReflectionTestUtils.setField(relay, "retryMaxSeconds", 1800L);
+    }
+
+    @Test
+    @DisplayName("同批重複事件只發送一次，失敗的管道重試時不重複已完成的管道")
+    void relay_DedupAndRetryPendingChannel() {
+        BookingOutboxEvent event = event("e1", "b1", BookingEventType.CONFIRMED);
+        BookingOutboxEvent duplicate = event("e2", "b1", BookingEventType.CONFIRMED);
+        when(bookingRepository.findAllById(any())).thenReturn(List.of(booking("b1")));
+        when(outboxEventRepository.findDueForUpdate(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(event, duplicate));
+        when(lineNotificationService.pushBookingStatusNotification(any(), eq(BookingStatus.CONFIRMED), any()))
+                .thenThrow(new IllegalStateException("timeout"));
+
+        relay.relay();
+
+        assertThat(duplicate.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.isChannelDone(OutboxChannel.SSE)).isTrue();
+        assertThat(event.isChannelDone(OutboxChannel.LINE)).isFalse();
+        assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        // 重試：只補發 LINE
+        reset(lineNotificationService);
+        when(outboxEventRepository.findDueForUpdate(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(event));
+
+        relay.relay();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(event.getAttempts()).isEqualTo(2);
+        verify(lineNotificationService).pushBookingStatusNotification(any(), eq(BookingStatus.CONFIRMED), any());
+        verify(sseNotificationService, times(1)).notifyBookingStatusChanged(eq("t1"), any(), eq("CONFIRMED"));
+    }
+
+    @Test
+    @DisplayName("業務錯誤不重試，同租戶其他事件略過該管道")
+    void relay_BusinessErrorSkipsChannelForTenant() {
+        BookingOutboxEvent first = event("e1", "b1", BookingEventType.CANCELLED);
+        BookingOutboxEvent second = event("e2", "b2", BookingEventType.CANCELLED);
+        when(bookingRepository.findAllById(any())).thenReturn(List.of(booking("b1"), booking("b2")));
+        when(outboxEventRepository.findDueForUpdate(eq(OutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(first, second));
+        when(lineNotificationService.pushBookingStatusNotification(any(), any(), any()))
+                .thenThrow(new BusinessException(ErrorCode.LINE_PUSH_QUOTA_EXCEEDED, "推送額度不足"));
+
+        relay.relay();
+
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(second.getStatus()).isEqualTo(OutboxStatus.DONE);
+        verify(lineNotificationService, times(1)).pushBookingStatusNotification(any(), any(), any());
+        verify(sseNotificationService, times(2)).notifyBookingCancelled(eq("t1"), any());
+    }
+
+    private BookingOutboxEvent event(String id, String bookingId, BookingEventType type) {
+        BookingOutboxEvent event = BookingOutboxEvent.builder()
+                .bookingId(bookingId)
+                .eventType(type)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        event.setId(id);
+        event.setTenantId("t1");
+        return event;
+    }
+
+    private Booking booking(String id) {
+        Booking booking = Booking.builder().build();
+        booking.setId(id);
+        booking.setTenantId("t1");
+        return booking;
+    }
+}